@@ -0,0 +1,45 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for shedding new notifications while dispatch or the database is overloaded
+ */
+@Configuration
+@ConfigurationProperties(prefix = "admission")
+@Getter
+@Setter
+public class AdmissionConfig {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Notifications waiting in the dispatcher above which new requests are rejected
+     */
+    private int maxDispatchBacklog = 5000;
+    
+    /**
+     * Smoothed database round-trip time above which new requests are rejected
+     */
+    private Duration maxDbLatency = Duration.ofMillis(500);
+    
+    /**
+     * Interval in milliseconds between database latency probes
+     */
+    private long probeInterval = 1000;
+    
+    /**
+     * Weight of the newest probe in the smoothed latency, between 0 and 1
+     */
+    private double latencySmoothing = 0.3;
+    
+    /**
+     * Retry-After sent with a rejection
+     */
+    private Duration retryAfter = Duration.ofSeconds(5);
+}
@@ -1,14 +1,19 @@
 package com.Portfolio.Notifire.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Async configuration for background task processing
@@ -26,13 +31,33 @@ public class AsyncConfig {
     private String threadNamePrefix = "async-";
     
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("notifire.executor.rejected")
+            .description("Tasks rejected because the executor queue was full")
+            .register(meterRegistry);
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(corePoolSize);
         executor.setMaxPoolSize(maxPoolSize);
         executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix(threadNamePrefix);
+        // Carry the caller's trace context into @Async sends and retries
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        // Abort so the caller learns of the rejection; callers leave the row PENDING for the scheduler's claim
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Task executor queue is full (" + queueCapacity + " slots)");
+        });
         executor.initialize();
+        
+        Gauge.builder("notifire.executor.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .register(meterRegistry);
+        Gauge.builder("notifire.executor.queue.occupancy", executor,
+                e -> queueCapacity > 0 ? (double) e.getQueueSize() / queueCapacity : 0)
+            .description("Fraction of executor queue slots in use")
+            .register(meterRegistry);
+        Gauge.builder("notifire.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .register(meterRegistry);
         return executor;
     }
 }
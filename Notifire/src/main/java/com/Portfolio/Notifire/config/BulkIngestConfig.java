@@ -0,0 +1,26 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for streaming bulk ingestion
+ */
+@Configuration
+@ConfigurationProperties(prefix = "bulk-ingest")
+@Getter
+@Setter
+public class BulkIngestConfig {
+    
+    /**
+     * Requests validated, rendered and inserted per transaction
+     */
+    private int chunkSize = 500;
+    
+    /**
+     * Upper bound on lines accepted per upload (0 = unlimited)
+     */
+    private long maxLines = 0;
+}
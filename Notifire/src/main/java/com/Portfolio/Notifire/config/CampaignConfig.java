@@ -0,0 +1,65 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for campaign fan-out
+ */
+@Configuration
+@ConfigurationProperties(prefix = "campaign")
+@Getter
+@Setter
+public class CampaignConfig {
+    
+    /**
+     * Audience members rendered and inserted per transaction
+     */
+    private int chunkSize = 1000;
+    
+    /**
+     * Parallelism for rendering a chunk (0 = available processors)
+     */
+    private int renderThreads = 0;
+    
+    /**
+     * Campaigns fanned out concurrently on this node
+     */
+    private int maxConcurrentCampaigns = 2;
+    
+    /**
+     * Dispatch rate used when a campaign does not set one
+     */
+    private int defaultRatePerSecond = 100;
+    
+    /**
+     * How often the pump hands notifications to the dispatcher, in milliseconds
+     */
+    private long pumpInterval = 1000;
+    
+    /**
+     * Directory holding uploaded audience files
+     */
+    private String audienceDirectory = "./campaign-audiences";
+    
+    @Bean(name = "campaignExecutor")
+    public ThreadPoolTaskExecutor campaignExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentCampaigns);
+        executor.setMaxPoolSize(maxConcurrentCampaigns);
+        executor.setThreadNamePrefix("campaign-");
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = "campaignRenderPool", destroyMethod = "shutdown")
+    public ForkJoinPool campaignRenderPool() {
+        return new ForkJoinPool(renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,31 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for content-addressed notification body storage
+ */
+@Configuration
+@ConfigurationProperties(prefix = "content-store")
+@Getter
+@Setter
+public class ContentStoreConfig {
+    
+    /**
+     * Store bodies once per content hash in shared blobs instead of inline on each notification
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Bodies of at least this many UTF-8 bytes are compressed
+     */
+    private int compressThreshold = 512;
+    
+    /**
+     * Hashes remembered as stored, saving a lookup for repeated bodies
+     */
+    private int knownHashCacheSize = 10000;
+}
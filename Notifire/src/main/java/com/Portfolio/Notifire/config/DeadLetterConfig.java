@@ -0,0 +1,46 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the dead-letter table and replay
+ */
+@Configuration
+@ConfigurationProperties(prefix = "dead-letter")
+@Getter
+@Setter
+public class DeadLetterConfig {
+    
+    /**
+     * How often exhausted notifications are moved to the dead-letter table, in milliseconds
+     */
+    private long sweepInterval = 60000;
+    
+    /**
+     * Notifications moved per transaction
+     */
+    private int batchSize = 500;
+    
+    /**
+     * Batches moved per sweep, so one sweep cannot hold the scheduler for long
+     */
+    private int maxBatchesPerSweep = 20;
+    
+    /**
+     * Replay rate used when a replay does not set one
+     */
+    private int defaultReplayRate = 50;
+    
+    /**
+     * Highest replay rate a request may ask for
+     */
+    private int maxReplayRate = 500;
+    
+    /**
+     * How often running replays hand notifications to the dispatcher, in milliseconds
+     */
+    private long replayInterval = 1000;
+}
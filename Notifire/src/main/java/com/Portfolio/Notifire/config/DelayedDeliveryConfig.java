@@ -0,0 +1,65 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for holding future-dated notifications until they are due
+ */
+@Configuration
+@ConfigurationProperties(prefix = "delayed-delivery")
+@Getter
+@Setter
+public class DelayedDeliveryConfig {
+    
+    /**
+     * Keep the schedule in a Redis sorted set shared by all nodes instead of in memory
+     */
+    private boolean redisEnabled = false;
+    
+    private String redisKey = "notifire:delayed-deliveries";
+    
+    /**
+     * Interval in milliseconds between pulls of near-term notifications from the store
+     */
+    private long promoteInterval = 1000;
+    
+    /**
+     * Notifications due within this window are moved from the store onto the in-memory timing wheel
+     */
+    private Duration wheelWindow = Duration.ofSeconds(60);
+    
+    /**
+     * Timing wheel tick in milliseconds; timers fire at most one tick late
+     */
+    private long wheelTick = 100;
+    
+    /**
+     * Slots per timing wheel level
+     */
+    private int wheelSize = 60;
+    
+    /**
+     * Timing wheel levels, each spanning wheelSize times the one below
+     */
+    private int wheelLevels = 3;
+    
+    /**
+     * Ids popped from the store per round trip
+     */
+    private int batchSize = 500;
+    
+    /**
+     * Interval in milliseconds between checks for overdue rows the store does not hold
+     */
+    private long reconcileInterval = 300000;
+    
+    /**
+     * How late a SCHEDULED row must be before reconciliation puts it back in the store
+     */
+    private Duration overdueGrace = Duration.ofMinutes(1);
+}
@@ -0,0 +1,53 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for per-recipient digest coalescing
+ */
+@Configuration
+@ConfigurationProperties(prefix = "digest")
+@Getter
+@Setter
+public class DigestConfig {
+    
+    /**
+     * Off by default: buffering delays delivery by up to the window
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Also digest LOW priority notifications that do not say either way; otherwise only requests opting in are digested
+     */
+    private boolean lowPriority = false;
+    
+    /**
+     * How long the first buffered notification waits for others to join it
+     */
+    private Duration window = Duration.ofMinutes(10);
+    
+    /**
+     * How often due digests are flushed, in milliseconds
+     */
+    private long flushInterval = 60000;
+    
+    /**
+     * Name of the template rendering digests; a built-in layout is used if it does not exist
+     */
+    private String templateName = "digest";
+    
+    /**
+     * Max notifications merged into one digest; the rest go into the next one
+     */
+    private int maxItems = 50;
+    
+    /**
+     * Max recipient/channel groups flushed per run
+     */
+    private int maxGroupsPerRun = 500;
+}
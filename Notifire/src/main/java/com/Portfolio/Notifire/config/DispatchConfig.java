@@ -0,0 +1,61 @@
+package com.Portfolio.Notifire.config;
+
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration for fair dispatch of notifications across tenants
+ */
+@Configuration
+@ConfigurationProperties(prefix = "dispatch")
+@Getter
+@Setter
+public class DispatchConfig {
+    
+    /**
+     * Tenant for notifications that do not name one
+     */
+    private String defaultTenant = "default";
+    
+    /**
+     * Sends handed to the executor at once, across all tenants
+     */
+    private int maxInFlight = 10;
+    
+    /**
+     * Sends a tenant of weight 1 may start per round-robin turn
+     */
+    private int quantum = 1;
+    
+    private int defaultWeight = 1;
+    
+    /**
+     * Per-tenant weights; a tenant of weight 3 gets three times the share of weight 1
+     */
+    private Map<String, Integer> weights = new HashMap<>();
+    
+    /**
+     * Notifications a tenant may have waiting in memory; the rest stay PENDING for the scheduler
+     */
+    private int defaultQuota = 10000;
+    
+    private Map<String, Integer> quotas = new HashMap<>();
+    
+    /**
+     * Channels whose notifications are delivered in order per recipient
+     */
+    private Set<NotificationChannel> orderedChannels = EnumSet.noneOf(NotificationChannel.class);
+    
+    /**
+     * Serial lanes recipients are hashed onto for ordered delivery
+     */
+    private int orderingStripes = 256;
+}
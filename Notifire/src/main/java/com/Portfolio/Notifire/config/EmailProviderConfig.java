@@ -0,0 +1,112 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for email provider routing. SendGrid keeps its own
+ * {@link SendGridConfig}; the generic HTTP provider and the local stand-ins
+ * are configured here.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "email-providers")
+@Getter
+@Setter
+public class EmailProviderConfig {
+    
+    /**
+     * Weight of the newest call in a provider's smoothed latency and error rate, between 0 and 1
+     */
+    private double smoothing = 0.2;
+    
+    /**
+     * Latency assumed for a provider before its first call
+     */
+    private Duration initialLatency = Duration.ofMillis(200);
+    
+    /**
+     * Smoothed error rate at which a provider is taken out of rotation
+     */
+    private double maxErrorRate = 0.5;
+    
+    /**
+     * Calls needed before the error rate alone can take a provider out of rotation
+     */
+    private int minCalls = 10;
+    
+    /**
+     * Consecutive failures that take a provider out of rotation regardless of its error rate
+     */
+    private int maxConsecutiveFailures = 5;
+    
+    /**
+     * How long a degraded provider is left out before it is tried again
+     */
+    private Duration ejectFor = Duration.ofSeconds(30);
+    
+    /**
+     * Providers tried for one send before it is failed for the retry sweep
+     */
+    private int maxAttempts = 2;
+    
+    private Http http = new Http();
+    
+    /**
+     * Simulated providers used when no real provider is enabled
+     */
+    private List<StandIn> standIns = new ArrayList<>(List.of(new StandIn()));
+    
+    /**
+     * Provider accepting a JSON message over HTTP, e.g. a relay in front of an SMTP server
+     */
+    @Getter
+    @Setter
+    public static class Http {
+        
+        private boolean enabled = false;
+        private String name = "http";
+        private String url;
+        
+        /**
+         * Sent as a bearer token when set
+         */
+        private String apiKey;
+        
+        private String fromEmail;
+        private String fromName;
+        
+        /**
+         * Response header carrying the provider's message id
+         */
+        private String messageIdHeader = "X-Message-Id";
+        
+        private Duration timeout = Duration.ofSeconds(10);
+        
+        /**
+         * Relative share of traffic before latency and errors are taken into account
+         */
+        private double weight = 1.0;
+    }
+    
+    @Getter
+    @Setter
+    public static class StandIn {
+        
+        private String name = "simulated";
+        private String fromEmail;
+        private Duration latency = Duration.ofMillis(500);
+        
+        /**
+         * Share of sends that fail, between 0 and 1
+         */
+        private double failureRate = 0.1;
+        
+        private double weight = 1.0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for streaming notification exports
+ */
+@Configuration
+@ConfigurationProperties(prefix = "export")
+@Getter
+@Setter
+public class ExportConfig {
+    
+    /**
+     * Rows fetched per JDBC round trip by the export cursor
+     */
+    private int fetchSize = 1000;
+    
+    /**
+     * Directory for exports written to local files
+     */
+    private String directory = "./exports";
+    
+    /**
+     * Output buffer size in bytes
+     */
+    private int bufferSize = 65536;
+}
@@ -0,0 +1,45 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for idempotency key duplicate detection
+ */
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+@Getter
+@Setter
+public class IdempotencyConfig {
+    
+    /**
+     * Keys the local Bloom filter is sized for
+     */
+    private long expectedKeys = 1000000;
+    
+    /**
+     * Target false positive probability of the Bloom filter
+     */
+    private double falsePositiveProbability = 0.01;
+    
+    /**
+     * How far back existing keys are loaded into the filter on startup
+     */
+    private Duration warmupWindow = Duration.ofDays(7);
+    
+    /**
+     * Claim keys with Redis SETNX so concurrent requests on different nodes are caught
+     */
+    private boolean redisEnabled = false;
+    
+    private String redisKeyPrefix = "notifire:idempotency:";
+    
+    /**
+     * Lifetime of a Redis claim
+     */
+    private Duration redisTtl = Duration.ofHours(24);
+}
@@ -0,0 +1,47 @@
+package com.Portfolio.Notifire.config;
+
+import com.Portfolio.Notifire.jfr.ClaimEvent;
+import com.Portfolio.Notifire.jfr.ExecutorRejectedEvent;
+import com.Portfolio.Notifire.jfr.ProviderCallEvent;
+import com.Portfolio.Notifire.jfr.RenderEvent;
+import com.Portfolio.Notifire.jfr.RetryScheduledEvent;
+import jakarta.annotation.PostConstruct;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration for the Notifire Java Flight Recorder events. The event
+ * classes are unregistered unless enabled, so JFR never instruments them and
+ * emitting one is an empty call.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jfr")
+@Getter
+@Setter
+@Slf4j
+public class JfrConfig {
+    
+    public static final List<Class<? extends Event>> EVENTS = List.of(
+        RenderEvent.class, ClaimEvent.class, ProviderCallEvent.class,
+        RetryScheduledEvent.class, ExecutorRejectedEvent.class);
+    
+    /**
+     * Register the events so recordings capture them
+     */
+    private boolean enabled = false;
+    
+    @PostConstruct
+    void registerEvents() {
+        if (enabled) {
+            EVENTS.forEach(FlightRecorder::register);
+            log.info("Registered {} Notifire JFR event types", EVENTS.size());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for sampling the per-notification success-path logs
+ */
+@Configuration
+@ConfigurationProperties(prefix = "log-sampling")
+@Getter
+@Setter
+public class LogSamplingConfig {
+    
+    /**
+     * Fraction of notifications whose success-path logs are written, from 0 to 1.
+     * Warnings and errors are always written.
+     */
+    private double successRate = 1.0;
+}
@@ -0,0 +1,34 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the pipeline stage timers
+ */
+@Configuration
+@ConfigurationProperties(prefix = "pipeline-metrics")
+@Getter
+@Setter
+public class PipelineMetricsConfig {
+    
+    /**
+     * Time the pipeline stages at all
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Publish histogram buckets so percentiles can be aggregated across nodes
+     */
+    private boolean percentileHistogram = true;
+    
+    /**
+     * Bounds of the histogram buckets; end-to-end times above the maximum land in the last bucket
+     */
+    private Duration minimumExpected = Duration.ofMillis(1);
+    private Duration maximumExpected = Duration.ofMinutes(5);
+}
@@ -0,0 +1,40 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for provider delivery-event webhooks
+ */
+@Configuration
+@ConfigurationProperties(prefix = "provider-events")
+@Getter
+@Setter
+public class ProviderEventConfig {
+    
+    /**
+     * SendGrid Signed Event Webhook verification key (base64 public key). With it
+     * set, unsigned or wrongly signed batches are rejected; without it, batches are
+     * accepted unverified.
+     */
+    private String verificationKey;
+    
+    /**
+     * Oldest signed timestamp accepted, so a captured batch cannot be replayed later
+     */
+    private Duration maxTimestampSkew = Duration.ofMinutes(10);
+    
+    /**
+     * Status updates sent to the database per JDBC batch
+     */
+    private int batchSize = 1000;
+    
+    /**
+     * Event batches applied concurrently; more are turned away with 429 for the provider to resend
+     */
+    private int maxConcurrentBatches = 8;
+}
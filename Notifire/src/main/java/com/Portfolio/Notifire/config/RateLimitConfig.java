@@ -0,0 +1,71 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for outbound rate limiting
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Limit across all sends through one provider, e.g. the SendGrid plan rate
+     */
+    private Limit provider = new Limit(100, 100);
+    
+    /**
+     * Limit per sender address
+     */
+    private Limit sender = new Limit(50, 50);
+    
+    /**
+     * Limit per recipient domain, unless overridden below
+     */
+    private Limit domain = new Limit(20, 20);
+    
+    /**
+     * Per-domain overrides keyed by lower-cased domain, e.g. gmail.com
+     */
+    private Map<String, Limit> domains = new HashMap<>();
+    
+    /**
+     * Share buckets across nodes through a Redis Lua script
+     */
+    private boolean redisEnabled = false;
+    
+    private String redisKeyPrefix = "notifire:rate-limit:{buckets}:";
+    
+    @Getter
+    @Setter
+    public static class Limit {
+        
+        /**
+         * Sustained permits per second; 0 disables the limit
+         */
+        private double ratePerSecond;
+        
+        /**
+         * Permits that may be taken at once after an idle period
+         */
+        private int burst;
+        
+        public Limit() {
+        }
+        
+        public Limit(double ratePerSecond, int burst) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+        }
+    }
+}
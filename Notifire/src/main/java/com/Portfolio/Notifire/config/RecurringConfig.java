@@ -0,0 +1,36 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for recurring schedules
+ */
+@Configuration
+@ConfigurationProperties(prefix = "recurring")
+@Getter
+@Setter
+public class RecurringConfig {
+    
+    /**
+     * Interval in milliseconds between checks for due schedules
+     */
+    private long pollInterval = 1000;
+    
+    /**
+     * Due schedules fired per check
+     */
+    private int batchSize = 100;
+    
+    /**
+     * Notifications inserted per flush when expanding a fire
+     */
+    private int chunkSize = 500;
+    
+    /**
+     * Max recipients on one schedule
+     */
+    private int maxRecipients = 10000;
+}
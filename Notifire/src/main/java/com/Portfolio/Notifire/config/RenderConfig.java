@@ -0,0 +1,32 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for rendering templated notifications
+ */
+@Configuration
+@ConfigurationProperties(prefix = "render")
+@Getter
+@Setter
+public class RenderConfig {
+    
+    /**
+     * Store only the template version and variables for templated notifications,
+     * rendering the body right before it is sent instead of at ingest
+     */
+    private boolean lazy = false;
+    
+    /**
+     * Compiled templates kept, keyed by template id and version
+     */
+    private int compiledCacheSize = 512;
+    
+    /**
+     * Fraction of lazily rendered bodies written back to the notification for audit
+     */
+    private double auditSampleRate = 0.0;
+}
@@ -0,0 +1,44 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the retry sweep over failed notifications
+ */
+@Configuration
+@ConfigurationProperties(prefix = "retry")
+@Getter
+@Setter
+public class RetryConfig {
+    
+    /**
+     * How often the sweep reads its next page, in milliseconds
+     */
+    private long tickInterval = 1000;
+    
+    /**
+     * Pause between the end of one pass over the failed notifications and the start of the next, in milliseconds
+     */
+    private long passInterval = 120000;
+    
+    /**
+     * Failed notifications read per second, which bounds how fast retries reach the dispatcher
+     */
+    private int ratePerSecond = 100;
+    
+    /**
+     * Most notifications read in one page
+     */
+    private int batchSize = 500;
+    
+    /**
+     * Wait after a failure before retry n is due: base * 2^n, capped at the maximum
+     */
+    private Duration baseBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofSeconds(60);
+}
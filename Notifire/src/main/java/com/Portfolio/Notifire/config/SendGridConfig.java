@@ -21,6 +21,11 @@ public class SendGridConfig {
     private String fromName;
     private boolean enabled = false;
     
+    /**
+     * Relative share of traffic when routed alongside other providers
+     */
+    private double weight = 1.0;
+    
     @Bean
     public SendGrid sendGrid() {
         return new SendGrid(apiKey);
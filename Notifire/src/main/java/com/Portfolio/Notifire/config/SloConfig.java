@@ -0,0 +1,72 @@
+package com.Portfolio.Notifire.config;
+
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for delivery-latency SLO tracking
+ */
+@Configuration
+@ConfigurationProperties(prefix = "slo")
+@Getter
+@Setter
+public class SloConfig {
+    
+    /**
+     * Length of one slice of the rolling window, in milliseconds
+     */
+    private long sliceInterval = 30000;
+    
+    /**
+     * Slices in the rolling window; the window is sliceInterval * slices long
+     */
+    private int slices = 10;
+    
+    /**
+     * Largest latency the histograms resolve; anything slower is clamped to it
+     */
+    private Duration highestTrackable = Duration.ofHours(1);
+    
+    /**
+     * Significant decimal digits kept by the histograms (1-5)
+     */
+    private int significantDigits = 2;
+    
+    private List<Objective> objectives = new ArrayList<>(List.of(
+        new Objective("high-priority-5s", NotificationPriority.HIGH, null, Duration.ofSeconds(5), 0.99)));
+    
+    /**
+     * Latency objective: {@code target} of the matching notifications reach the
+     * provider within {@code threshold}. A null priority or channel matches all.
+     */
+    @Getter
+    @Setter
+    public static class Objective {
+        
+        private String name;
+        private NotificationPriority priority;
+        private NotificationChannel channel;
+        private Duration threshold = Duration.ofSeconds(5);
+        private double target = 0.99;
+        
+        public Objective() {
+        }
+        
+        public Objective(String name, NotificationPriority priority, NotificationChannel channel,
+                         Duration threshold, double target) {
+            this.name = name;
+            this.priority = priority;
+            this.channel = channel;
+            this.threshold = threshold;
+            this.target = target;
+        }
+    }
+}
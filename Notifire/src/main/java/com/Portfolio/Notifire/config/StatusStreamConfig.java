@@ -0,0 +1,75 @@
+package com.Portfolio.Notifire.config;
+
+import com.Portfolio.Notifire.service.StatusStreamService;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Configuration for the delivery status event stream
+ */
+@Configuration
+@ConfigurationProperties(prefix = "status-stream")
+@Getter
+@Setter
+public class StatusStreamConfig {
+    
+    /**
+     * Max events buffered per subscriber before the oldest are dropped
+     */
+    private int bufferSize = 256;
+    
+    /**
+     * Max notification ids a single subscription may watch
+     */
+    private int maxIdsPerSubscription = 1000;
+    
+    /**
+     * SSE connection timeout in milliseconds
+     */
+    private long emitterTimeout = 1800000;
+    
+    /**
+     * Threads writing events out to subscribers
+     */
+    private int writerThreads = 2;
+    
+    /**
+     * Fan out events across nodes through Redis pub/sub
+     */
+    private boolean redisEnabled = false;
+    
+    private String redisChannel = "notifire:status-events";
+    
+    @Bean(name = "statusStreamExecutor")
+    public ThreadPoolTaskExecutor statusStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(writerThreads);
+        executor.setMaxPoolSize(writerThreads);
+        executor.setThreadNamePrefix("status-stream-");
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "status-stream", name = "redis-enabled", havingValue = "true")
+    public RedisMessageListenerContainer statusEventListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      StatusStreamService statusStreamService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> statusStreamService.deliverRemote(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(redisChannel)
+        );
+        return container;
+    }
+}
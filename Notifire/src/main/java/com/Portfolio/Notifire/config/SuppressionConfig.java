@@ -0,0 +1,46 @@
+package com.Portfolio.Notifire.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the recipient suppression list
+ */
+@Configuration
+@ConfigurationProperties(prefix = "suppression")
+@Getter
+@Setter
+public class SuppressionConfig {
+    
+    /**
+     * Addresses the in-memory filter is sized for. At the default false
+     * positive rate this costs about 1.2 MB of heap per million addresses.
+     */
+    private long expectedEntries = 10000000;
+    
+    private double falsePositiveProbability = 0.01;
+    
+    /**
+     * How often changes from other nodes are pulled in, in milliseconds
+     */
+    private long refreshInterval = 30000;
+    
+    /**
+     * Changes are re-read this far behind the last refresh to cover transactions that committed late
+     */
+    private Duration refreshOverlap = Duration.ofSeconds(30);
+    
+    /**
+     * How often the filter is rebuilt from scratch to drop removed addresses, in milliseconds
+     */
+    private long rebuildInterval = 21600000;
+    
+    /**
+     * Addresses upserted per transaction during import
+     */
+    private int importChunkSize = 1000;
+}
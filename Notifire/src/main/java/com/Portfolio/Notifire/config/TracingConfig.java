@@ -0,0 +1,63 @@
+package com.Portfolio.Notifire.config;
+
+import com.Portfolio.Notifire.util.AdaptiveSampler;
+import com.Portfolio.Notifire.util.FileSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing configuration: an adaptive root sampler in place of the fixed
+ * probability one, and an optional file exporter next to OTLP
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tracing")
+@Getter
+@Setter
+public class TracingConfig {
+    
+    /**
+     * New traces to sample per second; above it the sampling probability drops
+     */
+    private double targetTracesPerSecond = 20;
+    
+    /**
+     * Floor on the sampling probability under extreme load
+     */
+    private double minProbability = 0.001;
+    
+    /**
+     * Window in milliseconds over which the root span rate is measured
+     */
+    private long adjustWindow = 1000;
+    
+    /**
+     * Also write spans to a local NDJSON file
+     */
+    private boolean fileExport = false;
+    
+    private String filePath = "./traces/spans.ndjson";
+    
+    /**
+     * Children follow their parent's decision, including parents restored from a notification row
+     */
+    @Bean
+    public Sampler otelSampler() {
+        return Sampler.parentBased(new AdaptiveSampler(targetTracesPerSecond, minProbability, adjustWindow));
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "file-export", havingValue = "true")
+    public SpanExporter fileSpanExporter(ObjectMapper objectMapper) throws IOException {
+        return new FileSpanExporter(Path.of(filePath), objectMapper);
+    }
+}
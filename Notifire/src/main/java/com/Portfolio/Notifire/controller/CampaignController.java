@@ -0,0 +1,71 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.dto.CampaignRequest;
+import com.Portfolio.Notifire.dto.CampaignResponse;
+import com.Portfolio.Notifire.service.CampaignService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST endpoints for creating and controlling campaigns
+ */
+@RestController
+@RequestMapping("/api/campaigns")
+@RequiredArgsConstructor
+public class CampaignController {
+    
+    private final CampaignService campaignService;
+    
+    @PostMapping
+    public ResponseEntity<CampaignResponse> createCampaign(@Valid @RequestBody CampaignRequest request) {
+        return new ResponseEntity<>(campaignService.createCampaign(request), HttpStatus.CREATED);
+    }
+    
+    @GetMapping
+    public Page<CampaignResponse> getAllCampaigns(Pageable pageable) {
+        return campaignService.getAllCampaigns(pageable);
+    }
+    
+    @GetMapping("/{id}")
+    public CampaignResponse getCampaign(@PathVariable Long id) {
+        return campaignService.getCampaign(id);
+    }
+    
+    /**
+     * Upload the audience as NDJSON, one {"recipient": ..., "variables": {...}} per line
+     */
+    @PutMapping(value = "/{id}/audience", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CampaignResponse uploadAudience(@PathVariable Long id, InputStream body) throws IOException {
+        return campaignService.uploadAudience(id, body);
+    }
+    
+    @PostMapping("/{id}/start")
+    public CampaignResponse start(@PathVariable Long id) {
+        return campaignService.start(id);
+    }
+    
+    @PostMapping("/{id}/pause")
+    public CampaignResponse pause(@PathVariable Long id) {
+        return campaignService.pause(id);
+    }
+    
+    @PostMapping("/{id}/resume")
+    public CampaignResponse resume(@PathVariable Long id) {
+        return campaignService.resume(id);
+    }
+}
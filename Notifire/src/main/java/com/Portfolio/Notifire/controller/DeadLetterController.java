@@ -0,0 +1,68 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.dto.DeadLetterResponse;
+import com.Portfolio.Notifire.dto.ReplayRequest;
+import com.Portfolio.Notifire.dto.ReplayResponse;
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import com.Portfolio.Notifire.service.DeadLetterService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST endpoints for inspecting and replaying dead-lettered notifications
+ */
+@RestController
+@RequestMapping("/api/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterController {
+    
+    private final DeadLetterService deadLetterService;
+    
+    @GetMapping
+    public Page<DeadLetterResponse> search(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) FailureClass failureClass,
+            @RequestParam(required = false) Long templateId,
+            Pageable pageable) {
+        return deadLetterService.search(from, to, failureClass, templateId, pageable);
+    }
+    
+    /**
+     * Re-enqueue the dead letters matching the filter at the requested rate
+     */
+    @PostMapping("/replays")
+    public ResponseEntity<ReplayResponse> startReplay(@Valid @RequestBody ReplayRequest request) {
+        return new ResponseEntity<>(deadLetterService.startReplay(request), HttpStatus.ACCEPTED);
+    }
+    
+    @GetMapping("/replays")
+    public List<ReplayResponse> getReplays() {
+        return deadLetterService.getReplays();
+    }
+    
+    @GetMapping("/replays/{id}")
+    public ReplayResponse getReplay(@PathVariable Long id) {
+        return deadLetterService.getReplay(id);
+    }
+    
+    @PostMapping("/replays/{id}/cancel")
+    public ReplayResponse cancelReplay(@PathVariable Long id) {
+        return deadLetterService.cancelReplay(id);
+    }
+}
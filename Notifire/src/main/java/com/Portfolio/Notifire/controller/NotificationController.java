@@ -0,0 +1,112 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.dto.NotificationRequest;
+import com.Portfolio.Notifire.dto.NotificationResponse;
+import com.Portfolio.Notifire.dto.StatsResponse;
+import com.Portfolio.Notifire.model.enums.ExportFormat;
+import com.Portfolio.Notifire.service.AdmissionService;
+import com.Portfolio.Notifire.service.BulkIngestionService;
+import com.Portfolio.Notifire.service.NotificationExportService;
+import com.Portfolio.Notifire.service.NotificationService;
+import com.Portfolio.Notifire.service.SloTracker;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+/**
+ * REST endpoints for sending and querying notifications
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+    
+    private final NotificationService notificationService;
+    private final BulkIngestionService bulkIngestionService;
+    private final NotificationExportService exportService;
+    private final AdmissionService admissionService;
+    private final SloTracker sloTracker;
+    
+    @PostMapping
+    public ResponseEntity<NotificationResponse> sendNotification(@Valid @RequestBody NotificationRequest request) {
+        admissionService.checkAdmission();
+        return new ResponseEntity<>(notificationService.sendNotification(request), HttpStatus.ACCEPTED);
+    }
+    
+    /**
+     * Today's delivery counts with ingest-to-send percentiles and SLO burn rates over the rolling window
+     */
+    @GetMapping("/stats")
+    public StatsResponse getStats() {
+        NotificationService.NotificationStats today = notificationService.getTodayStats();
+        return StatsResponse.builder()
+            .sentToday(today.sentToday())
+            .failedToday(today.failedToday())
+            .successRate(today.successRate())
+            .latency(sloTracker.getLatency())
+            .slos(sloTracker.getSloStatus())
+            .build();
+    }
+    
+    @GetMapping("/{id}")
+    public NotificationResponse getNotification(@PathVariable Long id) {
+        return notificationService.getNotificationById(id);
+    }
+    
+    /**
+     * Ingest newline-delimited JSON requests, streaming back one result line per request
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkIngest(InputStream body, HttpServletResponse response) throws IOException {
+        // Shed before the streamed 200 is committed
+        admissionService.checkAdmission();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkIngestionService.ingest(body, response.getOutputStream());
+    }
+    
+    /**
+     * Stream notifications created in [from, to) as NDJSON or CSV
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> exportService.export(from, to, format, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"notifications." + format.getExtension() + "\"")
+            .body(body);
+    }
+    
+    /**
+     * Export notifications created in [from, to) to a file on the server
+     */
+    @PostMapping("/export/file")
+    public NotificationExportService.FileExportResult exportToFile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) throws IOException {
+        return exportService.exportToFile(from, to, format);
+    }
+}
@@ -0,0 +1,33 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.service.StatusStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Server-sent events endpoint for notification status updates
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationStreamController {
+    
+    private final StatusStreamService statusStreamService;
+    
+    /**
+     * Subscribe to status transitions by notification ids, recipient and/or template
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@RequestParam(required = false) List<Long> ids,
+                                   @RequestParam(required = false) String recipient,
+                                   @RequestParam(required = false) Long templateId) {
+        return statusStreamService.subscribe(ids, recipient, templateId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.service.ProviderEventService;
+import com.Portfolio.Notifire.service.ProviderEventService.IngestResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Receives delivery events posted by email providers
+ */
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+public class ProviderWebhookController {
+    
+    private final ProviderEventService providerEventService;
+    
+    /**
+     * SendGrid Event Webhook; the body is read as a stream rather than bound
+     */
+    @PostMapping("/sendgrid")
+    public IngestResult sendGridEvents(
+            InputStream body,
+            @RequestHeader(name = "X-Twilio-Email-Event-Webhook-Signature", required = false) String signature,
+            @RequestHeader(name = "X-Twilio-Email-Event-Webhook-Timestamp", required = false) String timestamp)
+            throws IOException {
+        return providerEventService.ingestSendGrid(body, signature, timestamp);
+    }
+}
@@ -0,0 +1,53 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.dto.RecurringScheduleRequest;
+import com.Portfolio.Notifire.dto.RecurringScheduleResponse;
+import com.Portfolio.Notifire.service.RecurringScheduleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST endpoints for managing recurring schedules
+ */
+@RestController
+@RequestMapping("/api/recurring-schedules")
+@RequiredArgsConstructor
+public class RecurringScheduleController {
+    
+    private final RecurringScheduleService recurringScheduleService;
+    
+    @PostMapping
+    public ResponseEntity<RecurringScheduleResponse> createSchedule(@Valid @RequestBody RecurringScheduleRequest request) {
+        return new ResponseEntity<>(recurringScheduleService.createSchedule(request), HttpStatus.CREATED);
+    }
+    
+    @GetMapping
+    public Page<RecurringScheduleResponse> getAllSchedules(Pageable pageable) {
+        return recurringScheduleService.getAllSchedules(pageable);
+    }
+    
+    @GetMapping("/{id}")
+    public RecurringScheduleResponse getSchedule(@PathVariable Long id) {
+        return recurringScheduleService.getSchedule(id);
+    }
+    
+    @PostMapping("/{id}/pause")
+    public RecurringScheduleResponse pause(@PathVariable Long id) {
+        return recurringScheduleService.pause(id);
+    }
+    
+    @PostMapping("/{id}/resume")
+    public RecurringScheduleResponse resume(@PathVariable Long id) {
+        return recurringScheduleService.resume(id);
+    }
+}
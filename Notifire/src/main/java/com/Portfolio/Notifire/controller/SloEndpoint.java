@@ -0,0 +1,29 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.service.SloTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint at /actuator/slo with latency percentiles and SLO burn rates
+ */
+@Component
+@Endpoint(id = "slo")
+@RequiredArgsConstructor
+public class SloEndpoint {
+    
+    private final SloTracker sloTracker;
+    
+    @ReadOperation
+    public Map<String, Object> slo() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("objectives", sloTracker.getSloStatus());
+        body.put("latency", sloTracker.getLatency());
+        return body;
+    }
+}
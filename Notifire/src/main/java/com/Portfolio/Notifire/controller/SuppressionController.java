@@ -0,0 +1,76 @@
+package com.Portfolio.Notifire.controller;
+
+import com.Portfolio.Notifire.dto.SuppressionRequest;
+import com.Portfolio.Notifire.dto.SuppressionResponse;
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import com.Portfolio.Notifire.service.SuppressionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST endpoints for managing the recipient suppression list
+ */
+@RestController
+@RequestMapping("/api/suppressions")
+@RequiredArgsConstructor
+public class SuppressionController {
+    
+    private final SuppressionService suppressionService;
+    
+    @PostMapping
+    public ResponseEntity<SuppressionResponse> suppress(@Valid @RequestBody SuppressionRequest request) {
+        return new ResponseEntity<>(suppressionService.suppress(request.getEmail(), request.getReason()),
+            HttpStatus.CREATED);
+    }
+    
+    @DeleteMapping
+    public ResponseEntity<Void> unsuppress(@RequestParam String email) {
+        return suppressionService.unsuppress(email)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+    
+    @GetMapping("/check")
+    public SuppressionCheck check(@RequestParam String email) {
+        return new SuppressionCheck(SuppressionService.normalize(email), suppressionService.isSuppressed(email));
+    }
+    
+    /**
+     * Import addresses from a plain-text or CSV body, one {@code email[,reason]} per line
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.TEXT_PLAIN_VALUE, "text/csv"})
+    public SuppressionService.ImportResult importAddresses(
+            InputStream body,
+            @RequestParam(defaultValue = "MANUAL") SuppressionReason reason) throws IOException {
+        return suppressionService.importAddresses(body, reason);
+    }
+    
+    /**
+     * Stream all suppressed addresses as CSV
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = suppressionService::export;
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"suppressions.csv\"")
+            .body(body);
+    }
+    
+    public record SuppressionCheck(String email, boolean suppressed) {}
+}
@@ -0,0 +1,61 @@
+package com.Portfolio.Notifire.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the per-line result of a bulk ingestion request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkIngestResult {
+    
+    /**
+     * 1-based line number of the request in the upload
+     */
+    private long line;
+    
+    private Long id;
+    
+    private Outcome outcome;
+    
+    private String error;
+    
+    public enum Outcome {
+        /**
+         * Persisted and handed to the dispatcher
+         */
+        QUEUED,
+        
+        /**
+         * Persisted and left PENDING for the scheduler
+         */
+        PENDING,
+        
+        /**
+         * Persisted and held until its scheduled time
+         */
+        SCHEDULED,
+        
+        /**
+         * Persisted and held for a per-recipient digest
+         */
+        BUFFERED,
+        
+        /**
+         * Idempotency key already used; id is the original notification
+         */
+        DUPLICATE,
+        
+        /**
+         * Not persisted
+         */
+        REJECTED
+    }
+}
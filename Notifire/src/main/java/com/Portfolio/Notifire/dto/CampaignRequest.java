@@ -0,0 +1,67 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.AudienceSource;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO for creating campaigns
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignRequest {
+    
+    @NotBlank(message = "Campaign name is required")
+    @Size(max = 255, message = "Campaign name too long")
+    private String name;
+    
+    @NotNull(message = "Template is required")
+    private Long templateId;
+    
+    /**
+     * Variables shared by every recipient; per-recipient variables override them
+     */
+    private Map<String, Object> variables = new HashMap<>();
+    
+    private NotificationChannel channel = NotificationChannel.EMAIL;
+    
+    private NotificationPriority priority = NotificationPriority.MEDIUM;
+    
+    @NotNull(message = "Audience source is required")
+    private AudienceSource audienceSource;
+    
+    /**
+     * NOTIFICATION_HISTORY only: restrict to recipients of this template
+     */
+    private Long historyTemplateId;
+    
+    /**
+     * NOTIFICATION_HISTORY only: restrict to notifications created since
+     */
+    private LocalDateTime historySince;
+    
+    /**
+     * Max notifications dispatched per second (defaults to the configured rate)
+     */
+    @Min(value = 1, message = "Rate must be at least 1 per second")
+    private Integer ratePerSecond;
+    
+    /**
+     * Tenant the campaign's notifications are dispatched as (defaults to the configured default tenant)
+     */
+    @Pattern(regexp = "^[A-Za-z0-9._-]{1,64}$", message = "Tenant id must be 1-64 letters, digits, dots, dashes or underscores")
+    private String tenantId;
+}
@@ -0,0 +1,64 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.AudienceSource;
+import com.Portfolio.Notifire.model.enums.CampaignStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for campaign state and progress
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignResponse {
+    
+    private Long id;
+    
+    private String name;
+    
+    private Long templateId;
+    
+    private AudienceSource audienceSource;
+    
+    private CampaignStatus status;
+    
+    private Integer ratePerSecond;
+    
+    private String tenantId;
+    
+    /**
+     * Audience members read so far
+     */
+    private Long processed;
+    
+    /**
+     * Notifications created
+     */
+    private Long created;
+    
+    /**
+     * Audience members skipped (invalid or suppressed)
+     */
+    private Long rejected;
+    
+    /**
+     * Notifications handed to the dispatcher
+     */
+    private Long dispatched;
+    
+    private Boolean audienceExhausted;
+    
+    private String errorMessage;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,41 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a dead-lettered notification
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterResponse {
+    
+    private Long id;
+    
+    private Long notificationId;
+    
+    private String recipient;
+    
+    private Long templateId;
+    
+    private String tenantId;
+    
+    private FailureClass failureClass;
+    
+    private Integer httpStatus;
+    
+    private String errorMessage;
+    
+    private Integer attempts;
+    
+    private LocalDateTime failedAt;
+    
+    private LocalDateTime deadLetteredAt;
+}
@@ -0,0 +1,32 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for ingest-to-send latency percentiles over the rolling SLO window, in milliseconds
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatencySnapshot {
+    
+    private NotificationPriority priority;
+    
+    private NotificationChannel channel;
+    
+    private Long count;
+    
+    private Long p50;
+    
+    private Long p99;
+    
+    private Long p999;
+    
+    private Long max;
+}
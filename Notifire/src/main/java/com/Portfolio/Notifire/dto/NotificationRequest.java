@@ -4,6 +4,7 @@ import com.Portfolio.Notifire.model.enums.NotificationChannel;
 import com.Portfolio.Notifire.model.enums.NotificationPriority;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -57,6 +58,25 @@ public class NotificationRequest {
      */
     private LocalDateTime scheduledAt;
     
+    /**
+     * Optional: Merge into a per-recipient digest instead of sending on its own.
+     * Ignored unless digest.enabled is set; when omitted, LOW priority notifications are digested only if digest.low-priority is set.
+     */
+    private Boolean digest;
+    
+    /**
+     * Optional: Client-chosen key making retries of this request safe.
+     * A repeated key returns the original notification instead of creating a new one.
+     */
+    @Size(max = 128, message = "Idempotency key too long")
+    private String idempotencyKey;
+    
+    /**
+     * Optional: Tenant or source service sending the notification (defaults to the configured default tenant)
+     */
+    @Pattern(regexp = "^[A-Za-z0-9._-]{1,64}$", message = "Tenant id must be 1-64 letters, digits, dots, dashes or underscores")
+    private String tenantId;
+    
     /**
      * Validate that either content or templateId is provided
      */
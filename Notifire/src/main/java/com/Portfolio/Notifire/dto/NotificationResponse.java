@@ -31,9 +31,22 @@ public class NotificationResponse {
     
     private LocalDateTime sentAt;
     
+    private LocalDateTime deliveredAt;
+    
     private LocalDateTime scheduledAt;
     
     private Integer retryCount;
     
     private String errorMessage;
+    
+    private String idempotencyKey;
+    
+    private String tenantId;
+    
+    /**
+     * Digest notification delivering this one, once DIGESTED
+     */
+    private Long digestId;
+    
+    private String traceId;
 }
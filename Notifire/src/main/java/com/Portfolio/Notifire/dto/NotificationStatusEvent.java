@@ -0,0 +1,53 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO describing a notification status transition, pushed to stream subscribers
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationStatusEvent {
+    
+    private Long notificationId;
+    
+    private String recipient;
+    
+    private Long templateId;
+    
+    private NotificationChannel channel;
+    
+    private NotificationStatus status;
+    
+    private Integer retryCount;
+    
+    private String errorMessage;
+    
+    private LocalDateTime timestamp;
+    
+    /**
+     * Build an event from the current state of a notification
+     */
+    public static NotificationStatusEvent of(Notification notification) {
+        return NotificationStatusEvent.builder()
+            .notificationId(notification.getId())
+            .recipient(notification.getRecipient())
+            .templateId(notification.getTemplate() != null ? notification.getTemplate().getId() : null)
+            .channel(notification.getChannel())
+            .status(notification.getStatus())
+            .retryCount(notification.getRetryCount())
+            .errorMessage(notification.getErrorMessage())
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
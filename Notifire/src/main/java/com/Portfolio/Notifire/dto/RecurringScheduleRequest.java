@@ -0,0 +1,58 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DTO for creating recurring schedules
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringScheduleRequest {
+    
+    @NotBlank(message = "Schedule name is required")
+    @Size(max = 255, message = "Schedule name too long")
+    private String name;
+    
+    @NotNull(message = "Template is required")
+    private Long templateId;
+    
+    /**
+     * Spring cron expression, e.g. "0 0 8 * * MON-FRI" for 08:00 on weekdays
+     */
+    @NotBlank(message = "Cron expression is required")
+    @Size(max = 120, message = "Cron expression too long")
+    private String cronExpression;
+    
+    /**
+     * Zone the cron expression is evaluated in (defaults to the server zone)
+     */
+    private String timeZone;
+    
+    @NotEmpty(message = "At least one recipient is required")
+    private Set<@NotBlank @Email(message = "Invalid email format") String> recipients = new HashSet<>();
+    
+    private Map<String, Object> variables = new HashMap<>();
+    
+    private NotificationChannel channel = NotificationChannel.EMAIL;
+    
+    private NotificationPriority priority = NotificationPriority.MEDIUM;
+    
+    @Pattern(regexp = "^[A-Za-z0-9._-]{1,64}$", message = "Tenant id must be 1-64 letters, digits, dots, dashes or underscores")
+    private String tenantId;
+}
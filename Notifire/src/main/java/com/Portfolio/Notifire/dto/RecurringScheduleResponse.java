@@ -0,0 +1,42 @@
+package com.Portfolio.Notifire.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for recurring schedule state
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringScheduleResponse {
+    
+    private Long id;
+    
+    private String name;
+    
+    private Long templateId;
+    
+    private String cronExpression;
+    
+    private String timeZone;
+    
+    private Integer recipientCount;
+    
+    private String tenantId;
+    
+    private Boolean active;
+    
+    private LocalDateTime nextFireAt;
+    
+    private LocalDateTime lastFiredAt;
+    
+    private Long fireCount;
+    
+    private LocalDateTime createdAt;
+}
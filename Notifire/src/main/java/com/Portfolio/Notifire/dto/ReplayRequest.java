@@ -0,0 +1,38 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for replaying dead letters; every filter is optional and they combine
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayRequest {
+    
+    /**
+     * Replay notifications that failed at or after this time
+     */
+    private LocalDateTime from;
+    
+    /**
+     * Replay notifications that failed before this time
+     */
+    private LocalDateTime to;
+    
+    private Long templateId;
+    
+    private FailureClass failureClass;
+    
+    /**
+     * Notifications re-enqueued per second (defaults to dead-letter.default-replay-rate)
+     */
+    @Min(value = 1, message = "Rate must be at least 1 per second")
+    private Integer ratePerSecond;
+}
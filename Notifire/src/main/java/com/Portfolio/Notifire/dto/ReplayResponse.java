@@ -0,0 +1,48 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import com.Portfolio.Notifire.model.enums.ReplayStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for replay state and progress
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplayResponse {
+    
+    private Long id;
+    
+    private ReplayStatus status;
+    
+    private LocalDateTime from;
+    
+    private LocalDateTime to;
+    
+    private Long templateId;
+    
+    private FailureClass failureClass;
+    
+    private Integer ratePerSecond;
+    
+    /**
+     * Dead letters matching the filter when the replay started
+     */
+    private Long matched;
+    
+    /**
+     * Notifications re-enqueued so far
+     */
+    private Long replayed;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,40 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for how a latency objective is doing over the rolling SLO window
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SloStatus {
+    
+    private String name;
+    
+    private NotificationPriority priority;
+    
+    private NotificationChannel channel;
+    
+    private Long thresholdMillis;
+    
+    private Double target;
+    
+    private Long count;
+    
+    /**
+     * Fraction of notifications sent within the threshold; 1 when nothing was sent
+     */
+    private Double attainment;
+    
+    /**
+     * Rate the error budget is being spent at; 1 spends it exactly over the SLO period
+     */
+    private Double burnRate;
+}
@@ -0,0 +1,28 @@
+package com.Portfolio.Notifire.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for delivery statistics: today's counts and the rolling latency SLOs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatsResponse {
+    
+    private Long sentToday;
+    
+    private Long failedToday;
+    
+    private Double successRate;
+    
+    private List<LatencySnapshot> latency;
+    
+    private List<SloStatus> slos;
+}
@@ -0,0 +1,28 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for adding an address to the suppression list
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuppressionRequest {
+    
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    @Size(max = 255, message = "Email too long")
+    private String email;
+    
+    /**
+     * Why the address is suppressed (defaults to MANUAL)
+     */
+    private SuppressionReason reason = SuppressionReason.MANUAL;
+}
@@ -0,0 +1,29 @@
+package com.Portfolio.Notifire.dto;
+
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for suppression list entries
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuppressionResponse {
+    
+    private String email;
+    
+    private SuppressionReason reason;
+    
+    private Boolean active;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
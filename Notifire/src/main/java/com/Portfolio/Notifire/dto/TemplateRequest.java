@@ -47,4 +47,9 @@ public class TemplateRequest {
      * Is template active? (defaults to true)
      */
     private Boolean isActive = true;
+    
+    /**
+     * Deliver notifications in order per recipient? (defaults to false)
+     */
+    private Boolean orderedDelivery = false;
 }
@@ -34,6 +34,8 @@ public class TemplateResponse {
     
     private Boolean isActive;
     
+    private Boolean orderedDelivery;
+    
     private Integer version;
     
     private LocalDateTime createdAt;
@@ -0,0 +1,11 @@
+package com.Portfolio.Notifire.exception;
+
+/**
+ * Exception thrown when a campaign is not found
+ */
+public class CampaignNotFoundException extends RuntimeException {
+    
+    public CampaignNotFoundException(Long id) {
+        super("Campaign not found with id: " + id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.Portfolio.Notifire.exception;
+
+/**
+ * Exception thrown when a request reuses an idempotency key that is still being processed
+ */
+public class DuplicateRequestException extends RuntimeException {
+    
+    public DuplicateRequestException(String idempotencyKey) {
+        super("A request with idempotency key '" + idempotencyKey + "' is already being processed");
+    }
+}
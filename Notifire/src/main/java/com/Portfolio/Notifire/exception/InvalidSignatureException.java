@@ -0,0 +1,11 @@
+package com.Portfolio.Notifire.exception;
+
+/**
+ * Exception thrown when a webhook request fails signature verification
+ */
+public class InvalidSignatureException extends RuntimeException {
+    
+    public InvalidSignatureException(String message) {
+        super(message);
+    }
+}
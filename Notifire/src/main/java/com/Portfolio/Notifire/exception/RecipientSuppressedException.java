@@ -0,0 +1,11 @@
+package com.Portfolio.Notifire.exception;
+
+/**
+ * Exception thrown when sending to an address on the suppression list
+ */
+public class RecipientSuppressedException extends RuntimeException {
+    
+    public RecipientSuppressedException(String recipient) {
+        super("Recipient is suppressed: " + recipient);
+    }
+}
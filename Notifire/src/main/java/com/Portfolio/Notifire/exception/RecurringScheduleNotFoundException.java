@@ -0,0 +1,11 @@
+package com.Portfolio.Notifire.exception;
+
+/**
+ * Exception thrown when a recurring schedule is not found
+ */
+public class RecurringScheduleNotFoundException extends RuntimeException {
+    
+    public RecurringScheduleNotFoundException(Long id) {
+        super("Recurring schedule not found with id: " + id);
+    }
+}
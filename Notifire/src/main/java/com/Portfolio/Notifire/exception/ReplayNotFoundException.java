@@ -0,0 +1,11 @@
+package com.Portfolio.Notifire.exception;
+
+/**
+ * Exception thrown when a dead-letter replay is not found
+ */
+public class ReplayNotFoundException extends RuntimeException {
+    
+    public ReplayNotFoundException(Long id) {
+        super("Replay not found with id: " + id);
+    }
+}
@@ -0,0 +1,20 @@
+package com.Portfolio.Notifire.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because the service is overloaded
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private final Duration retryAfter;
+    
+    public ServiceOverloadedException(String reason, Duration retryAfter) {
+        super("Service is overloaded (" + reason + "), retry later");
+        this.retryAfter = retryAfter;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
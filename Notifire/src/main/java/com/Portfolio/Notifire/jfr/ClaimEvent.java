@@ -0,0 +1,25 @@
+package com.Portfolio.Notifire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+
+/**
+ * Conditional update claiming a notification for sending
+ */
+@Name("notifire.Claim")
+@Label("DB Claim")
+@Category("Notifire")
+@Description("Conditional update claiming a notification for sending")
+@Registered(false)
+public class ClaimEvent extends Event {
+    
+    @Label("Notification Id")
+    public long notificationId;
+    
+    @Label("Claimed")
+    public boolean claimed;
+}
@@ -0,0 +1,28 @@
+package com.Portfolio.Notifire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+
+/**
+ * A send or retry the executor had no room for; the notification is left for the scheduler
+ */
+@Name("notifire.ExecutorRejected")
+@Label("Executor Rejection")
+@Category("Notifire")
+@Description("A send or retry the executor had no room for")
+@Registered(false)
+public class ExecutorRejectedEvent extends Event {
+    
+    @Label("Notification Id")
+    public long notificationId;
+    
+    @Label("Operation")
+    public String operation;
+    
+    @Label("Pending Sends")
+    public int pending;
+}
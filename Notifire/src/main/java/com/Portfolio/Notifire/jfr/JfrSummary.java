@@ -0,0 +1,128 @@
+package com.Portfolio.Notifire.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the Notifire events in a {@code .jfr} recording into one latency
+ * table per stage and channel.
+ * <p>
+ * Usage: {@code java -cp notifire.jar com.Portfolio.Notifire.jfr.JfrSummary recording.jfr}
+ */
+public final class JfrSummary {
+    
+    private static final String PREFIX = "notifire.";
+    
+    private JfrSummary() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrSummary <recording.jfr>");
+            System.exit(2);
+        }
+        print(summarize(Path.of(args[0])), System.out);
+    }
+    
+    /**
+     * Read a recording and group the Notifire events by stage, then channel
+     */
+    public static Map<String, Map<String, StageStats>> summarize(Path recording) throws IOException {
+        Map<String, Map<String, Accumulator>> stages = new TreeMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String name = event.getEventType().getName();
+            if (!name.startsWith(PREFIX)) {
+                continue;
+            }
+            String channel = event.hasField("channel") && event.getString("channel") != null
+                ? event.getString("channel") : "-";
+            stages.computeIfAbsent(name.substring(PREFIX.length()), s -> new TreeMap<>())
+                .computeIfAbsent(channel, c -> new Accumulator())
+                .add(event);
+        }
+        
+        Map<String, Map<String, StageStats>> summary = new LinkedHashMap<>();
+        stages.forEach((stage, channels) -> {
+            Map<String, StageStats> byChannel = new LinkedHashMap<>();
+            channels.forEach((channel, acc) -> byChannel.put(channel, acc.stats()));
+            summary.put(stage, byChannel);
+        });
+        return summary;
+    }
+    
+    public static void print(Map<String, Map<String, StageStats>> summary, PrintStream out) {
+        if (summary.isEmpty()) {
+            out.println("No Notifire events in recording (is jfr.enabled set?)");
+            return;
+        }
+        String format = "%-10s %8s %8s %10s %10s %10s %10s %9s %8s%n";
+        summary.forEach((stage, channels) -> {
+            out.println(stage);
+            out.printf(format, "channel", "count", "failed", "p50 ms", "p90 ms", "p99 ms", "max ms", "total s", "avg len");
+            channels.forEach((channel, s) -> out.printf(Locale.ROOT, format, channel, s.count(), s.failed(),
+                fmt(s.p50Millis()), fmt(s.p90Millis()), fmt(s.p99Millis()), fmt(s.maxMillis()),
+                String.format(Locale.ROOT, "%.2f", s.totalMillis() / 1000.0),
+                s.avgPayload() >= 0 ? String.valueOf(Math.round(s.avgPayload())) : "-"));
+            out.println();
+        });
+    }
+    
+    private static String fmt(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+    
+    /**
+     * Latency of one stage on one channel; avgPayload is -1 for events without a payload
+     */
+    public record StageStats(long count, long failed, double p50Millis, double p90Millis, double p99Millis,
+                             double maxMillis, double totalMillis, double avgPayload) {}
+    
+    private static class Accumulator {
+        
+        private final List<Long> durations = new ArrayList<>();
+        private long failed;
+        private long payloadTotal;
+        private long payloadCount;
+        
+        void add(RecordedEvent event) {
+            durations.add(event.getDuration().toNanos());
+            if ((event.hasField("success") && !event.getBoolean("success"))
+                || (event.hasField("claimed") && !event.getBoolean("claimed"))) {
+                failed++;
+            }
+            if (event.hasField("payloadSize")) {
+                payloadTotal += event.getLong("payloadSize");
+                payloadCount++;
+            }
+        }
+        
+        StageStats stats() {
+            long[] sorted = durations.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            long total = Arrays.stream(sorted).sum();
+            return new StageStats(sorted.length, failed,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0, total / 1e6,
+                payloadCount > 0 ? (double) payloadTotal / payloadCount : -1);
+        }
+        
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))] / 1e6;
+        }
+    }
+}
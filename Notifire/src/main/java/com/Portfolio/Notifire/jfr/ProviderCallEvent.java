@@ -0,0 +1,41 @@
+package com.Portfolio.Notifire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+
+/**
+ * Call to the email provider for one notification
+ */
+@Name("notifire.ProviderCall")
+@Label("Provider Call")
+@Category("Notifire")
+@Description("Call to the email provider for one notification")
+@Registered(false)
+public class ProviderCallEvent extends Event {
+    
+    @Label("Notification Id")
+    public long notificationId;
+    
+    @Label("Template Id")
+    public long templateId;
+    
+    @Label("Channel")
+    public String channel;
+    
+    @Label("Provider")
+    public String provider;
+    
+    @Label("Payload Length")
+    @Description("Length of the request body in characters")
+    public long payloadSize;
+    
+    @Label("Status Code")
+    public int statusCode;
+    
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,32 @@
+package com.Portfolio.Notifire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+
+/**
+ * Rendering of a notification body from its template
+ */
+@Name("notifire.Render")
+@Label("Render")
+@Category("Notifire")
+@Description("Rendering of a notification body from its template")
+@Registered(false)
+public class RenderEvent extends Event {
+    
+    @Label("Notification Id")
+    public long notificationId;
+    
+    @Label("Template Id")
+    public long templateId;
+    
+    @Label("Channel")
+    public String channel;
+    
+    @Label("Body Length")
+    @Description("Length of the rendered body in characters")
+    public long payloadSize;
+}
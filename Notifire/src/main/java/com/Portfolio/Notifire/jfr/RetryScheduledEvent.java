@@ -0,0 +1,30 @@
+package com.Portfolio.Notifire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.Timespan;
+
+/**
+ * Backoff wait before a failed notification is retried; the event lasts as long as the wait
+ */
+@Name("notifire.RetryScheduled")
+@Label("Retry Backoff")
+@Category("Notifire")
+@Description("Backoff wait before a failed notification is retried")
+@Registered(false)
+public class RetryScheduledEvent extends Event {
+    
+    @Label("Notification Id")
+    public long notificationId;
+    
+    @Label("Attempt")
+    public int attempt;
+    
+    @Label("Planned Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    public long delay;
+}
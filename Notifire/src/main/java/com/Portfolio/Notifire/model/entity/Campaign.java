@@ -0,0 +1,132 @@
+package com.Portfolio.Notifire.model.entity;
+
+import com.Portfolio.Notifire.model.enums.AudienceSource;
+import com.Portfolio.Notifire.model.enums.CampaignStatus;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a templated send to a large audience.
+ * Progress counters and cursors are only advanced in the same transaction
+ * as the notifications they describe, so a paused or interrupted campaign
+ * resumes exactly where it stopped.
+ */
+@Entity
+@Table(name = "campaigns", indexes = {
+    @Index(name = "idx_campaign_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Campaign {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 255)
+    private String name;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "template_id", nullable = false)
+    private Template template;
+    
+    /**
+     * Variables shared by every recipient, as a JSON object
+     */
+    @Column(columnDefinition = "TEXT")
+    private String variables;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false)
+    private NotificationChannel channel = NotificationChannel.EMAIL;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private NotificationPriority priority = NotificationPriority.MEDIUM;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private AudienceSource audienceSource;
+    
+    /**
+     * Stored upload for FILE audiences
+     */
+    @Column(length = 1000)
+    private String audienceFile;
+    
+    /**
+     * Template filter for NOTIFICATION_HISTORY audiences
+     */
+    private Long historyTemplateId;
+    
+    /**
+     * Creation time filter for NOTIFICATION_HISTORY audiences
+     */
+    private LocalDateTime historySince;
+    
+    /**
+     * Max notifications handed to the dispatcher per second
+     */
+    @Column(nullable = false)
+    private Integer ratePerSecond;
+    
+    /**
+     * Tenant the fanned-out notifications belong to
+     */
+    @Column(length = 64)
+    private String tenantId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private CampaignStatus status = CampaignStatus.DRAFT;
+    
+    /**
+     * Resume point in the audience: byte offset for FILE, last recipient for NOTIFICATION_HISTORY
+     */
+    @Column(length = 255)
+    private String audienceCursor;
+    
+    @Column(nullable = false)
+    private Boolean audienceExhausted = false;
+    
+    /**
+     * Highest notification id handed to the dispatcher
+     */
+    @Column(nullable = false)
+    private Long dispatchCursor = 0L;
+    
+    @Column(nullable = false)
+    private Long processedCount = 0L;
+    
+    @Column(nullable = false)
+    private Long createdCount = 0L;
+    
+    @Column(nullable = false)
+    private Long rejectedCount = 0L;
+    
+    @Column(nullable = false)
+    private Long dispatchedCount = 0L;
+    
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime completedAt;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
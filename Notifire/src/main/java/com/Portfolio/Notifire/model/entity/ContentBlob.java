@@ -0,0 +1,54 @@
+package com.Portfolio.Notifire.model.entity;
+
+import com.Portfolio.Notifire.model.enums.ContentCodec;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a notification body stored once by content hash.
+ * Blobs are immutable; any number of notifications reference the same one.
+ */
+@Entity
+@Table(name = "content_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBlob {
+    
+    /**
+     * Hex SHA-256 of the UTF-8 body
+     */
+    @Id
+    @Column(length = 64)
+    private String hash;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ContentCodec codec;
+    
+    /**
+     * Size of the body in UTF-8 bytes before encoding
+     */
+    @Column(nullable = false)
+    private Integer originalLength;
+    
+    @Column(nullable = false, length = 16777216)
+    private byte[] data;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * Helper method to decode the stored body
+     */
+    public String decode() {
+        return new String(codec.decode(data, originalLength), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.Portfolio.Notifire.model.entity;
+
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification that failed terminally. The notification row itself stays
+ * in place as DEAD_LETTERED, out of the retry scans; this row carries what
+ * replay filters on, and is removed when the notification is replayed.
+ */
+@Entity
+@Table(name = "dead_letters", indexes = {
+    @Index(name = "idx_dead_letter_notification", columnList = "notificationId", unique = true),
+    @Index(name = "idx_dead_letter_failed_at", columnList = "failedAt"),
+    @Index(name = "idx_dead_letter_class", columnList = "failureClass, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetter {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dead_letter_seq")
+    @SequenceGenerator(name = "dead_letter_seq", sequenceName = "dead_letters_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long notificationId;
+    
+    @Column(nullable = false, length = 255)
+    private String recipient;
+    
+    private Long templateId;
+    
+    @Column(length = 64)
+    private String tenantId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private FailureClass failureClass;
+    
+    /**
+     * Provider HTTP status, when the failure came with one
+     */
+    private Integer httpStatus;
+    
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    private LocalDateTime failedAt;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime deadLetteredAt;
+    
+    @PrePersist
+    void onCreate() {
+        if (deadLetteredAt == null) {
+            deadLetteredAt = LocalDateTime.now();
+        }
+    }
+}
@@ -6,8 +6,9 @@ import com.Portfolio.Notifire.model.enums.NotificationStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import lombok.ToString;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -19,15 +20,30 @@ import java.time.LocalDateTime;
 @Table(name = "notifications", indexes = {
     @Index(name = "idx_recipient", columnList = "recipient"),
     @Index(name = "idx_status", columnList = "status"),
-    @Index(name = "idx_created_at", columnList = "createdAt")
+    @Index(name = "idx_created_at", columnList = "createdAt"),
+    @Index(name = Notification.IDEMPOTENCY_KEY_INDEX, columnList = "idempotencyKey", unique = true),
+    @Index(name = "idx_digest_id", columnList = "digest_id"),
+    @Index(name = "idx_campaign_id", columnList = "campaign_id, id"),
+    @Index(name = "idx_tenant_status", columnList = "tenantId, status"),
+    @Index(name = "idx_status_scheduled_at", columnList = "status, scheduledAt"),
+    @Index(name = "idx_provider_message_id", columnList = "providerMessageId")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
     
+    /**
+     * Unique index on the idempotency key, named so a collision can be told from other constraint violations
+     */
+    public static final String IDEMPOTENCY_KEY_INDEX = "idx_idempotency_key";
+    
+    /**
+     * Sequence-generated (pooled) so bulk inserts can be JDBC-batched
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 255)
@@ -36,13 +52,43 @@ public class Notification {
     @Column(length = 500)
     private String subject;
     
-    @Column(nullable = false, columnDefinition = "TEXT")
+    /**
+     * Rendered body; null while rendering is deferred to send time or when the body is in a content blob
+     */
+    @Column(columnDefinition = "TEXT")
     private String content;
     
+    /**
+     * Shared body stored by content hash, loaded only when the body is read
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_hash")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ContentBlob contentBlob;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "template_id")
     private Template template;
     
+    /**
+     * Campaign that fanned out this notification; such rows are dispatched by the campaign pump
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "campaign_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Campaign campaign;
+    
+    /**
+     * Digest this notification was merged into, once DIGESTED
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "digest_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Notification digest;
+    
     @Enumerated(EnumType.STRING)
     @Column(length = 50, nullable = false)
     private NotificationChannel channel = NotificationChannel.EMAIL;
@@ -64,6 +110,43 @@ public class Notification {
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
     
+    /**
+     * Client-supplied key; a repeated request with the same key returns this notification
+     */
+    @Column(length = 128)
+    private String idempotencyKey;
+    
+    /**
+     * Tenant or source service that produced the notification; dispatch is shared fairly between tenants
+     */
+    @Column(length = 64)
+    private String tenantId;
+    
+    /**
+     * Copied from the template; such notifications are sent one at a time per recipient
+     */
+    private Boolean orderedDelivery = false;
+    
+    /**
+     * Template version and variables (JSON) of a notification whose body is rendered at send time
+     */
+    private Integer templateVersion;
+    
+    @Column(columnDefinition = "TEXT")
+    private String templateVariables;
+    
+    /**
+     * W3C traceparent of the request that created the notification; sends and retries continue this trace
+     */
+    @Column(length = 55)
+    private String traceParent;
+    
+    /**
+     * Id the provider assigned to the sent message; its delivery events are matched on it
+     */
+    @Column(length = 100)
+    private String providerMessageId;
+    
     /**
      * Stores additional metadata as JSON string
      */
@@ -76,15 +159,48 @@ public class Notification {
     
     private LocalDateTime deliveredAt;
     
+    private LocalDateTime openedAt;
+    
     private LocalDateTime failedAt;
     
-    @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
+    /**
+     * Set creation time on persist rather than on insert, so it is
+     * available before a batched insert is flushed
+     */
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+    
+    /**
+     * Helper method to read the body, inline or from its content blob
+     */
+    public String readContent() {
+        return content != null || contentBlob == null ? content : contentBlob.decode();
+    }
+    
+    /**
+     * Helper method to get the trace id from the stored traceparent
+     */
+    public String getTraceId() {
+        return traceParent != null && traceParent.length() >= 35 ? traceParent.substring(3, 35) : null;
+    }
+    
+    /**
+     * Helper method to check if the body is still to be rendered from the template
+     */
+    public boolean isRenderDeferred() {
+        return content == null && contentBlob == null && template != null;
+    }
+    
     /**
      * Helper method to check if notification can be retried
      */
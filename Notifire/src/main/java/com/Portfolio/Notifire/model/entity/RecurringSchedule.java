@@ -0,0 +1,94 @@
+package com.Portfolio.Notifire.model.entity;
+
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entity representing a cron-driven templated send to a fixed set of recipients.
+ * The next fire time is precomputed and indexed, so finding due schedules is
+ * a range scan over only those due, however many schedules exist.
+ */
+@Entity
+@Table(name = "recurring_schedules", indexes = {
+    @Index(name = "idx_recurring_active_next_fire", columnList = "active, nextFireAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringSchedule {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 255)
+    private String name;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "template_id", nullable = false)
+    private Template template;
+    
+    /**
+     * Spring cron expression: second, minute, hour, day of month, month, day of week
+     */
+    @Column(nullable = false, length = 120)
+    private String cronExpression;
+    
+    /**
+     * Zone the cron expression is evaluated in
+     */
+    @Column(nullable = false, length = 64)
+    private String timeZone;
+    
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "recurring_schedule_recipients", joinColumns = @JoinColumn(name = "schedule_id"))
+    @Column(name = "recipient", nullable = false, length = 255)
+    private Set<String> recipients = new HashSet<>();
+    
+    /**
+     * Variables used to render every fire, as a JSON object
+     */
+    @Column(columnDefinition = "TEXT")
+    private String variables;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false)
+    private NotificationChannel channel = NotificationChannel.EMAIL;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private NotificationPriority priority = NotificationPriority.MEDIUM;
+    
+    @Column(length = 64)
+    private String tenantId;
+    
+    @Column(nullable = false)
+    private Boolean active = true;
+    
+    /**
+     * Next time the schedule fires, in server local time; null once the expression has no further matches
+     */
+    private LocalDateTime nextFireAt;
+    
+    private LocalDateTime lastFiredAt;
+    
+    @Column(nullable = false)
+    private Long fireCount = 0L;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.Portfolio.Notifire.model.entity;
+
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an address that must not be sent to.
+ * Removal deactivates the row rather than deleting it, so every change
+ * moves updatedAt forward and other nodes can pick it up incrementally.
+ */
+@Entity
+@Table(name = "suppressed_recipients", indexes = {
+    @Index(name = "idx_suppressed_email", columnList = "email", unique = true),
+    @Index(name = "idx_suppressed_updated_at", columnList = "updatedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuppressedRecipient {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "suppressed_recipient_seq")
+    @SequenceGenerator(name = "suppressed_recipient_seq", sequenceName = "suppressed_recipients_seq", allocationSize = 50)
+    private Long id;
+    
+    /**
+     * Lower-cased address
+     */
+    @Column(nullable = false, length = 255)
+    private String email;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private SuppressionReason reason;
+    
+    @Column(nullable = false)
+    private Boolean active = true;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+    
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
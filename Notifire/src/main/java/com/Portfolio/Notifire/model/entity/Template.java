@@ -53,6 +53,11 @@ public class Template {
     @Column(nullable = false)
     private Boolean isActive = true;
     
+    /**
+     * Deliver notifications from this template in order per recipient
+     */
+    private Boolean orderedDelivery = false;
+    
     @Column(nullable = false)
     private Integer version = 1;
     
@@ -0,0 +1,16 @@
+package com.Portfolio.Notifire.model.enums;
+
+/**
+ * Represents where a campaign reads its recipients from.
+ */
+public enum AudienceSource {
+    /**
+     * Uploaded NDJSON file, one {"recipient": ..., "variables": {...}} per line
+     */
+    FILE,
+    
+    /**
+     * Distinct recipients of earlier notifications, optionally filtered by template and date
+     */
+    NOTIFICATION_HISTORY
+}
@@ -0,0 +1,31 @@
+package com.Portfolio.Notifire.model.enums;
+
+/**
+ * Represents the lifecycle state of a campaign.
+ */
+public enum CampaignStatus {
+    /**
+     * Created, audience may still be uploaded
+     */
+    DRAFT,
+    
+    /**
+     * Audience is being fanned out and/or notifications dispatched
+     */
+    RUNNING,
+    
+    /**
+     * Fan-out and dispatch are halted until resumed
+     */
+    PAUSED,
+    
+    /**
+     * Every audience member was processed and every notification dispatched
+     */
+    COMPLETED,
+    
+    /**
+     * Fan-out stopped on an unrecoverable error
+     */
+    FAILED
+}
@@ -0,0 +1,77 @@
+package com.Portfolio.Notifire.model.enums;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encoding of a stored content blob.
+ */
+public enum ContentCodec {
+    /**
+     * UTF-8 bytes as is, for bodies below the compression threshold
+     */
+    NONE {
+        @Override
+        public byte[] encode(byte[] raw) {
+            return raw;
+        }
+        
+        @Override
+        public byte[] decode(byte[] data, int originalLength) {
+            return data;
+        }
+    },
+    
+    /**
+     * UTF-8 bytes compressed with raw DEFLATE at best speed
+     */
+    DEFLATE {
+        @Override
+        public byte[] encode(byte[] raw) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+        
+        @Override
+        public byte[] decode(byte[] data, int originalLength) {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(data);
+                byte[] raw = new byte[originalLength];
+                int read = 0;
+                while (read < originalLength && !inflater.finished()) {
+                    int n = inflater.inflate(raw, read, originalLength - read);
+                    if (n == 0 && inflater.needsInput()) {
+                        break;
+                    }
+                    read += n;
+                }
+                if (read != originalLength) {
+                    throw new IllegalStateException("Content blob is truncated");
+                }
+                return raw;
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Content blob is corrupt", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+    
+    public abstract byte[] encode(byte[] raw);
+    
+    public abstract byte[] decode(byte[] data, int originalLength);
+}
@@ -0,0 +1,32 @@
+package com.Portfolio.Notifire.model.enums;
+
+/**
+ * Output format for notification exports.
+ */
+public enum ExportFormat {
+    /**
+     * Newline-delimited JSON, one notification per line
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+    
+    /**
+     * Comma-separated values with a header row
+     */
+    CSV("text/csv", "csv");
+    
+    private final String contentType;
+    private final String extension;
+    
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,111 @@
+package com.Portfolio.Notifire.model.enums;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Why a notification failed, derived from its error message and the
+ * provider's HTTP status. Classes that are not retryable are dead-lettered
+ * without spending the remaining retries.
+ */
+public enum FailureClass {
+    /**
+     * Recipient was on the suppression list at send time
+     */
+    SUPPRESSED(false),
+    
+    /**
+     * The template could not be rendered with the stored variables
+     */
+    RENDER(false),
+    
+    /**
+     * Provider rejected the API key or sender (401, 403)
+     */
+    AUTHENTICATION(false),
+    
+    /**
+     * Provider rejected the request itself (other 4xx)
+     */
+    REJECTED(false),
+    
+    /**
+     * Provider throttled the request (429)
+     */
+    RATE_LIMITED(true),
+    
+    /**
+     * Provider failed or timed out (5xx, 408)
+     */
+    PROVIDER_ERROR(true),
+    
+    /**
+     * The request did not reach the provider
+     */
+    NETWORK(true),
+    
+    /**
+     * Anything else
+     */
+    UNKNOWN(true);
+    
+    private static final Pattern HTTP_STATUS = Pattern.compile("status (\\d{3})");
+    
+    private final boolean retryable;
+    
+    FailureClass(boolean retryable) {
+        this.retryable = retryable;
+    }
+    
+    public boolean isRetryable() {
+        return retryable;
+    }
+    
+    /**
+     * Classify a failure from the error message recorded on the notification
+     */
+    public static FailureClass classify(String errorMessage) {
+        return classify(errorMessage, httpStatus(errorMessage));
+    }
+    
+    public static FailureClass classify(String errorMessage, Integer httpStatus) {
+        if (httpStatus != null) {
+            if (httpStatus == 401 || httpStatus == 403) {
+                return AUTHENTICATION;
+            }
+            if (httpStatus == 429) {
+                return RATE_LIMITED;
+            }
+            if (httpStatus == 408 || httpStatus >= 500) {
+                return PROVIDER_ERROR;
+            }
+            if (httpStatus >= 400) {
+                return REJECTED;
+            }
+        }
+        if (errorMessage == null) {
+            return UNKNOWN;
+        }
+        if (errorMessage.startsWith("Recipient is suppressed")) {
+            return SUPPRESSED;
+        }
+        if (errorMessage.startsWith("Render failed")) {
+            return RENDER;
+        }
+        if (errorMessage.startsWith("IOException")) {
+            return NETWORK;
+        }
+        return UNKNOWN;
+    }
+    
+    /**
+     * HTTP status quoted in a provider error message, such as "SendGrid returned status 400: ..."
+     */
+    public static Integer httpStatus(String errorMessage) {
+        if (errorMessage == null) {
+            return null;
+        }
+        Matcher matcher = HTTP_STATUS.matcher(errorMessage);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -9,6 +9,11 @@ public enum NotificationStatus {
      */
     PENDING,
     
+    /**
+     * Notification is held in the delayed-delivery store until its scheduled time
+     */
+    SCHEDULED,
+    
     /**
      * Notification is currently being sent
      */
@@ -19,6 +24,16 @@ public enum NotificationStatus {
      */
     SENT,
     
+    /**
+     * The provider reported the message delivered to the recipient's server
+     */
+    DELIVERED,
+    
+    /**
+     * The provider reported the message bounced or dropped after it was sent
+     */
+    BOUNCED,
+    
     /**
      * Notification failed to send
      */
@@ -27,5 +42,20 @@ public enum NotificationStatus {
     /**
      * Notification is being retried after a failure
      */
-    RETRYING
+    RETRYING,
+    
+    /**
+     * Notification failed terminally and was moved to the dead-letter table
+     */
+    DEAD_LETTERED,
+    
+    /**
+     * Notification is buffered to be merged into a digest
+     */
+    DIGEST_PENDING,
+    
+    /**
+     * Notification was merged into a digest, which is delivered in its place
+     */
+    DIGESTED
 }
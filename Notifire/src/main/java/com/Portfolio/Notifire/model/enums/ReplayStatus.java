@@ -0,0 +1,21 @@
+package com.Portfolio.Notifire.model.enums;
+
+/**
+ * Represents the state of a dead-letter replay.
+ */
+public enum ReplayStatus {
+    /**
+     * Matching dead letters are being re-enqueued at the replay's rate
+     */
+    RUNNING,
+    
+    /**
+     * Every matching dead letter was re-enqueued
+     */
+    COMPLETED,
+    
+    /**
+     * Stopped on request; dead letters not yet reached stay dead-lettered
+     */
+    CANCELLED
+}
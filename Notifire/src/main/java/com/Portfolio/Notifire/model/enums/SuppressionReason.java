@@ -0,0 +1,26 @@
+package com.Portfolio.Notifire.model.enums;
+
+/**
+ * Represents why a recipient is on the suppression list.
+ */
+public enum SuppressionReason {
+    /**
+     * Provider reported a permanent delivery failure
+     */
+    HARD_BOUNCE,
+    
+    /**
+     * Recipient opted out
+     */
+    UNSUBSCRIBE,
+    
+    /**
+     * Recipient marked a message as spam
+     */
+    SPAM_COMPLAINT,
+    
+    /**
+     * Added by an operator
+     */
+    MANUAL
+}
@@ -0,0 +1,40 @@
+package com.Portfolio.Notifire.provider;
+
+import java.io.IOException;
+
+/**
+ * An email provider the router can send through
+ */
+public interface EmailProvider {
+    
+    /**
+     * Name used in routing, rate-limit buckets, metrics and logs
+     */
+    String getName();
+    
+    boolean isEnabled();
+    
+    /**
+     * Whether this is a local stand-in, used only while no real provider is enabled
+     */
+    default boolean isStandIn() {
+        return false;
+    }
+    
+    /**
+     * Sender address, which also keys the sender rate limit
+     */
+    String getFromEmail();
+    
+    /**
+     * Relative share of traffic before latency and errors are taken into account
+     */
+    double getWeight();
+    
+    /**
+     * Hand the message to the provider
+     *
+     * @throws IOException if the provider could not be reached
+     */
+    ProviderResponse send(OutboundEmail email) throws IOException;
+}
@@ -0,0 +1,93 @@
+package com.Portfolio.Notifire.provider;
+
+import com.Portfolio.Notifire.config.EmailProviderConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends by posting a JSON message to a configured endpoint, such as an
+ * HTTP-to-SMTP relay or a second transactional email service:
+ * <pre>
+ * {"from": {"email": "...", "name": "..."}, "to": "...", "subject": "...", "html": "..."}
+ * </pre>
+ * Any 2xx response is an acceptance.
+ */
+@Component
+public class HttpEmailProvider implements EmailProvider {
+    
+    private final EmailProviderConfig.Http config;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    
+    public HttpEmailProvider(EmailProviderConfig providerConfig, ObjectMapper objectMapper) {
+        this.config = providerConfig.getHttp();
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(config.getTimeout())
+            .build();
+    }
+    
+    @Override
+    public String getName() {
+        return config.getName();
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return config.isEnabled() && StringUtils.hasText(config.getUrl());
+    }
+    
+    @Override
+    public String getFromEmail() {
+        return config.getFromEmail();
+    }
+    
+    @Override
+    public double getWeight() {
+        return config.getWeight();
+    }
+    
+    @Override
+    public ProviderResponse send(OutboundEmail email) throws IOException {
+        Map<String, Object> from = new LinkedHashMap<>();
+        from.put("email", config.getFromEmail());
+        from.put("name", config.getFromName());
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("from", from);
+        message.put("to", email.to());
+        message.put("subject", email.subject());
+        message.put("html", email.html());
+        
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(config.getUrl()))
+            .timeout(config.getTimeout())
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(message)));
+        if (StringUtils.hasText(config.getApiKey())) {
+            request.header("Authorization", "Bearer " + config.getApiKey());
+        }
+        
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + getName());
+        }
+        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            return ProviderResponse.accepted(response.statusCode(),
+                response.headers().firstValue(config.getMessageIdHeader()).orElse(null));
+        }
+        return ProviderResponse.failed(response.statusCode(),
+            getName() + " returned status " + response.statusCode() + ": " + response.body());
+    }
+}
@@ -0,0 +1,6 @@
+package com.Portfolio.Notifire.provider;
+
+/**
+ * A rendered message ready to be handed to a provider
+ */
+public record OutboundEmail(String to, String subject, String html) {}
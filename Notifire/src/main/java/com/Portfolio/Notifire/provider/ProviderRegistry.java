@@ -0,0 +1,48 @@
+package com.Portfolio.Notifire.provider;
+
+import com.Portfolio.Notifire.config.EmailProviderConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The email providers known to the router: the provider beans (SendGrid, the
+ * generic HTTP provider) plus the configured local stand-ins
+ */
+@Component
+@Slf4j
+public class ProviderRegistry {
+    
+    private final List<EmailProvider> providers;
+    private final List<EmailProvider> standIns;
+    
+    public ProviderRegistry(List<EmailProvider> providers, EmailProviderConfig config) {
+        this.providers = List.copyOf(providers);
+        this.standIns = config.getStandIns().stream()
+            .<EmailProvider>map(SimulatedEmailProvider::new)
+            .toList();
+        if (getEnabled().isEmpty()) {
+            log.warn("No email provider is enabled. Simulating sends through {}", standIns.stream().map(EmailProvider::getName).toList());
+        }
+    }
+    
+    /**
+     * Providers to route between: the enabled real providers, or the stand-ins when there are none
+     */
+    public List<EmailProvider> getActive() {
+        List<EmailProvider> enabled = getEnabled();
+        return enabled.isEmpty() ? standIns : enabled;
+    }
+    
+    private List<EmailProvider> getEnabled() {
+        List<EmailProvider> enabled = new ArrayList<>(providers.size());
+        for (EmailProvider provider : providers) {
+            if (!provider.isStandIn() && provider.isEnabled()) {
+                enabled.add(provider);
+            }
+        }
+        return enabled;
+    }
+}
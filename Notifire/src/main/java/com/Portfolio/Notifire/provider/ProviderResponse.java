@@ -0,0 +1,19 @@
+package com.Portfolio.Notifire.provider;
+
+/**
+ * Outcome of one provider call
+ *
+ * @param statusCode HTTP status, or 0 when the provider was not reached
+ * @param messageId id the provider assigned, which its delivery events refer to
+ * @param error failure description quoting the status, e.g. "SendGrid returned status 503: ..."
+ */
+public record ProviderResponse(boolean accepted, int statusCode, String messageId, String error) {
+    
+    public static ProviderResponse accepted(int statusCode, String messageId) {
+        return new ProviderResponse(true, statusCode, messageId, null);
+    }
+    
+    public static ProviderResponse failed(int statusCode, String error) {
+        return new ProviderResponse(false, statusCode, null, error);
+    }
+}
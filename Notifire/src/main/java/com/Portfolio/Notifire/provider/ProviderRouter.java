@@ -0,0 +1,236 @@
+package com.Portfolio.Notifire.provider;
+
+import com.Portfolio.Notifire.config.EmailProviderConfig;
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the provider for each send. Every provider keeps a smoothed latency and
+ * error rate from its recent calls, and is chosen at random with probability
+ * proportional to its configured weight times (1 - error rate)^2 / latency, so
+ * traffic drifts towards whichever provider is currently fast and healthy.
+ * <p>
+ * A provider with too many consecutive failures, or too high an error rate, is
+ * taken out of rotation for a cool-down and then let back in on probation. A
+ * send whose provider failed fails over to the best remaining provider.
+ */
+@Service
+@Slf4j
+public class ProviderRouter {
+    
+    private final ProviderRegistry registry;
+    private final EmailProviderConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ProviderHealth> health = new ConcurrentHashMap<>();
+    
+    public ProviderRouter(ProviderRegistry registry, EmailProviderConfig config, MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Pick the provider for a new send
+     */
+    public EmailProvider select() {
+        List<EmailProvider> active = registry.getActive();
+        if (active.isEmpty()) {
+            throw new IllegalStateException("No email provider is configured");
+        }
+        EmailProvider picked = pick(active, Set.of(), System.nanoTime());
+        if (picked != null) {
+            return picked;
+        }
+        // Every provider is out of rotation; the one due back soonest is the best bet
+        return active.stream()
+            .min(Comparator.comparingLong(provider -> health(provider).getEjectedUntil()))
+            .orElseThrow();
+    }
+    
+    /**
+     * Pick a provider to retry a failed send with
+     *
+     * @param failed the provider that just failed
+     * @param tried names of every provider already tried for this send
+     * @return the provider to fail over to, or null if no other provider is in rotation
+     *         or the send has used up its attempts
+     */
+    public EmailProvider failover(EmailProvider failed, Collection<String> tried) {
+        if (tried.size() >= config.getMaxAttempts()) {
+            return null;
+        }
+        EmailProvider next = pick(registry.getActive(), tried, System.nanoTime());
+        if (next != null) {
+            meterRegistry.counter("notifire.provider.failovers", "from", failed.getName(), "to", next.getName()).increment();
+        }
+        return next;
+    }
+    
+    /**
+     * Whether a failed send is worth trying on another provider. A rejected
+     * request would be rejected everywhere; anything else may be this provider's fault.
+     */
+    public boolean canFailOver(ProviderResponse response) {
+        return !response.accepted() && failureClass(response) != FailureClass.REJECTED;
+    }
+    
+    /**
+     * Feed the outcome of a provider call into its latency and error rate
+     */
+    public void record(EmailProvider provider, ProviderResponse response, long elapsedNanos) {
+        // A rejected request says nothing about the provider's health
+        boolean error = canFailOver(response);
+        if (health(provider).record(elapsedNanos / 1_000_000.0, error, System.nanoTime(), config)) {
+            meterRegistry.counter("notifire.provider.ejections", "provider", provider.getName()).increment();
+            log.warn("Taking email provider {} out of rotation for {}s after failure: {}",
+                provider.getName(), config.getEjectFor().toSeconds(), response.error());
+        }
+    }
+    
+    private EmailProvider pick(List<EmailProvider> candidates, Collection<String> excluded, long now) {
+        double[] weights = new double[candidates.size()];
+        double total = 0;
+        int eligible = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            EmailProvider provider = candidates.get(i);
+            if (excluded.contains(provider.getName()) || !health(provider).isAvailable(now, config)) {
+                weights[i] = -1;
+                continue;
+            }
+            weights[i] = Math.max(0, provider.getWeight()) * health(provider).score();
+            total += weights[i];
+            eligible++;
+        }
+        if (eligible == 0) {
+            return null;
+        }
+        
+        // Fall back to an even split when no candidate carries any weight
+        boolean even = total <= 0;
+        double remaining = even ? ThreadLocalRandom.current().nextInt(eligible) + 0.5
+            : ThreadLocalRandom.current().nextDouble(total);
+        EmailProvider last = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            if (weights[i] < 0) {
+                continue;
+            }
+            last = candidates.get(i);
+            remaining -= even ? 1 : weights[i];
+            if (remaining < 0) {
+                return last;
+            }
+        }
+        return last;
+    }
+    
+    private ProviderHealth health(EmailProvider provider) {
+        return health.computeIfAbsent(provider.getName(), name -> {
+            ProviderHealth created = new ProviderHealth(config.getInitialLatency().toMillis());
+            Gauge.builder("notifire.provider.latency", created, ProviderHealth::getLatencyMillis)
+                .description("Smoothed provider call latency in milliseconds")
+                .tag("provider", name)
+                .register(meterRegistry);
+            Gauge.builder("notifire.provider.error_rate", created, ProviderHealth::getErrorRate)
+                .description("Smoothed share of provider calls that failed")
+                .tag("provider", name)
+                .register(meterRegistry);
+            Gauge.builder("notifire.provider.ejected", created, h -> h.isEjected() ? 1 : 0)
+                .description("1 while the provider is out of rotation")
+                .tag("provider", name)
+                .register(meterRegistry);
+            return created;
+        });
+    }
+    
+    private static FailureClass failureClass(ProviderResponse response) {
+        return FailureClass.classify(response.error(), response.statusCode() > 0 ? response.statusCode() : null);
+    }
+    
+    /**
+     * Smoothed call statistics for one provider
+     */
+    private static final class ProviderHealth {
+        
+        private double latencyMillis;
+        private double errorRate;
+        private long calls;
+        private int consecutiveFailures;
+        private boolean ejected;
+        private long ejectedUntil;
+        
+        ProviderHealth(double initialLatencyMillis) {
+            this.latencyMillis = initialLatencyMillis;
+        }
+        
+        synchronized double score() {
+            double success = 1 - errorRate;
+            return success * success / Math.max(latencyMillis, 1);
+        }
+        
+        /**
+         * Whether the provider is in rotation, letting it back in on probation once its cool-down is over
+         */
+        synchronized boolean isAvailable(long now, EmailProviderConfig config) {
+            if (!ejected) {
+                return true;
+            }
+            if (now - ejectedUntil < 0) {
+                return false;
+            }
+            // A couple more failures take it straight back out
+            ejected = false;
+            consecutiveFailures = 0;
+            errorRate = config.getMaxErrorRate() / 2;
+            return true;
+        }
+        
+        /**
+         * @return true if this call took the provider out of rotation
+         */
+        synchronized boolean record(double millis, boolean error, long now, EmailProviderConfig config) {
+            double alpha = config.getSmoothing();
+            latencyMillis = alpha * millis + (1 - alpha) * latencyMillis;
+            errorRate = alpha * (error ? 1 : 0) + (1 - alpha) * errorRate;
+            calls++;
+            consecutiveFailures = error ? consecutiveFailures + 1 : 0;
+            
+            if (ejected || !error) {
+                return false;
+            }
+            if (consecutiveFailures >= config.getMaxConsecutiveFailures()
+                    || (calls >= config.getMinCalls() && errorRate >= config.getMaxErrorRate())) {
+                ejected = true;
+                ejectedUntil = now + config.getEjectFor().toNanos();
+                return true;
+            }
+            return false;
+        }
+        
+        synchronized double getLatencyMillis() {
+            return latencyMillis;
+        }
+        
+        synchronized double getErrorRate() {
+            return errorRate;
+        }
+        
+        synchronized boolean isEjected() {
+            return ejected;
+        }
+        
+        synchronized long getEjectedUntil() {
+            return ejectedUntil;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.Portfolio.Notifire.provider;
+
+import com.Portfolio.Notifire.config.SendGridConfig;
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sends through the SendGrid v3 mail API
+ */
+@Component
+@RequiredArgsConstructor
+public class SendGridProvider implements EmailProvider {
+    
+    private final SendGrid sendGrid;
+    private final SendGridConfig sendGridConfig;
+    
+    @Override
+    public String getName() {
+        return "sendgrid";
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return sendGridConfig.isEnabled();
+    }
+    
+    @Override
+    public String getFromEmail() {
+        return sendGridConfig.getFromEmail();
+    }
+    
+    @Override
+    public double getWeight() {
+        return sendGridConfig.getWeight();
+    }
+    
+    @Override
+    public ProviderResponse send(OutboundEmail email) throws IOException {
+        Email from = new Email(sendGridConfig.getFromEmail(), sendGridConfig.getFromName());
+        Mail mail = new Mail(from, email.subject(), new Email(email.to()), new Content("text/html", email.html()));
+        
+        Request request = new Request();
+        request.setMethod(Method.POST);
+        request.setEndpoint("mail/send");
+        request.setBody(mail.build());
+        
+        Response response = sendGrid.api(request);
+        if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
+            return ProviderResponse.accepted(response.getStatusCode(), messageId(response));
+        }
+        return ProviderResponse.failed(response.getStatusCode(),
+            "SendGrid returned status " + response.getStatusCode() + ": " + response.getBody());
+    }
+    
+    /**
+     * Message id SendGrid assigned, which its delivery events carry as the prefix of sg_message_id
+     */
+    private static String messageId(Response response) {
+        if (response.getHeaders() == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            if ("X-Message-Id".equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.Portfolio.Notifire.provider;
+
+import com.Portfolio.Notifire.config.EmailProviderConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InterruptedIOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in that sleeps for the configured latency and fails a configured
+ * share of sends, for development and tests without provider credentials
+ */
+@Slf4j
+public class SimulatedEmailProvider implements EmailProvider {
+    
+    private final EmailProviderConfig.StandIn config;
+    
+    public SimulatedEmailProvider(EmailProviderConfig.StandIn config) {
+        this.config = config;
+    }
+    
+    @Override
+    public String getName() {
+        return config.getName();
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+    
+    @Override
+    public boolean isStandIn() {
+        return true;
+    }
+    
+    @Override
+    public String getFromEmail() {
+        return config.getFromEmail();
+    }
+    
+    @Override
+    public double getWeight() {
+        return config.getWeight();
+    }
+    
+    @Override
+    public ProviderResponse send(OutboundEmail email) throws InterruptedIOException {
+        log.debug("SIMULATED ({}): Sending email to {} with subject '{}'", getName(), email.to(), email.subject());
+        try {
+            Thread.sleep(config.getLatency().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Simulation interrupted");
+        }
+        
+        if (ThreadLocalRandom.current().nextDouble() < config.getFailureRate()) {
+            return ProviderResponse.failed(0, "Simulated failure for testing");
+        }
+        return ProviderResponse.accepted(202, "simulated-" + UUID.randomUUID());
+    }
+}
@@ -0,0 +1,97 @@
+package com.Portfolio.Notifire.repository;
+
+import com.Portfolio.Notifire.model.entity.Campaign;
+import com.Portfolio.Notifire.model.enums.CampaignStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for Campaign entity.
+ * Progress is written with targeted updates so the fan-out worker never
+ * overwrites a status change made concurrently through the API.
+ */
+@Repository
+public interface CampaignRepository extends JpaRepository<Campaign, Long> {
+    
+    /**
+     * Find campaigns in a status
+     */
+    List<Campaign> findByStatus(CampaignStatus status);
+    
+    /**
+     * Read only the status of a campaign
+     */
+    @Query("SELECT c.status FROM Campaign c WHERE c.id = :id")
+    Optional<CampaignStatus> findStatusById(@Param("id") Long id);
+    
+    /**
+     * Move a campaign between states if it is still in the expected one
+     *
+     * @return 1 if the transition happened
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Campaign c SET c.status = :to, c.updatedAt = :now WHERE c.id = :id AND c.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") CampaignStatus from,
+                   @Param("to") CampaignStatus to,
+                   @Param("now") LocalDateTime now);
+    
+    /**
+     * Record a fanned-out chunk
+     */
+    @Modifying
+    @Query("UPDATE Campaign c SET c.processedCount = c.processedCount + :processed, " +
+           "c.createdCount = c.createdCount + :created, c.rejectedCount = c.rejectedCount + :rejected, " +
+           "c.audienceCursor = :cursor, c.audienceExhausted = :exhausted, c.updatedAt = :now WHERE c.id = :id")
+    int recordChunk(@Param("id") Long id,
+                    @Param("processed") long processed,
+                    @Param("created") long created,
+                    @Param("rejected") long rejected,
+                    @Param("cursor") String cursor,
+                    @Param("exhausted") boolean exhausted,
+                    @Param("now") LocalDateTime now);
+    
+    /**
+     * Record notifications handed to the dispatcher
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Campaign c SET c.dispatchCursor = :cursor, c.dispatchedCount = c.dispatchedCount + :dispatched, " +
+           "c.updatedAt = :now WHERE c.id = :id")
+    int recordDispatch(@Param("id") Long id,
+                       @Param("cursor") long cursor,
+                       @Param("dispatched") long dispatched,
+                       @Param("now") LocalDateTime now);
+    
+    /**
+     * Mark a running campaign completed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Campaign c SET c.status = :completed, c.completedAt = :now, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.status = :running")
+    int markCompleted(@Param("id") Long id,
+                      @Param("running") CampaignStatus running,
+                      @Param("completed") CampaignStatus completed,
+                      @Param("now") LocalDateTime now);
+    
+    /**
+     * Mark a campaign failed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Campaign c SET c.status = :failed, c.errorMessage = :error, c.updatedAt = :now WHERE c.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("failed") CampaignStatus failed,
+                   @Param("error") String error,
+                   @Param("now") LocalDateTime now);
+}
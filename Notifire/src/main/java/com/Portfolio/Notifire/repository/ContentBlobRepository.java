@@ -0,0 +1,23 @@
+package com.Portfolio.Notifire.repository;
+
+import com.Portfolio.Notifire.model.entity.ContentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ContentBlob entity
+ */
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, String> {
+    
+    /**
+     * Which of the given hashes are already stored
+     */
+    @Query("SELECT b.hash FROM ContentBlob b WHERE b.hash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+}
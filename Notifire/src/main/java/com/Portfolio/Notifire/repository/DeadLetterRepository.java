@@ -0,0 +1,61 @@
+package com.Portfolio.Notifire.repository;
+
+import com.Portfolio.Notifire.model.entity.DeadLetter;
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for DeadLetter entity.
+ */
+@Repository
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, Long> {
+    
+    /**
+     * Find dead letters matching a filter; a null class or template matches any
+     */
+    @Query("SELECT d FROM DeadLetter d WHERE d.failedAt >= :from AND d.failedAt < :to " +
+           "AND (:failureClass IS NULL OR d.failureClass = :failureClass) " +
+           "AND (:templateId IS NULL OR d.templateId = :templateId)")
+    Page<DeadLetter> search(@Param("from") LocalDateTime from,
+                            @Param("to") LocalDateTime to,
+                            @Param("failureClass") FailureClass failureClass,
+                            @Param("templateId") Long templateId,
+                            Pageable pageable);
+    
+    /**
+     * Find the next dead letters matching a filter after the cursor, in id order
+     */
+    @Query("SELECT d FROM DeadLetter d WHERE d.id > :after AND d.failedAt >= :from AND d.failedAt < :to " +
+           "AND (:failureClass IS NULL OR d.failureClass = :failureClass) " +
+           "AND (:templateId IS NULL OR d.templateId = :templateId) ORDER BY d.id")
+    List<DeadLetter> findNext(@Param("after") long after,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to,
+                              @Param("failureClass") FailureClass failureClass,
+                              @Param("templateId") Long templateId,
+                              Pageable pageable);
+    
+    /**
+     * Count dead letters matching a filter
+     */
+    @Query("SELECT COUNT(d) FROM DeadLetter d WHERE d.failedAt >= :from AND d.failedAt < :to " +
+           "AND (:failureClass IS NULL OR d.failureClass = :failureClass) " +
+           "AND (:templateId IS NULL OR d.templateId = :templateId)")
+    long countMatching(@Param("from") LocalDateTime from,
+                       @Param("to") LocalDateTime to,
+                       @Param("failureClass") FailureClass failureClass,
+                       @Param("templateId") Long templateId);
+    
+    /**
+     * Count dead letters by failure class
+     */
+    long countByFailureClass(FailureClass failureClass);
+}
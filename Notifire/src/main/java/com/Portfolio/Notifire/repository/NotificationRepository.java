@@ -1,16 +1,25 @@
 package com.Portfolio.Notifire.repository;
 
 import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
 import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Notification entity.
@@ -28,17 +37,152 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     Page<Notification> findByStatus(NotificationStatus status, Pageable pageable);
     
+    /**
+     * Find PENDING notifications that are due. Campaign notifications are only
+     * included once deferred with a scheduled time, since the campaign pump has
+     * already passed them.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.status = 'PENDING' " +
+           "AND (n.scheduledAt IS NULL OR n.scheduledAt <= :now) " +
+           "AND (n.campaign IS NULL OR n.scheduledAt IS NOT NULL) ORDER BY n.id")
+    List<Notification> findDuePending(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Find ids of a campaign's notifications past the dispatch cursor, in id order
+     */
+    @Query("SELECT n.id FROM Notification n WHERE n.campaign.id = :campaignId AND n.id > :after " +
+           "AND n.status = :status ORDER BY n.id")
+    List<Long> findCampaignNotificationIds(@Param("campaignId") Long campaignId,
+                                           @Param("after") long after,
+                                           @Param("status") NotificationStatus status,
+                                           Pageable pageable);
+    
+    /**
+     * Find distinct past recipients after a keyset cursor, optionally filtered by template
+     */
+    @Query("SELECT DISTINCT n.recipient FROM Notification n WHERE n.recipient > :after " +
+           "AND (:templateId IS NULL OR n.template.id = :templateId) AND n.createdAt >= :since " +
+           "AND (n.campaign IS NULL OR n.campaign.id <> :campaignId) ORDER BY n.recipient")
+    List<String> findHistoryRecipients(@Param("after") String after,
+                                       @Param("templateId") Long templateId,
+                                       @Param("since") LocalDateTime since,
+                                       @Param("campaignId") Long campaignId,
+                                       Pageable pageable);
+    
     /**
      * Find notifications by recipient and status
      */
     List<Notification> findByRecipientAndStatus(String recipient, NotificationStatus status);
     
+    /**
+     * Find the notification created for an idempotency key
+     */
+    Optional<Notification> findByIdempotencyKey(String idempotencyKey);
+    
+    /**
+     * Stream idempotency keys of recent notifications, for warming the duplicate filter
+     */
+    @Query("SELECT n.idempotencyKey FROM Notification n WHERE n.idempotencyKey IS NOT NULL AND n.createdAt >= :since")
+    Stream<String> streamIdempotencyKeysSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Find recipient/channel pairs whose oldest buffered digest item was created at or before the cutoff
+     */
+    @Query("SELECT n.recipient AS recipient, n.channel AS channel FROM Notification n " +
+           "WHERE n.status = 'DIGEST_PENDING' GROUP BY n.recipient, n.channel " +
+           "HAVING MIN(n.createdAt) <= :cutoff ORDER BY MIN(n.createdAt)")
+    List<DigestGroup> findDueDigestGroups(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    /**
+     * Find notifications for a recipient and channel by status, oldest first
+     */
+    List<Notification> findByRecipientAndChannelAndStatusOrderByCreatedAtAsc(
+        String recipient, NotificationChannel channel, NotificationStatus status, Pageable pageable);
+    
+    /**
+     * Atomically move a notification from a sendable status to SENDING.
+     * Only the caller that gets 1 back may send it.
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :sending, n.updatedAt = :now " +
+           "WHERE n.id = :id AND n.status IN :claimable")
+    int claimForSending(@Param("id") Long id,
+                        @Param("claimable") Collection<NotificationStatus> claimable,
+                        @Param("sending") NotificationStatus sending,
+                        @Param("now") LocalDateTime now);
+    
+    /**
+     * Link buffered notifications to their digest in one statement
+     *
+     * @return number of rows updated; fewer than requested means another node claimed some
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = :digested, n.digest = :digest, n.updatedAt = :now " +
+           "WHERE n.id IN :ids AND n.status = :pending")
+    int markDigested(@Param("digest") Notification digest,
+                     @Param("ids") Collection<Long> ids,
+                     @Param("pending") NotificationStatus pending,
+                     @Param("digested") NotificationStatus digested,
+                     @Param("now") LocalDateTime now);
+    
     /**
      * Find failed notifications that can be retried
      */
     @Query("SELECT n FROM Notification n WHERE n.status = 'FAILED' AND n.retryCount < n.maxRetries")
     List<Notification> findRetryableNotifications();
     
+    /**
+     * Find the next page of failed notifications that can be retried after the cursor, in id order
+     */
+    @Query("SELECT n FROM Notification n WHERE n.status = 'FAILED' AND n.retryCount < n.maxRetries " +
+           "AND n.id > :after ORDER BY n.id")
+    List<Notification> findRetryableAfter(@Param("after") long after, Pageable pageable);
+    
+    /**
+     * Move a batch of failed notifications to RETRYING and count the attempt in one statement.
+     * Rows retried or changed elsewhere in the meantime are skipped.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = :retrying, n.retryCount = n.retryCount + 1, n.updatedAt = :now " +
+           "WHERE n.id IN :ids AND n.status = :failed AND n.retryCount < n.maxRetries")
+    int markRetrying(@Param("ids") Collection<Long> ids,
+                     @Param("failed") NotificationStatus failed,
+                     @Param("retrying") NotificationStatus retrying,
+                     @Param("now") LocalDateTime now);
+    
+    /**
+     * Hand RETRYING notifications the dispatcher turned away to the pending sweep, due now
+     * so campaign notifications are picked up too
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = :pending, n.scheduledAt = :now, n.updatedAt = :now " +
+           "WHERE n.id IN :ids AND n.status = :retrying")
+    int releaseRetrying(@Param("ids") Collection<Long> ids,
+                        @Param("retrying") NotificationStatus retrying,
+                        @Param("pending") NotificationStatus pending,
+                        @Param("now") LocalDateTime now);
+    
+    /**
+     * Hand notifications the dispatch executor turned away to the pending sweep, due now
+     * so campaign and retried notifications are picked up too. Rows already claimed are skipped.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = :pending, n.scheduledAt = :now, n.updatedAt = :now " +
+           "WHERE n.id IN :ids AND n.status IN :releasable")
+    int releaseUndispatched(@Param("ids") Collection<Long> ids,
+                            @Param("releasable") Collection<NotificationStatus> releasable,
+                            @Param("pending") NotificationStatus pending,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * Find failed notifications with no retries left, oldest first
+     */
+    @Query("SELECT n FROM Notification n WHERE n.status = 'FAILED' AND n.retryCount >= n.maxRetries ORDER BY n.id")
+    List<Notification> findExhaustedNotifications(Pageable pageable);
+    
     /**
      * Count notifications by status
      */
@@ -52,7 +196,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     /**
      * Find notifications sent today
      */
-    @Query("SELECT COUNT(n) FROM Notification n WHERE n.status = 'SENT' AND CAST(n.sentAt AS date) = CURRENT_DATE")
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.status IN ('SENT', 'DELIVERED') AND CAST(n.sentAt AS date) = CURRENT_DATE")
     long countSentToday();
     
     /**
@@ -64,7 +208,53 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     /**
      * Get success rate (percentage)
      */
-    @Query("SELECT (COUNT(CASE WHEN n.status = 'SENT' THEN 1 END) * 100.0 / COUNT(*)) " +
+    @Query("SELECT (COUNT(CASE WHEN n.status IN ('SENT', 'DELIVERED') THEN 1 END) * 100.0 / COUNT(*)) " +
            "FROM Notification n WHERE n.createdAt >= :since")
     Double getSuccessRate(@Param("since") LocalDateTime since);
+    
+    /**
+     * Move due SCHEDULED notifications to PENDING; rows promoted elsewhere are skipped
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = :pending, n.updatedAt = :now " +
+           "WHERE n.id IN :ids AND n.status = :scheduled")
+    int promoteScheduled(@Param("ids") Collection<Long> ids,
+                         @Param("scheduled") NotificationStatus scheduled,
+                         @Param("pending") NotificationStatus pending,
+                         @Param("now") LocalDateTime now);
+    
+    List<Notification> findByIdInAndStatus(Collection<Long> ids, NotificationStatus status);
+    
+    /**
+     * Stream every SCHEDULED notification, for loading the delayed-delivery store
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT n.id AS id, n.scheduledAt AS scheduledAt FROM Notification n WHERE n.status = 'SCHEDULED'")
+    Stream<ScheduledEntry> streamScheduled();
+    
+    /**
+     * Find SCHEDULED notifications due before the cutoff, oldest first
+     */
+    @Query("SELECT n.id AS id, n.scheduledAt AS scheduledAt FROM Notification n " +
+           "WHERE n.status = 'SCHEDULED' AND n.scheduledAt <= :cutoff ORDER BY n.scheduledAt")
+    List<ScheduledEntry> findOverdueScheduled(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    /**
+     * Recipient and channel of a pending digest
+     */
+    interface DigestGroup {
+        String getRecipient();
+        
+        NotificationChannel getChannel();
+    }
+    
+    /**
+     * Id and due time of a scheduled notification
+     */
+    interface ScheduledEntry {
+        Long getId();
+        
+        LocalDateTime getScheduledAt();
+    }
 }
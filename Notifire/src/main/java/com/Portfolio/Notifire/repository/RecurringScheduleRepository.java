@@ -0,0 +1,49 @@
+package com.Portfolio.Notifire.repository;
+
+import com.Portfolio.Notifire.model.entity.RecurringSchedule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for RecurringSchedule entity
+ */
+@Repository
+public interface RecurringScheduleRepository extends JpaRepository<RecurringSchedule, Long> {
+    
+    /**
+     * Find active schedules due to fire, earliest first
+     */
+    @Query("SELECT s.id AS id, s.nextFireAt AS nextFireAt FROM RecurringSchedule s " +
+           "WHERE s.active = true AND s.nextFireAt <= :now ORDER BY s.nextFireAt")
+    List<DueSchedule> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Claim a fire by moving the schedule to its next fire time, if no other node has already
+     *
+     * @return 1 if this caller claimed the fire
+     */
+    @Modifying
+    @Query("UPDATE RecurringSchedule s SET s.nextFireAt = :next, s.lastFiredAt = :now, " +
+           "s.fireCount = s.fireCount + 1, s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.active = true AND s.nextFireAt = :expected")
+    int claimFire(@Param("id") Long id,
+                  @Param("expected") LocalDateTime expected,
+                  @Param("next") LocalDateTime next,
+                  @Param("now") LocalDateTime now);
+    
+    /**
+     * Id and fire time of a due schedule
+     */
+    interface DueSchedule {
+        Long getId();
+        
+        LocalDateTime getNextFireAt();
+    }
+}
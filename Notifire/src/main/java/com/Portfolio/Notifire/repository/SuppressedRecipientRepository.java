@@ -0,0 +1,67 @@
+package com.Portfolio.Notifire.repository;
+
+import com.Portfolio.Notifire.model.entity.SuppressedRecipient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for SuppressedRecipient entity.
+ */
+@Repository
+public interface SuppressedRecipientRepository extends JpaRepository<SuppressedRecipient, Long> {
+    
+    /**
+     * Find entry by normalized email
+     */
+    Optional<SuppressedRecipient> findByEmail(String email);
+    
+    /**
+     * Find entries for a batch of normalized emails
+     */
+    List<SuppressedRecipient> findByEmailIn(Collection<String> emails);
+    
+    /**
+     * Check if an address is currently suppressed
+     */
+    boolean existsByEmailAndActiveTrue(String email);
+    
+    /**
+     * Count currently suppressed addresses
+     */
+    long countByActiveTrue();
+    
+    /**
+     * Stream all currently suppressed addresses
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT s.email FROM SuppressedRecipient s WHERE s.active = true")
+    Stream<String> streamActiveEmails();
+    
+    /**
+     * Stream addresses suppressed or re-suppressed since the given time
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT s.email FROM SuppressedRecipient s WHERE s.active = true AND s.updatedAt > :since")
+    Stream<String> streamActiveEmailsUpdatedSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Stream all currently suppressed entries for export
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM SuppressedRecipient s WHERE s.active = true ORDER BY s.id")
+    Stream<SuppressedRecipient> streamActive();
+}
@@ -0,0 +1,94 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.AdmissionConfig;
+import com.Portfolio.Notifire.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service deciding whether new notifications are admitted. Requests are shed
+ * with a Retry-After while the dispatcher backlog is too deep or the database
+ * is slow, so an overload turns into client backoff instead of a growing
+ * PENDING backlog and timeouts.
+ */
+@Service
+@Slf4j
+public class AdmissionService {
+    
+    private final AdmissionConfig config;
+    private final NotificationDispatcher notificationDispatcher;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Exponentially smoothed database round-trip time in milliseconds
+     */
+    private volatile double dbLatencyMillis = 0;
+    
+    public AdmissionService(AdmissionConfig config,
+                            NotificationDispatcher notificationDispatcher,
+                            JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry) {
+        this.config = config;
+        this.notificationDispatcher = notificationDispatcher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("notifire.admission.db_latency", this, AdmissionService::getDbLatencyMillis)
+            .description("Smoothed database round-trip time in milliseconds")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Reject the current request if the service is overloaded
+     *
+     * @throws ServiceOverloadedException with the Retry-After to send
+     */
+    public void checkAdmission() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        
+        int backlog = notificationDispatcher.getTotalBacklog();
+        if (backlog >= config.getMaxDispatchBacklog()) {
+            reject("dispatch-backlog", "dispatch backlog of " + backlog);
+        }
+        if (dbLatencyMillis >= config.getMaxDbLatency().toMillis()) {
+            reject("db-latency", "database latency of " + Math.round(dbLatencyMillis) + "ms");
+        }
+    }
+    
+    /**
+     * Time a trivial query; a failed probe jumps straight to the latency limit so requests are shed
+     */
+    @Scheduled(fixedDelayString = "${admission.probe-interval:1000}")
+    public void probeDatabase() {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        } catch (RuntimeException e) {
+            log.warn("Database latency probe failed: {}", e.getMessage());
+            dbLatencyMillis = Math.max(dbLatencyMillis, config.getMaxDbLatency().toMillis());
+            return;
+        }
+        recordDbLatency((System.nanoTime() - start) / 1_000_000.0);
+    }
+    
+    void recordDbLatency(double sampleMillis) {
+        double alpha = config.getLatencySmoothing();
+        dbLatencyMillis = alpha * sampleMillis + (1 - alpha) * dbLatencyMillis;
+    }
+    
+    public double getDbLatencyMillis() {
+        return dbLatencyMillis;
+    }
+    
+    private void reject(String reason, String detail) {
+        meterRegistry.counter("notifire.admission.rejected", "reason", reason).increment();
+        log.debug("Shedding request: {}", detail);
+        throw new ServiceOverloadedException(detail, config.getRetryAfter());
+    }
+}
@@ -0,0 +1,342 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.BulkIngestConfig;
+import com.Portfolio.Notifire.dto.BulkIngestResult;
+import com.Portfolio.Notifire.dto.BulkIngestResult.Outcome;
+import com.Portfolio.Notifire.dto.NotificationRequest;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.exception.DuplicateRequestException;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.exception.RecipientSuppressedException;
+import com.Portfolio.Notifire.exception.TemplateNotFoundException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.repository.TemplateRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service ingesting newline-delimited JSON notification requests.
+ * The upload is parsed incrementally and processed in fixed-size chunks:
+ * each chunk is validated and rendered, inserted in one batched transaction,
+ * handed to the dispatcher, and its per-line results are written back before
+ * the next chunk is read. Memory use is bounded by the chunk size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkIngestionService {
+    
+    private final NotificationService notificationService;
+    private final NotificationRepository notificationRepository;
+    private final ContentStore contentStore;
+    private final TemplateRepository templateRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final DelayedDeliveryService delayedDeliveryService;
+    private final IdempotencyService idempotencyService;
+    private final SuppressionService suppressionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BulkIngestConfig config;
+    
+    /**
+     * Ingest NDJSON requests from the input, writing one NDJSON result per line to the output
+     */
+    public BulkIngestSummary ingest(InputStream in, OutputStream out) throws IOException {
+        ObjectWriter resultWriter = objectMapper.writerFor(BulkIngestResult.class);
+        Map<Long, Template> templates = new HashMap<>();
+        Map<String, Notification> chunkKeys = new HashMap<>();
+        List<Entry> chunk = new ArrayList<>(config.getChunkSize());
+        long lines = 0;
+        long accepted = 0;
+        long rejected = 0;
+        
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             MappingIterator<NotificationRequest> requests =
+                 objectMapper.readerFor(NotificationRequest.class).readValues(parser)) {
+            
+            while (true) {
+                long line;
+                NotificationRequest request;
+                try {
+                    if (!requests.hasNextValue()) {
+                        break;
+                    }
+                    line = parser.currentTokenLocation().getLineNr();
+                    lines++;
+                    if (config.getMaxLines() > 0 && lines > config.getMaxLines()) {
+                        chunk.add(Entry.rejected(line, "Upload exceeds max of " + config.getMaxLines() + " lines"));
+                        break;
+                    }
+                    request = requests.nextValue();
+                } catch (DatabindException e) {
+                    // The iterator resyncs to the next root value
+                    chunk.add(Entry.rejected(parser.currentTokenLocation().getLineNr(),
+                        "Invalid request: " + e.getOriginalMessage()));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    chunk.add(Entry.rejected(e.getLocation() != null ? e.getLocation().getLineNr() : lines,
+                        "Malformed JSON, aborting: " + e.getOriginalMessage()));
+                    break;
+                }
+                
+                chunk.add(prepare(line, request, templates, chunkKeys));
+                
+                if (chunk.size() >= config.getChunkSize()) {
+                    ChunkCounts counts = flushChunk(chunk, chunkKeys, out, resultWriter);
+                    accepted += counts.accepted();
+                    rejected += counts.rejected();
+                }
+            }
+        }
+        
+        ChunkCounts counts = flushChunk(chunk, chunkKeys, out, resultWriter);
+        accepted += counts.accepted();
+        rejected += counts.rejected();
+        
+        log.info("Bulk ingestion finished: {} accepted, {} rejected", accepted, rejected);
+        return new BulkIngestSummary(accepted, rejected);
+    }
+    
+    /**
+     * Validate and render a single request. Keys already claimed earlier in
+     * the same chunk are resolved against that entry rather than the database.
+     */
+    private Entry prepare(long line, NotificationRequest request, Map<Long, Template> templates,
+                          Map<String, Notification> chunkKeys) {
+        Set<ConstraintViolation<NotificationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return Entry.rejected(line, violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        }
+        
+        String idempotencyKey = StringUtils.hasText(request.getIdempotencyKey()) ? request.getIdempotencyKey() : null;
+        boolean claimed = false;
+        try {
+            if (idempotencyKey != null) {
+                Notification earlier = chunkKeys.get(idempotencyKey);
+                if (earlier != null) {
+                    return Entry.duplicate(line, earlier);
+                }
+                Optional<Notification> original = idempotencyService.findOriginal(idempotencyKey);
+                if (original.isPresent()) {
+                    return Entry.duplicate(line, original.get());
+                }
+                claimed = true;
+            }
+            
+            notificationService.validateRequest(request);
+            suppressionService.checkNotSuppressed(request.getRecipient());
+            
+            Template template = null;
+            if (request.getTemplateId() != null) {
+                template = templates.computeIfAbsent(request.getTemplateId(), id -> templateRepository.findById(id)
+                    .orElseThrow(() -> new TemplateNotFoundException(id)));
+                notificationService.checkTemplateUsable(template);
+            }
+            
+            Notification notification = notificationService.buildNotification(request, template);
+            if (idempotencyKey != null) {
+                chunkKeys.put(idempotencyKey, notification);
+            }
+            return Entry.accepted(line, notification);
+        } catch (InvalidRequestException | TemplateNotFoundException | DuplicateRequestException
+                 | RecipientSuppressedException e) {
+            if (claimed) {
+                idempotencyService.release(idempotencyKey);
+            }
+            return Entry.rejected(line, e.getMessage());
+        }
+    }
+    
+    /**
+     * Persist, dispatch and report a chunk, then clear it
+     */
+    private ChunkCounts flushChunk(List<Entry> chunk, Map<String, Notification> chunkKeys,
+                                   OutputStream out, ObjectWriter resultWriter) throws IOException {
+        if (chunk.isEmpty()) {
+            return new ChunkCounts(0, 0);
+        }
+        
+        List<Notification> batch = chunk.stream()
+            .filter(entry -> entry.notification() != null && !entry.duplicate())
+            .map(Entry::notification)
+            .toList();
+        
+        String persistError = null;
+        if (!batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    contentStore.externalize(batch);
+                    notificationRepository.saveAll(batch);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                chunkKeys.keySet().forEach(idempotencyService::record);
+            } catch (RuntimeException e) {
+                if (IdempotencyService.isKeyCollision(e)) {
+                    // A key used on another node or before the filter's warm-up window; only its lines are duplicates
+                    log.info("Bulk chunk of {} notifications reused an existing idempotency key, saving one at a time",
+                        batch.size());
+                    persistEach(chunk, chunkKeys);
+                } else {
+                    log.error("Failed to persist bulk chunk of {} notifications", batch.size(), e);
+                    persistError = "Failed to persist: " + e.getMessage();
+                    chunkKeys.keySet().forEach(idempotencyService::release);
+                }
+            }
+        }
+        
+        long accepted = 0;
+        long rejected = 0;
+        for (Entry entry : chunk) {
+            BulkIngestResult.BulkIngestResultBuilder result = BulkIngestResult.builder().line(entry.line());
+            
+            // A duplicate of an earlier line in this chunk shares its fate
+            boolean duplicateOfFailed = persistError != null && entry.duplicate()
+                && chunkKeys.get(entry.notification().getIdempotencyKey()) == entry.notification();
+            
+            if (entry.duplicate() && !duplicateOfFailed) {
+                result.id(entry.notification().getId()).outcome(Outcome.DUPLICATE);
+                accepted++;
+            } else if (entry.notification() == null || persistError != null) {
+                result.outcome(Outcome.REJECTED).error(entry.error() != null ? entry.error() : persistError);
+                rejected++;
+            } else {
+                Notification saved = entry.notification();
+                eventPublisher.publishEvent(NotificationStatusEvent.of(saved));
+                result.id(saved.getId());
+                
+                if (saved.getStatus() == NotificationStatus.DIGEST_PENDING) {
+                    result.outcome(Outcome.BUFFERED);
+                } else if (saved.getStatus() == NotificationStatus.SCHEDULED) {
+                    delayedDeliveryService.schedule(saved);
+                    result.outcome(Outcome.SCHEDULED);
+                } else if (notificationDispatcher.submit(saved)) {
+                    result.outcome(Outcome.QUEUED);
+                } else {
+                    // Tenant is over its dispatch quota; the scheduler picks it up later
+                    result.outcome(Outcome.PENDING);
+                }
+                accepted++;
+            }
+            
+            out.write(resultWriter.writeValueAsBytes(result.build()));
+            out.write('\n');
+        }
+        out.flush();
+        
+        chunk.clear();
+        chunkKeys.clear();
+        return new ChunkCounts(accepted, rejected);
+    }
+    
+    /**
+     * Save a chunk's new notifications one per transaction after the batch insert
+     * hit an idempotency key that already exists. A colliding line becomes a
+     * duplicate of the original, any other failure rejects only its own line, and
+     * lines repeating a key earlier in the chunk follow that line.
+     */
+    private void persistEach(List<Entry> chunk, Map<String, Notification> chunkKeys) {
+        Map<Notification, Entry> outcomes = new IdentityHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Entry entry = chunk.get(i);
+            if (entry.notification() == null || entry.duplicate()) {
+                continue;
+            }
+            
+            Notification notification = entry.notification();
+            String key = notification.getIdempotencyKey();
+            // The rolled-back batch already drew an id for it
+            notification.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> notificationRepository.save(notification));
+                if (key != null) {
+                    idempotencyService.record(key);
+                }
+            } catch (RuntimeException e) {
+                Optional<Notification> original = key != null && IdempotencyService.isKeyCollision(e)
+                    ? notificationRepository.findByIdempotencyKey(key) : Optional.empty();
+                Entry outcome;
+                if (original.isPresent()) {
+                    idempotencyService.record(key);
+                    outcome = Entry.duplicate(entry.line(), original.get());
+                } else {
+                    log.error("Failed to persist bulk line {}", entry.line(), e);
+                    if (key != null) {
+                        idempotencyService.release(key);
+                    }
+                    outcome = Entry.rejected(entry.line(), "Failed to persist: " + e.getMessage());
+                }
+                chunk.set(i, outcome);
+                outcomes.put(notification, outcome);
+            }
+        }
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            Entry entry = chunk.get(i);
+            Entry outcome = entry.duplicate() ? outcomes.get(entry.notification()) : null;
+            if (outcome != null) {
+                chunk.set(i, outcome.duplicate() ? Entry.duplicate(entry.line(), outcome.notification())
+                    : Entry.rejected(entry.line(), outcome.error()));
+            }
+        }
+    }
+    
+    /**
+     * Totals for a finished ingestion
+     */
+    public record BulkIngestSummary(long accepted, long rejected) {}
+    
+    private record ChunkCounts(long accepted, long rejected) {}
+    
+    /**
+     * A prepared line; duplicates point at the original notification instead of a new one
+     */
+    private record Entry(long line, Notification notification, boolean duplicate, String error) {
+        
+        static Entry accepted(long line, Notification notification) {
+            return new Entry(line, notification, false, null);
+        }
+        
+        static Entry duplicate(long line, Notification original) {
+            return new Entry(line, original, true, null);
+        }
+        
+        static Entry rejected(long line, String error) {
+            return new Entry(line, null, false, error);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.CampaignConfig;
+import com.Portfolio.Notifire.model.entity.Campaign;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.AudienceSource;
+import com.Portfolio.Notifire.model.enums.CampaignStatus;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.CampaignRepository;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+/**
+ * Worker executing campaigns on this node.
+ * Fan-out streams the audience in chunks; each chunk is rendered in
+ * parallel on the render pool, bulk-inserted together with the campaign's
+ * progress and resume cursor in one transaction, and then the next chunk is
+ * read. Separately, the pump hands each running campaign's notifications to
+ * the dispatcher at the campaign's rate, in id order, keeping a cursor so
+ * nothing is dispatched twice. Both stop at the next chunk or tick once the
+ * campaign is no longer RUNNING.
+ */
+@Service
+@Slf4j
+public class CampaignRunner {
+    
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private final CampaignRepository campaignRepository;
+    private final NotificationRepository notificationRepository;
+    private final TemplateService templateService;
+    private final TemplateRenderer templateRenderer;
+    private final ContentStore contentStore;
+    private final NotificationTracing notificationTracing;
+    private final SuppressionService suppressionService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final CampaignConfig config;
+    private final Executor campaignExecutor;
+    private final ForkJoinPool renderPool;
+    
+    /**
+     * Campaigns whose notifications this node is dispatching
+     */
+    private final Map<Long, DispatchState> dispatching = new ConcurrentHashMap<>();
+    
+    /**
+     * Campaigns with a fan-out in progress on this node
+     */
+    private final Set<Long> fanningOut = ConcurrentHashMap.newKeySet();
+    
+    public CampaignRunner(CampaignRepository campaignRepository,
+                          NotificationRepository notificationRepository,
+                          TemplateService templateService,
+                          TemplateRenderer templateRenderer,
+                          ContentStore contentStore,
+                          NotificationTracing notificationTracing,
+                          SuppressionService suppressionService,
+                          NotificationDispatcher notificationDispatcher,
+                          ObjectMapper objectMapper,
+                          TransactionTemplate transactionTemplate,
+                          EntityManager entityManager,
+                          CampaignConfig config,
+                          @Qualifier("campaignExecutor") Executor campaignExecutor,
+                          @Qualifier("campaignRenderPool") ForkJoinPool renderPool) {
+        this.campaignRepository = campaignRepository;
+        this.notificationRepository = notificationRepository;
+        this.templateService = templateService;
+        this.templateRenderer = templateRenderer;
+        this.contentStore = contentStore;
+        this.notificationTracing = notificationTracing;
+        this.suppressionService = suppressionService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.config = config;
+        this.campaignExecutor = campaignExecutor;
+        this.renderPool = renderPool;
+    }
+    
+    /**
+     * Start or continue fan-out and dispatch of a RUNNING campaign from its stored cursors
+     */
+    public void launch(Campaign campaign) {
+        launch(campaign, campaign.getDispatchCursor());
+    }
+    
+    /**
+     * Pick up a campaign left RUNNING by a previous process. Dispatch starts over
+     * from the first notification: rows the old process handed to its dispatcher
+     * but never sent are still PENDING behind the stored cursor, and sends are
+     * claimed, so none already sent goes out again.
+     */
+    public void recover(Campaign campaign) {
+        launch(campaign, 0);
+    }
+    
+    private void launch(Campaign campaign, long dispatchFrom) {
+        dispatching.put(campaign.getId(), new DispatchState(dispatchFrom, campaign.getRatePerSecond()));
+        
+        // A fan-out that has not yet noticed a pause simply carries on after the resume
+        if (!campaign.getAudienceExhausted() && fanningOut.add(campaign.getId())) {
+            try {
+                campaignExecutor.execute(() -> fanOut(campaign.getId()));
+            } catch (TaskRejectedException e) {
+                fanningOut.remove(campaign.getId());
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Stream the audience into notifications until it is exhausted or the campaign leaves RUNNING
+     */
+    void fanOut(Long campaignId) {
+        try (AudienceReader reader = openAudience(campaignId)) {
+            RenderContext context = loadRenderContext(campaignId);
+            
+            while (campaignRepository.findStatusById(campaignId).orElse(null) == CampaignStatus.RUNNING) {
+                AudienceBatch batch = reader.next(config.getChunkSize());
+                List<Notification> rendered = render(context, batch.members());
+                rendered.forEach(notificationTracing::stamp);
+                long created = rendered.size();
+                long rejected = batch.members().size() - created + batch.malformed();
+                
+                transactionTemplate.executeWithoutResult(status -> {
+                    contentStore.externalize(rendered);
+                    notificationRepository.saveAll(rendered);
+                    campaignRepository.recordChunk(campaignId, batch.members().size() + batch.malformed(),
+                        created, rejected, batch.cursor(), batch.exhausted(), LocalDateTime.now());
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                
+                if (batch.exhausted()) {
+                    log.info("Campaign {} fan-out finished", campaignId);
+                    return;
+                }
+            }
+            log.info("Campaign {} fan-out stopped: no longer running", campaignId);
+        } catch (Exception e) {
+            log.error("Campaign {} fan-out failed", campaignId, e);
+            campaignRepository.markFailed(campaignId, CampaignStatus.FAILED,
+                "Fan-out failed: " + e.getMessage(), LocalDateTime.now());
+            dispatching.remove(campaignId);
+        } finally {
+            fanningOut.remove(campaignId);
+        }
+    }
+    
+    /**
+     * Hand each running campaign's next notifications to the dispatcher
+     */
+    @Scheduled(fixedRateString = "${campaign.pump-interval:1000}")
+    public void pump() {
+        for (Map.Entry<Long, DispatchState> entry : dispatching.entrySet()) {
+            try {
+                pump(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                log.error("Failed to pump campaign {}", entry.getKey(), e);
+            }
+        }
+    }
+    
+    private void pump(Long campaignId, DispatchState state) {
+        Campaign campaign = campaignRepository.findById(campaignId).orElse(null);
+        if (campaign == null || campaign.getStatus() != CampaignStatus.RUNNING) {
+            // Resume registers the campaign again
+            dispatching.remove(campaignId);
+            return;
+        }
+        
+        // Read before querying, so every notification of a finished fan-out is visible to the query
+        boolean fanOutDone = campaign.getAudienceExhausted() && !fanningOut.contains(campaignId);
+        
+        int budget = (int) Math.max(1, state.ratePerSecond * config.getPumpInterval() / 1000);
+        List<Long> ids = notificationRepository.findCampaignNotificationIds(
+            campaignId, state.cursor, NotificationStatus.PENDING, PageRequest.of(0, budget));
+        
+        if (ids.isEmpty()) {
+            if (fanOutDone && campaignRepository.markCompleted(campaignId, CampaignStatus.RUNNING,
+                    CampaignStatus.COMPLETED, LocalDateTime.now()) > 0) {
+                log.info("Campaign {} completed", campaignId);
+                dispatching.remove(campaignId);
+            }
+            return;
+        }
+        
+        long dispatched = 0;
+        for (Long id : ids) {
+            if (!notificationDispatcher.submit(id, campaign.getTenantId())) {
+                // Tenant is over its dispatch quota; continue from here on the next tick
+                break;
+            }
+            state.cursor = id;
+            dispatched++;
+        }
+        if (dispatched > 0) {
+            campaignRepository.recordDispatch(campaignId, state.cursor, dispatched, LocalDateTime.now());
+        }
+    }
+    
+    /**
+     * Render a chunk in parallel; invalid and suppressed recipients are dropped
+     */
+    private List<Notification> render(RenderContext context, List<AudienceMember> members)
+            throws InterruptedException, ExecutionException {
+        if (members.isEmpty()) {
+            return List.of();
+        }
+        return renderPool.submit(() -> members.parallelStream()
+            .map(member -> render(context, member))
+            .filter(Objects::nonNull)
+            .toList()
+        ).get();
+    }
+    
+    private Notification render(RenderContext context, AudienceMember member) {
+        String recipient = member.recipient() != null ? member.recipient().strip() : null;
+        if (recipient == null || recipient.length() > 255 || !EMAIL.matcher(recipient).matches()
+                || suppressionService.isSuppressed(recipient)) {
+            return null;
+        }
+        
+        Map<String, Object> variables = context.variables();
+        if (member.variables() != null && !member.variables().isEmpty()) {
+            variables = new HashMap<>(context.variables());
+            variables.putAll(member.variables());
+        }
+        
+        Notification notification = new Notification();
+        notification.setRecipient(recipient);
+        notification.setChannel(context.campaign().getChannel());
+        notification.setPriority(context.campaign().getPriority());
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setRetryCount(0);
+        notification.setMaxRetries(3);
+        notification.setTemplate(context.template());
+        notification.setOrderedDelivery(Boolean.TRUE.equals(context.template().getOrderedDelivery()));
+        notification.setCampaign(context.campaign());
+        notification.setTenantId(context.campaign().getTenantId());
+        notification.setSubject(templateService.renderTemplate(context.template().getSubject(), variables));
+        if (templateRenderer.isLazy()) {
+            templateRenderer.deferBody(notification, context.template(), variables);
+        } else {
+            notification.setContent(templateRenderer.renderBody(context.template(), variables));
+        }
+        return notification;
+    }
+    
+    private RenderContext loadRenderContext(Long campaignId) throws IOException {
+        Campaign campaign = transactionTemplate.execute(status -> {
+            Campaign loaded = campaignRepository.findById(campaignId).orElseThrow();
+            loaded.setTemplate((Template) Hibernate.unproxy(loaded.getTemplate()));
+            return loaded;
+        });
+        
+        Map<String, Object> variables = campaign.getVariables() == null ? Map.of()
+            : objectMapper.readValue(campaign.getVariables(), new TypeReference<Map<String, Object>>() {});
+        return new RenderContext(campaign, campaign.getTemplate(), variables);
+    }
+    
+    private AudienceReader openAudience(Long campaignId) throws IOException {
+        Campaign campaign = campaignRepository.findById(campaignId).orElseThrow();
+        if (campaign.getAudienceSource() == AudienceSource.FILE) {
+            long offset = campaign.getAudienceCursor() != null ? Long.parseLong(campaign.getAudienceCursor()) : 0;
+            return new FileAudienceReader(Path.of(campaign.getAudienceFile()), offset);
+        }
+        return new HistoryAudienceReader(campaign);
+    }
+    
+    /**
+     * Source of audience members, read in batches from a resumable cursor
+     */
+    private interface AudienceReader extends Closeable {
+        AudienceBatch next(int max) throws IOException;
+    }
+    
+    /**
+     * Reads an NDJSON upload; the cursor is the byte offset after the last member read
+     */
+    private class FileAudienceReader implements AudienceReader {
+        
+        private final long baseOffset;
+        private final InputStream in;
+        private final JsonParser parser;
+        private final MappingIterator<AudienceMember> members;
+        
+        FileAudienceReader(Path file, long offset) throws IOException {
+            this.baseOffset = offset;
+            this.in = Files.newInputStream(file);
+            this.in.skipNBytes(offset);
+            this.parser = objectMapper.getFactory().createParser(in);
+            this.members = objectMapper.readerFor(AudienceMember.class).readValues(parser);
+        }
+        
+        @Override
+        public AudienceBatch next(int max) throws IOException {
+            List<AudienceMember> batch = new ArrayList<>(max);
+            long malformed = 0;
+            boolean exhausted = false;
+            
+            while (batch.size() + malformed < max) {
+                try {
+                    if (!members.hasNextValue()) {
+                        exhausted = true;
+                        break;
+                    }
+                    batch.add(members.nextValue());
+                } catch (DatabindException e) {
+                    // The iterator resyncs to the next root value
+                    malformed++;
+                }
+            }
+            
+            String cursor = String.valueOf(baseOffset + parser.currentLocation().getByteOffset());
+            return new AudienceBatch(batch, malformed, cursor, exhausted);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            members.close();
+            in.close();
+        }
+    }
+    
+    /**
+     * Pages through distinct past recipients; the cursor is the last recipient read
+     */
+    private class HistoryAudienceReader implements AudienceReader {
+        
+        private final Campaign campaign;
+        private String after;
+        
+        HistoryAudienceReader(Campaign campaign) {
+            this.campaign = campaign;
+            this.after = campaign.getAudienceCursor() != null ? campaign.getAudienceCursor() : "";
+        }
+        
+        @Override
+        public AudienceBatch next(int max) {
+            List<String> recipients = notificationRepository.findHistoryRecipients(after,
+                campaign.getHistoryTemplateId(),
+                campaign.getHistorySince() != null ? campaign.getHistorySince() : BEGINNING,
+                campaign.getId(),
+                PageRequest.of(0, max));
+            if (!recipients.isEmpty()) {
+                after = recipients.get(recipients.size() - 1);
+            }
+            
+            List<AudienceMember> batch = recipients.stream()
+                .map(recipient -> new AudienceMember(recipient, null))
+                .toList();
+            return new AudienceBatch(batch, 0, after, recipients.size() < max);
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+    
+    /**
+     * One audience entry; its variables override the campaign's shared variables
+     */
+    public record AudienceMember(String recipient, Map<String, Object> variables) {}
+    
+    private record AudienceBatch(List<AudienceMember> members, long malformed, String cursor, boolean exhausted) {}
+    
+    private record RenderContext(Campaign campaign, Template template, Map<String, Object> variables) {}
+    
+    private static class DispatchState {
+        
+        private volatile long cursor;
+        private final int ratePerSecond;
+        
+        DispatchState(long cursor, int ratePerSecond) {
+            this.cursor = cursor;
+            this.ratePerSecond = ratePerSecond;
+        }
+    }
+}
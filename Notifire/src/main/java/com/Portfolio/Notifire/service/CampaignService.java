@@ -0,0 +1,203 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.CampaignConfig;
+import com.Portfolio.Notifire.dto.CampaignRequest;
+import com.Portfolio.Notifire.dto.CampaignResponse;
+import com.Portfolio.Notifire.exception.CampaignNotFoundException;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.exception.TemplateNotFoundException;
+import com.Portfolio.Notifire.model.entity.Campaign;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.AudienceSource;
+import com.Portfolio.Notifire.model.enums.CampaignStatus;
+import com.Portfolio.Notifire.repository.CampaignRepository;
+import com.Portfolio.Notifire.repository.TemplateRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+
+/**
+ * Service for creating and controlling campaigns.
+ * State changes are conditional updates, so a pause or resume racing with
+ * another node or with the fan-out worker is applied at most once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignService {
+    
+    private final CampaignRepository campaignRepository;
+    private final TemplateRepository templateRepository;
+    private final CampaignRunner campaignRunner;
+    private final ObjectMapper objectMapper;
+    private final CampaignConfig config;
+    
+    /**
+     * Create a campaign in DRAFT
+     */
+    @Transactional
+    public CampaignResponse createCampaign(CampaignRequest request) {
+        Template template = templateRepository.findById(request.getTemplateId())
+            .orElseThrow(() -> new TemplateNotFoundException(request.getTemplateId()));
+        if (!template.isUsable()) {
+            throw new InvalidRequestException("Template is not active: " + template.getName());
+        }
+        if (request.getAudienceSource() == AudienceSource.FILE
+                && (request.getHistoryTemplateId() != null || request.getHistorySince() != null)) {
+            throw new InvalidRequestException("History filters only apply to NOTIFICATION_HISTORY audiences");
+        }
+        
+        Campaign campaign = new Campaign();
+        campaign.setName(request.getName());
+        campaign.setTemplate(template);
+        campaign.setChannel(request.getChannel());
+        campaign.setPriority(request.getPriority());
+        campaign.setAudienceSource(request.getAudienceSource());
+        campaign.setHistoryTemplateId(request.getHistoryTemplateId());
+        campaign.setHistorySince(request.getHistorySince());
+        campaign.setRatePerSecond(request.getRatePerSecond() != null
+            ? request.getRatePerSecond() : config.getDefaultRatePerSecond());
+        campaign.setTenantId(request.getTenantId());
+        try {
+            campaign.setVariables(objectMapper.writeValueAsString(request.getVariables()));
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Invalid campaign variables: " + e.getOriginalMessage());
+        }
+        
+        Campaign saved = campaignRepository.save(campaign);
+        log.info("Campaign {} '{}' created with template {}", saved.getId(), saved.getName(), template.getName());
+        return mapToResponse(saved);
+    }
+    
+    /**
+     * Store the NDJSON audience of a FILE campaign, streaming it straight to disk
+     */
+    public CampaignResponse uploadAudience(Long id, InputStream audience) throws IOException {
+        Campaign campaign = findCampaign(id);
+        if (campaign.getAudienceSource() != AudienceSource.FILE) {
+            throw new InvalidRequestException("Campaign " + id + " does not take an uploaded audience");
+        }
+        if (campaign.getStatus() != CampaignStatus.DRAFT) {
+            throw new InvalidRequestException("Audience can only be uploaded while the campaign is in DRAFT");
+        }
+        
+        Path directory = Path.of(config.getAudienceDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("campaign-" + id + ".ndjson").toAbsolutePath();
+        long bytes = Files.copy(audience, file, StandardCopyOption.REPLACE_EXISTING);
+        
+        campaign.setAudienceFile(file.toString());
+        Campaign saved = campaignRepository.save(campaign);
+        log.info("Stored {} byte audience for campaign {} at {}", bytes, id, file);
+        return mapToResponse(saved);
+    }
+    
+    /**
+     * Start fanning out a DRAFT campaign
+     */
+    public CampaignResponse start(Long id) {
+        Campaign campaign = findCampaign(id);
+        if (campaign.getAudienceSource() == AudienceSource.FILE && campaign.getAudienceFile() == null) {
+            throw new InvalidRequestException("Upload an audience before starting campaign " + id);
+        }
+        return transitionAndLaunch(id, CampaignStatus.DRAFT);
+    }
+    
+    /**
+     * Halt fan-out and dispatch at the next chunk or tick
+     */
+    public CampaignResponse pause(Long id) {
+        findCampaign(id);
+        if (campaignRepository.transition(id, CampaignStatus.RUNNING, CampaignStatus.PAUSED, LocalDateTime.now()) == 0) {
+            throw new InvalidRequestException("Only a RUNNING campaign can be paused");
+        }
+        log.info("Campaign {} paused", id);
+        return mapToResponse(findCampaign(id));
+    }
+    
+    /**
+     * Continue a PAUSED campaign from its stored cursors
+     */
+    public CampaignResponse resume(Long id) {
+        findCampaign(id);
+        return transitionAndLaunch(id, CampaignStatus.PAUSED);
+    }
+    
+    /**
+     * Pick up campaigns left RUNNING by a previous process, whose dispatch state was only held in memory
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverRunning() {
+        for (Campaign campaign : campaignRepository.findByStatus(CampaignStatus.RUNNING)) {
+            try {
+                campaignRunner.recover(campaign);
+                log.info("Campaign {} recovered after restart", campaign.getId());
+            } catch (RuntimeException e) {
+                log.error("Failed to recover campaign {}", campaign.getId(), e);
+            }
+        }
+    }
+    
+    public CampaignResponse getCampaign(Long id) {
+        return mapToResponse(findCampaign(id));
+    }
+    
+    public Page<CampaignResponse> getAllCampaigns(Pageable pageable) {
+        return campaignRepository.findAll(pageable).map(this::mapToResponse);
+    }
+    
+    private CampaignResponse transitionAndLaunch(Long id, CampaignStatus from) {
+        if (campaignRepository.transition(id, from, CampaignStatus.RUNNING, LocalDateTime.now()) == 0) {
+            throw new InvalidRequestException("Campaign " + id + " is not " + from);
+        }
+        
+        Campaign campaign = findCampaign(id);
+        if (campaign.getStartedAt() == null) {
+            campaign.setStartedAt(LocalDateTime.now());
+            campaign = campaignRepository.save(campaign);
+        }
+        campaignRunner.launch(campaign);
+        log.info("Campaign {} running", id);
+        return mapToResponse(campaign);
+    }
+    
+    private Campaign findCampaign(Long id) {
+        return campaignRepository.findById(id)
+            .orElseThrow(() -> new CampaignNotFoundException(id));
+    }
+    
+    private CampaignResponse mapToResponse(Campaign campaign) {
+        return CampaignResponse.builder()
+            .id(campaign.getId())
+            .name(campaign.getName())
+            .templateId(campaign.getTemplate().getId())
+            .audienceSource(campaign.getAudienceSource())
+            .status(campaign.getStatus())
+            .ratePerSecond(campaign.getRatePerSecond())
+            .tenantId(campaign.getTenantId())
+            .processed(campaign.getProcessedCount())
+            .created(campaign.getCreatedCount())
+            .rejected(campaign.getRejectedCount())
+            .dispatched(campaign.getDispatchedCount())
+            .audienceExhausted(campaign.getAudienceExhausted())
+            .errorMessage(campaign.getErrorMessage())
+            .createdAt(campaign.getCreatedAt())
+            .startedAt(campaign.getStartedAt())
+            .completedAt(campaign.getCompletedAt())
+            .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.ContentStoreConfig;
+import com.Portfolio.Notifire.model.entity.ContentBlob;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.ContentCodec;
+import com.Portfolio.Notifire.repository.ContentBlobRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Content-addressed store for notification bodies. With it enabled, a body is
+ * written once as a blob keyed by its SHA-256, compressed above a size
+ * threshold, and notifications reference the blob instead of carrying a copy.
+ * The blob is only loaded and decompressed when the body is read, through
+ * {@link Notification#readContent()}.
+ * <p>
+ * Blobs are inserted in their own transaction, so a blob another node is
+ * inserting at the same moment costs a retry rather than failing the caller.
+ */
+@Service
+@Slf4j
+public class ContentStore {
+    
+    private final ContentBlobRepository blobRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate newTransaction;
+    private final ContentStoreConfig config;
+    
+    /**
+     * Hashes known to be stored, least recently used evicted first. Guarded by itself.
+     */
+    private final Map<String, Boolean> knownHashes;
+    
+    public ContentStore(ContentBlobRepository blobRepository,
+                        EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        ContentStoreConfig config) {
+        this.blobRepository = blobRepository;
+        this.entityManager = entityManager;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.config = config;
+        this.knownHashes = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > config.getKnownHashCacheSize();
+            }
+        };
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * Move the body of a notification about to be saved into a shared blob
+     */
+    public void externalize(Notification notification) {
+        externalize(List.of(notification));
+    }
+    
+    /**
+     * Move the bodies of notifications about to be saved into shared blobs, storing each distinct body once
+     */
+    public void externalize(Collection<Notification> notifications) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        
+        Map<String, String> bodies = new LinkedHashMap<>();
+        Map<Notification, String> hashes = new IdentityHashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getContent() != null) {
+                String hash = hash(notification.getContent());
+                bodies.putIfAbsent(hash, notification.getContent());
+                hashes.put(notification, hash);
+            }
+        }
+        if (hashes.isEmpty()) {
+            return;
+        }
+        
+        storeMissing(bodies);
+        hashes.forEach((notification, hash) -> {
+            notification.setContentBlob(blobRepository.getReferenceById(hash));
+            notification.setContent(null);
+        });
+    }
+    
+    private void storeMissing(Map<String, String> bodies) {
+        Set<String> unknown = new HashSet<>();
+        synchronized (knownHashes) {
+            for (String hash : bodies.keySet()) {
+                if (knownHashes.get(hash) == null) {
+                    unknown.add(hash);
+                }
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        
+        unknown.removeAll(blobRepository.findExistingHashes(unknown));
+        if (!unknown.isEmpty()) {
+            List<ContentBlob> blobs = new ArrayList<>();
+            unknown.forEach(hash -> blobs.add(encode(hash, bodies.get(hash))));
+            try {
+                insert(blobs);
+            } catch (DataIntegrityViolationException e) {
+                // Another node stored some of them first; insert the rest one at a time
+                for (ContentBlob blob : blobs) {
+                    try {
+                        insert(List.of(blob));
+                    } catch (DataIntegrityViolationException ignored) {
+                        log.debug("Content blob {} already stored", blob.getHash());
+                    }
+                }
+            }
+        }
+        
+        synchronized (knownHashes) {
+            bodies.keySet().forEach(hash -> knownHashes.put(hash, Boolean.TRUE));
+        }
+    }
+    
+    private void insert(List<ContentBlob> blobs) {
+        newTransaction.executeWithoutResult(status -> {
+            blobs.forEach(entityManager::persist);
+            entityManager.flush();
+        });
+    }
+    
+    ContentBlob encode(String hash, String body) {
+        byte[] raw = body.getBytes(StandardCharsets.UTF_8);
+        ContentBlob blob = new ContentBlob();
+        blob.setHash(hash);
+        blob.setOriginalLength(raw.length);
+        blob.setCodec(ContentCodec.NONE);
+        blob.setData(raw);
+        
+        if (raw.length >= config.getCompressThreshold()) {
+            byte[] compressed = ContentCodec.DEFLATE.encode(raw);
+            if (compressed.length < raw.length) {
+                blob.setCodec(ContentCodec.DEFLATE);
+                blob.setData(compressed);
+            }
+        }
+        return blob;
+    }
+    
+    static String hash(String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.DeadLetterConfig;
+import com.Portfolio.Notifire.dto.DeadLetterResponse;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.dto.ReplayRequest;
+import com.Portfolio.Notifire.dto.ReplayResponse;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.exception.ReplayNotFoundException;
+import com.Portfolio.Notifire.model.entity.DeadLetter;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.model.enums.ReplayStatus;
+import com.Portfolio.Notifire.repository.DeadLetterRepository;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dead-letter handling for notifications that failed terminally.
+ * The sweep moves notifications with no retries left into the dead-letter
+ * table, classified by {@link FailureClass}, and takes them out of the
+ * FAILED retry scans. A replay re-enqueues the dead letters matching a
+ * filter at a fixed rate, in id order, keeping a cursor like the campaign
+ * pump. Replays run on the node they were started on; a replay cut short by
+ * a restart can simply be started again, as replayed rows are removed.
+ */
+@Service
+@Slf4j
+public class DeadLetterService {
+    
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(9999, 12, 31, 0, 0);
+    
+    private final NotificationRepository notificationRepository;
+    private final DeadLetterRepository deadLetterRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final DeadLetterConfig config;
+    
+    private final Map<Long, Replay> replays = new ConcurrentHashMap<>();
+    private final AtomicLong replayIds = new AtomicLong();
+    
+    public DeadLetterService(NotificationRepository notificationRepository,
+                             DeadLetterRepository deadLetterRepository,
+                             NotificationDispatcher notificationDispatcher,
+                             ApplicationEventPublisher eventPublisher,
+                             TransactionTemplate transactionTemplate,
+                             DeadLetterConfig config) {
+        this.notificationRepository = notificationRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.config = config;
+    }
+    
+    /**
+     * Move failed notifications with no retries left to the dead-letter table
+     */
+    @Scheduled(fixedDelayString = "${dead-letter.sweep-interval:60000}", initialDelayString = "${dead-letter.sweep-interval:60000}")
+    public void sweep() {
+        int total = 0;
+        for (int batch = 0; batch < config.getMaxBatchesPerSweep(); batch++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Notification> exhausted = notificationRepository.findExhaustedNotifications(
+                    PageRequest.of(0, config.getBatchSize()));
+                exhausted.forEach(this::moveToDeadLetters);
+                return exhausted.size();
+            });
+            total += moved;
+            if (moved < config.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Moved {} exhausted notifications to the dead-letter table", total);
+        }
+    }
+    
+    /**
+     * Dead-letter a failed notification now, whatever retries it has left
+     */
+    @Transactional
+    public void deadLetter(Notification notification) {
+        moveToDeadLetters(notification);
+        log.info("Dead-lettered notification {}: {}", notification.getId(), notification.getErrorMessage());
+    }
+    
+    private void moveToDeadLetters(Notification notification) {
+        Integer httpStatus = FailureClass.httpStatus(notification.getErrorMessage());
+        
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setNotificationId(notification.getId());
+        deadLetter.setRecipient(notification.getRecipient());
+        deadLetter.setTemplateId(notification.getTemplate() != null ? notification.getTemplate().getId() : null);
+        deadLetter.setTenantId(notification.getTenantId());
+        deadLetter.setFailureClass(FailureClass.classify(notification.getErrorMessage(), httpStatus));
+        deadLetter.setHttpStatus(httpStatus);
+        deadLetter.setErrorMessage(notification.getErrorMessage());
+        deadLetter.setAttempts(notification.getRetryCount() + 1);
+        deadLetter.setFailedAt(notification.getFailedAt() != null ? notification.getFailedAt() : LocalDateTime.now());
+        deadLetterRepository.save(deadLetter);
+        
+        notification.setStatus(NotificationStatus.DEAD_LETTERED);
+        notificationRepository.save(notification);
+        eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+    }
+    
+    /**
+     * Search dead letters; every filter is optional
+     */
+    public Page<DeadLetterResponse> search(LocalDateTime from, LocalDateTime to, FailureClass failureClass,
+                                           Long templateId, Pageable pageable) {
+        return deadLetterRepository.search(from != null ? from : BEGINNING, to != null ? to : END,
+            failureClass, templateId, pageable).map(this::mapToResponse);
+    }
+    
+    /**
+     * Start re-enqueuing the dead letters matching a filter at a controlled rate
+     */
+    public ReplayResponse startReplay(ReplayRequest request) {
+        int rate = request.getRatePerSecond() != null ? request.getRatePerSecond() : config.getDefaultReplayRate();
+        if (rate > config.getMaxReplayRate()) {
+            throw new InvalidRequestException("Replay rate must be at most " + config.getMaxReplayRate() + " per second");
+        }
+        LocalDateTime from = request.getFrom() != null ? request.getFrom() : BEGINNING;
+        LocalDateTime to = request.getTo() != null ? request.getTo() : END;
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Replay range must start before it ends");
+        }
+        
+        long matched = deadLetterRepository.countMatching(from, to, request.getFailureClass(), request.getTemplateId());
+        Replay replay = new Replay(replayIds.incrementAndGet(), from, to, request.getTemplateId(),
+            request.getFailureClass(), rate, matched, LocalDateTime.now());
+        replays.put(replay.id, replay);
+        
+        log.info("Started replay {} of {} dead letters at {}/s", replay.id, matched, rate);
+        return mapToResponse(replay);
+    }
+    
+    public ReplayResponse getReplay(Long id) {
+        return mapToResponse(findReplay(id));
+    }
+    
+    public List<ReplayResponse> getReplays() {
+        return replays.values().stream()
+            .sorted(Comparator.comparing((Replay replay) -> replay.id).reversed())
+            .map(this::mapToResponse)
+            .toList();
+    }
+    
+    /**
+     * Stop a running replay; dead letters it has not reached stay dead-lettered
+     */
+    public ReplayResponse cancelReplay(Long id) {
+        Replay replay = findReplay(id);
+        synchronized (replay) {
+            if (replay.status == ReplayStatus.RUNNING) {
+                replay.status = ReplayStatus.CANCELLED;
+                replay.completedAt = LocalDateTime.now();
+                log.info("Cancelled replay {} after {} notifications", id, replay.replayed.get());
+            }
+        }
+        return mapToResponse(replay);
+    }
+    
+    /**
+     * Hand each running replay's next dead letters to the dispatcher
+     */
+    @Scheduled(fixedRateString = "${dead-letter.replay-interval:1000}")
+    public void pumpReplays() {
+        for (Replay replay : replays.values()) {
+            if (replay.status != ReplayStatus.RUNNING) {
+                continue;
+            }
+            try {
+                pump(replay);
+            } catch (RuntimeException e) {
+                log.error("Failed to pump replay {}", replay.id, e);
+            }
+        }
+    }
+    
+    private void pump(Replay replay) {
+        int budget = (int) Math.max(1, replay.ratePerSecond * config.getReplayInterval() / 1000);
+        
+        synchronized (replay) {
+            if (replay.status != ReplayStatus.RUNNING) {
+                return;
+            }
+            
+            List<Notification> requeued = new ArrayList<>();
+            Long last = transactionTemplate.execute(status -> {
+                List<DeadLetter> batch = deadLetterRepository.findNext(replay.cursor, replay.from, replay.to,
+                    replay.failureClass, replay.templateId, PageRequest.of(0, budget));
+                for (DeadLetter deadLetter : batch) {
+                    notificationRepository.findById(deadLetter.getNotificationId())
+                        .filter(notification -> notification.getStatus() == NotificationStatus.DEAD_LETTERED)
+                        .ifPresent(notification -> requeued.add(requeue(notification)));
+                }
+                deadLetterRepository.deleteAllInBatch(batch);
+                return batch.isEmpty() ? null : batch.get(batch.size() - 1).getId();
+            });
+            
+            // A notification the dispatcher turns away is due and PENDING, so the pending sweep sends it
+            for (Notification notification : requeued) {
+                notificationDispatcher.submit(notification);
+            }
+            
+            if (last != null) {
+                replay.cursor = last;
+                replay.replayed.addAndGet(requeued.size());
+            } else {
+                replay.status = ReplayStatus.COMPLETED;
+                replay.completedAt = LocalDateTime.now();
+                log.info("Replay {} completed: {} notifications re-enqueued", replay.id, replay.replayed.get());
+            }
+        }
+    }
+    
+    /**
+     * Put a dead-lettered notification back in the queue with a fresh set of retries
+     */
+    private Notification requeue(Notification notification) {
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setRetryCount(0);
+        notification.setErrorMessage(null);
+        notification.setFailedAt(null);
+        // Due now, so the pending sweep also covers campaign notifications
+        notification.setScheduledAt(LocalDateTime.now());
+        Notification saved = notificationRepository.save(notification);
+        eventPublisher.publishEvent(NotificationStatusEvent.of(saved));
+        return saved;
+    }
+    
+    private Replay findReplay(Long id) {
+        Replay replay = replays.get(id);
+        if (replay == null) {
+            throw new ReplayNotFoundException(id);
+        }
+        return replay;
+    }
+    
+    private DeadLetterResponse mapToResponse(DeadLetter deadLetter) {
+        return DeadLetterResponse.builder()
+            .id(deadLetter.getId())
+            .notificationId(deadLetter.getNotificationId())
+            .recipient(deadLetter.getRecipient())
+            .templateId(deadLetter.getTemplateId())
+            .tenantId(deadLetter.getTenantId())
+            .failureClass(deadLetter.getFailureClass())
+            .httpStatus(deadLetter.getHttpStatus())
+            .errorMessage(deadLetter.getErrorMessage())
+            .attempts(deadLetter.getAttempts())
+            .failedAt(deadLetter.getFailedAt())
+            .deadLetteredAt(deadLetter.getDeadLetteredAt())
+            .build();
+    }
+    
+    private ReplayResponse mapToResponse(Replay replay) {
+        return ReplayResponse.builder()
+            .id(replay.id)
+            .status(replay.status)
+            .from(replay.from == BEGINNING ? null : replay.from)
+            .to(replay.to == END ? null : replay.to)
+            .templateId(replay.templateId)
+            .failureClass(replay.failureClass)
+            .ratePerSecond(replay.ratePerSecond)
+            .matched(replay.matched)
+            .replayed(replay.replayed.get())
+            .startedAt(replay.startedAt)
+            .completedAt(replay.completedAt)
+            .build();
+    }
+    
+    /**
+     * A replay's filter and progress; the cursor is the id of the last dead letter taken
+     */
+    private static final class Replay {
+        final long id;
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final Long templateId;
+        final FailureClass failureClass;
+        final int ratePerSecond;
+        final long matched;
+        final LocalDateTime startedAt;
+        final AtomicLong replayed = new AtomicLong();
+        volatile ReplayStatus status = ReplayStatus.RUNNING;
+        volatile LocalDateTime completedAt;
+        long cursor;
+        
+        Replay(long id, LocalDateTime from, LocalDateTime to, Long templateId, FailureClass failureClass,
+               int ratePerSecond, long matched, LocalDateTime startedAt) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+            this.templateId = templateId;
+            this.failureClass = failureClass;
+            this.ratePerSecond = ratePerSecond;
+            this.matched = matched;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.DelayedDeliveryConfig;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.repository.NotificationRepository.ScheduledEntry;
+import com.Portfolio.Notifire.service.DelayedDeliveryStore.Due;
+import com.Portfolio.Notifire.util.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service holding future-dated notifications as SCHEDULED rows in the
+ * delayed-delivery store, and promoting them to PENDING and into dispatch
+ * once due. Nothing reads a scheduled row again until it is due.
+ * <p>
+ * Notifications coming due within the wheel window are moved from the store
+ * onto an in-memory timing wheel, which fires them within one tick of their
+ * due time rather than at the next store poll.
+ */
+@Service
+@Slf4j
+public class DelayedDeliveryService {
+    
+    private final DelayedDeliveryStore store;
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DelayedDeliveryConfig config;
+    
+    /**
+     * Near-term notification ids by due time. Guarded by itself.
+     */
+    private final TimingWheel<Long> wheel;
+    
+    public DelayedDeliveryService(DelayedDeliveryStore store,
+                                  NotificationRepository notificationRepository,
+                                  NotificationDispatcher notificationDispatcher,
+                                  ApplicationEventPublisher eventPublisher,
+                                  DelayedDeliveryConfig config) {
+        this.store = store;
+        this.notificationRepository = notificationRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.eventPublisher = eventPublisher;
+        this.config = config;
+        this.wheel = new TimingWheel<>(config.getWheelTick(), config.getWheelSize(),
+            config.getWheelLevels(), System.currentTimeMillis());
+    }
+    
+    /**
+     * Hold a saved SCHEDULED notification until its scheduled time, once the current transaction commits
+     */
+    public void schedule(Notification notification) {
+        Long id = notification.getId();
+        long due = toEpochMillis(notification.getScheduledAt());
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store.schedule(id, due);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                store.schedule(id, due);
+            }
+        });
+    }
+    
+    /**
+     * Load SCHEDULED rows into the store. A shared store that already holds ids survived the restart and is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (store.isShared() && store.size() > 0) {
+            log.info("Delayed-delivery store already holds {} notifications", store.size());
+            return;
+        }
+        
+        Map<Long, Long> batch = new HashMap<>();
+        long loaded = 0;
+        try (Stream<ScheduledEntry> entries = notificationRepository.streamScheduled()) {
+            for (ScheduledEntry entry : (Iterable<ScheduledEntry>) entries::iterator) {
+                batch.put(entry.getId(), toEpochMillis(entry.getScheduledAt()));
+                loaded++;
+                if (batch.size() >= config.getBatchSize()) {
+                    store.scheduleAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        store.scheduleAll(batch);
+        log.info("Loaded {} scheduled notifications into the delayed-delivery store", loaded);
+    }
+    
+    /**
+     * Pull notifications due within the wheel window from the store in batches.
+     * Those already due are promoted now; the rest go on the timing wheel.
+     */
+    @Scheduled(fixedDelayString = "${delayed-delivery.promote-interval:1000}")
+    public void promoteDue() {
+        long now = System.currentTimeMillis();
+        long until = now + config.getWheelWindow().toMillis();
+        while (true) {
+            List<Due> batch = store.popDue(until, config.getBatchSize());
+            List<Long> due = new ArrayList<>();
+            Map<Long, Long> beyondWheel = new HashMap<>();
+            synchronized (wheel) {
+                for (Due entry : batch) {
+                    if (entry.dueEpochMillis() <= now) {
+                        due.add(entry.notificationId());
+                    } else if (!wheel.add(entry.notificationId(), entry.dueEpochMillis())) {
+                        beyondWheel.put(entry.notificationId(), entry.dueEpochMillis());
+                    }
+                }
+            }
+            if (!due.isEmpty()) {
+                promote(due);
+            }
+            if (!beyondWheel.isEmpty()) {
+                // Window is wider than the wheel spans; leave the rest for a later pull
+                log.warn("Wheel window exceeds the timing wheel horizon, returning {} ids to the store", beyondWheel.size());
+                store.scheduleAll(beyondWheel);
+                return;
+            }
+            if (batch.size() < config.getBatchSize()) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Advance the timing wheel and promote the notifications that came due
+     */
+    @Scheduled(fixedRateString = "${delayed-delivery.wheel-tick:100}")
+    public void fireWheel() {
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        for (int from = 0; from < due.size(); from += config.getBatchSize()) {
+            promote(due.subList(from, Math.min(due.size(), from + config.getBatchSize())));
+        }
+    }
+    
+    /**
+     * Number of notifications waiting on the timing wheel
+     */
+    public int getWheelSize() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+    
+    /**
+     * Put back SCHEDULED rows that are overdue, e.g. held in memory by a node that stopped
+     */
+    @Scheduled(fixedDelayString = "${delayed-delivery.reconcile-interval:300000}",
+               initialDelayString = "${delayed-delivery.reconcile-interval:300000}")
+    public void reconcileOverdue() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getOverdueGrace());
+        List<ScheduledEntry> overdue = notificationRepository.findOverdueScheduled(
+            cutoff, PageRequest.of(0, config.getBatchSize()));
+        if (overdue.isEmpty()) {
+            return;
+        }
+        
+        log.warn("Found {} overdue scheduled notifications, returning them to the delayed-delivery store", overdue.size());
+        store.scheduleAll(overdue.stream().collect(Collectors.toMap(
+            ScheduledEntry::getId, entry -> toEpochMillis(entry.getScheduledAt()), (a, b) -> a)));
+    }
+    
+    /**
+     * Move popped notifications to PENDING and dispatch them.
+     * Ids whose row is no longer SCHEDULED, e.g. promoted by another node, are skipped by the update.
+     */
+    void promote(List<Long> ids) {
+        try {
+            notificationRepository.promoteScheduled(ids, NotificationStatus.SCHEDULED,
+                NotificationStatus.PENDING, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to promote {} scheduled notifications, returning them to the store", ids.size(), e);
+            long now = System.currentTimeMillis();
+            store.scheduleAll(ids.stream().collect(Collectors.toMap(id -> id, id -> now, (a, b) -> a)));
+            return;
+        }
+        
+        for (Notification notification : notificationRepository.findByIdInAndStatus(ids, NotificationStatus.PENDING)) {
+            eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+            notificationDispatcher.submit(notification);
+        }
+        log.debug("Promoted {} scheduled notifications", ids.size());
+    }
+    
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,161 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.DelayedDeliveryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Store of notification ids ordered by due time. With Redis enabled it is a
+ * sorted set scored by due epoch millis, shared by all nodes and popped
+ * atomically by a Lua script so each id is handed out once. Otherwise, and
+ * for anything Redis could not take, ids are kept in a local sorted set.
+ * The database stays the source of truth; the store only answers "what is
+ * due now" without reading rows that are not.
+ */
+@Service
+@Slf4j
+public class DelayedDeliveryStore {
+    
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POP_SCRIPT =
+        RedisScript.of(new ClassPathResource("scripts/delayed-pop.lua"), List.class);
+    
+    private final DelayedDeliveryConfig config;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    
+    /**
+     * Local schedule ordered by due time then id, with each id's current due time. Guarded by this.
+     */
+    private final TreeSet<Entry> local = new TreeSet<>();
+    private final Map<Long, Long> localDue = new HashMap<>();
+    
+    public DelayedDeliveryStore(DelayedDeliveryConfig config, ObjectProvider<StringRedisTemplate> redisTemplate) {
+        this.config = config;
+        this.redisTemplate = redisTemplate;
+    }
+    
+    /**
+     * Add an id, or move it if already present
+     */
+    public void schedule(Long notificationId, long dueEpochMillis) {
+        scheduleAll(Map.of(notificationId, dueEpochMillis));
+    }
+    
+    /**
+     * Add or move many ids in one round trip
+     */
+    public void scheduleAll(Map<Long, Long> dueById) {
+        if (dueById.isEmpty()) {
+            return;
+        }
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            Set<TypedTuple<String>> tuples = new HashSet<>();
+            dueById.forEach((id, due) -> tuples.add(TypedTuple.of(id.toString(), (double) due)));
+            try {
+                redis.opsForZSet().add(config.getRedisKey(), tuples);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Redis unavailable for delayed delivery, holding {} ids locally: {}", dueById.size(), e.getMessage());
+            }
+        }
+        synchronized (this) {
+            dueById.forEach((id, due) -> {
+                Long previous = localDue.put(id, due);
+                if (previous != null) {
+                    local.remove(new Entry(previous, id));
+                }
+                local.add(new Entry(due, id));
+            });
+        }
+    }
+    
+    /**
+     * Remove and return up to max ids due at or before the given time, earliest first
+     */
+    public List<Due> popDue(long untilEpochMillis, int max) {
+        List<Due> due = new ArrayList<>();
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            try {
+                List<?> popped = redis.execute(POP_SCRIPT, List.of(config.getRedisKey()),
+                    Long.toString(untilEpochMillis), Integer.toString(max));
+                if (popped != null) {
+                    for (int i = 0; i + 1 < popped.size(); i += 2) {
+                        due.add(new Due(Long.valueOf(popped.get(i).toString()),
+                            (long) Double.parseDouble(popped.get(i + 1).toString())));
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Redis unavailable for popping delayed deliveries: {}", e.getMessage());
+            }
+        }
+        
+        synchronized (this) {
+            while (due.size() < max && !local.isEmpty() && local.first().due() <= untilEpochMillis) {
+                Entry entry = local.pollFirst();
+                localDue.remove(entry.id());
+                due.add(new Due(entry.id(), entry.due()));
+            }
+        }
+        return due;
+    }
+    
+    /**
+     * Number of ids held, across Redis and the local set
+     */
+    public long size() {
+        long size;
+        synchronized (this) {
+            size = local.size();
+        }
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            try {
+                Long shared = redis.opsForZSet().zCard(config.getRedisKey());
+                size += shared != null ? shared : 0;
+            } catch (RuntimeException e) {
+                log.warn("Redis unavailable for delayed delivery size: {}", e.getMessage());
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * Whether the schedule outlives this node
+     */
+    public boolean isShared() {
+        return redis() != null;
+    }
+    
+    private StringRedisTemplate redis() {
+        return config.isRedisEnabled() ? redisTemplate.getIfAvailable() : null;
+    }
+    
+    /**
+     * A popped id and the time it is due
+     */
+    public record Due(Long notificationId, long dueEpochMillis) {}
+    
+    private record Entry(long due, long id) implements Comparable<Entry> {
+        
+        @Override
+        public int compareTo(Entry other) {
+            int byDue = Long.compare(due, other.due);
+            return byDue != 0 ? byDue : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.DigestConfig;
+import com.Portfolio.Notifire.dto.NotificationRequest;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.repository.TemplateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service merging buffered notifications into per-recipient digests.
+ * Notifications marked for digest are stored as DIGEST_PENDING instead of
+ * being dispatched. Once the oldest one for a recipient and channel has
+ * waited out the window, all of them are rendered into a single digest
+ * notification, linked to it with one bulk update, and only the digest is
+ * sent. N chatty notifications cost one provider call and one status row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DigestService {
+    
+    private static final String DEFAULT_SUBJECT = "You have {{count}} new notifications";
+    private static final String DEFAULT_BODY = "<p>Here is what you missed:</p>{{items}}";
+    
+    private final NotificationRepository notificationRepository;
+    private final TemplateRepository templateRepository;
+    private final TemplateService templateService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ContentStore contentStore;
+    private final NotificationTracing notificationTracing;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final DigestConfig config;
+    
+    /**
+     * Decide whether a request is buffered for a digest rather than sent on its own
+     */
+    public boolean shouldDigest(NotificationRequest request) {
+        if (!config.isEnabled() || request.getScheduledAt() != null) {
+            return false;
+        }
+        if (request.getDigest() != null) {
+            return request.getDigest();
+        }
+        return config.isLowPriority() && request.getPriority() == NotificationPriority.LOW;
+    }
+    
+    /**
+     * Flush every recipient/channel whose oldest buffered notification has waited out the window
+     */
+    @Scheduled(fixedDelayString = "${digest.flush-interval:60000}", initialDelayString = "${digest.flush-interval:60000}")
+    public void flushDueDigests() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getWindow());
+        List<NotificationRepository.DigestGroup> groups = notificationRepository.findDueDigestGroups(
+            cutoff, PageRequest.of(0, config.getMaxGroupsPerRun()));
+        if (groups.isEmpty()) {
+            return;
+        }
+        
+        int flushed = 0;
+        for (NotificationRepository.DigestGroup group : groups) {
+            try {
+                if (flush(group.getRecipient(), group.getChannel()).isPresent()) {
+                    flushed++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to flush digest for {} ({})", group.getRecipient(), group.getChannel(), e);
+            }
+        }
+        log.info("Flushed {} of {} due digests", flushed, groups.size());
+    }
+    
+    /**
+     * Merge the buffered notifications for one recipient and channel into a digest and dispatch it
+     *
+     * @return id of the digest, or empty if nothing was buffered or another node claimed it first
+     */
+    public Optional<Long> flush(String recipient, NotificationChannel channel) {
+        Notification flushed = transactionTemplate.execute(status -> {
+            List<Notification> items = notificationRepository.findByRecipientAndChannelAndStatusOrderByCreatedAtAsc(
+                recipient, channel, NotificationStatus.DIGEST_PENDING, PageRequest.of(0, config.getMaxItems()));
+            if (items.isEmpty()) {
+                return null;
+            }
+            
+            Notification digest = buildDigest(recipient, channel, items);
+            contentStore.externalize(digest);
+            digest = notificationRepository.save(digest);
+            
+            List<Long> ids = items.stream().map(Notification::getId).toList();
+            int claimed = notificationRepository.markDigested(digest, ids,
+                NotificationStatus.DIGEST_PENDING, NotificationStatus.DIGESTED, LocalDateTime.now());
+            if (claimed != ids.size()) {
+                log.info("Digest for {} ({}) was claimed concurrently, skipping", recipient, channel);
+                status.setRollbackOnly();
+                return null;
+            }
+            
+            eventPublisher.publishEvent(NotificationStatusEvent.of(digest));
+            for (Notification item : items) {
+                NotificationStatusEvent event = NotificationStatusEvent.of(item);
+                event.setStatus(NotificationStatus.DIGESTED);
+                eventPublisher.publishEvent(event);
+            }
+            
+            log.info("Merged {} notifications for {} ({}) into digest {}", items.size(), recipient, channel, digest.getId());
+            return digest;
+        });
+        
+        if (flushed == null) {
+            return Optional.empty();
+        }
+        notificationDispatcher.submit(flushed);
+        return Optional.of(flushed.getId());
+    }
+    
+    /**
+     * Render a digest notification from its items
+     */
+    private Notification buildDigest(String recipient, NotificationChannel channel, List<Notification> items) {
+        StringBuilder list = new StringBuilder("<ul>");
+        for (Notification item : items) {
+            list.append("<li><strong>")
+                .append(HtmlUtils.htmlEscape(item.getSubject() != null ? item.getSubject() : ""))
+                .append("</strong><div>")
+                .append(item.readContent())
+                .append("</div></li>");
+        }
+        list.append("</ul>");
+        
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("recipient", recipient);
+        variables.put("count", items.size());
+        variables.put("items", list.toString());
+        
+        Template template = templateRepository.findByName(config.getTemplateName())
+            .filter(Template::isUsable)
+            .orElse(null);
+        
+        Notification digest = new Notification();
+        digest.setRecipient(recipient);
+        digest.setChannel(channel);
+        digest.setPriority(NotificationPriority.LOW);
+        digest.setStatus(NotificationStatus.PENDING);
+        digest.setRetryCount(0);
+        digest.setMaxRetries(3);
+        digest.setTenantId(items.get(0).getTenantId());
+        notificationTracing.stamp(digest);
+        digest.setTemplate(template);
+        digest.setSubject(templateService.renderTemplate(template != null ? template.getSubject() : DEFAULT_SUBJECT, variables));
+        digest.setContent(templateService.renderTemplate(template != null ? template.getBody() : DEFAULT_BODY, variables));
+        digest.setMetadata("{\"digestOf\":" + items.size() + "}");
+        return digest;
+    }
+}
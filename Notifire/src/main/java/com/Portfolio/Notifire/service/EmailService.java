@@ -1,36 +1,55 @@
 package com.Portfolio.Notifire.service;
 
-import com.Portfolio.Notifire.config.SendGridConfig;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.exception.TemplateProcessingException;
+import com.Portfolio.Notifire.jfr.ClaimEvent;
+import com.Portfolio.Notifire.jfr.ProviderCallEvent;
+import com.Portfolio.Notifire.jfr.RetryScheduledEvent;
 import com.Portfolio.Notifire.model.entity.Notification;
 import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.provider.EmailProvider;
+import com.Portfolio.Notifire.provider.OutboundEmail;
+import com.Portfolio.Notifire.provider.ProviderResponse;
+import com.Portfolio.Notifire.provider.ProviderRouter;
 import com.Portfolio.Notifire.repository.NotificationRepository;
-import com.sendgrid.Method;
-import com.sendgrid.Request;
-import com.sendgrid.Response;
-import com.sendgrid.SendGrid;
-import com.sendgrid.helpers.mail.Mail;
-import com.sendgrid.helpers.mail.objects.Content;
-import com.sendgrid.helpers.mail.objects.Email;
+import io.micrometer.tracing.Span;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
- * Service for sending emails via SendGrid
+ * Service for sending emails through the routed email providers
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
     
-    private final SendGrid sendGrid;
-    private final SendGridConfig sendGridConfig;
+    /**
+     * Statuses a notification may be claimed for sending from
+     */
+    private static final List<NotificationStatus> CLAIMABLE = List.of(NotificationStatus.PENDING, NotificationStatus.RETRYING);
+    
+    private final ProviderRouter providerRouter;
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SuppressionService suppressionService;
+    private final RateLimitService rateLimitService;
+    private final TemplateRenderer templateRenderer;
+    private final PipelineMetrics pipelineMetrics;
+    private final SloTracker sloTracker;
+    private final NotificationTracing notificationTracing;
+    private final LogSampler logSampler;
     
     /**
      * Send email asynchronously
@@ -39,7 +58,15 @@ public class EmailService {
     @Transactional
     public void sendEmailAsync(Long notificationId) {
         log.debug("Processing notification {} asynchronously", notificationId);
-        
+        sendEmailById(notificationId);
+    }
+    
+    /**
+     * Load, claim and send a notification on the calling thread.
+     * The claim makes sure a notification reached by several dispatch paths is sent once.
+     */
+    @Transactional
+    public void sendEmailById(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
             .orElse(null);
         
@@ -48,7 +75,21 @@ public class EmailService {
             return;
         }
         
-        sendEmail(notification);
+        ClaimEvent claim = new ClaimEvent();
+        claim.begin();
+        boolean claimed = notificationRepository.claimForSending(notificationId, CLAIMABLE, NotificationStatus.SENDING, LocalDateTime.now()) > 0;
+        claim.notificationId = notificationId;
+        claim.claimed = claimed;
+        claim.commit();
+        if (!claimed) {
+            log.debug("Notification {} already claimed or no longer sendable, skipping", notificationId);
+            return;
+        }
+        // The claim is the move to SENDING; announce it once here rather than again in send
+        notification.setStatus(NotificationStatus.SENDING);
+        eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+        
+        notificationTracing.inSpan("notification.send", notification, () -> send(notification, true));
     }
     
     /**
@@ -56,87 +97,168 @@ public class EmailService {
      */
     @Transactional
     public void sendEmail(Notification notification) {
-        if (!sendGridConfig.isEnabled()) {
-            log.warn("SendGrid is disabled. Simulating email send for notification {}", notification.getId());
-            simulateEmailSend(notification);
+        send(notification, false);
+    }
+    
+    /**
+     * @param claimed whether claimForSending already moved the notification to SENDING
+     */
+    private void send(Notification notification, boolean claimed) {
+        // The address may have been suppressed after the notification was queued
+        if (suppressionService.isSuppressed(notification.getRecipient())) {
+            notification.markAsFailed("Recipient is suppressed");
+            notificationRepository.save(notification);
+            eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+            log.info("Skipped notification {}: recipient {} is suppressed", notification.getId(), notification.getRecipient());
             return;
         }
         
+        // Defer rather than fail when a provider, sender or domain bucket is empty
+        EmailProvider provider = providerRouter.select();
+        long waitMillis = rateLimitService.acquire(notification.getRecipient(), provider.getFromEmail(), provider.getName());
+        if (waitMillis > 0) {
+            defer(notification, waitMillis);
+            return;
+        }
+        
+        // A lazily rendered notification stores only its template variables until now
+        String body = notification.readContent();
+        if (notification.isRenderDeferred()) {
+            try {
+                body = templateRenderer.renderContent(notification);
+            } catch (TemplateProcessingException e) {
+                notification.markAsFailed("Render failed: " + e.getMessage());
+                notificationRepository.save(notification);
+                eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+                log.error("Failed to render notification {}: {}", notification.getId(), e.getMessage());
+                return;
+            }
+        }
+        
+        boolean verbose = logSampler.sampled(notification.getId());
         try {
-            log.info("Sending email to {} for notification {}", notification.getRecipient(), notification.getId());
+            if (verbose) {
+                log.info("Sending email to {} via {} for notification {}", notification.getRecipient(), provider.getName(), notification.getId());
+            }
             
             // Update status to SENDING
-            notification.setStatus(NotificationStatus.SENDING);
-            notificationRepository.save(notification);
-            
-            // Prepare email
-            Email from = new Email(sendGridConfig.getFromEmail(), sendGridConfig.getFromName());
-            Email to = new Email(notification.getRecipient());
-            String subject = notification.getSubject();
-            Content content = new Content("text/html", notification.getContent());
-            Mail mail = new Mail(from, subject, to, content);
-            
-            // Send via SendGrid
-            Request request = new Request();
-            request.setMethod(Method.POST);
-            request.setEndpoint("mail/send");
-            request.setBody(mail.build());
-            
-            Response response = sendGrid.api(request);
+            if (!claimed) {
+                notification.setStatus(NotificationStatus.SENDING);
+                notificationRepository.save(notification);
+                eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+            }
             
-            // Check response
-            if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
-                notification.markAsSent();
-                log.info("Email sent successfully to {} (notification {})", notification.getRecipient(), notification.getId());
-            } else {
-                String errorMsg = "SendGrid returned status " + response.getStatusCode() + ": " + response.getBody();
-                notification.markAsFailed(errorMsg);
-                log.error("Failed to send email to {}: {}", notification.getRecipient(), errorMsg);
+            OutboundEmail email = new OutboundEmail(notification.getRecipient(), notification.getSubject(), body);
+            Set<String> tried = new HashSet<>();
+            while (true) {
+                tried.add(provider.getName());
+                ProviderResponse response = callProvider(provider, notification, email);
+                if (response.accepted()) {
+                    notification.markAsSent();
+                    notification.setProviderMessageId(response.messageId());
+                    if (verbose) {
+                        log.info("Email sent successfully to {} via {} (notification {})", notification.getRecipient(), provider.getName(), notification.getId());
+                    }
+                    break;
+                }
+                
+                // Hand the send to another provider, unless it would be refused there as well
+                EmailProvider next = providerRouter.canFailOver(response) ? providerRouter.failover(provider, tried) : null;
+                if (next == null || rateLimitService.acquire(notification.getRecipient(), next.getFromEmail(), next.getName()) > 0) {
+                    notification.markAsFailed(response.error());
+                    log.error("Failed to send email to {}: {}", notification.getRecipient(), response.error());
+                    break;
+                }
+                log.warn("Provider {} failed for notification {} ({}), failing over to {}",
+                    provider.getName(), notification.getId(), response.error(), next.getName());
+                provider = next;
             }
             
+            long mark = System.nanoTime();
             notificationRepository.save(notification);
+            recordStage(PipelineMetrics.Stage.STATUS_WRITE, notification, PipelineMetrics.Outcome.SUCCESS, mark);
+            recordDelivery(notification);
+            eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
             
-        } catch (IOException e) {
-            String errorMsg = "IOException while sending email: " + e.getMessage();
-            notification.markAsFailed(errorMsg);
-            notificationRepository.save(notification);
-            log.error("Failed to send notification {}: {}", notification.getId(), errorMsg, e);
         } catch (Exception e) {
             String errorMsg = "Unexpected error: " + e.getMessage();
             notification.markAsFailed(errorMsg);
             notificationRepository.save(notification);
+            eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
             log.error("Unexpected error sending notification {}: {}", notification.getId(), errorMsg, e);
         }
     }
     
     /**
-     * Simulate email sending for development/testing
+     * Make one provider call, timing it for the router, the pipeline metrics, JFR and the trace.
+     * An unreachable provider comes back as a failed response rather than an exception.
      */
-    private void simulateEmailSend(Notification notification) {
+    private ProviderResponse callProvider(EmailProvider provider, Notification notification, OutboundEmail email) {
+        long mark = System.nanoTime();
+        ProviderCallEvent event = providerCallEvent(notification, provider.getName(), email.html());
+        Span providerSpan = notificationTracing.startChild(provider.getName() + ".mail.send");
+        ProviderResponse response;
         try {
-            log.info("SIMULATED: Sending email to {} with subject '{}'", 
-                notification.getRecipient(), notification.getSubject());
-            log.debug("SIMULATED: Email content: {}", notification.getContent());
-            
-            // Simulate network delay
-            Thread.sleep(500);
-            
-            // Simulate 90% success rate
-            if (Math.random() < 0.9) {
-                notification.markAsSent();
-                log.info("SIMULATED: Email sent successfully to {}", notification.getRecipient());
-            } else {
-                notification.markAsFailed("Simulated failure for testing");
-                log.warn("SIMULATED: Email failed to {}", notification.getRecipient());
-            }
-            
-            notificationRepository.save(notification);
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            notification.markAsFailed("Simulation interrupted");
-            notificationRepository.save(notification);
+            response = provider.send(email);
+            providerSpan.tag("http.status_code", String.valueOf(response.statusCode()));
+        } catch (IOException e) {
+            response = ProviderResponse.failed(0, "IOException while sending email: " + e.getMessage());
+            providerSpan.error(e);
+            log.debug("Provider {} unreachable for notification {}", provider.getName(), notification.getId(), e);
+        } finally {
+            providerSpan.end();
+        }
+        
+        providerRouter.record(provider, response, System.nanoTime() - mark);
+        recordStage(PipelineMetrics.Stage.PROVIDER_CALL, notification,
+            response.accepted() ? PipelineMetrics.Outcome.SUCCESS : PipelineMetrics.Outcome.FAILURE, mark);
+        event.statusCode = response.statusCode();
+        event.success = response.accepted();
+        event.commit();
+        return response;
+    }
+    
+    /**
+     * Put a rate-limited notification back to PENDING until its next eligible time
+     */
+    private void defer(Notification notification, long waitMillis) {
+        NotificationStatus previous = notification.getStatus();
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setScheduledAt(LocalDateTime.now().plus(Duration.ofMillis(waitMillis)));
+        notificationRepository.save(notification);
+        if (previous != NotificationStatus.PENDING) {
+            eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+        }
+        rateLimitService.redispatchAfter(notification, waitMillis);
+        log.debug("Rate limited notification {} to {}, deferred {}ms",
+            notification.getId(), notification.getRecipient(), waitMillis);
+    }
+    
+    private long recordStage(PipelineMetrics.Stage stage, Notification notification,
+                             PipelineMetrics.Outcome outcome, long startNanos) {
+        return pipelineMetrics.record(stage, notification.getChannel(), notification.getPriority(), outcome, startNanos);
+    }
+    
+    /**
+     * Start a provider call event; it is only filled in when a recording is capturing it
+     */
+    private static ProviderCallEvent providerCallEvent(Notification notification, String provider, String payload) {
+        ProviderCallEvent event = new ProviderCallEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.notificationId = notification.getId() != null ? notification.getId() : 0;
+            event.templateId = notification.getTemplate() != null && notification.getTemplate().getId() != null
+                ? notification.getTemplate().getId() : 0;
+            event.channel = notification.getChannel() != null ? notification.getChannel().name() : null;
+            event.provider = provider;
+            event.payloadSize = payload != null ? payload.length() : 0;
         }
+        return event;
+    }
+    
+    private void recordDelivery(Notification notification) {
+        pipelineMetrics.recordEndToEnd(notification);
+        sloTracker.record(notification);
     }
     
     /**
@@ -153,13 +275,19 @@ public class EmailService {
             log.info("Retrying notification {} after {}ms (attempt {})", 
                 notificationId, delayMillis, retryAttempt);
             
+            RetryScheduledEvent event = new RetryScheduledEvent();
+            event.begin();
             Thread.sleep(delayMillis);
+            event.notificationId = notificationId;
+            event.attempt = retryAttempt;
+            event.delay = delayMillis;
+            event.commit();
             
             Notification notification = notificationRepository.findById(notificationId)
                 .orElse(null);
             
             if (notification != null && notification.canRetry()) {
-                sendEmail(notification);
+                notificationTracing.inSpan("notification.retry", notification, () -> sendEmail(notification));
             }
             
         } catch (InterruptedException e) {
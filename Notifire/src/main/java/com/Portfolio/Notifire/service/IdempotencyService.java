@@ -0,0 +1,178 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.IdempotencyConfig;
+import com.Portfolio.Notifire.exception.DuplicateRequestException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Service detecting repeated requests by idempotency key.
+ * A local Bloom filter of known keys answers "definitely new" without touching
+ * the database; only possible matches are looked up. When enabled, keys are
+ * also claimed in Redis with SETNX so concurrent requests arriving on other
+ * nodes are caught before either inserts. The unique index on the key is the
+ * final guard.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    
+    private final NotificationRepository notificationRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final IdempotencyConfig config;
+    private final BloomFilter knownKeys;
+    
+    /**
+     * Until recent keys are loaded the filter may miss existing ones, so every key is looked up
+     */
+    private volatile boolean warmedUp = false;
+    
+    public IdempotencyService(NotificationRepository notificationRepository,
+                              ObjectProvider<StringRedisTemplate> redisTemplate,
+                              IdempotencyConfig config) {
+        this.notificationRepository = notificationRepository;
+        this.redisTemplate = redisTemplate;
+        this.config = config;
+        this.knownKeys = new BloomFilter(config.getExpectedKeys(), config.getFalsePositiveProbability());
+    }
+    
+    /**
+     * Load keys of recent notifications into the filter
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now().minus(config.getWarmupWindow());
+        try (Stream<String> keys = notificationRepository.streamIdempotencyKeysSince(since)) {
+            keys.forEach(knownKeys::put);
+        }
+        warmedUp = true;
+        log.info("Idempotency filter warmed with {} keys ({} bits, {} hashes)",
+            knownKeys.getInsertions(), knownKeys.getBitCount(), knownKeys.getHashFunctions());
+    }
+    
+    /**
+     * Find the notification an idempotency key was already used for.
+     * An empty result means the key is new and the caller now holds its claim.
+     *
+     * @throws DuplicateRequestException if another node holds the claim but has not committed yet
+     */
+    public Optional<Notification> findOriginal(String idempotencyKey) {
+        if (!warmedUp || knownKeys.mightContain(idempotencyKey)) {
+            Optional<Notification> original = notificationRepository.findByIdempotencyKey(idempotencyKey);
+            if (original.isPresent()) {
+                return original;
+            }
+        }
+        
+        if (!claim(idempotencyKey)) {
+            // Claimed elsewhere: either committed on a node whose keys we have not seen, or still in flight
+            Optional<Notification> original = notificationRepository.findByIdempotencyKey(idempotencyKey);
+            if (original.isEmpty()) {
+                throw new DuplicateRequestException(idempotencyKey);
+            }
+            return original;
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Record a key whose notification has been saved
+     */
+    public void record(String idempotencyKey) {
+        knownKeys.put(idempotencyKey);
+        if (knownKeys.isSaturated()) {
+            log.warn("Idempotency filter holds more than {} keys; duplicate checks will hit the database more often",
+                config.getExpectedKeys());
+        }
+    }
+    
+    /**
+     * Give up a Redis claim whose notification was never saved
+     */
+    public void release(String idempotencyKey) {
+        StringRedisTemplate redis = redis();
+        if (redis == null) {
+            return;
+        }
+        try {
+            redis.delete(config.getRedisKeyPrefix() + idempotencyKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency claim {}: {}", idempotencyKey, e.getMessage());
+        }
+    }
+    
+    /**
+     * Whether a failed insert broke the idempotency key's unique index rather than some other constraint
+     */
+    public static boolean isKeyCollision(Throwable failure) {
+        Throwable root = failure;
+        for (Throwable e = failure; e != null; e = e.getCause()) {
+            if (e instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return mentionsKeyIndex(violation.getConstraintName());
+            }
+            root = e;
+        }
+        return mentionsKeyIndex(root.getMessage());
+    }
+    
+    private static boolean mentionsKeyIndex(String detail) {
+        return detail != null && detail.toLowerCase(Locale.ROOT).contains(Notification.IDEMPOTENCY_KEY_INDEX);
+    }
+    
+    /**
+     * Claim a key in Redis. The claim is released if the surrounding transaction rolls back.
+     *
+     * @return false if the key is already claimed
+     */
+    private boolean claim(String idempotencyKey) {
+        StringRedisTemplate redis = redis();
+        if (redis == null) {
+            return true;
+        }
+        
+        Boolean claimed;
+        try {
+            claimed = redis.opsForValue().setIfAbsent(config.getRedisKeyPrefix() + idempotencyKey, "1", config.getRedisTtl());
+        } catch (RuntimeException e) {
+            // The unique index still rejects duplicates, only later and more expensively
+            log.warn("Redis unavailable for idempotency claim {}: {}", idempotencyKey, e.getMessage());
+            return true;
+        }
+        if (!Boolean.TRUE.equals(claimed)) {
+            return false;
+        }
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(idempotencyKey);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+    
+    private StringRedisTemplate redis() {
+        return config.isRedisEnabled() ? redisTemplate.getIfAvailable() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.LogSamplingConfig;
+import org.springframework.stereotype.Service;
+
+/**
+ * Decides which notifications have their success-path logs written. The
+ * decision is a hash of the notification id, so a sampled notification keeps
+ * every one of its lines across threads and retries and the rest keep none.
+ * Warnings and errors are not sampled and should be logged unconditionally.
+ */
+@Service
+public class LogSampler {
+    
+    private final LogSamplingConfig config;
+    
+    public LogSampler(LogSamplingConfig config) {
+        this.config = config;
+    }
+    
+    /**
+     * Whether success-path logs for this notification should be written
+     */
+    public boolean sampled(Long notificationId) {
+        double rate = config.getSuccessRate();
+        if (rate >= 1.0 || notificationId == null) {
+            return true;
+        }
+        if (rate <= 0.0) {
+            return false;
+        }
+        // Top 53 bits of a mixed id as a uniform fraction in [0, 1)
+        return (mix(notificationId) >>> 11) * 0x1.0p-53 < rate;
+    }
+    
+    /**
+     * SplitMix64 finalizer, spreading sequential ids evenly
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,342 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.DispatchConfig;
+import com.Portfolio.Notifire.jfr.ExecutorRejectedEvent;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.util.KeyedExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatcher handing notifications to the email sender with weighted fair
+ * queuing across tenants. Each tenant has its own queue and tenants with work
+ * are served by deficit round robin, so one tenant bulk-sending only ever
+ * holds its weighted share of the in-flight slots and a small tenant waits at
+ * most one round behind it. Notifications whose template or channel asks for
+ * ordered delivery are sent one at a time per recipient, in submission order.
+ * Only one send per ordering stripe holds a slot at a time and the rest wait
+ * in their tenant queue, so a burst to one recipient cannot take every slot.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+    
+    /**
+     * Statuses a notification can hold between submit and its send being claimed
+     */
+    private static final List<NotificationStatus> RELEASABLE = List.of(NotificationStatus.PENDING, NotificationStatus.RETRYING);
+    
+    private final EmailService emailService;
+    private final Executor taskExecutor;
+    private final KeyedExecutor orderedExecutor;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate newTransaction;
+    private final DispatchConfig config;
+    private final MeterRegistry meterRegistry;
+    private final PipelineMetrics pipelineMetrics;
+    
+    private final Map<String, TenantQueue> tenants = new ConcurrentHashMap<>();
+    
+    /**
+     * Ids queued or in flight on this node, so the same notification is never dispatched twice
+     */
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * Tenants with queued work, in round-robin order. Guarded by this.
+     */
+    private final Deque<TenantQueue> active = new ArrayDeque<>();
+    
+    /**
+     * Ordering stripes with a send in flight. Guarded by this.
+     */
+    private final boolean[] busyStripes;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final AtomicInteger totalBacklog = new AtomicInteger();
+    
+    public NotificationDispatcher(EmailService emailService,
+                                  @Qualifier("taskExecutor") Executor taskExecutor,
+                                  NotificationRepository notificationRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  DispatchConfig config,
+                                  MeterRegistry meterRegistry,
+                                  PipelineMetrics pipelineMetrics) {
+        this.emailService = emailService;
+        this.taskExecutor = taskExecutor;
+        this.orderedExecutor = new KeyedExecutor(taskExecutor, config.getOrderingStripes());
+        this.busyStripes = new boolean[orderedExecutor.getStripes()];
+        this.notificationRepository = notificationRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.pipelineMetrics = pipelineMetrics;
+        Gauge.builder("notifire.dispatch.in_flight", inFlight, AtomicInteger::get)
+            .description("Sends handed to the executor and not yet finished")
+            .register(meterRegistry);
+        Gauge.builder("notifire.dispatch.backlog.total", totalBacklog, AtomicInteger::get)
+            .description("Notifications waiting for a dispatch slot across tenants")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Queue a saved notification for sending
+     *
+     * @return false if its tenant is over quota; the notification stays PENDING for the scheduler
+     */
+    public boolean submit(Notification notification) {
+        boolean ordered = Boolean.TRUE.equals(notification.getOrderedDelivery())
+            || config.getOrderedChannels().contains(notification.getChannel());
+        String orderingKey = ordered && notification.getRecipient() != null
+            ? notification.getRecipient().trim().toLowerCase(Locale.ROOT) : null;
+        return submit(notification.getId(), notification.getTenantId(), orderingKey,
+            notification.getChannel(), notification.getPriority());
+    }
+    
+    /**
+     * Queue a saved notification for sending without ordering
+     *
+     * @return false if the tenant is over quota; the notification stays PENDING for the scheduler
+     */
+    public boolean submit(Long notificationId, String tenantId) {
+        return submit(notificationId, tenantId, null, null, null);
+    }
+    
+    /**
+     * Queue a saved notification for sending. Notifications sharing an ordering
+     * key are sent one at a time in submission order.
+     */
+    private boolean submit(Long notificationId, String tenantId, String orderingKey,
+                           NotificationChannel channel, NotificationPriority priority) {
+        String tenant = StringUtils.hasText(tenantId) ? tenantId : config.getDefaultTenant();
+        if (!queued.add(notificationId)) {
+            return true;
+        }
+        
+        synchronized (this) {
+            TenantQueue queue = tenants.computeIfAbsent(tenant, this::newQueue);
+            if (queue.backlog.get() >= config.getQuotas().getOrDefault(tenant, config.getDefaultQuota())) {
+                queued.remove(notificationId);
+                queue.overQuota.increment();
+                log.debug("Tenant {} is over its dispatch quota, leaving notification {} pending", tenant, notificationId);
+                return false;
+            }
+            int stripe = orderingKey != null ? orderedExecutor.stripeOf(orderingKey) : -1;
+            queue.ids.addLast(new Dispatch(queue, notificationId, orderingKey, stripe, channel, priority, System.nanoTime()));
+            queue.backlog.incrementAndGet();
+            totalBacklog.incrementAndGet();
+            if (!queue.active) {
+                queue.active = true;
+                active.addLast(queue);
+            }
+        }
+        drain();
+        return true;
+    }
+    
+    /**
+     * Notifications waiting on this node for a tenant
+     */
+    public int getBacklog(String tenantId) {
+        TenantQueue queue = tenants.get(tenantId);
+        return queue != null ? queue.backlog.get() : 0;
+    }
+    
+    /**
+     * Notifications waiting on this node across all tenants
+     */
+    public int getTotalBacklog() {
+        return totalBacklog.get();
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    /**
+     * Start as many sends as there are free slots, visiting tenants in deficit round robin.
+     * An ordered send whose stripe already has one in flight is skipped and keeps its place.
+     */
+    private void drain() {
+        List<Dispatch> ready = new ArrayList<>();
+        synchronized (this) {
+            // Tenants visited in a row that had nothing startable; once all have, stop
+            int stalled = 0;
+            while (inFlight.get() < config.getMaxInFlight() && !active.isEmpty() && stalled < active.size()) {
+                TenantQueue queue = active.peekFirst();
+                if (!queue.turnStarted) {
+                    queue.deficit += queue.weight * config.getQuantum();
+                    queue.turnStarted = true;
+                }
+                boolean started = false;
+                Iterator<Dispatch> pending = queue.ids.iterator();
+                while (queue.deficit >= 1 && pending.hasNext() && inFlight.get() < config.getMaxInFlight()) {
+                    Dispatch dispatch = pending.next();
+                    if (dispatch.stripe() >= 0) {
+                        if (busyStripes[dispatch.stripe()]) {
+                            continue;
+                        }
+                        busyStripes[dispatch.stripe()] = true;
+                    }
+                    pending.remove();
+                    ready.add(dispatch);
+                    queue.backlog.decrementAndGet();
+                    totalBacklog.decrementAndGet();
+                    queue.inFlight.incrementAndGet();
+                    inFlight.incrementAndGet();
+                    queue.deficit--;
+                    started = true;
+                }
+                stalled = started ? 0 : stalled + 1;
+                
+                if (queue.ids.isEmpty()) {
+                    // An idle tenant does not bank credit
+                    active.pollFirst();
+                    queue.active = false;
+                    queue.deficit = 0;
+                    queue.turnStarted = false;
+                } else if (queue.deficit < 1) {
+                    active.pollFirst();
+                    active.addLast(queue);
+                    queue.turnStarted = false;
+                } else if (inFlight.get() < config.getMaxInFlight()) {
+                    // Everything left waits on a busy stripe; keep the turn open and let the next tenant go
+                    active.pollFirst();
+                    active.addLast(queue);
+                }
+                // Otherwise the slots ran out mid-turn; this tenant continues its turn next time
+            }
+        }
+        
+        for (int i = 0; i < ready.size(); i++) {
+            Dispatch dispatch = ready.get(i);
+            try {
+                if (dispatch.orderingKey() != null) {
+                    orderedExecutor.execute(dispatch.orderingKey(), () -> send(dispatch));
+                } else {
+                    taskExecutor.execute(() -> send(dispatch));
+                }
+            } catch (RejectedExecutionException e) {
+                // Executor is shared and full; hand the rows to the pending sweep, since campaign and
+                // retried rows would otherwise never be selected again
+                log.warn("Dispatch executor rejected notification {}, releasing {} sends to the scheduler", dispatch.id(), ready.size() - i);
+                ExecutorRejectedEvent event = new ExecutorRejectedEvent();
+                event.notificationId = dispatch.id();
+                event.operation = dispatch.orderingKey() != null ? "ordered-send" : "send";
+                event.pending = ready.size() - i;
+                event.commit();
+                List<Dispatch> rejected = ready.subList(i, ready.size());
+                rejected.forEach(this::release);
+                releaseToScheduler(rejected);
+                return;
+            }
+        }
+    }
+    
+    private void send(Dispatch dispatch) {
+        // Covers the wait for a tenant turn, an ordering lane and an executor thread
+        pipelineMetrics.record(PipelineMetrics.Stage.QUEUE_WAIT, dispatch.channel(), dispatch.priority(),
+            PipelineMetrics.Outcome.SUCCESS, dispatch.queuedNanos());
+        try {
+            emailService.sendEmailById(dispatch.id());
+            dispatch.queue().dispatched.increment();
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch notification {}", dispatch.id(), e);
+        } finally {
+            release(dispatch);
+        }
+        drain();
+    }
+    
+    private void release(Dispatch dispatch) {
+        if (dispatch.stripe() >= 0) {
+            synchronized (this) {
+                busyStripes[dispatch.stripe()] = false;
+            }
+        }
+        dispatch.queue().inFlight.decrementAndGet();
+        inFlight.decrementAndGet();
+        queued.remove(dispatch.id());
+    }
+    
+    /**
+     * Mark rejected notifications PENDING and due now, so the pending sweep dispatches them again.
+     * Runs in its own transaction, since a drain started from an after-commit callback would
+     * otherwise join a transaction that has already committed.
+     */
+    private void releaseToScheduler(List<Dispatch> rejected) {
+        try {
+            newTransaction.executeWithoutResult(status -> notificationRepository.releaseUndispatched(
+                rejected.stream().map(Dispatch::id).toList(), RELEASABLE, NotificationStatus.PENDING, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.error("Failed to release {} rejected sends to the scheduler", rejected.size(), e);
+        }
+    }
+    
+    private TenantQueue newQueue(String tenant) {
+        TenantQueue queue = new TenantQueue(config.getWeights().getOrDefault(tenant, config.getDefaultWeight()),
+            meterRegistry.counter("notifire.dispatch.dispatched", "tenant", tenant),
+            meterRegistry.counter("notifire.dispatch.over_quota", "tenant", tenant));
+        Gauge.builder("notifire.dispatch.backlog", queue.backlog, AtomicInteger::get)
+            .description("Notifications waiting for a dispatch slot")
+            .tag("tenant", tenant)
+            .register(meterRegistry);
+        Gauge.builder("notifire.dispatch.tenant.in_flight", queue.inFlight, AtomicInteger::get)
+            .tag("tenant", tenant)
+            .register(meterRegistry);
+        return queue;
+    }
+    
+    /**
+     * Per-tenant queue and round-robin state; fields other than the counters are guarded by the dispatcher
+     */
+    private static class TenantQueue {
+        
+        private final int weight;
+        private final Counter dispatched;
+        private final Counter overQuota;
+        private final Deque<Dispatch> ids = new ArrayDeque<>();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private int deficit;
+        private boolean turnStarted;
+        private boolean active;
+        
+        TenantQueue(int weight, Counter dispatched, Counter overQuota) {
+            this.weight = Math.max(1, weight);
+            this.dispatched = dispatched;
+            this.overQuota = overQuota;
+        }
+    }
+    
+    private record Dispatch(TenantQueue queue, Long id, String orderingKey, int stripe,
+                            NotificationChannel channel, NotificationPriority priority, long queuedNanos) {}
+}
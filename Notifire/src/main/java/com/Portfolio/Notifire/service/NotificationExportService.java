@@ -0,0 +1,250 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.ExportConfig;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Service streaming notifications out as NDJSON or CSV.
+ * Rows are read through a forward-only, read-only cursor with a bounded
+ * fetch size and detached as soon as they are written, so memory use does
+ * not depend on how many rows the date range covers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationExportService {
+    
+    private static final String EXPORT_QUERY =
+        "SELECT n FROM Notification n LEFT JOIN FETCH n.contentBlob WHERE n.createdAt >= :from AND n.createdAt < :to ORDER BY n.id";
+    
+    private static final String[] CSV_HEADER = {
+        "id", "recipient", "subject", "content", "templateId", "channel", "status", "priority",
+        "retryCount", "errorMessage", "scheduledAt", "sentAt", "deliveredAt", "failedAt", "createdAt"
+    };
+    
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ExportConfig config;
+    
+    /**
+     * Stream notifications created in [from, to) to the given output
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) throws IOException {
+        validateRange(from, to);
+        
+        Session session = entityManager.unwrap(Session.class);
+        OutputStream buffered = new BufferedOutputStream(out, config.getBufferSize());
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(buffered) : new NdjsonRowWriter(buffered);
+        
+        long count = 0;
+        writer.start();
+        try (ScrollableResults<Notification> rows = session.createSelectionQuery(EXPORT_QUERY, Notification.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setFetchSize(config.getFetchSize())
+                .setReadOnly(true)
+                .setCacheable(false)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            
+            while (rows.next()) {
+                Notification notification = rows.get();
+                writer.write(ExportRow.of(notification));
+                session.detach(notification);
+                if (notification.getContentBlob() != null) {
+                    session.detach(notification.getContentBlob());
+                }
+                count++;
+            }
+        }
+        buffered.flush();
+        
+        log.info("Exported {} notifications created between {} and {} as {}", count, from, to, format);
+        return count;
+    }
+    
+    /**
+     * Export notifications created in [from, to) to a new file in the export directory
+     */
+    @Transactional(readOnly = true)
+    public FileExportResult exportToFile(LocalDateTime from, LocalDateTime to, ExportFormat format) throws IOException {
+        validateRange(from, to);
+        
+        Path directory = Paths.get(config.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("notifications-" + LocalDateTime.now().format(FILE_TIMESTAMP)
+            + "." + format.getExtension());
+        
+        long count;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            count = export(from, to, format, out);
+        }
+        
+        return new FileExportResult(file.toAbsolutePath().toString(), count);
+    }
+    
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidRequestException("Export range requires from < to");
+        }
+    }
+    
+    /**
+     * Result of an export written to a local file
+     */
+    public record FileExportResult(String path, long rows) {}
+    
+    /**
+     * Flat, association-free view of a notification as exported
+     */
+    public record ExportRow(
+        Long id,
+        String recipient,
+        String subject,
+        String content,
+        Long templateId,
+        String channel,
+        String status,
+        String priority,
+        Integer retryCount,
+        String errorMessage,
+        LocalDateTime scheduledAt,
+        LocalDateTime sentAt,
+        LocalDateTime deliveredAt,
+        LocalDateTime failedAt,
+        LocalDateTime createdAt
+    ) {
+        static ExportRow of(Notification n) {
+            return new ExportRow(
+                n.getId(),
+                n.getRecipient(),
+                n.getSubject(),
+                n.readContent(),
+                n.getTemplate() != null ? n.getTemplate().getId() : null,
+                n.getChannel() != null ? n.getChannel().name() : null,
+                n.getStatus() != null ? n.getStatus().name() : null,
+                n.getPriority() != null ? n.getPriority().name() : null,
+                n.getRetryCount(),
+                n.getErrorMessage(),
+                n.getScheduledAt(),
+                n.getSentAt(),
+                n.getDeliveredAt(),
+                n.getFailedAt(),
+                n.getCreatedAt()
+            );
+        }
+        
+        Object[] values() {
+            return new Object[] {
+                id, recipient, subject, content, templateId, channel, status, priority,
+                retryCount, errorMessage, scheduledAt, sentAt, deliveredAt, failedAt, createdAt
+            };
+        }
+    }
+    
+    private interface RowWriter {
+        void start() throws IOException;
+        
+        void write(ExportRow row) throws IOException;
+    }
+    
+    private final class NdjsonRowWriter implements RowWriter {
+        
+        private final OutputStream out;
+        private final ObjectWriter rowWriter = objectMapper.writerFor(ExportRow.class);
+        
+        private NdjsonRowWriter(OutputStream out) {
+            this.out = out;
+        }
+        
+        @Override
+        public void start() {
+        }
+        
+        @Override
+        public void write(ExportRow row) throws IOException {
+            out.write(rowWriter.writeValueAsBytes(row));
+            out.write('\n');
+        }
+    }
+    
+    private static final class CsvRowWriter implements RowWriter {
+        
+        private final OutputStream out;
+        private final StringBuilder line = new StringBuilder(256);
+        
+        private CsvRowWriter(OutputStream out) {
+            this.out = out;
+        }
+        
+        @Override
+        public void start() throws IOException {
+            writeLine(CSV_HEADER);
+        }
+        
+        @Override
+        public void write(ExportRow row) throws IOException {
+            writeLine(row.values());
+        }
+        
+        private void writeLine(Object[] values) throws IOException {
+            line.setLength(0);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            line.append("\r\n");
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+            if (!quote) {
+                line.append(text);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.Portfolio.Notifire.service;
 
+import com.Portfolio.Notifire.config.RetryConfig;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
 import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.FailureClass;
 import com.Portfolio.Notifire.model.enums.NotificationStatus;
 import com.Portfolio.Notifire.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,19 +27,31 @@ import java.util.List;
 public class NotificationScheduler {
     
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeadLetterService deadLetterService;
+    private final RetryConfig retryConfig;
+    private final LogSampler logSampler;
     
     /**
-     * Process pending notifications every 30 seconds
+     * Id of the last notification read in the current retry pass; 0 between passes
+     */
+    private long retryCursor;
+    private long nextRetryPass;
+    
+    /**
+     * Process due pending notifications every 30 seconds.
+     * Campaign notifications are left to the campaign pump, which paces them,
+     * unless they were deferred by rate limiting.
      */
     @Scheduled(fixedDelay = 30000, initialDelay = 10000)
     public void processPendingNotifications() {
         log.debug("Processing pending notifications...");
         
-        List<Notification> pending = notificationRepository.findByStatus(
-            NotificationStatus.PENDING, 
-            org.springframework.data.domain.PageRequest.of(0, 10)
-        ).getContent();
+        List<Notification> pending = notificationRepository.findDuePending(
+            LocalDateTime.now(),
+            PageRequest.of(0, 10)
+        );
         
         if (pending.isEmpty()) {
             log.debug("No pending notifications to process");
@@ -42,50 +61,84 @@ public class NotificationScheduler {
         log.info("Found {} pending notifications to process", pending.size());
         
         for (Notification notification : pending) {
-            // Check if scheduled for future
-            if (notification.getScheduledAt() != null && 
-                notification.getScheduledAt().isAfter(LocalDateTime.now())) {
-                log.debug("Notification {} is scheduled for {}, skipping", 
-                    notification.getId(), notification.getScheduledAt());
-                continue;
+            if (logSampler.sampled(notification.getId())) {
+                log.info("Processing pending notification {}", notification.getId());
             }
-            
-            log.info("Processing pending notification {}", notification.getId());
-            emailService.sendEmailAsync(notification.getId());
+            notificationDispatcher.submit(notification);
         }
     }
     
     /**
-     * Retry failed notifications every 2 minutes
+     * Retry due failed notifications, one bounded page per tick.
+     * Each pass walks the failed notifications in id order with a keyset
+     * cursor; a page is read, the due rows are moved to RETRYING in one
+     * statement and handed to the dispatcher, so memory and dispatch rate stay
+     * flat however large the backlog is. A row whose backoff has not elapsed is
+     * left for the next pass.
      */
-    @Scheduled(fixedDelay = 120000, initialDelay = 60000)
-    public void retryFailedNotifications() {
-        log.debug("Checking for retryable notifications...");
-        
-        List<Notification> retryable = notificationRepository.findRetryableNotifications();
+    @Scheduled(fixedDelayString = "${retry.tick-interval:1000}", initialDelay = 60000)
+    public synchronized void retryFailedNotifications() {
+        long nowMillis = System.currentTimeMillis();
+        if (retryCursor == 0 && nowMillis < nextRetryPass) {
+            return;
+        }
         
-        if (retryable.isEmpty()) {
-            log.debug("No failed notifications to retry");
+        int pageSize = (int) Math.max(1, Math.min(retryConfig.getBatchSize(),
+            retryConfig.getRatePerSecond() * retryConfig.getTickInterval() / 1000));
+        List<Notification> page = notificationRepository.findRetryableAfter(retryCursor, PageRequest.of(0, pageSize));
+        if (page.isEmpty()) {
+            log.debug("Retry pass finished");
+            retryCursor = 0;
+            nextRetryPass = nowMillis + retryConfig.getPassInterval();
             return;
         }
+        retryCursor = page.get(page.size() - 1).getId();
         
-        log.info("Found {} notifications eligible for retry", retryable.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = new ArrayList<>();
+        for (Notification notification : page) {
+            // Retrying a rejected request or a suppressed recipient cannot succeed
+            if (!FailureClass.classify(notification.getErrorMessage()).isRetryable()) {
+                deadLetterService.deadLetter(notification);
+            } else if (isRetryDue(notification, now)) {
+                due.add(notification.getId());
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
         
-        for (Notification notification : retryable) {
-            if (notification.canRetry()) {
-                log.info("Retrying failed notification {} (attempt {}/{})", 
-                    notification.getId(), 
-                    notification.getRetryCount() + 1, 
-                    notification.getMaxRetries());
-                
-                notification.incrementRetry();
-                notification.setStatus(NotificationStatus.RETRYING);
-                notificationRepository.save(notification);
-                
-                // Retry with exponential backoff
-                emailService.retryWithBackoff(notification.getId(), notification.getRetryCount());
+        notificationRepository.markRetrying(due, NotificationStatus.FAILED, NotificationStatus.RETRYING, now);
+        List<Long> refused = new ArrayList<>();
+        List<Notification> retrying = notificationRepository.findByIdInAndStatus(due, NotificationStatus.RETRYING);
+        for (Notification notification : retrying) {
+            eventPublisher.publishEvent(NotificationStatusEvent.of(notification));
+            if (!notificationDispatcher.submit(notification)) {
+                refused.add(notification.getId());
             }
         }
+        
+        // Leave notifications of tenants over quota PENDING for the pending sweep rather than stranded as RETRYING
+        if (!refused.isEmpty()) {
+            notificationRepository.releaseRetrying(refused, NotificationStatus.RETRYING,
+                NotificationStatus.PENDING, LocalDateTime.now());
+        }
+        log.info("Retrying {} failed notifications ({} left pending for tenant quotas)", retrying.size(), refused.size());
+    }
+    
+    /**
+     * Whether the backoff after a notification's last failure has elapsed: base * 2^attempt, capped
+     */
+    private boolean isRetryDue(Notification notification, LocalDateTime now) {
+        if (notification.getFailedAt() == null) {
+            return true;
+        }
+        int attempt = Math.min(notification.getRetryCount() + 1, 30);
+        Duration backoff = retryConfig.getBaseBackoff().multipliedBy(1L << attempt);
+        if (backoff.compareTo(retryConfig.getMaxBackoff()) > 0) {
+            backoff = retryConfig.getMaxBackoff();
+        }
+        return !notification.getFailedAt().plus(backoff).isAfter(now);
     }
     
     /**
@@ -93,18 +146,22 @@ public class NotificationScheduler {
      */
     @Scheduled(fixedDelay = 300000, initialDelay = 30000)
     public void logStatistics() {
+        long scheduled = notificationRepository.countByStatus(NotificationStatus.SCHEDULED);
         long pending = notificationRepository.countByStatus(NotificationStatus.PENDING);
         long sending = notificationRepository.countByStatus(NotificationStatus.SENDING);
         long sent = notificationRepository.countByStatus(NotificationStatus.SENT);
+        long delivered = notificationRepository.countByStatus(NotificationStatus.DELIVERED);
+        long bounced = notificationRepository.countByStatus(NotificationStatus.BOUNCED);
         long failed = notificationRepository.countByStatus(NotificationStatus.FAILED);
         long retrying = notificationRepository.countByStatus(NotificationStatus.RETRYING);
+        long deadLettered = notificationRepository.countByStatus(NotificationStatus.DEAD_LETTERED);
         
         long sentToday = notificationRepository.countSentToday();
         long failedToday = notificationRepository.countFailedToday();
         
         log.info("=== Notification Statistics ===");
-        log.info("Status - PENDING: {}, SENDING: {}, SENT: {}, FAILED: {}, RETRYING: {}", 
-            pending, sending, sent, failed, retrying);
+        log.info("Status - SCHEDULED: {}, PENDING: {}, SENDING: {}, SENT: {}, DELIVERED: {}, BOUNCED: {}, FAILED: {}, RETRYING: {}, DEAD_LETTERED: {}", 
+            scheduled, pending, sending, sent, delivered, bounced, failed, retrying, deadLettered);
         log.info("Today - Sent: {}, Failed: {}", sentToday, failedToday);
         log.info("===============================");
     }
@@ -2,9 +2,12 @@ package com.Portfolio.Notifire.service;
 
 import com.Portfolio.Notifire.dto.NotificationRequest;
 import com.Portfolio.Notifire.dto.NotificationResponse;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
 import com.Portfolio.Notifire.exception.InvalidRequestException;
 import com.Portfolio.Notifire.exception.NotificationNotFoundException;
 import com.Portfolio.Notifire.exception.TemplateNotFoundException;
+import com.Portfolio.Notifire.jfr.ExecutorRejectedEvent;
+import com.Portfolio.Notifire.jfr.RenderEvent;
 import com.Portfolio.Notifire.model.entity.Notification;
 import com.Portfolio.Notifire.model.entity.Template;
 import com.Portfolio.Notifire.model.enums.NotificationStatus;
@@ -12,13 +15,21 @@ import com.Portfolio.Notifire.repository.NotificationRepository;
 import com.Portfolio.Notifire.repository.TemplateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -33,57 +44,116 @@ public class NotificationService {
     private final TemplateRepository templateRepository;
     private final TemplateService templateService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final SuppressionService suppressionService;
+    private final DigestService digestService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final DelayedDeliveryService delayedDeliveryService;
+    private final TemplateRenderer templateRenderer;
+    private final ContentStore contentStore;
+    private final PipelineMetrics pipelineMetrics;
+    private final NotificationTracing notificationTracing;
+    private final LogSampler logSampler;
+    private final TransactionTemplate transactionTemplate;
     
     /**
      * Send a new notification
      */
-    @Transactional
     public NotificationResponse sendNotification(NotificationRequest request) {
         log.debug("Sending notification to: {}", request.getRecipient());
         
-        // Validate request
-        validateRequest(request);
-        
-        // Create notification entity
-        Notification notification = new Notification();
-        notification.setRecipient(request.getRecipient());
-        notification.setPriority(request.getPriority());
-        notification.setChannel(request.getChannel());
-        notification.setStatus(NotificationStatus.PENDING);
-        notification.setScheduledAt(request.getScheduledAt());
-        notification.setRetryCount(0);
-        notification.setMaxRetries(3);
+        // Return the original notification for a repeated idempotency key
+        String idempotencyKey = StringUtils.hasText(request.getIdempotencyKey()) ? request.getIdempotencyKey() : null;
+        if (idempotencyKey != null) {
+            Optional<Notification> original = idempotencyService.findOriginal(idempotencyKey);
+            if (original.isPresent()) {
+                log.info("Duplicate request for idempotency key {}, returning notification {}",
+                    idempotencyKey, original.get().getId());
+                return mapToResponse(original.get(), "Duplicate request, returning original notification");
+            }
+        }
         
-        // Process template if provided
-        if (request.getTemplateId() != null) {
-            Template template = templateRepository.findById(request.getTemplateId())
-                .orElseThrow(() -> new TemplateNotFoundException(request.getTemplateId()));
-            
-            if (!template.isUsable()) {
-                throw new InvalidRequestException("Template is not active: " + template.getName());
+        // The insert runs in its own transaction so that, once a key collision rolls it back, the original can still be read
+        try {
+            return transactionTemplate.execute(status -> createNotification(request, idempotencyKey));
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null || !IdempotencyService.isKeyCollision(e)) {
+                releaseKey(idempotencyKey);
+                throw e;
             }
+            // A concurrent request with the same key, or one the duplicate filter did not know of, committed first
+            Notification original = notificationRepository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+            log.info("Idempotency key {} already used, returning notification {}", idempotencyKey, original.getId());
+            return mapToResponse(original, "Duplicate request, returning original notification");
+        } catch (RuntimeException e) {
+            releaseKey(idempotencyKey);
+            throw e;
+        }
+    }
+    
+    /**
+     * Give up the Redis claim of a request that created nothing, so a corrected resubmission with the key is accepted
+     */
+    private void releaseKey(String idempotencyKey) {
+        if (idempotencyKey != null) {
+            idempotencyService.release(idempotencyKey);
+        }
+    }
+    
+    private NotificationResponse createNotification(NotificationRequest request, String idempotencyKey) {
+        PipelineMetrics.Stopwatch stopwatch = pipelineMetrics.start(request.getChannel(), request.getPriority());
+        Notification saved;
+        try {
+            // Validate request
+            stopwatch.begin(PipelineMetrics.Stage.VALIDATION);
+            validateRequest(request);
+            suppressionService.checkNotSuppressed(request.getRecipient());
             
-            notification.setTemplate(template);
+            // Resolve template if provided
+            stopwatch.begin(PipelineMetrics.Stage.TEMPLATE_LOOKUP);
+            Template template = null;
+            if (request.getTemplateId() != null) {
+                template = templateRepository.findById(request.getTemplateId())
+                    .orElseThrow(() -> new TemplateNotFoundException(request.getTemplateId()));
+                checkTemplateUsable(template);
+            }
             
-            // Render template with variables
-            String renderedSubject = templateService.renderTemplate(template.getSubject(), request.getVariables());
-            String renderedBody = templateService.renderTemplate(template.getBody(), request.getVariables());
+            stopwatch.begin(PipelineMetrics.Stage.RENDER);
+            Notification notification = buildNotification(request, template);
             
-            notification.setSubject(renderedSubject);
-            notification.setContent(renderedBody);
-        } else {
-            // Use provided content
-            notification.setSubject(request.getSubject());
-            notification.setContent(request.getContent());
+            // Save notification
+            stopwatch.begin(PipelineMetrics.Stage.PERSIST);
+            contentStore.externalize(notification);
+            if (idempotencyKey == null) {
+                saved = notificationRepository.save(notification);
+            } else {
+                // Flush now so a concurrent insert of the same key surfaces here
+                saved = notificationRepository.saveAndFlush(notification);
+                idempotencyService.record(idempotencyKey);
+            }
+            stopwatch.end();
+        } catch (RuntimeException e) {
+            stopwatch.fail();
+            throw e;
+        }
+        
+        if (logSampler.sampled(saved.getId())) {
+            log.info("Notification created with id: {} for recipient: {}", saved.getId(), saved.getRecipient());
         }
+        eventPublisher.publishEvent(NotificationStatusEvent.of(saved));
         
-        // Save notification
-        Notification saved = notificationRepository.save(notification);
+        if (saved.getStatus() == NotificationStatus.DIGEST_PENDING) {
+            return mapToResponse(saved, "Notification buffered for digest");
+        }
         
-        log.info("Notification created with id: {} for recipient: {}", saved.getId(), saved.getRecipient());
+        if (saved.getStatus() == NotificationStatus.SCHEDULED) {
+            delayedDeliveryService.schedule(saved);
+            return mapToResponse(saved, "Notification scheduled for delivery");
+        }
         
-        // Send email asynchronously
-        emailService.sendEmailAsync(saved.getId());
+        // Send email asynchronously once the row is committed
+        dispatchAfterCommit(saved);
         
         return mapToResponse(saved, "Notification queued successfully");
     }
@@ -153,9 +223,19 @@ public class NotificationService {
         Notification updated = notificationRepository.save(notification);
         
         log.info("Notification {} queued for retry. Attempt: {}", id, updated.getRetryCount());
+        eventPublisher.publishEvent(NotificationStatusEvent.of(updated));
         
         // Retry with exponential backoff
-        emailService.retryWithBackoff(id, updated.getRetryCount());
+        try {
+            emailService.retryWithBackoff(id, updated.getRetryCount());
+        } catch (TaskRejectedException e) {
+            // The row is already PENDING, so the scheduler claims it once the executor has room
+            ExecutorRejectedEvent event = new ExecutorRejectedEvent();
+            event.notificationId = id;
+            event.operation = "retry";
+            event.commit();
+            log.warn("Executor saturated, notification {} left pending for the scheduler", id);
+        }
         
         return mapToResponse(updated, "Notification queued for retry");
     }
@@ -181,10 +261,88 @@ public class NotificationService {
         return new NotificationStats(sentToday, failedToday, successRate);
     }
     
+    /**
+     * Build a PENDING (or SCHEDULED / DIGEST_PENDING) notification entity from a request,
+     * rendering the template when one is given. The template must already be resolved.
+     */
+    public Notification buildNotification(NotificationRequest request, Template template) {
+        Notification notification = new Notification();
+        notification.setRecipient(request.getRecipient());
+        notification.setPriority(request.getPriority());
+        notification.setChannel(request.getChannel());
+        if (request.getScheduledAt() != null && request.getScheduledAt().isAfter(LocalDateTime.now())) {
+            notification.setStatus(NotificationStatus.SCHEDULED);
+        } else {
+            notification.setStatus(digestService.shouldDigest(request)
+                ? NotificationStatus.DIGEST_PENDING : NotificationStatus.PENDING);
+        }
+        notification.setScheduledAt(request.getScheduledAt());
+        notification.setRetryCount(0);
+        notification.setMaxRetries(3);
+        notification.setIdempotencyKey(StringUtils.hasText(request.getIdempotencyKey()) ? request.getIdempotencyKey() : null);
+        notification.setTenantId(StringUtils.hasText(request.getTenantId()) ? request.getTenantId() : null);
+        notificationTracing.stamp(notification);
+        
+        if (template != null) {
+            notification.setTemplate(template);
+            notification.setOrderedDelivery(Boolean.TRUE.equals(template.getOrderedDelivery()));
+            
+            // Render template with variables; in lazy mode the body waits until send time
+            notification.setSubject(templateService.renderTemplate(template.getSubject(), request.getVariables()));
+            if (templateRenderer.isLazy() && notification.getStatus() != NotificationStatus.DIGEST_PENDING) {
+                templateRenderer.deferBody(notification, template, request.getVariables());
+            } else {
+                RenderEvent event = new RenderEvent();
+                event.begin();
+                notification.setContent(templateService.renderTemplate(template.getBody(), request.getVariables()));
+                event.end();
+                if (event.shouldCommit()) {
+                    event.templateId = template.getId() != null ? template.getId() : 0;
+                    event.channel = request.getChannel() != null ? request.getChannel().name() : null;
+                    event.payloadSize = notification.getContent() != null ? notification.getContent().length() : 0;
+                    event.commit();
+                }
+            }
+        } else {
+            // Use provided content
+            notification.setSubject(request.getSubject());
+            notification.setContent(request.getContent());
+        }
+        
+        return notification;
+    }
+    
+    /**
+     * Ensure a template can be used for new notifications
+     */
+    public void checkTemplateUsable(Template template) {
+        if (!template.isUsable()) {
+            throw new InvalidRequestException("Template is not active: " + template.getName());
+        }
+    }
+    
+    /**
+     * Hand a notification to the dispatcher after the current transaction
+     * commits, so the async worker never reads an uncommitted row
+     */
+    private void dispatchAfterCommit(Notification notification) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificationDispatcher.submit(notification);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notificationDispatcher.submit(notification);
+            }
+        });
+    }
+    
     /**
      * Validate notification request
      */
-    private void validateRequest(NotificationRequest request) {
+    public void validateRequest(NotificationRequest request) {
         if (!request.isValid()) {
             throw new InvalidRequestException("Either content or templateId must be provided");
         }
@@ -211,9 +369,14 @@ public class NotificationService {
             .message(message)
             .createdAt(notification.getCreatedAt())
             .sentAt(notification.getSentAt())
+            .deliveredAt(notification.getDeliveredAt())
             .scheduledAt(notification.getScheduledAt())
             .retryCount(notification.getRetryCount())
             .errorMessage(notification.getErrorMessage())
+            .idempotencyKey(notification.getIdempotencyKey())
+            .tenantId(notification.getTenantId())
+            .digestId(notification.getDigest() != null ? notification.getDigest().getId() : null)
+            .traceId(notification.getTraceId())
             .build();
     }
     
@@ -0,0 +1,80 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.model.entity.Notification;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Carries trace context across a notification's life. The context at ingest
+ * is stored on the row as a W3C traceparent, and each send or retry attempt
+ * starts its span from it, so one trace connects ingest, the async handoff,
+ * scheduler pickups, retries and the provider call regardless of which
+ * thread or node does the work.
+ */
+@Service
+public class NotificationTracing {
+    
+    private static final String TRACEPARENT = "traceparent";
+    
+    private final Tracer tracer;
+    private final Propagator propagator;
+    
+    @Autowired
+    public NotificationTracing(Tracer tracer, ObjectProvider<Propagator> propagator) {
+        this(tracer, propagator.getIfAvailable(() -> Propagator.NOOP));
+    }
+    
+    NotificationTracing(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+    
+    /**
+     * Store the current trace context on a notification about to be saved
+     */
+    public void stamp(Notification notification) {
+        Span current = tracer.currentSpan();
+        if (current == null || notification.getTraceParent() != null) {
+            return;
+        }
+        Map<String, String> carrier = new HashMap<>(2);
+        propagator.inject(current.context(), carrier, Map::put);
+        notification.setTraceParent(carrier.get(TRACEPARENT));
+    }
+    
+    /**
+     * Run work in a span continuing the notification's stored trace, or in a new trace if it has none
+     */
+    public void inSpan(String name, Notification notification, Runnable work) {
+        Span.Builder builder = notification.getTraceParent() != null
+            ? propagator.extract(Map.of(TRACEPARENT, notification.getTraceParent()), Map::get)
+            : tracer.spanBuilder().setNoParent();
+        Span span = builder.name(name)
+            .tag("notification.id", String.valueOf(notification.getId()))
+            .tag("notification.channel", String.valueOf(notification.getChannel()))
+            .tag("notification.retry_count", String.valueOf(notification.getRetryCount()))
+            .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            work.run();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+    
+    /**
+     * Start a child of the current span; the caller ends it
+     */
+    public Span startChild(String name) {
+        return tracer.nextSpan().name(name).start();
+    }
+}
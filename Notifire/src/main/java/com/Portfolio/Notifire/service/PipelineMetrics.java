@@ -0,0 +1,170 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.PipelineMetricsConfig;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Timers for each stage a notification passes through, tagged by stage,
+ * channel, priority and outcome, plus the end-to-end time from creation to
+ * sent. Timers are looked up by enum ordinals in a flat array, so recording
+ * on the hot path is a nanoTime read and an array load, with no map lookup
+ * or tag allocation.
+ */
+@Component
+public class PipelineMetrics {
+    
+    public enum Stage {
+        VALIDATION,
+        TEMPLATE_LOOKUP,
+        RENDER,
+        PERSIST,
+        QUEUE_WAIT,
+        PROVIDER_CALL,
+        STATUS_WRITE
+    }
+    
+    public enum Outcome {
+        SUCCESS,
+        FAILURE
+    }
+    
+    private static final int STAGES = Stage.values().length + 1;
+    private static final int END_TO_END = Stage.values().length;
+    private static final int CHANNELS = NotificationChannel.values().length + 1;
+    private static final int PRIORITIES = NotificationPriority.values().length + 1;
+    private static final int OUTCOMES = Outcome.values().length;
+    
+    private final MeterRegistry meterRegistry;
+    private final PipelineMetricsConfig config;
+    private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(STAGES * CHANNELS * PRIORITIES * OUTCOMES);
+    
+    public PipelineMetrics(MeterRegistry meterRegistry, PipelineMetricsConfig config) {
+        this.meterRegistry = meterRegistry;
+        this.config = config;
+    }
+    
+    /**
+     * Record a stage that started at {@code startNanos}
+     *
+     * @return the current nanoTime, to start the next stage from
+     */
+    public long record(Stage stage, NotificationChannel channel, NotificationPriority priority, Outcome outcome, long startNanos) {
+        long now = System.nanoTime();
+        if (config.isEnabled()) {
+            timer(stage.ordinal(), channel, priority, outcome).record(now - startNanos, TimeUnit.NANOSECONDS);
+        }
+        return now;
+    }
+    
+    /**
+     * Record the time from creation to sent for a notification that was just sent
+     */
+    public void recordEndToEnd(Notification notification) {
+        if (!config.isEnabled() || notification.getStatus() != NotificationStatus.SENT
+            || notification.getCreatedAt() == null || notification.getSentAt() == null) {
+            return;
+        }
+        Duration elapsed = Duration.between(notification.getCreatedAt(), notification.getSentAt());
+        if (!elapsed.isNegative()) {
+            timer(END_TO_END, notification.getChannel(), notification.getPriority(), Outcome.SUCCESS).record(elapsed);
+        }
+    }
+    
+    /**
+     * Start timing the ingest stages of one request
+     */
+    public Stopwatch start(NotificationChannel channel, NotificationPriority priority) {
+        return new Stopwatch(channel, priority);
+    }
+    
+    private Timer timer(int stage, NotificationChannel channel, NotificationPriority priority, Outcome outcome) {
+        int channelIndex = channel != null ? channel.ordinal() + 1 : 0;
+        int priorityIndex = priority != null ? priority.ordinal() + 1 : 0;
+        int index = ((stage * CHANNELS + channelIndex) * PRIORITIES + priorityIndex) * OUTCOMES + outcome.ordinal();
+        
+        Timer timer = timers.get(index);
+        if (timer == null) {
+            // The registry returns the same meter for the same id, so a racing registration is harmless
+            timer = register(stage, channel, priority, outcome);
+            timers.set(index, timer);
+        }
+        return timer;
+    }
+    
+    private Timer register(int stage, NotificationChannel channel, NotificationPriority priority, Outcome outcome) {
+        Timer.Builder builder = stage == END_TO_END
+            ? Timer.builder("notifire.pipeline.end_to_end").description("Time from creation to sent")
+            : Timer.builder("notifire.pipeline.stage").description("Time spent in one pipeline stage")
+                .tag("stage", tagValue(Stage.values()[stage]));
+        builder.tag("channel", tagValue(channel))
+            .tag("priority", tagValue(priority))
+            .tag("outcome", tagValue(outcome));
+        if (config.isPercentileHistogram()) {
+            builder.publishPercentileHistogram()
+                .minimumExpectedValue(config.getMinimumExpected())
+                .maximumExpectedValue(config.getMaximumExpected());
+        }
+        return builder.register(meterRegistry);
+    }
+    
+    private static String tagValue(Enum<?> value) {
+        return value != null ? value.name().toLowerCase(Locale.ROOT) : "none";
+    }
+    
+    /**
+     * Times consecutive stages of one request. Not thread-safe.
+     */
+    public class Stopwatch {
+        
+        private final NotificationChannel channel;
+        private final NotificationPriority priority;
+        private Stage stage;
+        private long startNanos;
+        
+        private Stopwatch(NotificationChannel channel, NotificationPriority priority) {
+            this.channel = channel;
+            this.priority = priority;
+        }
+        
+        /**
+         * End the current stage as a success and start the next
+         */
+        public void begin(Stage next) {
+            long now = stage != null ? record(stage, channel, priority, Outcome.SUCCESS, startNanos) : System.nanoTime();
+            stage = next;
+            startNanos = now;
+        }
+        
+        /**
+         * End the current stage as a success
+         */
+        public void end() {
+            close(Outcome.SUCCESS);
+        }
+        
+        /**
+         * End the current stage as a failure
+         */
+        public void fail() {
+            close(Outcome.FAILURE);
+        }
+        
+        private void close(Outcome outcome) {
+            if (stage != null) {
+                record(stage, channel, priority, outcome, startNanos);
+                stage = null;
+            }
+        }
+    }
+}
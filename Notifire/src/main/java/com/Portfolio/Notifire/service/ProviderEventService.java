@@ -0,0 +1,314 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.ProviderEventConfig;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.exception.InvalidSignatureException;
+import com.Portfolio.Notifire.exception.ServiceOverloadedException;
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import com.Portfolio.Notifire.util.VerifyingInputStream;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Applies SendGrid event webhook batches to notifications.
+ * A batch is verified against the Signed Event Webhook key while it is
+ * parsed token by token, so only the few fields used are kept per event.
+ * Once the signature checks out, delivered, bounce and open events become
+ * JDBC batch updates keyed by the stored provider message id, and bounces,
+ * spam reports and unsubscribes are added to the suppression list.
+ * <p>
+ * Updates only move a notification forward (SENT to DELIVERED, SENT or
+ * DELIVERED to BOUNCED), so a batch the provider resends, or events
+ * arriving out of order, change nothing twice.
+ */
+@Service
+@Slf4j
+public class ProviderEventService {
+    
+    private static final String DELIVERED_SQL =
+        "UPDATE notifications SET status = 'DELIVERED', delivered_at = ?, updated_at = ? " +
+        "WHERE provider_message_id = ? AND status = 'SENT'";
+    
+    private static final String BOUNCED_SQL =
+        "UPDATE notifications SET status = 'BOUNCED', error_message = ?, failed_at = ?, updated_at = ? " +
+        "WHERE provider_message_id = ? AND status IN ('SENT', 'DELIVERED')";
+    
+    private static final String OPENED_SQL =
+        "UPDATE notifications SET opened_at = ?, updated_at = ? " +
+        "WHERE provider_message_id = ? AND opened_at IS NULL";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SuppressionService suppressionService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ProviderEventConfig config;
+    private final PublicKey verificationKey;
+    private final Semaphore inFlight;
+    
+    public ProviderEventService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                SuppressionService suppressionService,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                ProviderEventConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.suppressionService = suppressionService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.config = config;
+        this.verificationKey = StringUtils.hasText(config.getVerificationKey())
+            ? parseKey(config.getVerificationKey()) : null;
+        this.inFlight = new Semaphore(config.getMaxConcurrentBatches());
+        if (verificationKey == null) {
+            log.warn("No provider event verification key configured; webhook batches are accepted unverified");
+        }
+    }
+    
+    /**
+     * Verify, parse and apply a SendGrid event batch
+     *
+     * @param signature value of the X-Twilio-Email-Event-Webhook-Signature header
+     * @param timestamp value of the X-Twilio-Email-Event-Webhook-Timestamp header
+     */
+    public IngestResult ingestSendGrid(InputStream body, String signature, String timestamp) throws IOException {
+        if (!inFlight.tryAcquire()) {
+            throw new ServiceOverloadedException("too many provider event batches in flight", Duration.ofSeconds(1));
+        }
+        try {
+            List<ProviderEvent> events = new ArrayList<>();
+            long received;
+            if (verificationKey != null) {
+                VerifyingInputStream verifying = new VerifyingInputStream(body, verifier(timestamp));
+                received = parse(verifying, events, verifying, signature);
+            } else {
+                received = parse(body, events, null, null);
+            }
+            return apply(received, events);
+        } finally {
+            inFlight.release();
+        }
+    }
+    
+    /**
+     * Start a signature check over the timestamp, which SendGrid signs ahead of the body
+     */
+    private Signature verifier(String timestamp) {
+        if (!StringUtils.hasText(timestamp)) {
+            throw new InvalidSignatureException("Missing event webhook signature");
+        }
+        long signedAt;
+        try {
+            signedAt = Long.parseLong(timestamp.strip());
+        } catch (NumberFormatException e) {
+            throw new InvalidSignatureException("Invalid event webhook timestamp");
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - signedAt) > config.getMaxTimestampSkew().toSeconds()) {
+            throw new InvalidSignatureException("Event webhook timestamp is outside the accepted window");
+        }
+        
+        try {
+            Signature verifier = Signature.getInstance("SHA256withECDSA");
+            verifier.initVerify(verificationKey);
+            verifier.update(timestamp.strip().getBytes(StandardCharsets.UTF_8));
+            return verifier;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot verify event webhook signatures", e);
+        }
+    }
+    
+    /**
+     * Read the event array, keeping only events that change a notification or the suppression list
+     *
+     * @return number of events in the batch
+     */
+    private long parse(InputStream in, List<ProviderEvent> events,
+                       VerifyingInputStream verifying, String signature) throws IOException {
+        long received = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidRequestException("Expected a JSON array of events");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String event = null;
+                String messageId = null;
+                String email = null;
+                String reason = null;
+                String type = null;
+                long timestamp = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "event" -> event = parser.getValueAsString();
+                        case "sg_message_id" -> messageId = parser.getValueAsString();
+                        case "email" -> email = parser.getValueAsString();
+                        case "reason" -> reason = parser.getValueAsString();
+                        case "type" -> type = parser.getValueAsString();
+                        case "timestamp" -> timestamp = parser.getValueAsLong();
+                        default -> { }
+                    }
+                    // Categories, custom args and the like are nested and unused
+                    parser.skipChildren();
+                }
+                received++;
+                if (event != null) {
+                    events.add(new ProviderEvent(event, normalizeMessageId(messageId), email, reason, type, timestamp));
+                }
+            }
+            
+            // Check before the parser closes the body, and before anything is applied
+            if (verifying != null && !verifying.verify(decodeSignature(signature))) {
+                throw new InvalidSignatureException("Event webhook signature does not match");
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Malformed event batch: " + e.getOriginalMessage());
+        }
+        return received;
+    }
+    
+    private IngestResult apply(long received, List<ProviderEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        List<Object[]> delivered = new ArrayList<>();
+        List<Object[]> bounced = new ArrayList<>();
+        List<Object[]> opened = new ArrayList<>();
+        Map<String, SuppressionReason> suppress = new LinkedHashMap<>();
+        
+        for (ProviderEvent event : events) {
+            Timestamp at = event.timestamp() > 0
+                ? Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochSecond(event.timestamp()), ZoneId.systemDefault()))
+                : updatedAt;
+            switch (event.event()) {
+                case "delivered" -> {
+                    if (event.messageId() != null) {
+                        delivered.add(new Object[] {at, updatedAt, event.messageId()});
+                    }
+                }
+                case "bounce", "dropped" -> {
+                    if (event.messageId() != null) {
+                        String error = ("dropped".equals(event.event()) ? "Dropped by provider" : "Bounced")
+                            + (event.reason() != null ? ": " + event.reason() : "");
+                        bounced.add(new Object[] {error, at, updatedAt, event.messageId()});
+                    }
+                    // A "blocked" bounce is temporary; only hard bounces suppress the address
+                    if ("bounce".equals(event.event()) && !"blocked".equals(event.type()) && event.email() != null) {
+                        suppress.put(event.email(), SuppressionReason.HARD_BOUNCE);
+                    }
+                }
+                case "spamreport" -> {
+                    if (event.email() != null) {
+                        suppress.put(event.email(), SuppressionReason.SPAM_COMPLAINT);
+                    }
+                }
+                case "unsubscribe" -> {
+                    if (event.email() != null) {
+                        suppress.putIfAbsent(event.email(), SuppressionReason.UNSUBSCRIBE);
+                    }
+                }
+                case "open" -> {
+                    if (event.messageId() != null) {
+                        opened.add(new Object[] {at, updatedAt, event.messageId()});
+                    }
+                }
+                default -> { }
+            }
+            meterRegistry.counter("notifire.provider.events", "event", event.event()).increment();
+        }
+        
+        // Deliveries first, so a bounce reported in the same batch ends up BOUNCED
+        long applied = transactionTemplate.execute(status ->
+            batchUpdate(DELIVERED_SQL, delivered) + batchUpdate(BOUNCED_SQL, bounced) + batchUpdate(OPENED_SQL, opened));
+        long suppressed = suppress.isEmpty() ? 0 : suppressionService.suppressAll(suppress);
+        
+        log.debug("Applied {} of {} provider events, suppressed {} addresses", applied, received, suppressed);
+        return new IngestResult(received, applied, suppressed);
+    }
+    
+    /**
+     * Run the updates in JDBC batches of the configured size
+     *
+     * @return rows updated
+     */
+    private long batchUpdate(String sql, List<Object[]> args) {
+        long updated = 0;
+        for (int from = 0; from < args.size(); from += config.getBatchSize()) {
+            int[] counts = jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(args.size(), from + config.getBatchSize())));
+            for (int count : counts) {
+                if (count > 0) {
+                    updated += count;
+                } else if (count == Statement.SUCCESS_NO_INFO) {
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+    
+    /**
+     * The X-Message-Id SendGrid returned on send is the part of sg_message_id before its routing suffix
+     */
+    static String normalizeMessageId(String messageId) {
+        if (messageId == null) {
+            return null;
+        }
+        int suffix = messageId.indexOf(".filter");
+        if (suffix < 0) {
+            suffix = messageId.indexOf(".recvd");
+        }
+        return suffix > 0 ? messageId.substring(0, suffix) : messageId;
+    }
+    
+    private static byte[] decodeSignature(String signature) {
+        if (!StringUtils.hasText(signature)) {
+            throw new InvalidSignatureException("Missing event webhook signature");
+        }
+        try {
+            return Base64.getDecoder().decode(signature.strip());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSignatureException("Invalid event webhook signature");
+        }
+    }
+    
+    private static PublicKey parseKey(String key) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.strip())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid provider-events.verification-key", e);
+        }
+    }
+    
+    private record ProviderEvent(String event, String messageId, String email, String reason, String type, long timestamp) {}
+    
+    public record IngestResult(long received, long applied, long suppressed) {}
+}
@@ -0,0 +1,158 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.RateLimitConfig;
+import com.Portfolio.Notifire.config.RateLimitConfig.Limit;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.util.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service rate limiting outbound sends with token buckets keyed by provider,
+ * sender and recipient domain. A send needs a permit from all three.
+ * Buckets are local and lock-free by default; when Redis is enabled they are
+ * shared across nodes and taken atomically by a Lua script.
+ */
+@Service
+@Slf4j
+public class RateLimitService {
+    
+    private static final RedisScript<Long> ACQUIRE_SCRIPT =
+        RedisScript.of(new ClassPathResource("scripts/rate-limit.lua"), Long.class);
+    
+    private final RateLimitConfig config;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<NotificationDispatcher> notificationDispatcher;
+    private final TaskScheduler taskScheduler;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    public RateLimitService(RateLimitConfig config,
+                            ObjectProvider<StringRedisTemplate> redisTemplate,
+                            ObjectProvider<NotificationDispatcher> notificationDispatcher,
+                            TaskScheduler taskScheduler) {
+        this.config = config;
+        this.redisTemplate = redisTemplate;
+        this.notificationDispatcher = notificationDispatcher;
+        this.taskScheduler = taskScheduler;
+    }
+    
+    /**
+     * Take a permit for one send
+     *
+     * @return 0 if the send may go ahead, otherwise milliseconds until it may be tried again
+     */
+    public long acquire(String recipient, String sender, String provider) {
+        if (!config.isEnabled()) {
+            return 0;
+        }
+        
+        List<BucketKey> keys = new ArrayList<>(3);
+        addKey(keys, "provider:" + provider, config.getProvider());
+        addKey(keys, "sender:" + normalize(sender), config.getSender());
+        String domain = domainOf(recipient);
+        addKey(keys, "domain:" + domain, config.getDomains().getOrDefault(domain, config.getDomain()));
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        
+        StringRedisTemplate redis = config.isRedisEnabled() ? redisTemplate.getIfAvailable() : null;
+        if (redis != null) {
+            try {
+                return acquireShared(redis, keys);
+            } catch (RuntimeException e) {
+                // Fall back to per-node limits rather than stopping sends
+                log.warn("Redis unavailable for rate limiting, using local buckets: {}", e.getMessage());
+            }
+        }
+        return acquireLocal(keys);
+    }
+    
+    /**
+     * Re-dispatch a deferred notification once its wait is over. The timer starts
+     * after the current transaction commits; if this node stops before then the
+     * scheduler picks the notification up from its scheduledAt.
+     */
+    public void redispatchAfter(Notification notification, long waitMillis) {
+        Runnable schedule = () -> taskScheduler.schedule(
+            () -> notificationDispatcher.getObject().submit(notification),
+            Instant.now().plusMillis(waitMillis));
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule.run();
+            }
+        });
+    }
+    
+    /**
+     * Extract the lower-cased domain of an email address
+     */
+    public static String domainOf(String recipient) {
+        String address = normalize(recipient);
+        int at = address.lastIndexOf('@');
+        return at >= 0 ? address.substring(at + 1) : address;
+    }
+    
+    private long acquireLocal(List<BucketKey> keys) {
+        long now = System.nanoTime();
+        for (int i = 0; i < keys.size(); i++) {
+            BucketKey key = keys.get(i);
+            TokenBucket bucket = buckets.computeIfAbsent(key.name(),
+                name -> new TokenBucket(key.limit().getRatePerSecond(), key.limit().getBurst()));
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos > 0) {
+                // Hand back permits already taken so a denied send costs nothing
+                for (int j = 0; j < i; j++) {
+                    buckets.get(keys.get(j).name()).refund();
+                }
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+        }
+        return 0;
+    }
+    
+    private long acquireShared(StringRedisTemplate redis, List<BucketKey> keys) {
+        List<String> redisKeys = new ArrayList<>(keys.size());
+        String[] args = new String[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            Limit limit = keys.get(i).limit();
+            redisKeys.add(config.getRedisKeyPrefix() + keys.get(i).name());
+            args[2 * i] = Long.toString(Math.max(1, (long) (1_000_000 / limit.getRatePerSecond())));
+            args[2 * i + 1] = Integer.toString(limit.getBurst());
+        }
+        Long waitMillis = redis.execute(ACQUIRE_SCRIPT, redisKeys, (Object[]) args);
+        return waitMillis != null ? waitMillis : 0;
+    }
+    
+    private static void addKey(List<BucketKey> keys, String name, Limit limit) {
+        if (limit != null && limit.getRatePerSecond() > 0) {
+            keys.add(new BucketKey(name, limit));
+        }
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private record BucketKey(String name, Limit limit) {}
+}
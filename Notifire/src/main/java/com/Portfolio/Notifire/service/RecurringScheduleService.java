@@ -0,0 +1,299 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.RecurringConfig;
+import com.Portfolio.Notifire.dto.RecurringScheduleRequest;
+import com.Portfolio.Notifire.dto.RecurringScheduleResponse;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.exception.RecurringScheduleNotFoundException;
+import com.Portfolio.Notifire.exception.TemplateNotFoundException;
+import com.Portfolio.Notifire.exception.TemplateProcessingException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.RecurringSchedule;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.repository.RecurringScheduleRepository;
+import com.Portfolio.Notifire.repository.RecurringScheduleRepository.DueSchedule;
+import com.Portfolio.Notifire.repository.TemplateRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service for cron-driven recurring notifications.
+ * Each schedule stores its next fire time; the poller range-scans only the
+ * schedules that are due, claims each fire with a conditional update that
+ * moves the schedule on, and expands it into notification rows in the same
+ * transaction. Fires missed while the service was down collapse into one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringScheduleService {
+    
+    private static final TypeReference<Map<String, Object>> VARIABLES = new TypeReference<>() {};
+    
+    private final RecurringScheduleRepository scheduleRepository;
+    private final TemplateRepository templateRepository;
+    private final NotificationRepository notificationRepository;
+    private final ContentStore contentStore;
+    private final NotificationTracing notificationTracing;
+    private final TemplateService templateService;
+    private final TemplateRenderer templateRenderer;
+    private final SuppressionService suppressionService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final RecurringConfig config;
+    
+    /**
+     * Create an active schedule, computing its first fire time
+     */
+    @Transactional
+    public RecurringScheduleResponse createSchedule(RecurringScheduleRequest request) {
+        Template template = templateRepository.findById(request.getTemplateId())
+            .orElseThrow(() -> new TemplateNotFoundException(request.getTemplateId()));
+        if (!template.isUsable()) {
+            throw new InvalidRequestException("Template is not active: " + template.getName());
+        }
+        if (request.getRecipients().size() > config.getMaxRecipients()) {
+            throw new InvalidRequestException("Too many recipients: max is " + config.getMaxRecipients());
+        }
+        
+        ZoneId zone = parseZone(request.getTimeZone());
+        CronExpression cron = parseCron(request.getCronExpression());
+        LocalDateTime nextFireAt = nextFire(cron, zone, LocalDateTime.now());
+        if (nextFireAt == null) {
+            throw new InvalidRequestException("Cron expression never fires: " + request.getCronExpression());
+        }
+        
+        RecurringSchedule schedule = new RecurringSchedule();
+        schedule.setName(request.getName());
+        schedule.setTemplate(template);
+        schedule.setCronExpression(request.getCronExpression().trim());
+        schedule.setTimeZone(zone.getId());
+        schedule.setRecipients(request.getRecipients().stream().map(String::trim).collect(Collectors.toSet()));
+        schedule.setChannel(request.getChannel());
+        schedule.setPriority(request.getPriority());
+        schedule.setTenantId(request.getTenantId());
+        schedule.setNextFireAt(nextFireAt);
+        try {
+            schedule.setVariables(objectMapper.writeValueAsString(request.getVariables()));
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Invalid schedule variables: " + e.getOriginalMessage());
+        }
+        
+        RecurringSchedule saved = scheduleRepository.save(schedule);
+        log.info("Recurring schedule {} '{}' created, first fire at {}", saved.getId(), saved.getName(), nextFireAt);
+        return mapToResponse(saved);
+    }
+    
+    @Transactional(readOnly = true)
+    public RecurringScheduleResponse getSchedule(Long id) {
+        return mapToResponse(findSchedule(id));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<RecurringScheduleResponse> getAllSchedules(Pageable pageable) {
+        return scheduleRepository.findAll(pageable).map(this::mapToResponse);
+    }
+    
+    /**
+     * Stop a schedule firing until it is resumed
+     */
+    @Transactional
+    public RecurringScheduleResponse pause(Long id) {
+        RecurringSchedule schedule = findSchedule(id);
+        schedule.setActive(false);
+        log.info("Recurring schedule {} paused", id);
+        return mapToResponse(scheduleRepository.save(schedule));
+    }
+    
+    /**
+     * Resume a schedule from its next fire time after now; fires missed while paused are skipped
+     */
+    @Transactional
+    public RecurringScheduleResponse resume(Long id) {
+        RecurringSchedule schedule = findSchedule(id);
+        schedule.setActive(true);
+        schedule.setNextFireAt(nextFire(CronExpression.parse(schedule.getCronExpression()),
+            ZoneId.of(schedule.getTimeZone()), LocalDateTime.now()));
+        log.info("Recurring schedule {} resumed, next fire at {}", id, schedule.getNextFireAt());
+        return mapToResponse(scheduleRepository.save(schedule));
+    }
+    
+    /**
+     * Fire every schedule that is due
+     */
+    @Scheduled(fixedDelayString = "${recurring.poll-interval:1000}")
+    public void fireDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DueSchedule> due = scheduleRepository.findDue(now, PageRequest.of(0, config.getBatchSize()));
+        for (DueSchedule schedule : due) {
+            try {
+                fire(schedule.getId(), schedule.getNextFireAt(), now);
+            } catch (RuntimeException e) {
+                log.error("Recurring schedule {} failed to fire", schedule.getId(), e);
+            }
+        }
+    }
+    
+    /**
+     * Claim one fire and expand it into notifications, dispatching them once committed
+     *
+     * @return notifications created, 0 if another node claimed the fire
+     */
+    int fire(Long id, LocalDateTime fireAt, LocalDateTime now) {
+        List<Notification> created = transactionTemplate.execute(status -> {
+            RecurringSchedule schedule = scheduleRepository.findById(id).orElse(null);
+            if (schedule == null) {
+                return List.<Notification>of();
+            }
+            LocalDateTime next = nextFire(CronExpression.parse(schedule.getCronExpression()),
+                ZoneId.of(schedule.getTimeZone()), fireAt.isAfter(now) ? fireAt : now);
+            if (scheduleRepository.claimFire(id, fireAt, next, now) == 0) {
+                return List.<Notification>of();
+            }
+            return expand(schedule);
+        });
+        
+        created.forEach(notificationDispatcher::submit);
+        log.info("Recurring schedule {} fired {} notifications", id, created.size());
+        return created.size();
+    }
+    
+    /**
+     * Render the schedule once and insert a notification per unsuppressed recipient, in chunks
+     */
+    private List<Notification> expand(RecurringSchedule schedule) {
+        Template template = schedule.getTemplate();
+        Map<String, Object> variables;
+        String subject;
+        String content;
+        try {
+            variables = StringUtils.hasText(schedule.getVariables())
+                ? objectMapper.readValue(schedule.getVariables(), VARIABLES) : Map.of();
+            subject = templateService.renderTemplate(template.getSubject(), variables);
+            content = templateRenderer.isLazy() ? null : templateRenderer.renderBody(template, variables);
+        } catch (JsonProcessingException | TemplateProcessingException e) {
+            // Keep the claim so a broken schedule does not refire every poll
+            log.error("Recurring schedule {} could not be rendered, skipping this fire", schedule.getId(), e);
+            return List.of();
+        }
+        
+        List<Notification> created = new ArrayList<>();
+        List<Notification> chunk = new ArrayList<>();
+        for (String recipient : new ArrayList<>(schedule.getRecipients())) {
+            if (suppressionService.isSuppressed(recipient)) {
+                continue;
+            }
+            Notification notification = new Notification();
+            notification.setRecipient(recipient);
+            notification.setChannel(schedule.getChannel());
+            notification.setPriority(schedule.getPriority());
+            notification.setStatus(NotificationStatus.PENDING);
+            notification.setRetryCount(0);
+            notification.setMaxRetries(3);
+            notification.setTemplate(template);
+            notification.setOrderedDelivery(Boolean.TRUE.equals(template.getOrderedDelivery()));
+            notification.setTenantId(schedule.getTenantId());
+            notificationTracing.stamp(notification);
+            notification.setSubject(subject);
+            if (content != null) {
+                notification.setContent(content);
+            } else {
+                templateRenderer.deferBody(notification, template, variables);
+            }
+            chunk.add(notification);
+            
+            if (chunk.size() >= config.getChunkSize()) {
+                flushChunk(chunk, created);
+            }
+        }
+        flushChunk(chunk, created);
+        return created;
+    }
+    
+    private void flushChunk(List<Notification> chunk, List<Notification> created) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        contentStore.externalize(chunk);
+        created.addAll(notificationRepository.saveAll(chunk));
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+    
+    private RecurringSchedule findSchedule(Long id) {
+        return scheduleRepository.findById(id)
+            .orElseThrow(() -> new RecurringScheduleNotFoundException(id));
+    }
+    
+    private static ZoneId parseZone(String timeZone) {
+        if (!StringUtils.hasText(timeZone)) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(timeZone.trim());
+        } catch (DateTimeException e) {
+            throw new InvalidRequestException("Unknown time zone: " + timeZone);
+        }
+    }
+    
+    private static CronExpression parseCron(String expression) {
+        try {
+            return CronExpression.parse(expression.trim());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cron expression: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Next match strictly after the given server-local time, evaluated in the schedule's zone
+     */
+    private static LocalDateTime nextFire(CronExpression cron, ZoneId zone, LocalDateTime after) {
+        ZoneId serverZone = ZoneId.systemDefault();
+        ZonedDateTime next = cron.next(after.atZone(serverZone).withZoneSameInstant(zone));
+        return next != null ? next.withZoneSameInstant(serverZone).toLocalDateTime() : null;
+    }
+    
+    private RecurringScheduleResponse mapToResponse(RecurringSchedule schedule) {
+        return RecurringScheduleResponse.builder()
+            .id(schedule.getId())
+            .name(schedule.getName())
+            .templateId(schedule.getTemplate().getId())
+            .cronExpression(schedule.getCronExpression())
+            .timeZone(schedule.getTimeZone())
+            .recipientCount(schedule.getRecipients().size())
+            .tenantId(schedule.getTenantId())
+            .active(schedule.getActive())
+            .nextFireAt(schedule.getNextFireAt())
+            .lastFiredAt(schedule.getLastFiredAt())
+            .fireCount(schedule.getFireCount())
+            .createdAt(schedule.getCreatedAt())
+            .build();
+    }
+}
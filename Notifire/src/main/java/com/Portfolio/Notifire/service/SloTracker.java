@@ -0,0 +1,207 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.SloConfig;
+import com.Portfolio.Notifire.dto.LatencySnapshot;
+import com.Portfolio.Notifire.dto.SloStatus;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tracks ingest-to-send latency against the configured SLOs. Each priority and
+ * channel has a rolling window of HdrHistogram slices; the send path records
+ * into a wait-free {@link Recorder}, and the slices are only merged when
+ * percentiles or burn rates are read. Latency is measured from creation, or
+ * from the scheduled time for future-dated notifications.
+ */
+@Service
+public class SloTracker {
+    
+    private static final int CHANNELS = NotificationChannel.values().length + 1;
+    private static final int PRIORITIES = NotificationPriority.values().length + 1;
+    
+    private final SloConfig config;
+    private final long highestTrackable;
+    private final AtomicReferenceArray<Window> windows = new AtomicReferenceArray<>(CHANNELS * PRIORITIES);
+    
+    public SloTracker(SloConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.highestTrackable = Math.max(2, config.getHighestTrackable().toMillis());
+        for (SloConfig.Objective objective : config.getObjectives()) {
+            Gauge.builder("notifire.slo.burn_rate", objective, o -> status(o).getBurnRate())
+                .description("Rate the error budget is spent at over the rolling window")
+                .tag("objective", objective.getName())
+                .register(meterRegistry);
+            Gauge.builder("notifire.slo.attainment", objective, o -> status(o).getAttainment())
+                .description("Fraction sent within the objective's threshold over the rolling window")
+                .tag("objective", objective.getName())
+                .register(meterRegistry);
+        }
+    }
+    
+    /**
+     * Record the latency of a notification that was just sent
+     */
+    public void record(Notification notification) {
+        if (notification.getStatus() != NotificationStatus.SENT
+            || notification.getCreatedAt() == null || notification.getSentAt() == null) {
+            return;
+        }
+        LocalDateTime start = notification.getCreatedAt();
+        if (notification.getScheduledAt() != null && notification.getScheduledAt().isAfter(start)) {
+            start = notification.getScheduledAt();
+        }
+        record(notification.getPriority(), notification.getChannel(),
+            Duration.between(start, notification.getSentAt()).toMillis());
+    }
+    
+    public void record(NotificationPriority priority, NotificationChannel channel, long latencyMillis) {
+        window(priority, channel).recorder.recordValue(Math.min(Math.max(latencyMillis, 0), highestTrackable));
+    }
+    
+    /**
+     * Drop the oldest slice of every window
+     */
+    @Scheduled(fixedRateString = "${slo.slice-interval:30000}")
+    public void rotate() {
+        for (int i = 0; i < windows.length(); i++) {
+            Window window = windows.get(i);
+            if (window != null) {
+                window.rotate();
+            }
+        }
+    }
+    
+    /**
+     * Percentiles for each priority and channel that has sent anything
+     */
+    public List<LatencySnapshot> getLatency() {
+        List<LatencySnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < windows.length(); i++) {
+            Window window = windows.get(i);
+            if (window == null) {
+                continue;
+            }
+            Histogram histogram = window.snapshot();
+            snapshots.add(LatencySnapshot.builder()
+                .priority(window.priority)
+                .channel(window.channel)
+                .count(histogram.getTotalCount())
+                .p50(histogram.getValueAtPercentile(50))
+                .p99(histogram.getValueAtPercentile(99))
+                .p999(histogram.getValueAtPercentile(99.9))
+                .max(histogram.getMaxValue())
+                .build());
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Attainment and burn rate of every configured objective
+     */
+    public List<SloStatus> getSloStatus() {
+        return config.getObjectives().stream().map(this::status).toList();
+    }
+    
+    private SloStatus status(SloConfig.Objective objective) {
+        Histogram merged = newHistogram();
+        for (int i = 0; i < windows.length(); i++) {
+            Window window = windows.get(i);
+            if (window != null
+                && (objective.getPriority() == null || objective.getPriority() == window.priority)
+                && (objective.getChannel() == null || objective.getChannel() == window.channel)) {
+                merged.add(window.snapshot());
+            }
+        }
+        
+        long threshold = objective.getThreshold().toMillis();
+        long count = merged.getTotalCount();
+        double attainment = count > 0 ? (double) merged.getCountBetweenValues(0, threshold) / count : 1.0;
+        double budget = 1.0 - objective.getTarget();
+        double burnRate = budget > 0 ? (1.0 - attainment) / budget : 0.0;
+        
+        return SloStatus.builder()
+            .name(objective.getName())
+            .priority(objective.getPriority())
+            .channel(objective.getChannel())
+            .thresholdMillis(threshold)
+            .target(objective.getTarget())
+            .count(count)
+            .attainment(attainment)
+            .burnRate(burnRate)
+            .build();
+    }
+    
+    private Window window(NotificationPriority priority, NotificationChannel channel) {
+        int index = (priority != null ? priority.ordinal() + 1 : 0) * CHANNELS
+            + (channel != null ? channel.ordinal() + 1 : 0);
+        Window window = windows.get(index);
+        if (window == null) {
+            windows.compareAndSet(index, null, new Window(priority, channel));
+            window = windows.get(index);
+        }
+        return window;
+    }
+    
+    private Histogram newHistogram() {
+        return new Histogram(1, highestTrackable, config.getSignificantDigits());
+    }
+    
+    /**
+     * Rolling window for one priority and channel: a recorder for the send path
+     * and a ring of slices, the head one accumulating. Guarded by itself except
+     * for the recorder.
+     */
+    private class Window {
+        
+        private final NotificationPriority priority;
+        private final NotificationChannel channel;
+        private final Recorder recorder;
+        private final Histogram[] slices;
+        private Histogram interval;
+        private int head;
+        
+        Window(NotificationPriority priority, NotificationChannel channel) {
+            this.priority = priority;
+            this.channel = channel;
+            this.recorder = new Recorder(1, highestTrackable, config.getSignificantDigits());
+            this.slices = new Histogram[Math.max(1, config.getSlices())];
+            for (int i = 0; i < slices.length; i++) {
+                slices[i] = newHistogram();
+            }
+        }
+        
+        synchronized void rotate() {
+            drain();
+            head = (head + 1) % slices.length;
+            slices[head].reset();
+        }
+        
+        synchronized Histogram snapshot() {
+            drain();
+            Histogram merged = newHistogram();
+            for (Histogram slice : slices) {
+                merged.add(slice);
+            }
+            return merged;
+        }
+        
+        private void drain() {
+            interval = recorder.getIntervalHistogram(interval);
+            slices[head].add(interval);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.StatusStreamConfig;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service pushing notification status transitions to stream subscribers.
+ * Events are published after the surrounding transaction commits, optionally
+ * relayed through Redis pub/sub, and fanned out to local subscribers whose
+ * filters match. Each subscriber has a bounded buffer that drops the oldest
+ * events when the client cannot keep up.
+ */
+@Service
+@Slf4j
+public class StatusStreamService {
+    
+    private final StatusStreamConfig config;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final Executor writer;
+    
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byNotificationId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byRecipient = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byTemplateId = new ConcurrentHashMap<>();
+    
+    public StatusStreamService(StatusStreamConfig config,
+                               ObjectMapper objectMapper,
+                               ObjectProvider<StringRedisTemplate> redisTemplate,
+                               @Qualifier("statusStreamExecutor") Executor writer) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.writer = writer;
+    }
+    
+    /**
+     * Open a stream for the given notification ids, recipient and/or template
+     */
+    public SseEmitter subscribe(Collection<Long> notificationIds, String recipient, Long templateId) {
+        boolean hasIds = notificationIds != null && !notificationIds.isEmpty();
+        if (!hasIds && (recipient == null || recipient.isBlank()) && templateId == null) {
+            throw new InvalidRequestException("At least one of ids, recipient or templateId must be provided");
+        }
+        if (hasIds && notificationIds.size() > config.getMaxIdsPerSubscription()) {
+            throw new InvalidRequestException("Too many notification ids, max is " + config.getMaxIdsPerSubscription());
+        }
+        
+        SseEmitter emitter = new SseEmitter(config.getEmitterTimeout());
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), emitter, config.getBufferSize(),
+            hasIds ? Set.copyOf(notificationIds) : Set.of(),
+            recipient != null && !recipient.isBlank() ? recipient.toLowerCase() : null,
+            templateId);
+        
+        subscribers.put(subscriber.id, subscriber);
+        subscriber.notificationIds.forEach(id -> index(byNotificationId, id, subscriber));
+        if (subscriber.recipient != null) {
+            index(byRecipient, subscriber.recipient, subscriber);
+        }
+        if (subscriber.templateId != null) {
+            index(byTemplateId, subscriber.templateId, subscriber);
+        }
+        
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        
+        log.debug("Status stream subscriber {} opened (ids: {}, recipient: {}, template: {})",
+            subscriber.id, subscriber.notificationIds.size(), subscriber.recipient, subscriber.templateId);
+        
+        return emitter;
+    }
+    
+    /**
+     * Receive status events once the producing transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusEvent(NotificationStatusEvent event) {
+        if (!config.isRedisEnabled()) {
+            deliverLocal(event);
+            return;
+        }
+        
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis == null) {
+            deliverLocal(event);
+            return;
+        }
+        
+        try {
+            redis.convertAndSend(config.getRedisChannel(), objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("Failed to relay status event for notification {} through Redis, delivering locally: {}",
+                event.getNotificationId(), e.getMessage());
+            deliverLocal(event);
+        }
+    }
+    
+    /**
+     * Deliver an event received from another node through Redis pub/sub
+     */
+    public void deliverRemote(String payload) {
+        try {
+            deliverLocal(objectMapper.readValue(payload, NotificationStatusEvent.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping malformed status event from Redis: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Fan an event out to matching subscribers on this node
+     */
+    public void deliverLocal(NotificationStatusEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        
+        Set<Subscriber> targets = new HashSet<>();
+        collect(byNotificationId, event.getNotificationId(), targets);
+        if (event.getRecipient() != null) {
+            collect(byRecipient, event.getRecipient().toLowerCase(), targets);
+        }
+        collect(byTemplateId, event.getTemplateId(), targets);
+        
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(event);
+        }
+    }
+    
+    /**
+     * Keep idle connections open through proxies
+     */
+    @Scheduled(fixedDelay = 15000, initialDelay = 15000)
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers.values()) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+            }
+        }
+    }
+    
+    /**
+     * Number of open subscriptions on this node
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber.id) == null) {
+            return;
+        }
+        subscriber.notificationIds.forEach(id -> deindex(byNotificationId, id, subscriber));
+        if (subscriber.recipient != null) {
+            deindex(byRecipient, subscriber.recipient, subscriber);
+        }
+        if (subscriber.templateId != null) {
+            deindex(byTemplateId, subscriber.templateId, subscriber);
+        }
+        log.debug("Status stream subscriber {} closed ({} events dropped)", subscriber.id, subscriber.dropped);
+    }
+    
+    private static <K> void index(Map<K, Set<Subscriber>> index, K key, Subscriber subscriber) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+    }
+    
+    private static <K> void deindex(Map<K, Set<Subscriber>> index, K key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+    
+    private static <K> void collect(Map<K, Set<Subscriber>> index, K key, Set<Subscriber> targets) {
+        if (key == null) {
+            return;
+        }
+        Set<Subscriber> matches = index.get(key);
+        if (matches != null) {
+            targets.addAll(matches);
+        }
+    }
+    
+    /**
+     * A single stream connection with its bounded, drop-oldest buffer
+     */
+    private final class Subscriber {
+        
+        private final String id;
+        private final SseEmitter emitter;
+        private final int capacity;
+        private final Set<Long> notificationIds;
+        private final String recipient;
+        private final Long templateId;
+        
+        private final ArrayDeque<NotificationStatusEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private long dropped;
+        private long droppedReported;
+        
+        private Subscriber(String id, SseEmitter emitter, int capacity,
+                           Set<Long> notificationIds, String recipient, Long templateId) {
+            this.id = id;
+            this.emitter = emitter;
+            this.capacity = capacity;
+            this.notificationIds = notificationIds;
+            this.recipient = recipient;
+            this.templateId = templateId;
+            this.buffer = new ArrayDeque<>(Math.min(capacity, 64));
+        }
+        
+        private void offer(NotificationStatusEvent event) {
+            synchronized (buffer) {
+                if (buffer.size() >= capacity) {
+                    buffer.pollFirst();
+                    dropped++;
+                }
+                buffer.addLast(event);
+            }
+            scheduleDrain();
+        }
+        
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writer.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    log.warn("Status stream writer rejected drain for subscriber {}: {}", id, e.getMessage());
+                }
+            }
+        }
+        
+        private void drain() {
+            try {
+                while (true) {
+                    NotificationStatusEvent event;
+                    long overflow;
+                    synchronized (buffer) {
+                        event = buffer.pollFirst();
+                        overflow = dropped - droppedReported;
+                        droppedReported = dropped;
+                    }
+                    if (overflow > 0) {
+                        emitter.send(SseEmitter.event().name("overflow").data(overflow));
+                    }
+                    if (event == null) {
+                        break;
+                    }
+                    emitter.send(SseEmitter.event()
+                        .name("status")
+                        .id(String.valueOf(event.getNotificationId()))
+                        .data(event));
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            
+            boolean pending;
+            synchronized (buffer) {
+                pending = !buffer.isEmpty();
+            }
+            if (pending && subscribers.containsKey(id)) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.SuppressionConfig;
+import com.Portfolio.Notifire.dto.SuppressionResponse;
+import com.Portfolio.Notifire.exception.RecipientSuppressedException;
+import com.Portfolio.Notifire.model.entity.SuppressedRecipient;
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import com.Portfolio.Notifire.repository.SuppressedRecipientRepository;
+import com.Portfolio.Notifire.util.BloomFilter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service for the recipient suppression list.
+ * Membership is answered from an in-memory Bloom filter of suppressed
+ * addresses: a miss means "not suppressed" without touching the database,
+ * and only hits (real entries or rare false positives) are confirmed with
+ * an indexed lookup. The filter costs a few bits per address rather than a
+ * heap object per address, is topped up periodically with rows changed on
+ * any node, and is rebuilt from scratch on a longer interval so removed
+ * addresses stop costing lookups.
+ */
+@Service
+@Slf4j
+public class SuppressionService {
+    
+    private static final String CSV_HEADER = "email,reason,updatedAt";
+    
+    private final SuppressedRecipientRepository repository;
+    private final SuppressionConfig config;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    
+    private volatile BloomFilter filter;
+    
+    /**
+     * Until the first load completes every check goes to the database
+     */
+    private volatile boolean loaded = false;
+    
+    /**
+     * Start of the last successful load or refresh
+     */
+    private volatile LocalDateTime watermark;
+    
+    public SuppressionService(SuppressedRecipientRepository repository,
+                              SuppressionConfig config,
+                              TransactionTemplate transactionTemplate,
+                              EntityManager entityManager) {
+        this.repository = repository;
+        this.config = config;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.filter = new BloomFilter(config.getExpectedEntries(), config.getFalsePositiveProbability());
+    }
+    
+    /**
+     * Check whether an address is suppressed
+     */
+    public boolean isSuppressed(String recipient) {
+        String email = normalize(recipient);
+        if (loaded && !filter.mightContain(email)) {
+            return false;
+        }
+        return repository.existsByEmailAndActiveTrue(email);
+    }
+    
+    /**
+     * Reject sending to a suppressed address
+     *
+     * @throws RecipientSuppressedException if the address is suppressed
+     */
+    public void checkNotSuppressed(String recipient) {
+        if (isSuppressed(recipient)) {
+            throw new RecipientSuppressedException(recipient);
+        }
+    }
+    
+    /**
+     * Add or reactivate a single address
+     */
+    @Transactional
+    public SuppressionResponse suppress(String recipient, SuppressionReason reason) {
+        String email = normalize(recipient);
+        SuppressedRecipient entry = repository.findByEmail(email).orElseGet(SuppressedRecipient::new);
+        entry.setEmail(email);
+        entry.setReason(reason != null ? reason : SuppressionReason.MANUAL);
+        entry.setActive(true);
+        
+        SuppressedRecipient saved = repository.save(entry);
+        filter.put(email);
+        log.info("Suppressed {} ({})", email, saved.getReason());
+        return mapToResponse(saved);
+    }
+    
+    /**
+     * Remove an address from the list. Its filter bits stay set until the
+     * next rebuild, so it is confirmed against the database until then.
+     *
+     * @return false if the address was not suppressed
+     */
+    @Transactional
+    public boolean unsuppress(String recipient) {
+        return repository.findByEmail(normalize(recipient))
+            .filter(SuppressedRecipient::getActive)
+            .map(entry -> {
+                entry.setActive(false);
+                log.info("Removed {} from suppression list", entry.getEmail());
+                return true;
+            })
+            .orElse(false);
+    }
+    
+    /**
+     * Import addresses, one per line as {@code email[,reason]}. Blank lines,
+     * {@code #} comments and the export header are skipped, so an export can
+     * be imported as-is. Addresses are upserted in chunks, one transaction each.
+     */
+    public ImportResult importAddresses(InputStream in, SuppressionReason defaultReason) throws IOException {
+        SuppressionReason fallback = defaultReason != null ? defaultReason : SuppressionReason.MANUAL;
+        Map<String, SuppressionReason> chunk = new LinkedHashMap<>();
+        long imported = 0;
+        long invalid = 0;
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#") || line.equalsIgnoreCase(CSV_HEADER)) {
+                continue;
+            }
+            
+            String[] fields = line.split(",", 3);
+            String email = normalize(fields[0]);
+            SuppressionReason reason = fallback;
+            if (fields.length > 1 && !fields[1].isBlank()) {
+                try {
+                    reason = SuppressionReason.valueOf(fields[1].strip().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    invalid++;
+                    continue;
+                }
+            }
+            if (!isPlausibleAddress(email)) {
+                invalid++;
+                continue;
+            }
+            
+            chunk.put(email, reason);
+            if (chunk.size() >= config.getImportChunkSize()) {
+                imported += upsertChunk(chunk);
+            }
+        }
+        imported += upsertChunk(chunk);
+        
+        log.info("Suppression import finished: {} addresses imported, {} invalid lines", imported, invalid);
+        return new ImportResult(imported, invalid);
+    }
+    
+    /**
+     * Add or reactivate a batch of addresses, e.g. from provider bounce events, in chunked upserts
+     *
+     * @return number of addresses suppressed
+     */
+    public long suppressAll(Map<String, SuppressionReason> addresses) {
+        Map<String, SuppressionReason> chunk = new LinkedHashMap<>();
+        long suppressed = 0;
+        for (Map.Entry<String, SuppressionReason> entry : addresses.entrySet()) {
+            String email = normalize(entry.getKey());
+            if (!isPlausibleAddress(email)) {
+                continue;
+            }
+            chunk.put(email, entry.getValue());
+            if (chunk.size() >= config.getImportChunkSize()) {
+                suppressed += upsertChunk(chunk);
+            }
+        }
+        return suppressed + upsertChunk(chunk);
+    }
+    
+    /**
+     * Stream active entries as CSV
+     *
+     * @return number of addresses written
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        
+        long count = 0;
+        try (Stream<SuppressedRecipient> entries = repository.streamActive()) {
+            for (SuppressedRecipient entry : (Iterable<SuppressedRecipient>) entries::iterator) {
+                writer.write(entry.getEmail());
+                writer.write(',');
+                writer.write(entry.getReason().name());
+                writer.write(',');
+                writer.write(entry.getUpdatedAt().toString());
+                writer.write('\n');
+                entityManager.detach(entry);
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+    
+    /**
+     * Rebuild the filter from all active rows, sized for the current list
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${suppression.rebuild-interval:21600000}",
+               initialDelayString = "${suppression.rebuild-interval:21600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LocalDateTime started = LocalDateTime.now();
+        long active = repository.countByActiveTrue();
+        BloomFilter rebuilt = new BloomFilter(Math.max(config.getExpectedEntries(), active + active / 4),
+            config.getFalsePositiveProbability());
+        
+        try (Stream<String> emails = repository.streamActiveEmails()) {
+            emails.forEach(rebuilt::put);
+        }
+        
+        filter = rebuilt;
+        watermark = started;
+        loaded = true;
+        log.info("Suppression filter rebuilt with {} addresses ({} bits)", rebuilt.getInsertions(), rebuilt.getBitCount());
+    }
+    
+    /**
+     * Add addresses suppressed on any node since the last refresh
+     */
+    @Scheduled(fixedDelayString = "${suppression.refresh-interval:30000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        if (!loaded) {
+            return;
+        }
+        
+        LocalDateTime started = LocalDateTime.now();
+        BloomFilter current = filter;
+        long added;
+        try (Stream<String> emails = repository.streamActiveEmailsUpdatedSince(watermark.minus(config.getRefreshOverlap()))) {
+            added = emails.filter(current::put).count();
+        }
+        watermark = started;
+        
+        if (added > 0) {
+            log.debug("Suppression filter refreshed with {} new addresses", added);
+        }
+        if (current.isSaturated()) {
+            log.warn("Suppression filter is over capacity; rebuilding early");
+            rebuild();
+        }
+    }
+    
+    /**
+     * Upsert a chunk of addresses in one transaction, then clear it
+     */
+    private long upsertChunk(Map<String, SuppressionReason> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, SuppressedRecipient> existing = repository.findByEmailIn(chunk.keySet()).stream()
+                .collect(Collectors.toMap(SuppressedRecipient::getEmail, Function.identity()));
+            
+            chunk.forEach((email, reason) -> {
+                SuppressedRecipient entry = existing.get(email);
+                boolean created = entry == null;
+                if (created) {
+                    entry = new SuppressedRecipient();
+                    entry.setEmail(email);
+                }
+                entry.setReason(reason);
+                entry.setActive(true);
+                if (created) {
+                    entityManager.persist(entry);
+                }
+            });
+            entityManager.flush();
+            entityManager.clear();
+        });
+        
+        chunk.keySet().forEach(filter::put);
+        long count = chunk.size();
+        chunk.clear();
+        return count;
+    }
+    
+    /**
+     * Canonical form used for storage and lookups
+     */
+    public static String normalize(String email) {
+        return email == null ? "" : email.strip().toLowerCase(Locale.ROOT);
+    }
+    
+    private boolean isPlausibleAddress(String email) {
+        int at = email.indexOf('@');
+        return at > 0 && at == email.lastIndexOf('@') && at < email.length() - 1
+            && email.length() <= 255 && email.chars().noneMatch(Character::isWhitespace);
+    }
+    
+    private SuppressionResponse mapToResponse(SuppressedRecipient entry) {
+        return SuppressionResponse.builder()
+            .email(entry.getEmail())
+            .reason(entry.getReason())
+            .active(entry.getActive())
+            .createdAt(entry.getCreatedAt())
+            .updatedAt(entry.getUpdatedAt())
+            .build();
+    }
+    
+    /**
+     * Totals for a finished import
+     */
+    public record ImportResult(long imported, long invalid) {}
+}
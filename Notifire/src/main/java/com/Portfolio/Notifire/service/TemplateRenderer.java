@@ -0,0 +1,127 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.RenderConfig;
+import com.Portfolio.Notifire.exception.TemplateProcessingException;
+import com.Portfolio.Notifire.jfr.RenderEvent;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.util.CompiledTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Renders template bodies from an LRU of compiled templates, and in lazy mode
+ * defers the body of templated notifications until they are sent. A deferred
+ * notification stores only its template version and variables; its rendered
+ * body is not persisted unless sampled for audit.
+ */
+@Service
+@Slf4j
+public class TemplateRenderer {
+    
+    private static final TypeReference<Map<String, Object>> VARIABLES = new TypeReference<>() {};
+    
+    private final RenderConfig config;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Compiled bodies by template id and version, least recently used evicted first. Guarded by itself.
+     */
+    private final Map<String, CompiledTemplate> compiled;
+    
+    public TemplateRenderer(RenderConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.compiled = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate> eldest) {
+                return size() > config.getCompiledCacheSize();
+            }
+        };
+    }
+    
+    public boolean isLazy() {
+        return config.isLazy();
+    }
+    
+    /**
+     * Store the template version and variables instead of a rendered body
+     */
+    public void deferBody(Notification notification, Template template, Map<String, Object> variables) {
+        try {
+            notification.setTemplateVariables(objectMapper.writeValueAsString(variables != null ? variables : Map.of()));
+        } catch (JsonProcessingException e) {
+            throw new TemplateProcessingException("Failed to process template variables", e);
+        }
+        notification.setTemplateVersion(template.getVersion());
+        notification.setContent(null);
+    }
+    
+    /**
+     * Render a template body with the compiled template for its current version
+     */
+    public String renderBody(Template template, Map<String, Object> variables) {
+        return compiledBody(template).render(variables);
+    }
+    
+    /**
+     * Render the body of a deferred notification for sending
+     */
+    public String renderContent(Notification notification) {
+        Template template = notification.getTemplate();
+        if (!Objects.equals(template.getVersion(), notification.getTemplateVersion())) {
+            log.debug("Template {} changed from version {} to {} since notification {} was queued, rendering the current version",
+                template.getId(), notification.getTemplateVersion(), template.getVersion(), notification.getId());
+        }
+        
+        Map<String, Object> variables;
+        try {
+            variables = StringUtils.hasText(notification.getTemplateVariables())
+                ? objectMapper.readValue(notification.getTemplateVariables(), VARIABLES) : Map.of();
+        } catch (JsonProcessingException e) {
+            throw new TemplateProcessingException("Stored variables of notification " + notification.getId() + " are not valid JSON", e);
+        }
+        
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        String body = renderBody(template, variables);
+        event.end();
+        if (event.shouldCommit()) {
+            event.notificationId = notification.getId() != null ? notification.getId() : 0;
+            event.templateId = template.getId() != null ? template.getId() : 0;
+            event.channel = notification.getChannel() != null ? notification.getChannel().name() : null;
+            event.payloadSize = body.length();
+            event.commit();
+        }
+        
+        if (config.getAuditSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < config.getAuditSampleRate()) {
+            notification.setContent(body);
+        }
+        return body;
+    }
+    
+    private CompiledTemplate compiledBody(Template template) {
+        String key = template.getId() + ":" + template.getVersion();
+        synchronized (compiled) {
+            CompiledTemplate cached = compiled.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Compile outside the lock; a racing compile of the same key is harmless
+        CompiledTemplate fresh = CompiledTemplate.compile(template.getBody());
+        synchronized (compiled) {
+            compiled.put(key, fresh);
+        }
+        return fresh;
+    }
+}
@@ -53,6 +53,7 @@ public class TemplateService {
         template.setBody(request.getBody());
         template.setChannel(request.getChannel());
         template.setIsActive(request.getIsActive());
+        template.setOrderedDelivery(Boolean.TRUE.equals(request.getOrderedDelivery()));
         template.setVersion(1);
         
         // Convert variables list to JSON
@@ -151,6 +152,7 @@ public class TemplateService {
         template.setBody(request.getBody());
         template.setChannel(request.getChannel());
         template.setIsActive(request.getIsActive());
+        template.setOrderedDelivery(Boolean.TRUE.equals(request.getOrderedDelivery()));
         template.setVersion(template.getVersion() + 1);
         
         // Update variables
@@ -240,6 +242,7 @@ public class TemplateService {
             .variables(variablesList)
             .channel(template.getChannel())
             .isActive(template.getIsActive())
+            .orderedDelivery(template.getOrderedDelivery())
             .version(template.getVersion())
             .createdAt(template.getCreatedAt())
             .updatedAt(template.getUpdatedAt())
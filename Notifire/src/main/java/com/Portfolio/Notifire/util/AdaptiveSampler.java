@@ -0,0 +1,96 @@
+package com.Portfolio.Notifire.util;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Root sampler that keeps roughly a target number of traces per second. The
+ * root spans seen in each window set the probability for the next one, so at
+ * low traffic everything is sampled and at high traffic the tracing cost stays
+ * flat. The decision is a function of the trace id, like the ratio sampler, and
+ * the probability in force is recorded on sampled spans so counts can be
+ * extrapolated.
+ */
+public class AdaptiveSampler implements Sampler {
+    
+    public static final AttributeKey<Double> PROBABILITY = AttributeKey.doubleKey("sampling.probability");
+    
+    private final double targetPerSecond;
+    private final double minProbability;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    
+    private final LongAdder seen = new LongAdder();
+    private final AtomicLong windowStart;
+    private volatile double probability = 1.0;
+    
+    public AdaptiveSampler(double targetPerSecond, double minProbability, long windowMillis) {
+        this(targetPerSecond, minProbability, windowMillis, System::nanoTime);
+    }
+    
+    AdaptiveSampler(double targetPerSecond, double minProbability, long windowMillis, LongSupplier nanoClock) {
+        if (targetPerSecond <= 0) {
+            throw new IllegalArgumentException("Target traces per second must be positive");
+        }
+        this.targetPerSecond = targetPerSecond;
+        this.minProbability = Math.min(1.0, Math.max(0.0, minProbability));
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, windowMillis));
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+    
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        seen.increment();
+        adjust();
+        
+        double p = probability;
+        if (p < 1.0 && traceIdBits(traceId) >= (long) (p * Long.MAX_VALUE)) {
+            return SamplingResult.drop();
+        }
+        return SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE, Attributes.of(PROBABILITY, p));
+    }
+    
+    @Override
+    public String getDescription() {
+        return "AdaptiveSampler{targetPerSecond=" + targetPerSecond + "}";
+    }
+    
+    public double getProbability() {
+        return probability;
+    }
+    
+    /**
+     * Once per window, set the probability that would have kept the last window at the target
+     */
+    private void adjust() {
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        long elapsed = now - start;
+        if (elapsed < windowNanos || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        double rate = seen.sumThenReset() * 1e9 / elapsed;
+        probability = rate <= targetPerSecond ? 1.0 : Math.max(minProbability, targetPerSecond / rate);
+    }
+    
+    /**
+     * Low 63 bits of the trace id, uniformly distributed for random ids
+     */
+    private static long traceIdBits(String traceId) {
+        return Long.parseUnsignedLong(traceId.substring(traceId.length() - 16), 16) & Long.MAX_VALUE;
+    }
+}
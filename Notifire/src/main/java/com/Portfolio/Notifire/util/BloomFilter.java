@@ -0,0 +1,130 @@
+package com.Portfolio.Notifire.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe, lock-free Bloom filter over strings.
+ * Answers "definitely absent" or "possibly present" using a fixed bit array
+ * sized from the expected number of insertions and target false positive
+ * probability. Elements cannot be removed.
+ */
+public class BloomFilter {
+    
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final AtomicLong insertions = new AtomicLong();
+    
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False positive probability must be in (0, 1)");
+        }
+        
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+            / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+        
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+    
+    /**
+     * Add an element
+     *
+     * @return true if any bit changed, i.e. the element was definitely not present before
+     */
+    public boolean put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean changed = false;
+        
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+                changed = true;
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+        return changed;
+    }
+    
+    /**
+     * Check membership
+     *
+     * @return false if the element was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Approximate number of distinct elements added
+     */
+    public long getInsertions() {
+        return insertions.get();
+    }
+    
+    /**
+     * True once more elements were added than the filter was sized for,
+     * meaning the false positive rate is above target
+     */
+    public boolean isSaturated() {
+        return insertions.get() > expectedInsertions;
+    }
+    
+    public long getBitCount() {
+        return bitCount;
+    }
+    
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+    
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finalized with the MurmurHash3 mixer
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
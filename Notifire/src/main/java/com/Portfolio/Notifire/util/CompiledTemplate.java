@@ -0,0 +1,71 @@
+package com.Portfolio.Notifire.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Template text pre-split into literal and {{variable}} segments, so
+ * rendering is one pass appending segments instead of a regex scan and a
+ * string replace per placeholder. A placeholder with no value is left as
+ * written. Immutable and safe to share between threads.
+ */
+public final class CompiledTemplate {
+    
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^}]+)\\}\\}");
+    
+    /**
+     * Literal text at even indexes, variable names at odd ones
+     */
+    private final String[] segments;
+    private final String[] placeholders;
+    private final int literalLength;
+    
+    private CompiledTemplate(String[] segments, String[] placeholders, int literalLength) {
+        this.segments = segments;
+        this.placeholders = placeholders;
+        this.literalLength = literalLength;
+    }
+    
+    public static CompiledTemplate compile(String text) {
+        List<String> segments = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int literalLength = 0;
+        int last = 0;
+        
+        Matcher matcher = VARIABLE.matcher(text);
+        while (matcher.find()) {
+            segments.add(text.substring(last, matcher.start()));
+            segments.add(matcher.group(1).trim());
+            placeholders.add(matcher.group());
+            literalLength += matcher.start() - last;
+            last = matcher.end();
+        }
+        segments.add(text.substring(last));
+        literalLength += text.length() - last;
+        
+        return new CompiledTemplate(segments.toArray(new String[0]), placeholders.toArray(new String[0]), literalLength);
+    }
+    
+    public String render(Map<String, Object> variables) {
+        StringBuilder out = new StringBuilder(literalLength + 16 * placeholders.length);
+        for (int i = 0; i < segments.length; i++) {
+            if (i % 2 == 0) {
+                out.append(segments[i]);
+                continue;
+            }
+            Object value = variables != null ? variables.get(segments[i]) : null;
+            out.append(value != null ? value.toString() : placeholders[i / 2]);
+        }
+        return out.toString();
+    }
+    
+    /**
+     * Number of placeholders in the template
+     */
+    public int getVariableCount() {
+        return placeholders.length;
+    }
+}
@@ -0,0 +1,89 @@
+package com.Portfolio.Notifire.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Span exporter appending finished spans to a file as newline-delimited JSON,
+ * for running without a collector
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+    
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+    
+    public FileSpanExporter(Path file, ObjectMapper objectMapper) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.objectMapper = objectMapper;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(toMap(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Failed to write {} spans: {}", spans.size(), e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+    
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+    
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+    
+    private static Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", span.getTraceId());
+        map.put("spanId", span.getSpanId());
+        map.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        map.put("name", span.getName());
+        map.put("kind", span.getKind().name());
+        map.put("startEpochNanos", span.getStartEpochNanos());
+        map.put("durationNanos", span.getEndEpochNanos() - span.getStartEpochNanos());
+        map.put("status", span.getStatus().getStatusCode().name());
+        map.put("attributes", attributes);
+        return map;
+    }
+}
@@ -0,0 +1,161 @@
+package com.Portfolio.Notifire.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor running tasks with the same key one at a time and in submission
+ * order, while tasks with different keys run in parallel on a shared pool.
+ * Keys are hashed onto a fixed number of stripes, each a serial lane that
+ * occupies at most one pool thread while it has work and gives it back after
+ * each batch; two keys sharing a stripe are serialized together, which costs
+ * parallelism but never order.
+ */
+public class KeyedExecutor {
+    
+    /**
+     * Tasks a lane runs before giving its pool thread back
+     */
+    static final int BATCH = 16;
+    
+    private final Executor executor;
+    private final Lane[] lanes;
+    
+    /**
+     * @param executor pool the lanes run on
+     * @param stripes  number of serial lanes, rounded up to a power of two
+     */
+    public KeyedExecutor(Executor executor, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripes must be at least 1");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.executor = executor;
+        this.lanes = new Lane[size];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+    
+    /**
+     * Run a task after every task previously submitted with the same key
+     *
+     * @throws RejectedExecutionException if the pool rejects the lane; the task is not run
+     */
+    public void execute(Object key, Runnable task) {
+        lanes[stripeOf(key)].submit(task);
+    }
+    
+    public int getStripes() {
+        return lanes.length;
+    }
+    
+    /**
+     * Index of the stripe a key is serialized on, between 0 and {@link #getStripes()} - 1
+     */
+    public int stripeOf(Object key) {
+        int h = key.hashCode();
+        // Spread high bits down so keys differing only there land on different stripes
+        h ^= h >>> 16;
+        return h & (lanes.length - 1);
+    }
+    
+    private final class Lane implements Runnable {
+        
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+        
+        /**
+         * Queue a task, starting the lane if it is idle. A rejection reaches the caller
+         * whose task would have started the lane. Tasks other threads queued on the lane
+         * meanwhile have already been accepted, so the lane is offered to the pool once
+         * more for them; if that is refused too they run when the stripe is next started.
+         * Nothing ever runs on the submitting thread.
+         */
+        void submit(Runnable task) {
+            synchronized (this) {
+                tasks.addLast(task);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                boolean stranded;
+                synchronized (this) {
+                    // The lane was idle, so this task is at the head
+                    tasks.removeFirst();
+                    stranded = !tasks.isEmpty();
+                    scheduled = stranded;
+                }
+                if (stranded) {
+                    reschedule();
+                }
+                throw e;
+            }
+        }
+        
+        /**
+         * Run at most a batch of tasks, then hand the lane back to the pool so a busy
+         * stripe does not keep a pool thread to itself. The lane stays scheduled in
+         * between, so its tasks still run one at a time and in order.
+         */
+        @Override
+        public void run() {
+            while (true) {
+                for (int i = 0; i < BATCH; i++) {
+                    Runnable task;
+                    synchronized (this) {
+                        task = tasks.pollFirst();
+                        if (task == null) {
+                            scheduled = false;
+                            return;
+                        }
+                    }
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        // A failing task must not stall the tasks queued behind it
+                        Thread current = Thread.currentThread();
+                        current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                    }
+                }
+                
+                synchronized (this) {
+                    if (tasks.isEmpty()) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                try {
+                    executor.execute(this);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // The pool is full; this is already a pool thread, so carry on with the next batch
+                }
+            }
+        }
+        
+        /**
+         * Offer a scheduled lane with queued tasks to the pool
+         */
+        private void reschedule() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Left queued; the next submission on this stripe starts the lane again
+                synchronized (this) {
+                    scheduled = false;
+                }
+            }
+        }
+    }
+}
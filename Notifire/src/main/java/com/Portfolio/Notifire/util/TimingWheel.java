@@ -0,0 +1,132 @@
+package com.Portfolio.Notifire.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code wheelSize} slots of one tick
+ * each; every level above has slots as wide as the whole level below, so with
+ * a 100ms tick, 60 slots and 3 levels the levels span 6 seconds, 6 minutes and
+ * 6 hours. Adding a timer and expiring a slot are O(1); a timer on a higher
+ * level is cascaded down once per level as its slot comes round.
+ * <p>
+ * Timers fire on the first {@link #advance} at or after their due time, at most
+ * one tick late and never early. Not thread-safe.
+ */
+public class TimingWheel<T> {
+    
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks;
+    private final List<Timer<T>>[][] slots;
+    
+    /**
+     * Start of the current tick; everything before it has been expired
+     */
+    private long currentTime;
+    private int size;
+    
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1ms");
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("Wheel size must be at least 2");
+        }
+        if (levels < 1) {
+            throw new IllegalArgumentException("At least one level is required");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levels];
+        this.slots = new List[levels][wheelSize];
+        
+        long levelTick = tickMillis;
+        for (int level = 0; level < levels; level++) {
+            levelTicks[level] = levelTick;
+            levelTick = Math.multiplyExact(levelTick, wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new ArrayList<>();
+            }
+        }
+        this.currentTime = startMillis - startMillis % tickMillis;
+    }
+    
+    /**
+     * Add a timer. One already due fires on the next tick.
+     *
+     * @return false if the due time is beyond the wheel's horizon and the timer was not added
+     */
+    public boolean add(T item, long dueMillis) {
+        if (dueMillis >= horizon()) {
+            return false;
+        }
+        place(new Timer<>(item, Math.max(dueMillis, currentTime)));
+        size++;
+        return true;
+    }
+    
+    /**
+     * Move the wheel forward to now, returning the timers that came due in order of their slots
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            
+            // Expire the tick just passed before cascading, as its slot is reused for the far end of level 0
+            List<Timer<T>> passed = slots[0][slotIndex(currentTime - tickMillis, 0)];
+            for (Timer<T> timer : passed) {
+                expired.add(timer.item());
+            }
+            size -= passed.size();
+            passed.clear();
+            
+            // Cascade from the top so a timer can drop more than one level in a tick
+            for (int level = levelTicks.length - 1; level > 0; level--) {
+                if (currentTime % levelTicks[level] == 0) {
+                    List<Timer<T>> slot = slots[level][slotIndex(currentTime, level)];
+                    if (!slot.isEmpty()) {
+                        List<Timer<T>> timers = new ArrayList<>(slot);
+                        slot.clear();
+                        timers.forEach(this::place);
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+    
+    /**
+     * Exclusive upper bound on due times the wheel can currently hold
+     */
+    public long horizon() {
+        int top = levelTicks.length - 1;
+        return (currentTime / levelTicks[top] + wheelSize) * levelTicks[top];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Put a timer on the lowest level whose span covers it, in the slot for its due time
+     */
+    private void place(Timer<T> timer) {
+        for (int level = 0; level < levelTicks.length; level++) {
+            long levelTick = levelTicks[level];
+            if (timer.due() < (currentTime / levelTick + wheelSize) * levelTick) {
+                slots[level][slotIndex(timer.due(), level)].add(timer);
+                return;
+            }
+        }
+        throw new IllegalStateException("Timer beyond the wheel horizon");
+    }
+    
+    private int slotIndex(long time, int level) {
+        return (int) ((time / levelTicks[level]) % wheelSize);
+    }
+    
+    private record Timer<T>(T item, long due) {}
+}
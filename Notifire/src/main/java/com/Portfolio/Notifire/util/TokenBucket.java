@@ -0,0 +1,62 @@
+package com.Portfolio.Notifire.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm.
+ * The whole state is one "theoretical arrival time" updated with CAS: each
+ * permit pushes it forward by one emission interval, and a permit is only
+ * granted while it stays within the burst allowance of the current time.
+ */
+public class TokenBucket {
+    
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+    
+    /**
+     * @param ratePerSecond sustained permits per second
+     * @param burst         permits that may be taken at once after an idle period
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+    }
+    
+    /**
+     * Take a permit if one is available
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 if the permit was taken, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - burstNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Return a permit taken by {@link #tryAcquire} that ended up unused
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+    
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+}
@@ -0,0 +1,86 @@
+package com.Portfolio.Notifire.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Signature;
+import java.security.SignatureException;
+
+/**
+ * Input stream feeding every byte read through a signature, so a body can be
+ * parsed as it streams in and its signature checked once it has been read.
+ * Call {@link #verify} only after the stream has been read to the end.
+ */
+public class VerifyingInputStream extends FilterInputStream {
+    
+    private final Signature signature;
+    
+    /**
+     * @param signature initialized for verification, and already updated with anything signed ahead of the body
+     */
+    public VerifyingInputStream(InputStream in, Signature signature) {
+        super(in);
+        this.signature = signature;
+    }
+    
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            update(new byte[] {(byte) b}, 0, 1);
+        }
+        return b;
+    }
+    
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            update(buffer, offset, read);
+        }
+        return read;
+    }
+    
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes are signed too, so read them through
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+    
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+    
+    /**
+     * Drain whatever is left of the body and check the signature over all of it
+     */
+    public boolean verify(byte[] expected) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (read(buffer, 0, buffer.length) >= 0) {
+            // Trailing bytes the parser did not need are part of the signed body
+        }
+        try {
+            return signature.verify(expected);
+        } catch (SignatureException e) {
+            return false;
+        }
+    }
+    
+    private void update(byte[] buffer, int offset, int length) throws IOException {
+        try {
+            signature.update(buffer, offset, length);
+        } catch (SignatureException e) {
+            throw new IOException("Signature not initialized", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- Atomically pop due members of a delayed-delivery sorted set.
+-- KEYS[1]: sorted set of notification ids scored by due time in epoch milliseconds
+-- ARGV[1]: pop members due at or before this time, in epoch milliseconds
+-- ARGV[2]: maximum number of ids to pop
+-- Returns id, due time pairs flattened, earliest due first. Each id is returned to one caller only.
+local popped = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, tonumber(ARGV[2]))
+if #popped > 0 then
+  local ids = {}
+  for i = 1, #popped, 2 do
+    ids[#ids + 1] = popped[i]
+  end
+  redis.call('ZREM', KEYS[1], unpack(ids))
+end
+return popped
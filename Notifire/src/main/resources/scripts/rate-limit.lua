@@ -0,0 +1,36 @@
+-- Atomic multi-bucket GCRA rate limiter.
+-- KEYS[i]: bucket key, holding its theoretical arrival time in microseconds
+-- ARGV[2i-1]: emission interval of bucket i in microseconds
+-- ARGV[2i]: burst of bucket i
+-- Returns 0 if a permit was taken from every bucket, otherwise the wait in
+-- milliseconds until all of them can grant one. Nothing is taken on denial.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+
+local next_tats = {}
+local max_wait = 0
+for i = 1, #KEYS do
+  local interval = tonumber(ARGV[2 * i - 1])
+  local burst = tonumber(ARGV[2 * i])
+  local tat = tonumber(redis.call('GET', KEYS[i])) or now
+  if tat < now then
+    tat = now
+  end
+  local next_tat = tat + interval
+  local wait = next_tat - interval * burst - now
+  if wait > max_wait then
+    max_wait = wait
+  end
+  next_tats[i] = next_tat
+end
+
+if max_wait > 0 then
+  return math.ceil(max_wait / 1000)
+end
+
+for i = 1, #KEYS do
+  local interval = tonumber(ARGV[2 * i - 1])
+  local burst = tonumber(ARGV[2 * i])
+  redis.call('SET', KEYS[i], string.format('%.0f', next_tats[i]), 'PX', math.ceil(interval * burst / 1000) + 1000)
+end
+return 0
@@ -0,0 +1,227 @@
+package com.Portfolio.Notifire.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.Portfolio.Notifire.config.LogSamplingConfig;
+import com.Portfolio.Notifire.service.LogSampler;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends per second through the logging a notification generates on its way
+ * from ingest to a successful send, under the default logging setup and the
+ * prod profile. The default setup is synchronous pattern output with the
+ * application at DEBUG and Hibernate echoing formatted SQL to stdout; the prod
+ * profile is JSON through the async appender at INFO, no SQL, with
+ * success-path logs sampled per notification.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.Portfolio.Notifire.benchmark.LoggingBenchmark}, or from
+ * the IDE. Optional arguments: threads, seconds per run, sampled rate.
+ */
+public class LoggingBenchmark {
+    
+    private static final String BODY = "<p>Hello Jane, your order #12345 has shipped.</p>".repeat(20);
+    
+    private static final String INSERT_SQL = """
+        insert\s
+            into
+                notifications
+                (content, content_hash, created_at, error_message, max_retries, priority, recipient, retry_count, scheduled_at, sent_at, status, subject, template_id, trace_parent, type, id)\s
+            values
+                (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    
+    private static final String SELECT_SQL = """
+        select
+            n1_0.id,
+            n1_0.content,
+            n1_0.created_at,
+            n1_0.recipient,
+            n1_0.status,
+            n1_0.subject\s
+        from
+            notifications n1_0\s
+        where
+            n1_0.id=?""";
+    
+    private static final String CLAIM_SQL = """
+        update
+            notifications\s
+        set
+            status=?\s
+        where
+            id=?\s
+            and status in (?, ?)""";
+    
+    private static final String STATUS_SQL = """
+        update
+            notifications\s
+        set
+            error_message=?,
+            retry_count=?,
+            sent_at=?,
+            status=?\s
+        where
+            id=?""";
+    
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        double rate = args.length > 2 ? Double.parseDouble(args[2]) : 0.01;
+        
+        Path dir = Files.createTempDirectory("notifire-logbench");
+        try {
+            // Warm both setups up before measuring either
+            run(Setup.DEFAULT, dir, threads, 2, rate);
+            run(Setup.PROD, dir, threads, 2, rate);
+            
+            double before = run(Setup.DEFAULT, dir, threads, seconds, rate);
+            double after = run(Setup.PROD, dir, threads, seconds, rate);
+            System.out.printf("threads=%d seconds=%d sampled=%.3f%n", threads, seconds, rate);
+            System.out.printf("default (sync pattern, DEBUG, show-sql): %,.0f sends/sec%n", before);
+            System.out.printf("prod (async JSON, INFO, sampled):         %,.0f sends/sec (%.1fx)%n", after, after / before);
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+    
+    enum Setup { DEFAULT, PROD }
+    
+    private static double run(Setup setup, Path dir, int threads, int seconds, double rate) throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        Path file = dir.resolve(setup.name().toLowerCase() + ".log");
+        Appender<ILoggingEvent> appender = appender(context, setup, file);
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        context.getLogger("com.Portfolio.Notifire").setLevel(setup == Setup.DEFAULT ? Level.DEBUG : Level.INFO);
+        
+        LogSamplingConfig config = new LogSamplingConfig();
+        config.setSuccessRate(setup == Setup.DEFAULT ? 1.0 : rate);
+        LogSampler sampler = new LogSampler(config);
+        
+        // Hibernate's show-sql writes straight to stdout, bypassing the logging framework
+        PrintStream sqlOut = setup == Setup.DEFAULT
+            ? new PrintStream(new FileOutputStream(dir.resolve("stdout.log").toFile(), true), true)
+            : null;
+        
+        Logger service = context.getLogger("com.Portfolio.Notifire.service.NotificationService");
+        Logger scheduler = context.getLogger("com.Portfolio.Notifire.service.NotificationScheduler");
+        Logger email = context.getLogger("com.Portfolio.Notifire.service.EmailService");
+        
+        AtomicLong ids = new AtomicLong();
+        AtomicLong sends = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    send(ids.incrementAndGet(), sampler, sqlOut, service, scheduler, email);
+                    sends.incrementAndGet();
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+        done.await();
+        
+        // Count the drain of anything still queued against the run
+        context.stop();
+        double elapsed = (System.nanoTime() - deadline) / 1e9 + seconds;
+        if (sqlOut != null) {
+            sqlOut.close();
+        }
+        return sends.get() / elapsed;
+    }
+    
+    /**
+     * The log statements and SQL echo of one notification, mirroring NotificationService, NotificationScheduler and EmailService
+     */
+    private static void send(long id, LogSampler sampler, PrintStream sqlOut,
+                             Logger service, Logger scheduler, Logger email) {
+        String recipient = "user" + (id % 1000) + "@example.com";
+        boolean verbose = sampler.sampled(id);
+        
+        service.debug("Sending notification to: {}", recipient);
+        sql(sqlOut, INSERT_SQL);
+        if (verbose) {
+            service.info("Notification created with id: {} for recipient: {}", id, recipient);
+            scheduler.info("Processing pending notification {}", id);
+        }
+        
+        email.debug("Processing notification {} asynchronously", id);
+        sql(sqlOut, SELECT_SQL);
+        sql(sqlOut, CLAIM_SQL);
+        if (verbose) {
+            email.info("SIMULATED: Sending email to {} with subject '{}'", recipient, "Your order has shipped");
+            email.debug("SIMULATED: Email content: {}", BODY);
+            email.info("SIMULATED: Email sent successfully to {}", recipient);
+        }
+        sql(sqlOut, STATUS_SQL);
+    }
+    
+    private static void sql(PrintStream out, String sql) {
+        if (out != null) {
+            out.println("Hibernate: \n    " + sql);
+        }
+    }
+    
+    private static Appender<ILoggingEvent> appender(LoggerContext context, Setup setup, Path file) {
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setAppend(false);
+        
+        Encoder<ILoggingEvent> encoder;
+        if (setup == Setup.DEFAULT) {
+            PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+            pattern.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+            encoder = pattern;
+        } else {
+            StructuredLogEncoder json = new StructuredLogEncoder();
+            json.setFormat("ecs");
+            encoder = json;
+        }
+        encoder.setContext(context);
+        encoder.start();
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        if (setup == Setup.DEFAULT) {
+            return fileAppender;
+        }
+        
+        // Same settings as the prod profile in logback-spring.xml
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(1638);
+        async.setNeverBlock(false);
+        async.setIncludeCallerData(false);
+        async.setMaxFlushTime(2000);
+        async.addAppender(fileAppender);
+        async.start();
+        return async;
+    }
+}
@@ -0,0 +1,170 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.dto.BulkIngestResult;
+import com.Portfolio.Notifire.dto.BulkIngestResult.Outcome;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.service.BulkIngestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for streaming NDJSON bulk ingestion
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkIngestionIntegrationTest {
+    
+    @Autowired
+    private BulkIngestionService bulkIngestionService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void testIngest_MixedValidAndInvalidLines() throws Exception {
+        // Given - chunk size is 3 in the test profile, so this spans several chunks
+        String upload = String.join("\n",
+            "{\"recipient\":\"bulk1@example.com\",\"subject\":\"One\",\"content\":\"Body 1\"}",
+            "{\"recipient\":\"not-an-email\",\"subject\":\"Two\",\"content\":\"Body 2\"}",
+            "{\"recipient\":\"bulk3@example.com\",\"content\":\"Missing subject\"}",
+            "{\"recipient\":\"bulk4@example.com\",\"subject\":\"Four\",\"content\":\"Body 4\",\"priority\":\"URGENT\"}",
+            "{\"recipient\":\"bulk5@example.com\",\"subject\":\"Five\",\"content\":\"Body 5\",\"templateId\":999999}",
+            "{\"recipient\":\"bulk6@example.com\",\"subject\":\"Six\",\"content\":\"Body 6\",\"priority\":\"HIGH\"}",
+            "{\"recipient\":\"bulk7@example.com\",\"subject\":\"Seven\",\"content\":\"Body 7\"}"
+        ) + "\n";
+        long before = notificationRepository.count();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        BulkIngestionService.BulkIngestSummary summary = bulkIngestionService.ingest(
+            new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+        
+        // Then
+        List<BulkIngestResult> results = parse(out);
+        assertThat(results).hasSize(7);
+        assertThat(results).extracting(BulkIngestResult::getLine).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(results).extracting(BulkIngestResult::getOutcome).containsExactly(
+            Outcome.QUEUED, Outcome.REJECTED, Outcome.REJECTED, Outcome.REJECTED,
+            Outcome.REJECTED, Outcome.QUEUED, Outcome.QUEUED);
+        assertThat(results.get(1).getError()).contains("recipient");
+        assertThat(results.get(2).getError()).contains("Subject is required");
+        assertThat(results.get(4).getError()).contains("Template not found");
+        
+        assertThat(summary.accepted()).isEqualTo(3);
+        assertThat(summary.rejected()).isEqualTo(4);
+        assertThat(notificationRepository.count()).isEqualTo(before + 3);
+        assertThat(notificationRepository.findById(results.get(5).getId())).isPresent();
+    }
+    
+    @Test
+    void testIngest_MalformedJsonStopsWithError() throws Exception {
+        // Given
+        String upload = "{\"recipient\":\"ok@example.com\",\"subject\":\"Ok\",\"content\":\"Body\"}\n{\"recipient\": oops\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        bulkIngestionService.ingest(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+        
+        // Then
+        List<BulkIngestResult> results = parse(out);
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getOutcome()).isEqualTo(Outcome.QUEUED);
+        assertThat(results.get(1).getOutcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(results.get(1).getError()).contains("Malformed JSON");
+    }
+    
+    @Test
+    void testIngest_IdempotencyKeys() throws Exception {
+        // Given - the repeated key spans a chunk boundary and also repeats within a chunk
+        String key = UUID.randomUUID().toString();
+        String line = "{\"recipient\":\"idem@example.com\",\"subject\":\"Once\",\"content\":\"Body\",\"idempotencyKey\":\"" + key + "\"}";
+        String upload = String.join("\n", line, line,
+            "{\"recipient\":\"other@example.com\",\"subject\":\"Other\",\"content\":\"Body\"}", line) + "\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        bulkIngestionService.ingest(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+        
+        // Then
+        List<BulkIngestResult> results = parse(out);
+        assertThat(results).extracting(BulkIngestResult::getOutcome).containsExactly(
+            Outcome.QUEUED, Outcome.DUPLICATE, Outcome.QUEUED, Outcome.DUPLICATE);
+        assertThat(results.get(1).getId()).isEqualTo(results.get(0).getId());
+        assertThat(results.get(3).getId()).isEqualTo(results.get(0).getId());
+        assertThat(notificationRepository.findByIdempotencyKey(key)).isPresent();
+    }
+    
+    @Test
+    void testIngest_KeyUnknownToFilterOnlyRejectsItsOwnLines() throws Exception {
+        // Given - a key already used, but saved where the duplicate filter never saw it
+        String key = UUID.randomUUID().toString();
+        Notification original = new Notification();
+        original.setRecipient("earlier@example.com");
+        original.setSubject("Earlier");
+        original.setContent("Body");
+        original.setIdempotencyKey(key);
+        original.markAsSent();
+        original = notificationRepository.save(original);
+        String reused = "{\"recipient\":\"idem@example.com\",\"subject\":\"Again\",\"content\":\"Body\",\"idempotencyKey\":\"" + key + "\"}";
+        String upload = String.join("\n",
+            "{\"recipient\":\"first@example.com\",\"subject\":\"First\",\"content\":\"Body\"}",
+            reused, reused,
+            "{\"recipient\":\"last@example.com\",\"subject\":\"Last\",\"content\":\"Body\"}") + "\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        bulkIngestionService.ingest(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+        
+        // Then - the other line in the chunk is still created
+        List<BulkIngestResult> results = parse(out);
+        assertThat(results).extracting(BulkIngestResult::getOutcome).containsExactly(
+            Outcome.QUEUED, Outcome.DUPLICATE, Outcome.DUPLICATE, Outcome.QUEUED);
+        assertThat(results.get(1).getId()).isEqualTo(original.getId());
+        assertThat(results.get(2).getId()).isEqualTo(original.getId());
+        assertThat(notificationRepository.findById(results.get(0).getId())).isPresent();
+        assertThat(notificationRepository.findByRecipient("idem@example.com")).isEmpty();
+        awaitSends(results.get(0).getId(), results.get(3).getId());
+    }
+    
+    /**
+     * Wait for queued sends to finish so they do not hold up the next test's dispatch
+     */
+    private void awaitSends(Long... ids) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            boolean done = Arrays.stream(ids).map(id -> notificationRepository.findById(id).orElseThrow().getStatus())
+                .allMatch(status -> status != NotificationStatus.PENDING && status != NotificationStatus.SENDING);
+            if (done) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+    }
+    
+    private List<BulkIngestResult> parse(ByteArrayOutputStream out) throws Exception {
+        List<BulkIngestResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readValue(line, BulkIngestResult.class));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,271 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.config.CampaignConfig;
+import com.Portfolio.Notifire.config.DispatchConfig;
+import com.Portfolio.Notifire.dto.CampaignRequest;
+import com.Portfolio.Notifire.dto.CampaignResponse;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.AudienceSource;
+import com.Portfolio.Notifire.model.enums.CampaignStatus;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.CampaignRepository;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.repository.TemplateRepository;
+import com.Portfolio.Notifire.service.CampaignRunner;
+import com.Portfolio.Notifire.service.CampaignService;
+import com.Portfolio.Notifire.service.ContentStore;
+import com.Portfolio.Notifire.service.EmailService;
+import com.Portfolio.Notifire.service.NotificationDispatcher;
+import com.Portfolio.Notifire.service.NotificationScheduler;
+import com.Portfolio.Notifire.service.NotificationTracing;
+import com.Portfolio.Notifire.service.PipelineMetrics;
+import com.Portfolio.Notifire.service.SuppressionService;
+import com.Portfolio.Notifire.service.TemplateRenderer;
+import com.Portfolio.Notifire.service.TemplateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for campaign fan-out and paced dispatch
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CampaignIntegrationTest {
+    
+    @Autowired
+    private CampaignService campaignService;
+    
+    @Autowired
+    private CampaignRunner campaignRunner;
+    
+    @Autowired
+    private TemplateRepository templateRepository;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private CampaignRepository campaignRepository;
+    
+    @Autowired
+    private NotificationScheduler notificationScheduler;
+    
+    @Autowired
+    private ApplicationContext context;
+    
+    private String marker;
+    private Template template;
+    
+    @BeforeEach
+    void setUp() {
+        marker = UUID.randomUUID().toString().substring(0, 8);
+        template = new Template();
+        template.setName("campaign-" + marker);
+        template.setSubject("Sale for {{name}}");
+        template.setBody("Hi {{name}}, {{discount}} off today");
+        template = templateRepository.save(template);
+    }
+    
+    @Test
+    void testFileCampaign_FansOutAndCompletes() throws Exception {
+        // Given - chunk size is 2 in the test profile
+        CampaignResponse campaign = campaignService.createCampaign(request(AudienceSource.FILE));
+        String audience = String.join("\n",
+            "{\"recipient\":\"one-" + marker + "@example.com\",\"variables\":{\"name\":\"Ann\"}}",
+            "{\"recipient\":\"not-an-email\"}",
+            "{\"recipient\":[\"malformed\"]}",
+            "{\"recipient\":\"two-" + marker + "@example.com\"}",
+            "{\"recipient\":\"three-" + marker + "@example.com\",\"variables\":{\"discount\":\"50%\"}}"
+        ) + "\n";
+        campaignService.uploadAudience(campaign.getId(), new ByteArrayInputStream(audience.getBytes(StandardCharsets.UTF_8)));
+        
+        // When
+        campaignService.start(campaign.getId());
+        CampaignResponse fannedOut = awaitCampaign(campaign.getId(), CampaignResponse::getAudienceExhausted);
+        
+        // Then
+        assertThat(fannedOut.getProcessed()).isEqualTo(5);
+        assertThat(fannedOut.getCreated()).isEqualTo(3);
+        assertThat(fannedOut.getRejected()).isEqualTo(2);
+        
+        List<Notification> created = notificationRepository.findByRecipient("one-" + marker + "@example.com");
+        assertThat(created).hasSize(1);
+        assertThat(created.get(0).getSubject()).isEqualTo("Sale for Ann");
+        assertThat(created.get(0).getContent()).isEqualTo("Hi Ann, 10% off today");
+        assertThat(notificationRepository.findByRecipient("three-" + marker + "@example.com").get(0).getContent())
+            .isEqualTo("Hi friend, 50% off today");
+        
+        // Dispatch is paced by the pump, which drains then completes the campaign
+        campaignRunner.pump();
+        campaignRunner.pump();
+        CampaignResponse completed = campaignService.getCampaign(campaign.getId());
+        assertThat(completed.getDispatched()).isEqualTo(3);
+        assertThat(completed.getStatus()).isEqualTo(CampaignStatus.COMPLETED);
+    }
+    
+    @Test
+    void testHistoryCampaign_PauseAndResume() throws Exception {
+        // Given - earlier notifications sent with the template
+        for (int i = 0; i < 3; i++) {
+            Notification notification = new Notification();
+            notification.setRecipient("past" + i + "-" + marker + "@example.com");
+            notification.setSubject("Earlier");
+            notification.setContent("Earlier");
+            notification.setTemplate(template);
+            notification.setStatus(NotificationStatus.SENT);
+            notificationRepository.save(notification);
+        }
+        CampaignRequest request = request(AudienceSource.NOTIFICATION_HISTORY);
+        request.setHistoryTemplateId(template.getId());
+        CampaignResponse campaign = campaignService.createCampaign(request);
+        
+        // When
+        campaignService.start(campaign.getId());
+        campaignService.pause(campaign.getId());
+        assertThatThrownBy(() -> campaignService.pause(campaign.getId())).isInstanceOf(InvalidRequestException.class);
+        campaignService.resume(campaign.getId());
+        CampaignResponse fannedOut = awaitCampaign(campaign.getId(), CampaignResponse::getAudienceExhausted);
+        
+        // Then - every past recipient got exactly one campaign notification
+        assertThat(fannedOut.getCreated()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(notificationRepository.findByRecipient("past" + i + "-" + marker + "@example.com")).hasSize(2);
+        }
+    }
+    
+    @Test
+    void testRejectedDispatchStillSendsEveryNotification() throws Exception {
+        // Given - a fanned-out campaign, pumped through an executor that turns every send away
+        CampaignResponse campaign = campaignService.createCampaign(request(AudienceSource.FILE));
+        String audience = "{\"recipient\":\"a-" + marker + "@example.com\"}\n" +
+            "{\"recipient\":\"b-" + marker + "@example.com\"}\n" +
+            "{\"recipient\":\"c-" + marker + "@example.com\"}\n";
+        campaignService.uploadAudience(campaign.getId(), new ByteArrayInputStream(audience.getBytes(StandardCharsets.UTF_8)));
+        campaignService.start(campaign.getId());
+        awaitCampaign(campaign.getId(), CampaignResponse::getAudienceExhausted);
+        CampaignRunner rejecting = rejectingRunner();
+        rejecting.launch(campaignRepository.findById(campaign.getId()).orElseThrow());
+        
+        // When - the pump passes every notification and completes the campaign
+        rejecting.pump();
+        rejecting.pump();
+        assertThat(campaignService.getCampaign(campaign.getId()).getStatus()).isEqualTo(CampaignStatus.COMPLETED);
+        
+        // Then - the pending sweep picks the rejected notifications up and sends them
+        List<String> recipients = List.of("a-" + marker + "@example.com", "b-" + marker + "@example.com",
+            "c-" + marker + "@example.com");
+        for (int i = 0; i < 100 && !recipients.stream().allMatch(this::attempted); i++) {
+            notificationScheduler.processPendingNotifications();
+            Thread.sleep(100);
+        }
+        assertThat(recipients).allMatch(this::attempted);
+    }
+    
+    @Test
+    void testRunningCampaignRecoveredAfterRestart() throws Exception {
+        // Given - a campaign fanned out but not yet pumped when its process went away
+        CampaignResponse campaign = campaignService.createCampaign(request(AudienceSource.FILE));
+        String audience = "{\"recipient\":\"restart1-" + marker + "@example.com\"}\n" +
+            "{\"recipient\":\"restart2-" + marker + "@example.com\"}\n";
+        campaignService.uploadAudience(campaign.getId(), new ByteArrayInputStream(audience.getBytes(StandardCharsets.UTF_8)));
+        campaignService.start(campaign.getId());
+        awaitCampaign(campaign.getId(), CampaignResponse::getAudienceExhausted);
+        CampaignRunner restarted = runner(context.getBean(NotificationDispatcher.class));
+        CampaignService restartedService = new CampaignService(campaignRepository, templateRepository, restarted,
+            context.getBean(ObjectMapper.class), context.getBean(CampaignConfig.class));
+        
+        // When
+        restartedService.recoverRunning();
+        restarted.pump();
+        restarted.pump();
+        
+        // Then - the new process dispatches the remaining notifications and completes the campaign
+        CampaignResponse completed = campaignService.getCampaign(campaign.getId());
+        assertThat(completed.getStatus()).isEqualTo(CampaignStatus.COMPLETED);
+        assertThat(completed.getDispatched()).isEqualTo(2);
+    }
+    
+    @Test
+    void testStartWithoutAudience() {
+        CampaignResponse campaign = campaignService.createCampaign(request(AudienceSource.FILE));
+        
+        assertThatThrownBy(() -> campaignService.start(campaign.getId()))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("Upload an audience");
+    }
+    
+    private CampaignRequest request(AudienceSource source) {
+        CampaignRequest request = new CampaignRequest();
+        request.setName("Campaign " + marker);
+        request.setTemplateId(template.getId());
+        request.setVariables(Map.of("name", "friend", "discount", "10%"));
+        request.setAudienceSource(source);
+        request.setRatePerSecond(1000);
+        return request;
+    }
+    
+    /**
+     * Whether the recipient's notification reached the provider, whatever the simulated outcome
+     */
+    private boolean attempted(String recipient) {
+        NotificationStatus status = notificationRepository.findByRecipient(recipient).get(0).getStatus();
+        return status == NotificationStatus.SENT || status == NotificationStatus.FAILED;
+    }
+    
+    private CampaignRunner rejectingRunner() {
+        Executor full = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        NotificationDispatcher dispatcher = new NotificationDispatcher(context.getBean(EmailService.class), full,
+            notificationRepository, context.getBean(PlatformTransactionManager.class), context.getBean(DispatchConfig.class), context.getBean(MeterRegistry.class),
+            context.getBean(PipelineMetrics.class));
+        return runner(dispatcher);
+    }
+    
+    /**
+     * A runner with no in-memory state, as in a freshly started process
+     */
+    private CampaignRunner runner(NotificationDispatcher dispatcher) {
+        return new CampaignRunner(campaignRepository, notificationRepository, context.getBean(TemplateService.class),
+            context.getBean(TemplateRenderer.class), context.getBean(ContentStore.class),
+            context.getBean(NotificationTracing.class), context.getBean(SuppressionService.class), dispatcher,
+            context.getBean(ObjectMapper.class), context.getBean(TransactionTemplate.class),
+            context.getBean(EntityManager.class), context.getBean(CampaignConfig.class),
+            context.getBean("campaignExecutor", Executor.class), context.getBean("campaignRenderPool", ForkJoinPool.class));
+    }
+    
+    private CampaignResponse awaitCampaign(Long id, Predicate<CampaignResponse> condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            CampaignResponse campaign = campaignService.getCampaign(id);
+            if (condition.test(campaign)) {
+                return campaign;
+            }
+            Thread.sleep(100);
+        }
+        fail("Campaign " + id + " did not reach the expected state");
+        return null;
+    }
+}
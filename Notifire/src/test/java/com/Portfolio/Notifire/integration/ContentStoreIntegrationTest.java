@@ -0,0 +1,67 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.dto.NotificationRequest;
+import com.Portfolio.Notifire.dto.NotificationResponse;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.repository.ContentBlobRepository;
+import com.Portfolio.Notifire.service.NotificationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for content-addressed body storage
+ */
+@SpringBootTest(properties = {"content-store.enabled=true", "content-store.compress-threshold=64"})
+@ActiveProfiles("test")
+class ContentStoreIntegrationTest {
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private ContentBlobRepository contentBlobRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Test
+    void testIdenticalBodiesShareOneBlob() {
+        // Given
+        String body = "<p>Release notes " + UUID.randomUUID() + "</p>" + "<p>Nothing else changed.</p>".repeat(20);
+        long blobs = contentBlobRepository.count();
+        
+        // When
+        NotificationResponse first = notificationService.sendNotification(request(body));
+        NotificationResponse second = notificationService.sendNotification(request(body));
+        
+        // Then
+        assertThat(contentBlobRepository.count()).isEqualTo(blobs + 1);
+        transactionTemplate.executeWithoutResult(status -> {
+            Notification a = entityManager.find(Notification.class, first.getId());
+            Notification b = entityManager.find(Notification.class, second.getId());
+            assertThat(a.getContent()).isNull();
+            assertThat(a.getContentBlob().getHash()).isEqualTo(b.getContentBlob().getHash());
+            assertThat(a.readContent()).isEqualTo(body);
+            assertThat(b.readContent()).isEqualTo(body);
+        });
+    }
+    
+    private NotificationRequest request(String body) {
+        NotificationRequest request = new NotificationRequest();
+        request.setRecipient("blob-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        request.setSubject("Release notes");
+        request.setContent(body);
+        return request;
+    }
+}
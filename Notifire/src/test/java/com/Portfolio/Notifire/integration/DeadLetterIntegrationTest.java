@@ -0,0 +1,183 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.dto.DeadLetterResponse;
+import com.Portfolio.Notifire.dto.ReplayRequest;
+import com.Portfolio.Notifire.dto.ReplayResponse;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.FailureClass;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.model.enums.ReplayStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.repository.TemplateRepository;
+import com.Portfolio.Notifire.service.DeadLetterService;
+import com.Portfolio.Notifire.service.NotificationScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for dead-lettering and throttled replay
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DeadLetterIntegrationTest {
+    
+    @Autowired
+    private DeadLetterService deadLetterService;
+    
+    @Autowired
+    private NotificationScheduler notificationScheduler;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private TemplateRepository templateRepository;
+    
+    private String marker;
+    private Template template;
+    
+    @BeforeEach
+    void setUp() {
+        marker = UUID.randomUUID().toString().substring(0, 8);
+        template = new Template();
+        template.setName("dead-letter-" + marker);
+        template.setSubject("Hello");
+        template.setBody("Hello");
+        template = templateRepository.save(template);
+    }
+    
+    @Test
+    void testSweep_MovesExhaustedNotificationsWithClassification() {
+        // Given - batch size is 2 in the test profile, so the sweep takes two batches
+        Notification outage = failed("outage", 3, "SendGrid returned status 503: Service Unavailable");
+        Notification rejected = failed("rejected", 3, "SendGrid returned status 400: Bad Request");
+        Notification network = failed("network", 3, "IOException while sending email: Connection reset");
+        Notification retryable = failed("retryable", 1, "SendGrid returned status 503: Service Unavailable");
+        
+        // When
+        deadLetterService.sweep();
+        
+        // Then
+        assertThat(status(outage)).isEqualTo(NotificationStatus.DEAD_LETTERED);
+        assertThat(status(rejected)).isEqualTo(NotificationStatus.DEAD_LETTERED);
+        assertThat(status(network)).isEqualTo(NotificationStatus.DEAD_LETTERED);
+        assertThat(status(retryable)).isEqualTo(NotificationStatus.FAILED);
+        
+        List<DeadLetterResponse> deadLetters = deadLetters(null);
+        assertThat(deadLetters).extracting(DeadLetterResponse::getNotificationId)
+            .containsExactlyInAnyOrder(outage.getId(), rejected.getId(), network.getId());
+        DeadLetterResponse outageLetter = deadLetters.stream()
+            .filter(letter -> letter.getNotificationId().equals(outage.getId())).findFirst().orElseThrow();
+        assertThat(outageLetter.getFailureClass()).isEqualTo(FailureClass.PROVIDER_ERROR);
+        assertThat(outageLetter.getHttpStatus()).isEqualTo(503);
+        assertThat(outageLetter.getAttempts()).isEqualTo(4);
+        assertThat(deadLetters(FailureClass.REJECTED)).extracting(DeadLetterResponse::getNotificationId)
+            .containsExactly(rejected.getId());
+        assertThat(deadLetters(FailureClass.NETWORK)).extracting(DeadLetterResponse::getNotificationId)
+            .containsExactly(network.getId());
+    }
+    
+    @Test
+    void testRetrySweep_DeadLettersNonRetryableFailuresStraightAway() {
+        // Given
+        Notification suppressed = failed("suppressed", 0, "Recipient is suppressed");
+        
+        // When - the sweep reads a page per call from its cursor
+        for (int i = 0; i < 5 && status(suppressed) == NotificationStatus.FAILED; i++) {
+            notificationScheduler.retryFailedNotifications();
+        }
+        
+        // Then
+        assertThat(status(suppressed)).isEqualTo(NotificationStatus.DEAD_LETTERED);
+        assertThat(deadLetters(FailureClass.SUPPRESSED)).extracting(DeadLetterResponse::getNotificationId)
+            .containsExactly(suppressed.getId());
+    }
+    
+    @Test
+    void testReplay_RequeuesOnlyMatchingDeadLetters() {
+        // Given
+        Notification first = failed("first", 3, "SendGrid returned status 503: Service Unavailable");
+        Notification second = failed("second", 3, "SendGrid returned status 502: Bad Gateway");
+        Notification rejected = failed("rejected", 3, "SendGrid returned status 400: Bad Request");
+        deadLetterService.sweep();
+        
+        ReplayRequest request = new ReplayRequest();
+        request.setTemplateId(template.getId());
+        request.setFailureClass(FailureClass.PROVIDER_ERROR);
+        request.setRatePerSecond(10);
+        
+        // When
+        ReplayResponse started = deadLetterService.startReplay(request);
+        deadLetterService.pumpReplays();
+        deadLetterService.pumpReplays();
+        
+        // Then
+        assertThat(started.getMatched()).isEqualTo(2);
+        ReplayResponse replay = deadLetterService.getReplay(started.getId());
+        assertThat(replay.getStatus()).isEqualTo(ReplayStatus.COMPLETED);
+        assertThat(replay.getReplayed()).isEqualTo(2);
+        
+        for (Notification notification : List.of(first, second)) {
+            Notification requeued = notificationRepository.findById(notification.getId()).orElseThrow();
+            assertThat(requeued.getStatus()).isNotEqualTo(NotificationStatus.DEAD_LETTERED);
+            assertThat(requeued.getRetryCount()).isZero();
+        }
+        assertThat(status(rejected)).isEqualTo(NotificationStatus.DEAD_LETTERED);
+        assertThat(deadLetters(null)).extracting(DeadLetterResponse::getNotificationId)
+            .containsExactly(rejected.getId());
+    }
+    
+    @Test
+    void testReplay_RejectsRateAboveMaximum() {
+        ReplayRequest request = new ReplayRequest();
+        request.setRatePerSecond(100_000);
+        
+        assertThatThrownBy(() -> deadLetterService.startReplay(request))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("at most");
+    }
+    
+    @Test
+    void testClassify_FromErrorMessageAndHttpStatus() {
+        assertThat(FailureClass.classify("SendGrid returned status 401: Unauthorized")).isEqualTo(FailureClass.AUTHENTICATION);
+        assertThat(FailureClass.classify("SendGrid returned status 429: Too Many Requests")).isEqualTo(FailureClass.RATE_LIMITED);
+        assertThat(FailureClass.classify("Render failed: missing variable")).isEqualTo(FailureClass.RENDER);
+        assertThat(FailureClass.classify("Simulated failure for testing")).isEqualTo(FailureClass.UNKNOWN);
+        assertThat(FailureClass.classify(null)).isEqualTo(FailureClass.UNKNOWN);
+        assertThat(FailureClass.RATE_LIMITED.isRetryable()).isTrue();
+        assertThat(FailureClass.REJECTED.isRetryable()).isFalse();
+    }
+    
+    private Notification failed(String name, int retryCount, String error) {
+        Notification notification = new Notification();
+        notification.setRecipient(name + "-" + marker + "@example.com");
+        notification.setSubject("Hello");
+        notification.setContent("Hello");
+        notification.setTemplate(template);
+        notification.setRetryCount(retryCount);
+        notification.setMaxRetries(3);
+        notification.markAsFailed(error);
+        notification.setFailedAt(LocalDateTime.now().minusMinutes(5));
+        return notificationRepository.save(notification);
+    }
+    
+    private NotificationStatus status(Notification notification) {
+        return notificationRepository.findById(notification.getId()).orElseThrow().getStatus();
+    }
+    
+    private List<DeadLetterResponse> deadLetters(FailureClass failureClass) {
+        return deadLetterService.search(null, null, failureClass, template.getId(), Pageable.unpaged()).getContent();
+    }
+}
@@ -0,0 +1,126 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.dto.NotificationRequest;
+import com.Portfolio.Notifire.dto.NotificationResponse;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.service.DelayedDeliveryService;
+import com.Portfolio.Notifire.service.DelayedDeliveryStore;
+import com.Portfolio.Notifire.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for holding and promoting future-dated notifications
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DelayedDeliveryIntegrationTest {
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private DelayedDeliveryService delayedDeliveryService;
+    
+    @Autowired
+    private DelayedDeliveryStore delayedDeliveryStore;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Test
+    void testFutureDatedNotificationIsHeldUntilDue() {
+        // Given
+        NotificationRequest request = new NotificationRequest();
+        request.setRecipient("later-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        request.setSubject("Later");
+        request.setContent("Body");
+        request.setScheduledAt(LocalDateTime.now().plusHours(1));
+        long held = delayedDeliveryStore.size();
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(request);
+        delayedDeliveryService.promoteDue();
+        
+        // Then
+        assertThat(response.getStatus()).isEqualTo(NotificationStatus.SCHEDULED);
+        assertThat(delayedDeliveryStore.size()).isEqualTo(held + 1);
+        assertThat(notificationRepository.findById(response.getId()).orElseThrow().getStatus())
+            .isEqualTo(NotificationStatus.SCHEDULED);
+    }
+    
+    @Test
+    void testDueNotificationIsPromoted() {
+        // Given
+        Notification saved = notificationRepository.save(scheduled(LocalDateTime.now().minusSeconds(1)));
+        delayedDeliveryStore.schedule(saved.getId(), System.currentTimeMillis() - 1000);
+        
+        // When
+        delayedDeliveryService.promoteDue();
+        
+        // Then
+        assertThat(notificationRepository.findById(saved.getId()).orElseThrow().getStatus())
+            .isNotEqualTo(NotificationStatus.SCHEDULED);
+    }
+    
+    @Test
+    void testNearTermNotificationFiresFromTimingWheel() throws InterruptedException {
+        // Given
+        NotificationRequest request = new NotificationRequest();
+        request.setRecipient("soon-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        request.setSubject("Soon");
+        request.setContent("Body");
+        request.setScheduledAt(LocalDateTime.now().plusNanos(300_000_000));
+        NotificationResponse response = notificationService.sendNotification(request);
+        
+        // When - the pull moves it onto the wheel, which fires it once due
+        delayedDeliveryService.promoteDue();
+        NotificationStatus beforeDue = notificationRepository.findById(response.getId()).orElseThrow().getStatus();
+        NotificationStatus status = beforeDue;
+        for (int i = 0; i < 40 && status == NotificationStatus.SCHEDULED; i++) {
+            Thread.sleep(50);
+            delayedDeliveryService.fireWheel();
+            status = notificationRepository.findById(response.getId()).orElseThrow().getStatus();
+        }
+        
+        // Then
+        assertThat(beforeDue).isEqualTo(NotificationStatus.SCHEDULED);
+        assertThat(status).isNotEqualTo(NotificationStatus.SCHEDULED);
+    }
+    
+    @Test
+    void testOverdueRowMissingFromStoreIsReconciled() {
+        // Given - the row was never handed to the store, as after losing an in-memory schedule
+        Notification saved = notificationRepository.save(scheduled(LocalDateTime.now().minusHours(1)));
+        
+        // When
+        delayedDeliveryService.promoteDue();
+        NotificationStatus beforeReconcile = notificationRepository.findById(saved.getId()).orElseThrow().getStatus();
+        delayedDeliveryService.reconcileOverdue();
+        delayedDeliveryService.promoteDue();
+        
+        // Then
+        assertThat(beforeReconcile).isEqualTo(NotificationStatus.SCHEDULED);
+        assertThat(notificationRepository.findById(saved.getId()).orElseThrow().getStatus())
+            .isNotEqualTo(NotificationStatus.SCHEDULED);
+    }
+    
+    private Notification scheduled(LocalDateTime scheduledAt) {
+        Notification notification = new Notification();
+        notification.setRecipient("due-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        notification.setSubject("Due");
+        notification.setContent("Body");
+        notification.setStatus(NotificationStatus.SCHEDULED);
+        notification.setScheduledAt(scheduledAt);
+        return notification;
+    }
+}
@@ -0,0 +1,91 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.dto.NotificationRequest;
+import com.Portfolio.Notifire.dto.NotificationResponse;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.service.DigestService;
+import com.Portfolio.Notifire.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for digest coalescing
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DigestIntegrationTest {
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private DigestService digestService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Test
+    void testLowPriorityNotificationsMergeIntoDigests() {
+        // Given - max items per digest is 3 in the test profile
+        String recipient = "digest-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            NotificationResponse response = notificationService.sendNotification(
+                request(recipient, "Update <" + i + ">", NotificationPriority.LOW, null));
+            assertThat(response.getStatus()).isEqualTo(NotificationStatus.DIGEST_PENDING);
+            ids.add(response.getId());
+        }
+        NotificationResponse urgent = notificationService.sendNotification(
+            request(recipient, "Urgent", NotificationPriority.HIGH, null));
+        NotificationResponse optedOut = notificationService.sendNotification(
+            request(recipient, "Opted out", NotificationPriority.LOW, false));
+        
+        // When
+        Optional<Long> first = digestService.flush(recipient, NotificationChannel.EMAIL);
+        Optional<Long> second = digestService.flush(recipient, NotificationChannel.EMAIL);
+        Optional<Long> none = digestService.flush(recipient, NotificationChannel.EMAIL);
+        
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(none).isEmpty();
+        
+        Notification digest = notificationRepository.findById(first.get()).orElseThrow();
+        assertThat(digest.getSubject()).isEqualTo("You have 3 new notifications");
+        assertThat(digest.getContent()).contains("Update &lt;0&gt;", "Update &lt;2&gt;").doesNotContain("Update &lt;3&gt;");
+        
+        for (int i = 0; i < 4; i++) {
+            Notification source = notificationRepository.findById(ids.get(i)).orElseThrow();
+            assertThat(source.getStatus()).isEqualTo(NotificationStatus.DIGESTED);
+            assertThat(source.getDigest().getId()).isEqualTo(i < 3 ? first.get() : second.get());
+        }
+        assertThat(notificationService.getNotificationById(ids.get(0)).getDigestId()).isEqualTo(first.get());
+        
+        assertThat(notificationRepository.findById(urgent.getId()).orElseThrow().getDigest()).isNull();
+        assertThat(notificationRepository.findById(optedOut.getId()).orElseThrow().getStatus())
+            .isNotIn(NotificationStatus.DIGEST_PENDING, NotificationStatus.DIGESTED);
+    }
+    
+    private NotificationRequest request(String recipient, String subject, NotificationPriority priority, Boolean digest) {
+        NotificationRequest request = new NotificationRequest();
+        request.setRecipient(recipient);
+        request.setSubject(subject);
+        request.setContent("Body of " + subject);
+        request.setPriority(priority);
+        request.setDigest(digest);
+        return request;
+    }
+}
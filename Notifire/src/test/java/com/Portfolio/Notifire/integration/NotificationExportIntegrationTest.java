@@ -0,0 +1,121 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.ExportFormat;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.service.NotificationExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for streaming notification export
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationExportIntegrationTest {
+    
+    @Autowired
+    private NotificationExportService exportService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private String marker;
+    
+    @BeforeEach
+    void setUp() {
+        marker = UUID.randomUUID().toString().substring(0, 8);
+        
+        // Fetch size is 2 in the test profile, so five rows span several round trips
+        for (int i = 0; i < 5; i++) {
+            Notification notification = new Notification();
+            notification.setRecipient("export" + i + "-" + marker + "@example.com");
+            notification.setSubject("Export " + i);
+            notification.setContent(i == 0 ? "Hello, \"quoted\"\nworld" : "Body " + i);
+            notification.setStatus(NotificationStatus.SENT);
+            notificationRepository.save(notification);
+        }
+    }
+    
+    @Test
+    void testExport_Ndjson() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        long rows = exportService.export(LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+            ExportFormat.NDJSON, out);
+        
+        // Then
+        List<JsonNode> ours = new ArrayList<>();
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize((int) rows);
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("recipient").asText().contains(marker)) {
+                ours.add(node);
+            }
+        }
+        assertThat(ours).hasSize(5);
+        assertThat(ours.get(0).get("content").asText()).isEqualTo("Hello, \"quoted\"\nworld");
+        assertThat(ours.get(0).get("status").asText()).isEqualTo("SENT");
+    }
+    
+    @Test
+    void testExport_CsvEscaping() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        exportService.export(LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+            ExportFormat.CSV, out);
+        
+        // Then
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("id,recipient,subject,content,");
+        assertThat(csv).contains("\"Hello, \"\"quoted\"\"\nworld\"");
+        assertThat(csv).contains("export4-" + marker + "@example.com,Export 4,Body 4,");
+    }
+    
+    @Test
+    void testExportToFile() throws Exception {
+        // When
+        NotificationExportService.FileExportResult result = exportService.exportToFile(
+            LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1), ExportFormat.CSV);
+        
+        // Then
+        Path file = Path.of(result.path());
+        assertThat(file).exists();
+        assertThat(Files.readString(file)).contains(marker);
+        assertThat(result.rows()).isGreaterThanOrEqualTo(5);
+        Files.deleteIfExists(file);
+    }
+    
+    @Test
+    void testExport_InvalidRange() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThatThrownBy(() -> exportService.export(now, now.minusDays(1), ExportFormat.CSV, new ByteArrayOutputStream()))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+}
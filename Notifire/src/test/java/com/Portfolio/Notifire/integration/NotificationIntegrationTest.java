@@ -4,9 +4,11 @@ import com.Portfolio.Notifire.dto.NotificationRequest;
 import com.Portfolio.Notifire.dto.NotificationResponse;
 import com.Portfolio.Notifire.dto.TemplateRequest;
 import com.Portfolio.Notifire.dto.TemplateResponse;
+import com.Portfolio.Notifire.model.entity.Notification;
 import com.Portfolio.Notifire.model.enums.NotificationChannel;
 import com.Portfolio.Notifire.model.enums.NotificationPriority;
 import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
 import com.Portfolio.Notifire.service.NotificationService;
 import com.Portfolio.Notifire.service.TemplateService;
 import org.junit.jupiter.api.Test;
@@ -17,6 +19,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +36,9 @@ class NotificationIntegrationTest {
     @Autowired
     private TemplateService templateService;
     
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
     @Test
     void testSendNotification_WithoutTemplate() throws InterruptedException {
         // Given
@@ -98,4 +104,31 @@ class NotificationIntegrationTest {
         NotificationResponse updated = notificationService.getNotificationById(response.getId());
         assertThat(updated.getStatus()).isIn(NotificationStatus.SENT, NotificationStatus.SENDING);
     }
+    
+    @Test
+    void testSendNotification_KeyMissedByDuplicateFilterReturnsOriginal() {
+        // Given - a key used elsewhere, e.g. on another node, so this node's filter has not seen it
+        String key = "order-" + UUID.randomUUID();
+        Notification original = new Notification();
+        original.setRecipient("first@example.com");
+        original.setSubject("First");
+        original.setContent("First");
+        original.setIdempotencyKey(key);
+        original = notificationRepository.save(original);
+        
+        NotificationRequest request = new NotificationRequest();
+        request.setRecipient("second@example.com");
+        request.setSubject("Second");
+        request.setContent("Second");
+        request.setChannel(NotificationChannel.EMAIL);
+        request.setIdempotencyKey(key);
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(request);
+        
+        // Then
+        assertThat(response.getId()).isEqualTo(original.getId());
+        assertThat(response.getRecipient()).isEqualTo("first@example.com");
+        assertThat(response.getMessage()).contains("Duplicate");
+    }
 }
@@ -0,0 +1,211 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.config.ProviderEventConfig;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.exception.InvalidSignatureException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.service.ProviderEventService;
+import com.Portfolio.Notifire.service.ProviderEventService.IngestResult;
+import com.Portfolio.Notifire.service.SuppressionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for provider event webhook ingestion
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProviderEventIntegrationTest {
+    
+    @Autowired
+    private ProviderEventService providerEventService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private SuppressionService suppressionService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private String marker;
+    
+    @BeforeEach
+    void setUp() {
+        marker = UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    @Test
+    void testIngest_AppliesDeliveredBounceAndOpenEvents() throws Exception {
+        // Given
+        Notification delivered = sent("delivered");
+        Notification bounced = sent("bounced");
+        Notification blocked = sent("blocked");
+        String payload = "[" +
+            event("delivered", delivered, "") + "," +
+            event("open", delivered, "") + "," +
+            event("delivered", bounced, "") + "," +
+            event("bounce", bounced, ",\"type\":\"bounce\",\"reason\":\"550 5.1.1 User unknown\"") + "," +
+            event("bounce", blocked, ",\"type\":\"blocked\",\"reason\":\"421 Try again later\"") + "," +
+            event("processed", delivered, ",\"category\":[\"welcome\"],\"unique_args\":{\"a\":\"b\"}") +
+            "]";
+        
+        // When
+        IngestResult result = ingest(providerEventService, payload, null, null);
+        
+        // Then
+        assertThat(result.received()).isEqualTo(6);
+        Notification reloaded = reload(delivered);
+        assertThat(reloaded.getStatus()).isEqualTo(NotificationStatus.DELIVERED);
+        assertThat(reloaded.getDeliveredAt()).isNotNull();
+        assertThat(reloaded.getOpenedAt()).isNotNull();
+        
+        assertThat(reload(bounced).getStatus()).isEqualTo(NotificationStatus.BOUNCED);
+        assertThat(reload(bounced).getErrorMessage()).contains("User unknown");
+        assertThat(suppressionService.isSuppressed(bounced.getRecipient())).isTrue();
+        
+        assertThat(reload(blocked).getStatus()).isEqualTo(NotificationStatus.BOUNCED);
+        assertThat(suppressionService.isSuppressed(blocked.getRecipient())).isFalse();
+    }
+    
+    @Test
+    void testIngest_IsIdempotentWhenBatchIsResent() throws Exception {
+        // Given
+        Notification notification = sent("resent");
+        String payload = "[" + event("delivered", notification, "") + "]";
+        ingest(providerEventService, payload, null, null);
+        
+        // When
+        IngestResult resent = ingest(providerEventService, payload, null, null);
+        
+        // Then
+        assertThat(resent.applied()).isZero();
+        assertThat(reload(notification).getStatus()).isEqualTo(NotificationStatus.DELIVERED);
+    }
+    
+    @Test
+    void testIngest_SuppressesSpamReportsAndUnsubscribes() throws Exception {
+        // Given
+        String spam = "spam-" + marker + "@example.com";
+        String unsubscribed = "unsubscribed-" + marker + "@example.com";
+        String payload = "[" +
+            "{\"event\":\"spamreport\",\"email\":\"" + spam + "\",\"timestamp\":" + now() + "}," +
+            "{\"event\":\"unsubscribe\",\"email\":\"" + unsubscribed + "\",\"timestamp\":" + now() + "}" +
+            "]";
+        
+        // When
+        IngestResult result = ingest(providerEventService, payload, null, null);
+        
+        // Then
+        assertThat(result.suppressed()).isEqualTo(2);
+        assertThat(suppressionService.isSuppressed(spam)).isTrue();
+        assertThat(suppressionService.isSuppressed(unsubscribed)).isTrue();
+    }
+    
+    @Test
+    void testIngest_RejectsMalformedBatch() {
+        assertThatThrownBy(() -> ingest(providerEventService, "{\"event\":\"delivered\"}", null, null))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> ingest(providerEventService, "[{\"event\":", null, null))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+    
+    @Test
+    void testIngest_VerifiesSignatureBeforeApplying() throws Exception {
+        // Given
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keys = generator.generateKeyPair();
+        ProviderEventConfig config = new ProviderEventConfig();
+        config.setVerificationKey(Base64.getEncoder().encodeToString(keys.getPublic().getEncoded()));
+        ProviderEventService verifying = new ProviderEventService(jdbcTemplate, transactionTemplate,
+            suppressionService, objectMapper, meterRegistry, config);
+        
+        Notification notification = sent("signed");
+        String payload = "[" + event("delivered", notification, "") + "]";
+        String timestamp = String.valueOf(now());
+        String signature = sign(keys, timestamp + payload);
+        
+        // When / Then - a tampered body or stale timestamp changes nothing
+        assertThatThrownBy(() -> ingest(verifying, payload.replace("delivered", "open"), signature, timestamp))
+            .isInstanceOf(InvalidSignatureException.class);
+        assertThatThrownBy(() -> ingest(verifying, payload, null, null))
+            .isInstanceOf(InvalidSignatureException.class);
+        String stale = String.valueOf(now() - 3600);
+        assertThatThrownBy(() -> ingest(verifying, payload, sign(keys, stale + payload), stale))
+            .isInstanceOf(InvalidSignatureException.class);
+        assertThat(reload(notification).getStatus()).isEqualTo(NotificationStatus.SENT);
+        
+        IngestResult result = ingest(verifying, payload, signature, timestamp);
+        assertThat(result.applied()).isEqualTo(1);
+        assertThat(reload(notification).getStatus()).isEqualTo(NotificationStatus.DELIVERED);
+    }
+    
+    private IngestResult ingest(ProviderEventService service, String payload, String signature, String timestamp)
+            throws Exception {
+        return service.ingestSendGrid(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+            signature, timestamp);
+    }
+    
+    private String event(String type, Notification notification, String extra) {
+        return "{\"event\":\"" + type + "\",\"email\":\"" + notification.getRecipient() + "\"," +
+            "\"sg_message_id\":\"" + notification.getProviderMessageId() + ".filterdrecv-5645d9c87f-2x5mz-1-0\"," +
+            "\"timestamp\":" + now() + extra + "}";
+    }
+    
+    private Notification sent(String name) {
+        Notification notification = new Notification();
+        notification.setRecipient(name + "-" + marker + "@example.com");
+        notification.setSubject("Hello");
+        notification.setContent("Hello");
+        notification.setProviderMessageId(name + "-" + marker);
+        notification.markAsSent();
+        return notificationRepository.save(notification);
+    }
+    
+    private Notification reload(Notification notification) {
+        return notificationRepository.findById(notification.getId()).orElseThrow();
+    }
+    
+    private static String sign(KeyPair keys, String content) throws Exception {
+        Signature signer = Signature.getInstance("SHA256withECDSA");
+        signer.initSign(keys.getPrivate());
+        signer.update(content.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(signer.sign());
+    }
+    
+    private static long now() {
+        return Instant.now().getEpochSecond();
+    }
+}
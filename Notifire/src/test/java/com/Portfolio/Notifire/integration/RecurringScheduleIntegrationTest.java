@@ -0,0 +1,142 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.dto.RecurringScheduleRequest;
+import com.Portfolio.Notifire.dto.RecurringScheduleResponse;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.RecurringSchedule;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.repository.RecurringScheduleRepository;
+import com.Portfolio.Notifire.repository.TemplateRepository;
+import com.Portfolio.Notifire.service.RecurringScheduleService;
+import com.Portfolio.Notifire.service.SuppressionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for recurring schedules
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RecurringScheduleIntegrationTest {
+    
+    @Autowired
+    private RecurringScheduleService recurringScheduleService;
+    
+    @Autowired
+    private RecurringScheduleRepository scheduleRepository;
+    
+    @Autowired
+    private TemplateRepository templateRepository;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private SuppressionService suppressionService;
+    
+    private String marker;
+    private Template template;
+    
+    @BeforeEach
+    void setUp() {
+        marker = UUID.randomUUID().toString().substring(0, 8);
+        template = new Template();
+        template.setName("recurring-" + marker);
+        template.setSubject("Daily report for {{team}}");
+        template.setBody("Here is the {{team}} report");
+        template = templateRepository.save(template);
+    }
+    
+    @Test
+    void testDueScheduleExpandsOnceAndMovesOn() {
+        // Given - chunk size is 2 in the test profile, so three recipients span two flushes
+        String suppressed = "muted-" + marker + "@example.com";
+        suppressionService.suppress(suppressed, SuppressionReason.MANUAL);
+        RecurringScheduleResponse created = recurringScheduleService.createSchedule(request("0 0 8 * * *", Set.of(
+            "a-" + marker + "@example.com", "b-" + marker + "@example.com", "c-" + marker + "@example.com", suppressed)));
+        assertThat(created.getNextFireAt()).isAfter(LocalDateTime.now());
+        
+        RecurringSchedule schedule = scheduleRepository.findById(created.getId()).orElseThrow();
+        schedule.setNextFireAt(LocalDateTime.now().minusMinutes(5));
+        scheduleRepository.save(schedule);
+        
+        // When
+        recurringScheduleService.fireDue();
+        recurringScheduleService.fireDue();
+        
+        // Then
+        List<Notification> sent = notificationRepository.findAll().stream()
+            .filter(n -> n.getRecipient().contains(marker))
+            .toList();
+        assertThat(sent).hasSize(3);
+        assertThat(sent).allSatisfy(n -> {
+            assertThat(n.getSubject()).isEqualTo("Daily report for ops");
+            assertThat(n.getTenantId()).isEqualTo("reports");
+        });
+        
+        RecurringScheduleResponse fired = recurringScheduleService.getSchedule(created.getId());
+        assertThat(fired.getFireCount()).isEqualTo(1);
+        assertThat(fired.getLastFiredAt()).isNotNull();
+        assertThat(fired.getNextFireAt()).isAfter(LocalDateTime.now()).isEqualTo(created.getNextFireAt());
+    }
+    
+    @Test
+    void testPausedScheduleDoesNotFire() {
+        // Given
+        RecurringScheduleResponse created = recurringScheduleService.createSchedule(
+            request("*/5 * * * * *", Set.of("paused-" + marker + "@example.com")));
+        recurringScheduleService.pause(created.getId());
+        RecurringSchedule schedule = scheduleRepository.findById(created.getId()).orElseThrow();
+        schedule.setNextFireAt(LocalDateTime.now().minusMinutes(5));
+        scheduleRepository.save(schedule);
+        
+        // When
+        recurringScheduleService.fireDue();
+        RecurringScheduleResponse resumed = recurringScheduleService.resume(created.getId());
+        
+        // Then
+        assertThat(notificationRepository.findByRecipient("paused-" + marker + "@example.com")).isEmpty();
+        assertThat(resumed.getActive()).isTrue();
+        assertThat(resumed.getNextFireAt()).isAfter(LocalDateTime.now());
+    }
+    
+    @Test
+    void testInvalidCronAndZoneRejected() {
+        RecurringScheduleRequest badCron = request("every day", Set.of("x@example.com"));
+        assertThatThrownBy(() -> recurringScheduleService.createSchedule(badCron))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("Invalid cron expression");
+        
+        RecurringScheduleRequest badZone = request("0 0 8 * * *", Set.of("x@example.com"));
+        badZone.setTimeZone("Mars/Olympus");
+        assertThatThrownBy(() -> recurringScheduleService.createSchedule(badZone))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("Unknown time zone");
+    }
+    
+    private RecurringScheduleRequest request(String cron, Set<String> recipients) {
+        RecurringScheduleRequest request = new RecurringScheduleRequest();
+        request.setName("Daily " + marker);
+        request.setTemplateId(template.getId());
+        request.setCronExpression(cron);
+        request.setTimeZone("Europe/Berlin");
+        request.setRecipients(recipients);
+        request.setVariables(Map.of("team", "ops"));
+        request.setTenantId("reports");
+        return request;
+    }
+}
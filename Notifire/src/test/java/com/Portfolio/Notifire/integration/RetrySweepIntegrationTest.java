@@ -0,0 +1,93 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.Portfolio.Notifire.service.NotificationScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for the paged retry sweep
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RetrySweepIntegrationTest {
+    
+    @Autowired
+    private NotificationScheduler notificationScheduler;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    private String marker;
+    
+    @BeforeEach
+    void setUp() {
+        marker = UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    @Test
+    void testSweep_RetriesDueNotificationsAndWaitsOutBackoff() {
+        // Given - backoff for a first retry is 2s
+        Notification due = failed("due", 0, LocalDateTime.now().minusMinutes(1));
+        Notification backingOff = failed("backing-off", 0, LocalDateTime.now());
+        Notification exhausted = failed("exhausted", 3, LocalDateTime.now().minusMinutes(1));
+        
+        // When - a full pass, reading a page per call from the cursor
+        for (int i = 0; i < 5 && reload(due).getRetryCount() == 0; i++) {
+            notificationScheduler.retryFailedNotifications();
+        }
+        
+        // Then
+        assertThat(reload(due).getRetryCount()).isEqualTo(1);
+        assertThat(reload(backingOff).getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(reload(backingOff).getRetryCount()).isZero();
+        assertThat(reload(exhausted).getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(reload(exhausted).getRetryCount()).isEqualTo(3);
+    }
+    
+    @Test
+    void testMarkRetrying_SkipsRowsNoLongerFailed() {
+        // Given
+        Notification first = failed("first", 0, LocalDateTime.now());
+        Notification second = failed("second", 0, LocalDateTime.now());
+        second.markAsSent();
+        notificationRepository.save(second);
+        
+        // When
+        int updated = notificationRepository.markRetrying(List.of(first.getId(), second.getId()),
+            NotificationStatus.FAILED, NotificationStatus.RETRYING, LocalDateTime.now());
+        
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(reload(first).getStatus()).isEqualTo(NotificationStatus.RETRYING);
+        assertThat(reload(first).getRetryCount()).isEqualTo(1);
+        assertThat(reload(second).getStatus()).isEqualTo(NotificationStatus.SENT);
+    }
+    
+    private Notification failed(String name, int retryCount, LocalDateTime failedAt) {
+        Notification notification = new Notification();
+        notification.setRecipient(name + "-" + marker + "@example.com");
+        notification.setSubject("Hello");
+        notification.setContent("Hello");
+        notification.setRetryCount(retryCount);
+        notification.setMaxRetries(3);
+        notification.markAsFailed("SendGrid returned status 503: Service Unavailable");
+        notification.setFailedAt(failedAt);
+        return notificationRepository.save(notification);
+    }
+    
+    private Notification reload(Notification notification) {
+        return notificationRepository.findById(notification.getId()).orElseThrow();
+    }
+}
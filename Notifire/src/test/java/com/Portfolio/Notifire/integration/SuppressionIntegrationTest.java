@@ -0,0 +1,134 @@
+package com.Portfolio.Notifire.integration;
+
+import com.Portfolio.Notifire.dto.NotificationRequest;
+import com.Portfolio.Notifire.exception.RecipientSuppressedException;
+import com.Portfolio.Notifire.model.entity.SuppressedRecipient;
+import com.Portfolio.Notifire.model.enums.SuppressionReason;
+import com.Portfolio.Notifire.repository.SuppressedRecipientRepository;
+import com.Portfolio.Notifire.service.NotificationService;
+import com.Portfolio.Notifire.service.SuppressionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration test for the recipient suppression list
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SuppressionIntegrationTest {
+    
+    @Autowired
+    private SuppressionService suppressionService;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private SuppressedRecipientRepository repository;
+    
+    private String marker;
+    
+    @BeforeEach
+    void setUp() {
+        marker = UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    @Test
+    void testSuppressAndUnsuppress() {
+        // Given
+        String email = "Bounced-" + marker + "@Example.com";
+        assertThat(suppressionService.isSuppressed(email)).isFalse();
+        
+        // When
+        suppressionService.suppress(email, SuppressionReason.HARD_BOUNCE);
+        
+        // Then - lookups are case-insensitive
+        assertThat(suppressionService.isSuppressed(email.toLowerCase())).isTrue();
+        assertThat(suppressionService.unsuppress(email)).isTrue();
+        assertThat(suppressionService.isSuppressed(email)).isFalse();
+        assertThat(suppressionService.unsuppress(email)).isFalse();
+    }
+    
+    @Test
+    void testSendNotification_RejectsSuppressedRecipient() {
+        // Given
+        String email = "unsub-" + marker + "@example.com";
+        suppressionService.suppress(email, SuppressionReason.UNSUBSCRIBE);
+        
+        NotificationRequest request = new NotificationRequest();
+        request.setRecipient(email);
+        request.setSubject("Hello");
+        request.setContent("Body");
+        
+        // When/Then
+        assertThatThrownBy(() -> notificationService.sendNotification(request))
+            .isInstanceOf(RecipientSuppressedException.class);
+    }
+    
+    @Test
+    void testImportAndExportRoundTrip() throws Exception {
+        // Given - chunk size is 2 in the test profile
+        String upload = String.join("\n",
+            "# comment",
+            "a-" + marker + "@example.com",
+            "b-" + marker + "@example.com,SPAM_COMPLAINT",
+            "A-" + marker + "@example.com",
+            "not-an-address",
+            "c-" + marker + "@example.com,NOPE",
+            "d-" + marker + "@example.com,UNSUBSCRIBE"
+        ) + "\n";
+        
+        // When
+        SuppressionService.ImportResult result = suppressionService.importAddresses(
+            new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), SuppressionReason.HARD_BOUNCE);
+        
+        // Then
+        assertThat(result.invalid()).isEqualTo(2);
+        assertThat(suppressionService.isSuppressed("a-" + marker + "@example.com")).isTrue();
+        assertThat(suppressionService.isSuppressed("c-" + marker + "@example.com")).isFalse();
+        assertThat(repository.findByEmail("b-" + marker + "@example.com").orElseThrow().getReason())
+            .isEqualTo(SuppressionReason.SPAM_COMPLAINT);
+        assertThat(repository.findByEmail("a-" + marker + "@example.com").orElseThrow().getReason())
+            .isEqualTo(SuppressionReason.HARD_BOUNCE);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        suppressionService.export(out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("email,reason,updatedAt\n");
+        assertThat(csv).contains("d-" + marker + "@example.com,UNSUBSCRIBE,");
+        
+        // Re-importing the export is a no-op upsert
+        SuppressionService.ImportResult again = suppressionService.importAddresses(
+            new ByteArrayInputStream(out.toByteArray()), SuppressionReason.MANUAL);
+        assertThat(again.invalid()).isZero();
+        assertThat(repository.findByEmail("b-" + marker + "@example.com").orElseThrow().getReason())
+            .isEqualTo(SuppressionReason.SPAM_COMPLAINT);
+    }
+    
+    @Test
+    void testRefreshPicksUpRowsWrittenElsewhere() {
+        // Given - a row inserted directly, as another node would
+        String email = "remote-" + marker + "@example.com";
+        suppressionService.rebuild();
+        SuppressedRecipient entry = new SuppressedRecipient();
+        entry.setEmail(email);
+        entry.setReason(SuppressionReason.MANUAL);
+        repository.save(entry);
+        
+        // When
+        suppressionService.refresh();
+        
+        // Then
+        assertThat(suppressionService.isSuppressed(email)).isTrue();
+    }
+}
@@ -0,0 +1,73 @@
+package com.Portfolio.Notifire.jfr;
+
+import com.Portfolio.Notifire.config.JfrConfig;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the JFR events and JfrSummary
+ */
+class JfrSummaryTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @BeforeAll
+    static void registerEvents() {
+        JfrConfig.EVENTS.forEach(FlightRecorder::register);
+    }
+    
+    @Test
+    void testSummarize_GroupsByStageAndChannel() throws Exception {
+        // Given
+        Path file = tempDir.resolve("notifire.jfr");
+        try (Recording recording = new Recording()) {
+            JfrConfig.EVENTS.forEach(type -> recording.enable(type).withoutThreshold());
+            recording.start();
+            
+            for (int i = 0; i < 3; i++) {
+                ProviderCallEvent event = new ProviderCallEvent();
+                event.begin();
+                Thread.sleep(2);
+                event.notificationId = i;
+                event.channel = "EMAIL";
+                event.payloadSize = 100 * (i + 1);
+                event.success = i != 2;
+                event.commit();
+            }
+            ClaimEvent claim = new ClaimEvent();
+            claim.notificationId = 7;
+            claim.claimed = true;
+            claim.commit();
+            
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        // When
+        Map<String, Map<String, JfrSummary.StageStats>> summary = JfrSummary.summarize(file);
+        
+        // Then
+        JfrSummary.StageStats provider = summary.get("ProviderCall").get("EMAIL");
+        assertThat(provider.count()).isEqualTo(3);
+        assertThat(provider.failed()).isEqualTo(1);
+        assertThat(provider.avgPayload()).isEqualTo(200.0);
+        assertThat(provider.p50Millis()).isGreaterThanOrEqualTo(1.0);
+        assertThat(summary.get("Claim").get("-").count()).isEqualTo(1);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JfrSummary.print(summary, new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("ProviderCall", "EMAIL", "p99 ms");
+    }
+}
@@ -0,0 +1,149 @@
+package com.Portfolio.Notifire.provider;
+
+import com.Portfolio.Notifire.config.EmailProviderConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ProviderRouter
+ */
+class ProviderRouterTest {
+    
+    private static final long MILLIS = 1_000_000;
+    
+    private EmailProviderConfig config;
+    private StubProvider primary;
+    private StubProvider backup;
+    private ProviderRouter router;
+    
+    @BeforeEach
+    void setUp() {
+        config = new EmailProviderConfig();
+        primary = new StubProvider("primary", true);
+        backup = new StubProvider("backup", true);
+        router = new ProviderRouter(new ProviderRegistry(List.of(primary, backup), config), config, new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void testSelect_FavoursLowerLatency() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            router.record(primary, ProviderResponse.accepted(202, null), 500 * MILLIS);
+            router.record(backup, ProviderResponse.accepted(202, null), 10 * MILLIS);
+        }
+        
+        // When
+        int backupPicks = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (router.select() == backup) {
+                backupPicks++;
+            }
+        }
+        
+        // Then - latency ratio is about 1:40
+        assertThat(backupPicks).isGreaterThan(900);
+    }
+    
+    @Test
+    void testConsecutiveFailures_TakeProviderOutOfRotation() {
+        // Given
+        for (int i = 0; i < config.getMaxConsecutiveFailures(); i++) {
+            router.record(primary, ProviderResponse.failed(503, "SendGrid returned status 503: Service Unavailable"), 50 * MILLIS);
+        }
+        
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(router.select()).isSameAs(backup);
+        }
+        assertThat(router.failover(backup, Set.of("backup"))).isNull();
+    }
+    
+    @Test
+    void testFailover_PicksUntriedProviderWithinAttempts() {
+        assertThat(router.failover(primary, Set.of("primary"))).isSameAs(backup);
+        assertThat(router.failover(backup, Set.of("primary", "backup"))).isNull();
+        
+        config.setMaxAttempts(1);
+        assertThat(router.failover(primary, Set.of("primary"))).isNull();
+    }
+    
+    @Test
+    void testRejectedRequests_DoNotFailOverOrCountAgainstProvider() {
+        ProviderResponse rejected = ProviderResponse.failed(400, "SendGrid returned status 400: Bad Request");
+        for (int i = 0; i < 20; i++) {
+            router.record(primary, rejected, 50 * MILLIS);
+        }
+        
+        assertThat(router.canFailOver(rejected)).isFalse();
+        assertThat(router.canFailOver(ProviderResponse.failed(0, "IOException while sending email: timeout"))).isTrue();
+        assertThat(router.failover(backup, Set.of("backup"))).isSameAs(primary);
+    }
+    
+    @Test
+    void testEjectedProvider_ReturnsAfterCoolDown() {
+        // Given
+        config.setEjectFor(Duration.ZERO);
+        for (int i = 0; i < config.getMaxConsecutiveFailures(); i++) {
+            router.record(primary, ProviderResponse.failed(503, "SendGrid returned status 503: Service Unavailable"), 50 * MILLIS);
+        }
+        
+        // Then - back on probation straight away
+        assertThat(router.failover(backup, Set.of("backup"))).isSameAs(primary);
+    }
+    
+    @Test
+    void testSelect_StillSendsWhenEveryProviderIsOut() {
+        for (StubProvider provider : List.of(primary, backup)) {
+            for (int i = 0; i < config.getMaxConsecutiveFailures(); i++) {
+                router.record(provider, ProviderResponse.failed(0, "IOException while sending email: refused"), MILLIS);
+            }
+        }
+        
+        assertThat(router.select()).isIn(primary, backup);
+    }
+    
+    @Test
+    void testRegistry_UsesStandInsOnlyWhileNoProviderIsEnabled() {
+        ProviderRegistry registry = new ProviderRegistry(List.of(new StubProvider("off", false)), config);
+        assertThat(registry.getActive()).extracting(EmailProvider::getName).containsExactly("simulated");
+        assertThat(registry.getActive().get(0).isStandIn()).isTrue();
+        
+        registry = new ProviderRegistry(List.of(new StubProvider("off", false), primary), config);
+        assertThat(registry.getActive()).containsExactly(primary);
+    }
+    
+    private record StubProvider(String name, boolean enabled) implements EmailProvider {
+        
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        @Override
+        public String getFromEmail() {
+            return "noreply@test.com";
+        }
+        
+        @Override
+        public double getWeight() {
+            return 1.0;
+        }
+        
+        @Override
+        public ProviderResponse send(OutboundEmail email) {
+            return ProviderResponse.accepted(202, name + "-1");
+        }
+    }
+}
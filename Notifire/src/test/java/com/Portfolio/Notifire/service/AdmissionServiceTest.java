@@ -0,0 +1,107 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.AdmissionConfig;
+import com.Portfolio.Notifire.exception.GlobalExceptionHandler;
+import com.Portfolio.Notifire.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AdmissionService
+ */
+@ExtendWith(MockitoExtension.class)
+class AdmissionServiceTest {
+    
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    private AdmissionConfig config;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private AdmissionService admissionService;
+    
+    @BeforeEach
+    void setUp() {
+        config = new AdmissionConfig();
+        config.setMaxDispatchBacklog(100);
+        config.setMaxDbLatency(Duration.ofMillis(200));
+        config.setLatencySmoothing(0.5);
+        config.setRetryAfter(Duration.ofSeconds(7));
+        meterRegistry = new SimpleMeterRegistry();
+        admissionService = new AdmissionService(config, notificationDispatcher, jdbcTemplate, meterRegistry);
+    }
+    
+    @Test
+    void testAdmitted() {
+        when(notificationDispatcher.getTotalBacklog()).thenReturn(99);
+        
+        assertThatCode(() -> admissionService.checkAdmission()).doesNotThrowAnyException();
+    }
+    
+    @Test
+    void testShedOnDispatchBacklog() {
+        // Given
+        when(notificationDispatcher.getTotalBacklog()).thenReturn(100);
+        
+        // When / Then
+        assertThatThrownBy(() -> admissionService.checkAdmission())
+            .isInstanceOf(ServiceOverloadedException.class)
+            .hasMessageContaining("dispatch backlog");
+        assertThat(meterRegistry.get("notifire.admission.rejected").tag("reason", "dispatch-backlog").counter().count())
+            .isEqualTo(1.0);
+    }
+    
+    @Test
+    void testShedOnSmoothedDbLatency() {
+        // Given - one slow sample is smoothed below the limit, a sustained slowdown is not
+        admissionService.recordDbLatency(300);
+        assertThatCode(() -> admissionService.checkAdmission()).doesNotThrowAnyException();
+        admissionService.recordDbLatency(300);
+        admissionService.recordDbLatency(300);
+        
+        // When / Then
+        assertThatThrownBy(() -> admissionService.checkAdmission())
+            .isInstanceOf(ServiceOverloadedException.class)
+            .hasMessageContaining("database latency");
+    }
+    
+    @Test
+    void testFailedProbeSheds() {
+        // Given
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class))
+            .thenThrow(new DataAccessResourceFailureException("down"));
+        
+        // When
+        admissionService.probeDatabase();
+        
+        // Then
+        assertThatThrownBy(() -> admissionService.checkAdmission()).isInstanceOf(ServiceOverloadedException.class);
+    }
+    
+    @Test
+    void testRejectionMapsTo429WithRetryAfter() {
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = new GlobalExceptionHandler()
+            .handleServiceOverloaded(new ServiceOverloadedException("test", Duration.ofSeconds(7)));
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+    }
+}
@@ -0,0 +1,94 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.ContentStoreConfig;
+import com.Portfolio.Notifire.model.entity.ContentBlob;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.ContentCodec;
+import com.Portfolio.Notifire.repository.ContentBlobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContentStore encoding and hashing
+ */
+class ContentStoreTest {
+    
+    private ContentStoreConfig config;
+    private ContentBlobRepository blobRepository;
+    private ContentStore contentStore;
+    
+    @BeforeEach
+    void setUp() {
+        config = new ContentStoreConfig();
+        config.setCompressThreshold(64);
+        blobRepository = mock(ContentBlobRepository.class);
+        contentStore = new ContentStore(blobRepository, mock(EntityManager.class),
+            mock(PlatformTransactionManager.class), config);
+    }
+    
+    @Test
+    void testEncode_CompressesLargeBodyAndRoundTrips() {
+        // Given
+        String body = "<p>Your weekly summary is ready. </p>".repeat(50);
+        
+        // When
+        ContentBlob blob = contentStore.encode(ContentStore.hash(body), body);
+        
+        // Then
+        assertThat(blob.getCodec()).isEqualTo(ContentCodec.DEFLATE);
+        assertThat(blob.getData().length).isLessThan(body.length());
+        assertThat(blob.decode()).isEqualTo(body);
+    }
+    
+    @Test
+    void testEncode_KeepsSmallBodyUncompressed() {
+        // Given
+        String body = "Hi émilie";
+        
+        // When
+        ContentBlob blob = contentStore.encode(ContentStore.hash(body), body);
+        
+        // Then
+        assertThat(blob.getCodec()).isEqualTo(ContentCodec.NONE);
+        assertThat(blob.decode()).isEqualTo(body);
+    }
+    
+    @Test
+    void testDecode_CorruptDataThrows() {
+        // Given
+        ContentBlob blob = contentStore.encode("h", "x".repeat(200));
+        blob.getData()[0] ^= (byte) 0xff;
+        
+        // When / Then
+        assertThatThrownBy(blob::decode).isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void testHash_IsStableSha256() {
+        assertThat(ContentStore.hash("abc"))
+            .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+    
+    @Test
+    void testExternalize_DisabledLeavesContentInline() {
+        // Given
+        config.setEnabled(false);
+        Notification notification = new Notification();
+        notification.setContent("Body");
+        
+        // When
+        contentStore.externalize(List.of(notification));
+        
+        // Then
+        assertThat(notification.getContent()).isEqualTo("Body");
+        assertThat(notification.getContentBlob()).isNull();
+        verifyNoInteractions(blobRepository);
+    }
+}
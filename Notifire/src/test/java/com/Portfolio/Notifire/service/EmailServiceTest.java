@@ -1,25 +1,44 @@
 package com.Portfolio.Notifire.service;
 
+import com.Portfolio.Notifire.config.EmailProviderConfig;
+import com.Portfolio.Notifire.config.LogSamplingConfig;
+import com.Portfolio.Notifire.config.PipelineMetricsConfig;
 import com.Portfolio.Notifire.config.SendGridConfig;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.exception.TemplateProcessingException;
 import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
 import com.Portfolio.Notifire.model.enums.NotificationChannel;
 import com.Portfolio.Notifire.model.enums.NotificationPriority;
 import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.provider.EmailProvider;
+import com.Portfolio.Notifire.provider.ProviderRegistry;
+import com.Portfolio.Notifire.provider.ProviderResponse;
+import com.Portfolio.Notifire.provider.ProviderRouter;
+import com.Portfolio.Notifire.provider.SendGridProvider;
 import com.Portfolio.Notifire.repository.NotificationRepository;
+import com.sendgrid.Request;
 import com.sendgrid.Response;
 import com.sendgrid.SendGrid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,16 +53,49 @@ class EmailServiceTest {
     @Mock
     private SendGridConfig sendGridConfig;
     
+    @Mock
+    private EmailProvider backupProvider;
+    
     @Mock
     private NotificationRepository notificationRepository;
     
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private SuppressionService suppressionService;
+    
+    @Mock
+    private RateLimitService rateLimitService;
+    
+    @Mock
+    private TemplateRenderer templateRenderer;
+    
+    @Mock
+    private SloTracker sloTracker;
+    
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry(), new PipelineMetricsConfig());
+    
+    @Spy
+    private NotificationTracing notificationTracing = new NotificationTracing(Tracer.NOOP, Propagator.NOOP);
+    
+    @Spy
+    private LogSampler logSampler = new LogSampler(new LogSamplingConfig());
+    
     private EmailService emailService;
     
     private Notification testNotification;
     
     @BeforeEach
     void setUp() {
+        EmailProviderConfig providerConfig = new EmailProviderConfig();
+        ProviderRegistry registry = new ProviderRegistry(
+            List.of(new SendGridProvider(sendGrid, sendGridConfig), backupProvider), providerConfig);
+        ProviderRouter providerRouter = new ProviderRouter(registry, providerConfig, new SimpleMeterRegistry());
+        emailService = new EmailService(providerRouter, notificationRepository, eventPublisher, suppressionService,
+            rateLimitService, templateRenderer, pipelineMetrics, sloTracker, notificationTracing, logSampler);
+        
         testNotification = new Notification();
         testNotification.setId(1L);
         testNotification.setRecipient("test@example.com");
@@ -70,6 +122,83 @@ class EmailServiceTest {
         verify(sendGrid, never()).api(any());
     }
     
+    @Test
+    void testSendEmail_DeferredRender_RendersBeforeSending() throws IOException {
+        // Given
+        Template template = new Template();
+        template.setId(5L);
+        testNotification.setTemplate(template);
+        testNotification.setContent(null);
+        when(sendGridConfig.isEnabled()).thenReturn(true);
+        when(sendGridConfig.getFromEmail()).thenReturn("noreply@test.com");
+        when(templateRenderer.renderContent(testNotification)).thenReturn("Rendered body");
+        Response mockResponse = new Response();
+        mockResponse.setStatusCode(202);
+        when(sendGrid.api(any())).thenReturn(mockResponse);
+        
+        // When
+        emailService.sendEmail(testNotification);
+        
+        // Then
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(sendGrid).api(request.capture());
+        assertThat(request.getValue().getBody()).contains("Rendered body");
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.SENT);
+        assertThat(testNotification.getContent()).isNull();
+    }
+    
+    @Test
+    void testSendEmail_DeferredRenderFailure_Fails() throws IOException {
+        // Given
+        testNotification.setTemplate(new Template());
+        testNotification.setContent(null);
+        when(templateRenderer.renderContent(testNotification))
+            .thenThrow(new TemplateProcessingException("Stored variables of notification 1 are not valid JSON"));
+        
+        // When
+        emailService.sendEmail(testNotification);
+        
+        // Then
+        verify(sendGrid, never()).api(any());
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(testNotification.getErrorMessage()).startsWith("Render failed");
+    }
+    
+    @Test
+    void testSendEmail_SuppressedRecipient() throws IOException {
+        // Given
+        when(suppressionService.isSuppressed("test@example.com")).thenReturn(true);
+        
+        // When
+        emailService.sendEmail(testNotification);
+        
+        // Then
+        verify(sendGrid, never()).api(any());
+        verify(notificationRepository).save(testNotification);
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(testNotification.getErrorMessage()).isEqualTo("Recipient is suppressed");
+    }
+    
+    @Test
+    void testSendEmail_RateLimited_Deferred() throws IOException {
+        // Given
+        testNotification.setStatus(NotificationStatus.RETRYING);
+        when(sendGridConfig.isEnabled()).thenReturn(true);
+        when(sendGridConfig.getFromEmail()).thenReturn("noreply@test.com");
+        when(rateLimitService.acquire("test@example.com", "noreply@test.com", "sendgrid")).thenReturn(250L);
+        
+        // When
+        emailService.sendEmail(testNotification);
+        
+        // Then
+        verify(sendGrid, never()).api(any());
+        verify(notificationRepository).save(testNotification);
+        verify(rateLimitService).redispatchAfter(testNotification, 250L);
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+        assertThat(testNotification.getScheduledAt()).isAfter(java.time.LocalDateTime.now());
+        assertThat(testNotification.getErrorMessage()).isNull();
+    }
+    
     @Test
     void testSendEmail_SendGridEnabled_Success() throws IOException {
         // Given
@@ -115,6 +244,31 @@ class EmailServiceTest {
         assertThat(testNotification.getErrorMessage()).contains("400");
     }
     
+    @Test
+    void testSendEmail_ProviderError_FailsOverToBackup() throws IOException {
+        // Given - the backup carries no weight, so SendGrid is picked first
+        when(sendGridConfig.isEnabled()).thenReturn(true);
+        when(sendGridConfig.getWeight()).thenReturn(1.0);
+        when(sendGridConfig.getFromEmail()).thenReturn("noreply@test.com");
+        when(backupProvider.isEnabled()).thenReturn(true);
+        when(backupProvider.getName()).thenReturn("backup");
+        when(backupProvider.send(any())).thenReturn(ProviderResponse.accepted(200, "backup-1"));
+        
+        Response mockResponse = new Response();
+        mockResponse.setStatusCode(503);
+        mockResponse.setBody("Service Unavailable");
+        when(sendGrid.api(any())).thenReturn(mockResponse);
+        
+        // When
+        emailService.sendEmail(testNotification);
+        
+        // Then
+        verify(sendGrid, times(1)).api(any());
+        verify(backupProvider, times(1)).send(any());
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.SENT);
+        assertThat(testNotification.getProviderMessageId()).isEqualTo("backup-1");
+    }
+    
     @Test
     void testSendEmail_IOException() throws IOException {
         // Given
@@ -146,10 +300,47 @@ class EmailServiceTest {
         verify(sendGrid, never()).api(any());
     }
     
+    @Test
+    void testSendEmailById_AlreadyClaimed() throws IOException {
+        // Given
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.claimForSending(eq(1L), any(), eq(NotificationStatus.SENDING), any())).thenReturn(0);
+        
+        // When
+        emailService.sendEmailById(1L);
+        
+        // Then
+        verify(sendGrid, never()).api(any());
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+    
+    @Test
+    void testSendEmailById_Claimed_AnnouncesSendingOnce() throws IOException {
+        // Given
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.claimForSending(eq(1L), any(), eq(NotificationStatus.SENDING), any())).thenReturn(1);
+        when(sendGridConfig.isEnabled()).thenReturn(true);
+        when(sendGridConfig.getFromEmail()).thenReturn("noreply@test.com");
+        Response mockResponse = new Response();
+        mockResponse.setStatusCode(202);
+        when(sendGrid.api(any())).thenReturn(mockResponse);
+        
+        // When
+        emailService.sendEmailById(1L);
+        
+        // Then - the claim already wrote SENDING, so only the outcome is saved
+        verify(notificationRepository, times(1)).save(any(Notification.class));
+        ArgumentCaptor<NotificationStatusEvent> events = ArgumentCaptor.forClass(NotificationStatusEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(NotificationStatusEvent::getStatus)
+            .containsExactly(NotificationStatus.SENDING, NotificationStatus.SENT);
+    }
+    
     @Test
     void testSendEmailAsync_NotificationFound() {
         // Given
         when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.claimForSending(eq(1L), any(), eq(NotificationStatus.SENDING), any())).thenReturn(1);
         when(sendGridConfig.isEnabled()).thenReturn(false);
         when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
         
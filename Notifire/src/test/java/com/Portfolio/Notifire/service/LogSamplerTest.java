@@ -0,0 +1,61 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.LogSamplingConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplerTest {
+    
+    private LogSampler sampler(double rate) {
+        LogSamplingConfig config = new LogSamplingConfig();
+        config.setSuccessRate(rate);
+        return new LogSampler(config);
+    }
+    
+    @Test
+    void testFullRate_SamplesEverything() {
+        LogSampler sampler = sampler(1.0);
+        
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(sampler.sampled(id)).isTrue();
+        }
+    }
+    
+    @Test
+    void testZeroRate_SamplesNothing() {
+        LogSampler sampler = sampler(0.0);
+        
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(sampler.sampled(id)).isFalse();
+        }
+    }
+    
+    @Test
+    void testPartialRate_SamplesRoughlyThatFractionOfSequentialIds() {
+        LogSampler sampler = sampler(0.05);
+        
+        int sampled = 0;
+        for (long id = 1; id <= 100_000; id++) {
+            if (sampler.sampled(id)) {
+                sampled++;
+            }
+        }
+        
+        assertThat(sampled).isBetween(4_500, 5_500);
+    }
+    
+    @Test
+    void testDecision_IsStablePerNotification() {
+        LogSampler sampler = sampler(0.3);
+        
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(sampler.sampled(id)).isEqualTo(sampler.sampled(id));
+        }
+    }
+    
+    @Test
+    void testUnsavedNotification_IsAlwaysSampled() {
+        assertThat(sampler(0.0).sampled(null)).isTrue();
+    }
+}
@@ -0,0 +1,215 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.DispatchConfig;
+import com.Portfolio.Notifire.config.PipelineMetricsConfig;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.Portfolio.Notifire.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationDispatcher
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+    
+    @Mock
+    private EmailService emailService;
+    
+    @Mock
+    private NotificationRepository notificationRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private final Deque<Runnable> executorTasks = new ArrayDeque<>();
+    
+    private final List<Long> sent = new ArrayList<>();
+    
+    private DispatchConfig config;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private NotificationDispatcher dispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        config = new DispatchConfig();
+        config.setMaxInFlight(2);
+        config.setDefaultQuota(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(emailService, executorTasks::add, notificationRepository, transactionManager,
+            config, meterRegistry, new PipelineMetrics(meterRegistry, new PipelineMetricsConfig()));
+        lenient().doAnswer(invocation -> sent.add(invocation.getArgument(0)))
+            .when(emailService).sendEmailById(anyLong());
+    }
+    
+    @Test
+    void testSmallTenantNotStarvedByBulkSender() {
+        // Given - the bulk tenant queues first
+        for (long id = 1; id <= 100; id++) {
+            dispatcher.submit(id, "bulk");
+        }
+        dispatcher.submit(1001L, "small");
+        dispatcher.submit(1002L, "small");
+        
+        // When
+        runAll();
+        
+        // Then - the small tenant alternates with the bulk one instead of waiting behind it
+        assertThat(sent).hasSize(102);
+        assertThat(sent.indexOf(1002L)).isLessThan(6);
+        assertThat(dispatcher.getBacklog("bulk")).isZero();
+    }
+    
+    @Test
+    void testWeightsSplitThroughput() {
+        // Given
+        config.getWeights().put("heavy", 3);
+        for (long id = 1; id <= 40; id++) {
+            dispatcher.submit(id, "light");
+            dispatcher.submit(1000 + id, "heavy");
+        }
+        
+        // When
+        runAll();
+        
+        // Then - while both have work, heavy gets three sends per light one
+        long heavyInFirst40 = sent.subList(0, 40).stream().filter(id -> id > 1000).count();
+        assertThat(heavyInFirst40).isBetween(28L, 32L);
+    }
+    
+    @Test
+    void testQuotaLeavesExcessPending() {
+        // Given
+        config.setMaxInFlight(0);
+        config.getQuotas().put("capped", 2);
+        
+        // When / Then
+        assertThat(dispatcher.submit(1L, "capped")).isTrue();
+        assertThat(dispatcher.submit(2L, "capped")).isTrue();
+        assertThat(dispatcher.submit(3L, "capped")).isFalse();
+        assertThat(dispatcher.getBacklog("capped")).isEqualTo(2);
+        assertThat(meterRegistry.get("notifire.dispatch.over_quota").tag("tenant", "capped").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("notifire.dispatch.backlog").tag("tenant", "capped").gauge().value())
+            .isEqualTo(2.0);
+    }
+    
+    @Test
+    void testSameNotificationQueuedOnce() {
+        // When
+        dispatcher.submit(1L, null);
+        dispatcher.submit(1L, null);
+        runAll();
+        
+        // Then
+        assertThat(sent).containsExactly(1L);
+        assertThat(dispatcher.getInFlight()).isZero();
+    }
+    
+    @Test
+    void testRejectedExecutionReleasesToScheduler() {
+        // Given
+        List<Runnable> accepted = new ArrayList<>();
+        boolean[] full = {true};
+        dispatcher = new NotificationDispatcher(emailService, task -> {
+            if (full[0]) {
+                throw new RejectedExecutionException("full");
+            }
+            accepted.add(task);
+        }, notificationRepository, transactionManager, config, meterRegistry,
+            new PipelineMetrics(meterRegistry, new PipelineMetricsConfig()));
+        
+        // When
+        dispatcher.submit(1L, "t");
+        full[0] = false;
+        dispatcher.submit(2L, "t");
+        accepted.forEach(Runnable::run);
+        
+        // Then - the rejected notification is dropped from memory and handed back to the scheduler due now,
+        // in a transaction of its own in case the drain runs after the caller's has committed
+        assertThat(sent).containsExactly(2L);
+        verify(notificationRepository).releaseUndispatched(eq(List.of(1L)),
+            eq(List.of(NotificationStatus.PENDING, NotificationStatus.RETRYING)), eq(NotificationStatus.PENDING), any());
+        verify(transactionManager).getTransaction(argThat(definition ->
+            definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        assertThat(dispatcher.getInFlight()).isZero();
+        assertThat(dispatcher.getTotalBacklog()).isZero();
+        dispatcher.submit(1L, "t");
+        accepted.get(accepted.size() - 1).run();
+        assertThat(sent).containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void testOrderedChannelSerializesPerRecipient() {
+        // Given
+        config.getOrderedChannels().add(NotificationChannel.EMAIL);
+        
+        // When - two sends to one recipient and one to another
+        dispatcher.submit(notification(1L, "user@example.com"));
+        dispatcher.submit(notification(2L, "User@Example.com"));
+        dispatcher.submit(notification(3L, "other@example.com"));
+        
+        // Then - user's second send waits for the first without holding a slot, and runs right after it
+        assertThat(executorTasks).hasSize(2);
+        assertThat(dispatcher.getBacklog("default")).isEqualTo(1);
+        runAll();
+        assertThat(sent).containsExactly(1L, 2L, 3L);
+    }
+    
+    @Test
+    void testOrderedBurstDoesNotBlockOtherRecipients() {
+        // Given
+        config.getOrderedChannels().add(NotificationChannel.EMAIL);
+        for (long id = 1; id <= 10; id++) {
+            dispatcher.submit(notification(id, "busy@example.com"));
+        }
+        
+        // When
+        dispatcher.submit(notification(100L, "other@example.com"));
+        
+        // Then - the burst holds one slot, so the other recipient starts at once
+        assertThat(dispatcher.getInFlight()).isEqualTo(2);
+        assertThat(executorTasks).hasSize(2);
+        executorTasks.pollLast().run();
+        assertThat(sent).containsExactly(100L);
+        runAll();
+        assertThat(sent).containsExactly(100L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(dispatcher.getInFlight()).isZero();
+        assertThat(dispatcher.getTotalBacklog()).isZero();
+    }
+    
+    private Notification notification(Long id, String recipient) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setRecipient(recipient);
+        notification.setChannel(NotificationChannel.EMAIL);
+        return notification;
+    }
+    
+    private void runAll() {
+        while (!executorTasks.isEmpty()) {
+            executorTasks.pollFirst().run();
+        }
+    }
+}
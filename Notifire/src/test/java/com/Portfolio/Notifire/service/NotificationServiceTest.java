@@ -1,9 +1,13 @@
 package com.Portfolio.Notifire.service;
 
+import com.Portfolio.Notifire.config.IdempotencyConfig;
+import com.Portfolio.Notifire.config.LogSamplingConfig;
+import com.Portfolio.Notifire.config.PipelineMetricsConfig;
 import com.Portfolio.Notifire.dto.NotificationRequest;
 import com.Portfolio.Notifire.dto.NotificationResponse;
 import com.Portfolio.Notifire.exception.InvalidRequestException;
 import com.Portfolio.Notifire.exception.NotificationNotFoundException;
+import com.Portfolio.Notifire.exception.RecipientSuppressedException;
 import com.Portfolio.Notifire.exception.TemplateNotFoundException;
 import com.Portfolio.Notifire.model.entity.Notification;
 import com.Portfolio.Notifire.model.entity.Template;
@@ -12,22 +16,38 @@ import com.Portfolio.Notifire.model.enums.NotificationPriority;
 import com.Portfolio.Notifire.model.enums.NotificationStatus;
 import com.Portfolio.Notifire.repository.NotificationRepository;
 import com.Portfolio.Notifire.repository.TemplateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -48,6 +68,42 @@ class NotificationServiceTest {
     @Mock
     private EmailService emailService;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private IdempotencyService idempotencyService;
+    
+    @Mock
+    private SuppressionService suppressionService;
+    
+    @Mock
+    private DigestService digestService;
+    
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+    
+    @Mock
+    private DelayedDeliveryService delayedDeliveryService;
+    
+    @Mock
+    private TemplateRenderer templateRenderer;
+    
+    @Mock
+    private ContentStore contentStore;
+    
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry(), new PipelineMetricsConfig());
+    
+    @Spy
+    private NotificationTracing notificationTracing = new NotificationTracing(Tracer.NOOP, Propagator.NOOP);
+    
+    @Spy
+    private LogSampler logSampler = new LogSampler(new LogSamplingConfig());
+    
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    
     @InjectMocks
     private NotificationService notificationService;
     
@@ -96,6 +152,108 @@ class NotificationServiceTest {
         assertThat(response.getMessage()).isEqualTo("Notification queued successfully");
         
         verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(notificationDispatcher).submit(savedNotification);
+    }
+    
+    @Test
+    void testSendNotification_CarriesTenant() {
+        // Given
+        validRequest.setTenantId("billing");
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(validRequest);
+        
+        // Then
+        assertThat(response.getTenantId()).isEqualTo("billing");
+        verify(notificationDispatcher).submit(argThat((Notification n) -> "billing".equals(n.getTenantId())));
+    }
+    
+    @Test
+    void testSendNotification_DuplicateIdempotencyKey() {
+        // Given
+        validRequest.setIdempotencyKey("order-42");
+        savedNotification.setIdempotencyKey("order-42");
+        when(idempotencyService.findOriginal("order-42")).thenReturn(Optional.of(savedNotification));
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(validRequest);
+        
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getIdempotencyKey()).isEqualTo("order-42");
+        assertThat(response.getMessage()).contains("Duplicate");
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationRepository, never()).saveAndFlush(any(Notification.class));
+        verify(notificationDispatcher, never()).submit(any(Notification.class));
+    }
+    
+    @Test
+    void testSendNotification_NewIdempotencyKey() {
+        // Given
+        validRequest.setIdempotencyKey("order-43");
+        when(idempotencyService.findOriginal("order-43")).thenReturn(Optional.empty());
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(savedNotification);
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(validRequest);
+        
+        // Then
+        assertThat(response.getMessage()).isEqualTo("Notification queued successfully");
+        verify(idempotencyService).record("order-43");
+    }
+    
+    @Test
+    void testSendNotification_IdempotencyKeyCollision_ReturnsOriginal() {
+        // Given - the duplicate filter missed the key, so the insert hits the unique index
+        validRequest.setIdempotencyKey("order-44");
+        savedNotification.setIdempotencyKey("order-44");
+        when(idempotencyService.findOriginal("order-44")).thenReturn(Optional.empty());
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenThrow(violation(Notification.IDEMPOTENCY_KEY_INDEX));
+        when(notificationRepository.findByIdempotencyKey("order-44")).thenReturn(Optional.of(savedNotification));
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(validRequest);
+        
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getMessage()).contains("Duplicate");
+        verify(notificationDispatcher, never()).submit(any(Notification.class));
+    }
+    
+    @Test
+    void testSendNotification_OtherConstraintViolation_Rethrown() {
+        // Given
+        validRequest.setIdempotencyKey("order-45");
+        when(idempotencyService.findOriginal("order-45")).thenReturn(Optional.empty());
+        DataIntegrityViolationException violation = violation("fk_notification_template");
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenThrow(violation);
+        
+        // When / Then
+        assertThatThrownBy(() -> notificationService.sendNotification(validRequest)).isSameAs(violation);
+        verify(notificationRepository, never()).findByIdempotencyKey(any());
+    }
+    
+    @Test
+    void testSendNotification_FailedAttemptReleasesIdempotencyKey() {
+        // Given - keys are claimed in Redis, and the first attempt names a template that does not exist
+        Set<String> claims = new HashSet<>();
+        ReflectionTestUtils.setField(notificationService, "idempotencyService", claimingIdempotencyService(claims));
+        validRequest.setIdempotencyKey("order-46");
+        validRequest.setTemplateId(99L);
+        when(templateRepository.findById(99L)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> notificationService.sendNotification(validRequest))
+            .isInstanceOf(TemplateNotFoundException.class);
+        assertThat(claims).isEmpty();
+        
+        // When - the corrected request is resubmitted with the same key
+        validRequest.setTemplateId(null);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(savedNotification);
+        NotificationResponse response = notificationService.sendNotification(validRequest);
+        
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(claims).containsExactly("notifire:idempotency:order-46");
     }
     
     @Test
@@ -125,6 +283,27 @@ class NotificationServiceTest {
         verify(notificationRepository, times(1)).save(any(Notification.class));
     }
     
+    @Test
+    void testSendNotification_WithTemplate_LazyRender() {
+        // Given
+        validRequest.setTemplateId(1L);
+        validRequest.setSubject(null);
+        validRequest.setContent(null);
+        validRequest.setVariables(Map.of("user_name", "John Doe"));
+        
+        when(templateRepository.findById(1L)).thenReturn(Optional.of(mockTemplate));
+        when(templateRenderer.isLazy()).thenReturn(true);
+        when(templateService.renderTemplate(eq("Welcome {{user_name}}!"), any())).thenReturn("Welcome John Doe!");
+        when(notificationRepository.save(any(Notification.class))).thenReturn(savedNotification);
+        
+        // When
+        notificationService.sendNotification(validRequest);
+        
+        // Then - only the subject is rendered at ingest
+        verify(templateService, times(1)).renderTemplate(anyString(), any());
+        verify(templateRenderer).deferBody(any(Notification.class), eq(mockTemplate), eq(validRequest.getVariables()));
+    }
+    
     @Test
     void testSendNotification_InvalidEmail() {
         // Given
@@ -152,6 +331,58 @@ class NotificationServiceTest {
             .hasMessageContaining("Either content or templateId must be provided");
     }
     
+    @Test
+    void testSendNotification_BufferedForDigest() {
+        // Given
+        validRequest.setPriority(NotificationPriority.LOW);
+        when(digestService.shouldDigest(validRequest)).thenReturn(true);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            notification.setId(2L);
+            return notification;
+        });
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(validRequest);
+        
+        // Then
+        assertThat(response.getStatus()).isEqualTo(NotificationStatus.DIGEST_PENDING);
+        assertThat(response.getMessage()).isEqualTo("Notification buffered for digest");
+        verify(notificationDispatcher, never()).submit(any(Notification.class));
+    }
+    
+    @Test
+    void testSendNotification_FutureDatedIsScheduled() {
+        // Given
+        validRequest.setScheduledAt(LocalDateTime.now().plusHours(1));
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            notification.setId(3L);
+            return notification;
+        });
+        
+        // When
+        NotificationResponse response = notificationService.sendNotification(validRequest);
+        
+        // Then
+        assertThat(response.getStatus()).isEqualTo(NotificationStatus.SCHEDULED);
+        assertThat(response.getMessage()).isEqualTo("Notification scheduled for delivery");
+        verify(delayedDeliveryService).schedule(any(Notification.class));
+        verify(notificationDispatcher, never()).submit(any(Notification.class));
+    }
+    
+    @Test
+    void testSendNotification_SuppressedRecipient() {
+        // Given
+        doThrow(new RecipientSuppressedException("test@example.com"))
+            .when(suppressionService).checkNotSuppressed("test@example.com");
+        
+        // When/Then
+        assertThatThrownBy(() -> notificationService.sendNotification(validRequest))
+            .isInstanceOf(RecipientSuppressedException.class);
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+    
     @Test
     void testSendNotification_TemplateNotFound() {
         // Given
@@ -306,4 +537,27 @@ class NotificationServiceTest {
         
         verify(notificationRepository, times(1)).findByRecipient("test@example.com");
     }
+    
+    /**
+     * Idempotency service whose Redis claims are kept in the given set
+     */
+    @SuppressWarnings("unchecked")
+    private IdempotencyService claimingIdempotencyService(Set<String> claims) {
+        IdempotencyConfig config = new IdempotencyConfig();
+        config.setRedisEnabled(true);
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+            .thenAnswer(invocation -> claims.add(invocation.getArgument(0)));
+        when(redis.delete(anyString())).thenAnswer(invocation -> claims.remove(invocation.<String>getArgument(0)));
+        ObjectProvider<StringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(redis);
+        return new IdempotencyService(notificationRepository, provider, config);
+    }
+    
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("Unique index or primary key violation", new SQLException(), constraint));
+    }
 }
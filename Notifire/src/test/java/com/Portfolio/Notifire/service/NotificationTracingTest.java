@@ -0,0 +1,116 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.util.FileSpanExporter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for NotificationTracing against the OpenTelemetry bridge
+ */
+class NotificationTracingTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path spansFile;
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private NotificationTracing notificationTracing;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        spansFile = tempDir.resolve("spans.ndjson");
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(spansFile, objectMapper)))
+            .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = tracerProvider.get("test");
+        OtelCurrentTraceContext context = new OtelCurrentTraceContext();
+        tracer = new OtelTracer(otelTracer, context, event -> { },
+            new OtelBaggageManager(context, List.of(), List.of()));
+        notificationTracing = new NotificationTracing(tracer,
+            new OtelPropagator(ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+    
+    @Test
+    void testSendContinuesTheIngestTrace() throws Exception {
+        // Given - a notification created inside an ingest span
+        Notification notification = new Notification();
+        notification.setId(42L);
+        Span ingest = tracer.nextSpan().name("ingest").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(ingest)) {
+            notificationTracing.stamp(notification);
+        } finally {
+            ingest.end();
+        }
+        
+        // When - it is sent later from a thread without that context
+        notificationTracing.inSpan("notification.send", notification, () -> {
+            notificationTracing.startChild("sendgrid.mail.send").end();
+        });
+        
+        // Then
+        assertThat(notification.getTraceId()).isEqualTo(ingest.context().traceId());
+        List<JsonNode> spans = readSpans();
+        JsonNode send = spans.stream().filter(s -> s.get("name").asText().equals("notification.send")).findFirst().orElseThrow();
+        JsonNode provider = spans.stream().filter(s -> s.get("name").asText().equals("sendgrid.mail.send")).findFirst().orElseThrow();
+        assertThat(send.get("traceId").asText()).isEqualTo(ingest.context().traceId());
+        assertThat(send.get("parentSpanId").asText()).isEqualTo(ingest.context().spanId());
+        assertThat(send.get("attributes").get("notification.id").asText()).isEqualTo("42");
+        assertThat(provider.get("parentSpanId").asText()).isEqualTo(send.get("spanId").asText());
+    }
+    
+    @Test
+    void testUnstampedNotificationStartsItsOwnTrace() throws Exception {
+        // Given
+        Notification notification = new Notification();
+        Span unrelated = tracer.nextSpan().name("unrelated").start();
+        
+        // When - the dispatching thread happens to carry another trace
+        try (Tracer.SpanInScope scope = tracer.withSpan(unrelated)) {
+            notificationTracing.inSpan("notification.send", notification, () -> { });
+        } finally {
+            unrelated.end();
+        }
+        
+        // Then
+        JsonNode send = readSpans().stream().filter(s -> s.get("name").asText().equals("notification.send")).findFirst().orElseThrow();
+        assertThat(send.get("traceId").asText()).isNotEqualTo(unrelated.context().traceId());
+        assertThat(send.get("parentSpanId").isNull()).isTrue();
+    }
+    
+    private List<JsonNode> readSpans() throws Exception {
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(spansFile)) {
+            spans.add(objectMapper.readTree(line));
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,105 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.PipelineMetricsConfig;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PipelineMetrics
+ */
+class PipelineMetricsTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private PipelineMetricsConfig config;
+    private PipelineMetrics pipelineMetrics;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new PipelineMetricsConfig();
+        pipelineMetrics = new PipelineMetrics(meterRegistry, config);
+    }
+    
+    @Test
+    void testRecord_TagsStageChannelPriorityAndOutcome() {
+        // When
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+        pipelineMetrics.record(PipelineMetrics.Stage.PROVIDER_CALL, NotificationChannel.EMAIL,
+            NotificationPriority.HIGH, PipelineMetrics.Outcome.FAILURE, start);
+        pipelineMetrics.record(PipelineMetrics.Stage.PROVIDER_CALL, NotificationChannel.EMAIL,
+            NotificationPriority.HIGH, PipelineMetrics.Outcome.FAILURE, start);
+        
+        // Then
+        Timer timer = meterRegistry.get("notifire.pipeline.stage")
+            .tags("stage", "provider_call", "channel", "email", "priority", "high", "outcome", "failure")
+            .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+    }
+    
+    @Test
+    void testStopwatch_RecordsEachStageAndFailsTheCurrentOne() {
+        // Given
+        PipelineMetrics.Stopwatch stopwatch = pipelineMetrics.start(null, NotificationPriority.LOW);
+        
+        // When
+        stopwatch.begin(PipelineMetrics.Stage.VALIDATION);
+        stopwatch.begin(PipelineMetrics.Stage.TEMPLATE_LOOKUP);
+        stopwatch.fail();
+        stopwatch.fail();
+        
+        // Then
+        assertThat(meterRegistry.get("notifire.pipeline.stage")
+            .tags("stage", "validation", "channel", "none", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifire.pipeline.stage")
+            .tags("stage", "template_lookup", "outcome", "failure").timer().count()).isEqualTo(1);
+    }
+    
+    @Test
+    void testRecordEndToEnd_OnlyForSentNotifications() {
+        // Given
+        Notification sent = new Notification();
+        sent.setChannel(NotificationChannel.SMS);
+        sent.setPriority(NotificationPriority.MEDIUM);
+        sent.setStatus(NotificationStatus.SENT);
+        sent.setCreatedAt(LocalDateTime.now().minusSeconds(3));
+        sent.setSentAt(LocalDateTime.now());
+        Notification failed = new Notification();
+        failed.setStatus(NotificationStatus.FAILED);
+        failed.setCreatedAt(LocalDateTime.now());
+        
+        // When
+        pipelineMetrics.recordEndToEnd(sent);
+        pipelineMetrics.recordEndToEnd(failed);
+        
+        // Then
+        Timer timer = meterRegistry.get("notifire.pipeline.end_to_end").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.getId().getTag("channel")).isEqualTo("sms");
+        assertThat(timer.totalTime(TimeUnit.SECONDS)).isBetween(2.9, 3.1);
+    }
+    
+    @Test
+    void testDisabled_RecordsNothing() {
+        // Given
+        config.setEnabled(false);
+        
+        // When
+        pipelineMetrics.record(PipelineMetrics.Stage.PERSIST, NotificationChannel.EMAIL,
+            NotificationPriority.MEDIUM, PipelineMetrics.Outcome.SUCCESS, System.nanoTime());
+        
+        // Then
+        assertThat(meterRegistry.find("notifire.pipeline.stage").timer()).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.RateLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitService with local buckets
+ */
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceTest {
+    
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+    
+    @Mock
+    private ObjectProvider<NotificationDispatcher> notificationDispatcher;
+    
+    @Mock
+    private TaskScheduler taskScheduler;
+    
+    private RateLimitConfig config;
+    
+    private RateLimitService rateLimitService;
+    
+    @BeforeEach
+    void setUp() {
+        config = new RateLimitConfig();
+        config.setProvider(new RateLimitConfig.Limit(1, 3));
+        config.setSender(new RateLimitConfig.Limit(0, 0));
+        config.setDomain(new RateLimitConfig.Limit(1, 1));
+        config.getDomains().put("gmail.com", new RateLimitConfig.Limit(1, 2));
+        rateLimitService = new RateLimitService(config, redisTemplate, notificationDispatcher, taskScheduler);
+    }
+    
+    @Test
+    void testDomainBucketsAreIndependent() {
+        assertThat(rateLimitService.acquire("a@example.com", "noreply@test.com", "sendgrid")).isZero();
+        assertThat(rateLimitService.acquire("b@Example.COM", "noreply@test.com", "sendgrid")).isPositive();
+        assertThat(rateLimitService.acquire("a@other.com", "noreply@test.com", "sendgrid")).isZero();
+    }
+    
+    @Test
+    void testDomainOverride() {
+        assertThat(rateLimitService.acquire("a@gmail.com", "noreply@test.com", "sendgrid")).isZero();
+        assertThat(rateLimitService.acquire("b@gmail.com", "noreply@test.com", "sendgrid")).isZero();
+        assertThat(rateLimitService.acquire("c@gmail.com", "noreply@test.com", "sendgrid")).isPositive();
+    }
+    
+    @Test
+    void testDeniedSendDoesNotConsumeProviderPermit() {
+        // Given - example.com is exhausted after one send
+        rateLimitService.acquire("a@example.com", "noreply@test.com", "sendgrid");
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimitService.acquire("b@example.com", "noreply@test.com", "sendgrid")).isPositive();
+        }
+        
+        // Then - the provider bucket still has its remaining two permits
+        assertThat(rateLimitService.acquire("a@one.com", "noreply@test.com", "sendgrid")).isZero();
+        assertThat(rateLimitService.acquire("a@two.com", "noreply@test.com", "sendgrid")).isZero();
+        assertThat(rateLimitService.acquire("a@three.com", "noreply@test.com", "sendgrid")).isPositive();
+    }
+    
+    @Test
+    void testDisabled() {
+        config.setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimitService.acquire("a@example.com", "noreply@test.com", "sendgrid")).isZero();
+        }
+    }
+    
+    @Test
+    void testDomainOf() {
+        assertThat(RateLimitService.domainOf(" User@Mail.Example.com ")).isEqualTo("mail.example.com");
+    }
+}
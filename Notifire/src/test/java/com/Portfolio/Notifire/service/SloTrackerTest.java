@@ -0,0 +1,113 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.SloConfig;
+import com.Portfolio.Notifire.dto.LatencySnapshot;
+import com.Portfolio.Notifire.dto.SloStatus;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationPriority;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SloTracker
+ */
+class SloTrackerTest {
+    
+    private SloConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private SloTracker sloTracker;
+    
+    @BeforeEach
+    void setUp() {
+        config = new SloConfig();
+        config.setSlices(3);
+        meterRegistry = new SimpleMeterRegistry();
+        sloTracker = new SloTracker(config, meterRegistry);
+    }
+    
+    @Test
+    void testPercentilesPerPriorityAndChannel() {
+        // Given
+        for (int i = 1; i <= 1000; i++) {
+            sloTracker.record(NotificationPriority.HIGH, NotificationChannel.EMAIL, i);
+        }
+        sloTracker.record(NotificationPriority.LOW, NotificationChannel.SMS, 42);
+        
+        // When
+        List<LatencySnapshot> latency = sloTracker.getLatency();
+        
+        // Then
+        LatencySnapshot high = latency.stream()
+            .filter(s -> s.getPriority() == NotificationPriority.HIGH).findFirst().orElseThrow();
+        assertThat(latency).hasSize(2);
+        assertThat(high.getCount()).isEqualTo(1000);
+        assertThat(high.getP50()).isBetween(495L, 505L);
+        assertThat(high.getP99()).isBetween(985L, 995L);
+        assertThat(high.getP999()).isBetween(995L, 1005L);
+    }
+    
+    @Test
+    void testBurnRate_CountsSendsOverThreshold() {
+        // Given - 98 within 5s and 2 over against a 99% objective
+        for (int i = 0; i < 98; i++) {
+            sloTracker.record(NotificationPriority.HIGH, NotificationChannel.EMAIL, 1200);
+        }
+        sloTracker.record(NotificationPriority.HIGH, NotificationChannel.EMAIL, 8000);
+        sloTracker.record(NotificationPriority.HIGH, NotificationChannel.PUSH, 30000);
+        sloTracker.record(NotificationPriority.LOW, NotificationChannel.EMAIL, 60000);
+        
+        // When
+        SloStatus status = sloTracker.getSloStatus().get(0);
+        
+        // Then - the LOW send is outside the objective
+        assertThat(status.getCount()).isEqualTo(100);
+        assertThat(status.getAttainment()).isEqualTo(0.98);
+        assertThat(status.getBurnRate()).isCloseTo(2.0, within(1e-9));
+        assertThat(meterRegistry.get("notifire.slo.burn_rate").tag("objective", "high-priority-5s").gauge().value())
+            .isCloseTo(2.0, within(1e-9));
+    }
+    
+    @Test
+    void testRotate_DropsSlicesOlderThanTheWindow() {
+        // Given
+        sloTracker.record(NotificationPriority.HIGH, NotificationChannel.EMAIL, 100);
+        
+        // When
+        sloTracker.rotate();
+        sloTracker.rotate();
+        long stillInWindow = sloTracker.getLatency().get(0).getCount();
+        sloTracker.rotate();
+        
+        // Then
+        assertThat(stillInWindow).isEqualTo(1);
+        assertThat(sloTracker.getLatency().get(0).getCount()).isZero();
+        assertThat(sloTracker.getSloStatus().get(0).getBurnRate()).isZero();
+    }
+    
+    @Test
+    void testRecord_MeasuresFromScheduledTime() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Notification notification = new Notification();
+        notification.setPriority(NotificationPriority.HIGH);
+        notification.setChannel(NotificationChannel.EMAIL);
+        notification.setStatus(NotificationStatus.SENT);
+        notification.setCreatedAt(now.minusHours(1));
+        notification.setScheduledAt(now.minusSeconds(2));
+        notification.setSentAt(now);
+        
+        // When
+        sloTracker.record(notification);
+        
+        // Then
+        assertThat(sloTracker.getLatency().get(0).getMax()).isBetween(1990L, 2010L);
+    }
+}
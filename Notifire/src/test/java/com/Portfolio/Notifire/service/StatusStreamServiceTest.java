@@ -0,0 +1,127 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.StatusStreamConfig;
+import com.Portfolio.Notifire.dto.NotificationStatusEvent;
+import com.Portfolio.Notifire.exception.InvalidRequestException;
+import com.Portfolio.Notifire.model.enums.NotificationChannel;
+import com.Portfolio.Notifire.model.enums.NotificationStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for StatusStreamService
+ */
+@ExtendWith(MockitoExtension.class)
+class StatusStreamServiceTest {
+    
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+    
+    private final List<Runnable> writerTasks = new ArrayList<>();
+    
+    private StatusStreamService statusStreamService;
+    
+    @BeforeEach
+    void setUp() {
+        StatusStreamConfig config = new StatusStreamConfig();
+        config.setBufferSize(4);
+        config.setMaxIdsPerSubscription(3);
+        
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        statusStreamService = new StatusStreamService(config, objectMapper, redisTemplate, writerTasks::add);
+    }
+    
+    @Test
+    void testSubscribe_RequiresFilter() {
+        assertThatThrownBy(() -> statusStreamService.subscribe(null, " ", null))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+    
+    @Test
+    void testSubscribe_TooManyIds() {
+        assertThatThrownBy(() -> statusStreamService.subscribe(Set.of(1L, 2L, 3L, 4L), null, null))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("max is 3");
+    }
+    
+    @Test
+    void testDeliverLocal_MatchesByIdRecipientAndTemplate() {
+        // Given
+        statusStreamService.subscribe(Set.of(1L), null, null);
+        statusStreamService.subscribe(null, "User@Example.com", null);
+        statusStreamService.subscribe(null, null, 9L);
+        
+        // When
+        statusStreamService.deliverLocal(event(1L, "user@example.com", 9L));
+        
+        // Then - one drain scheduled per matching subscriber
+        assertThat(statusStreamService.getSubscriberCount()).isEqualTo(3);
+        assertThat(writerTasks).hasSize(3);
+    }
+    
+    @Test
+    void testDeliverLocal_CoalescesDrainsUnderBurst() {
+        // Given
+        statusStreamService.subscribe(Set.of(1L), null, null);
+        
+        // When - writer has not run yet, so every event lands in the buffer
+        for (int i = 0; i < 100; i++) {
+            statusStreamService.deliverLocal(event(1L, "user@example.com", null));
+        }
+        
+        // Then
+        assertThat(writerTasks).hasSize(1);
+    }
+    
+    @Test
+    void testDeliverLocal_NoMatch() {
+        // Given
+        statusStreamService.subscribe(Set.of(1L), null, null);
+        
+        // When
+        statusStreamService.deliverLocal(event(2L, "other@example.com", 5L));
+        
+        // Then
+        assertThat(writerTasks).isEmpty();
+    }
+    
+    @Test
+    void testDeliverRemote_ParsesRelayedPayload() throws Exception {
+        // Given
+        statusStreamService.subscribe(Set.of(7L), null, null);
+        String payload = new ObjectMapper().registerModule(new JavaTimeModule())
+            .writeValueAsString(event(7L, "user@example.com", null));
+        
+        // When
+        statusStreamService.deliverRemote(payload);
+        statusStreamService.deliverRemote("{not json");
+        
+        // Then
+        assertThat(writerTasks).hasSize(1);
+    }
+    
+    private NotificationStatusEvent event(Long id, String recipient, Long templateId) {
+        return NotificationStatusEvent.builder()
+            .notificationId(id)
+            .recipient(recipient)
+            .templateId(templateId)
+            .channel(NotificationChannel.EMAIL)
+            .status(NotificationStatus.SENT)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.Portfolio.Notifire.service;
+
+import com.Portfolio.Notifire.config.RenderConfig;
+import com.Portfolio.Notifire.exception.TemplateProcessingException;
+import com.Portfolio.Notifire.model.entity.Notification;
+import com.Portfolio.Notifire.model.entity.Template;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TemplateRenderer
+ */
+class TemplateRendererTest {
+    
+    private RenderConfig config;
+    private TemplateRenderer templateRenderer;
+    private Template template;
+    
+    @BeforeEach
+    void setUp() {
+        config = new RenderConfig();
+        config.setLazy(true);
+        templateRenderer = new TemplateRenderer(config, new ObjectMapper());
+        
+        template = new Template();
+        template.setId(7L);
+        template.setVersion(2);
+        template.setBody("<p>Hi {{name}}, your code is {{code}}</p>");
+    }
+    
+    @Test
+    void testDeferBody_StoresOnlyVersionAndVariables() {
+        // Given
+        Notification notification = new Notification();
+        notification.setTemplate(template);
+        
+        // When
+        templateRenderer.deferBody(notification, template, Map.of("name", "Ann", "code", "123"));
+        
+        // Then
+        assertThat(notification.getContent()).isNull();
+        assertThat(notification.isRenderDeferred()).isTrue();
+        assertThat(notification.getTemplateVersion()).isEqualTo(2);
+        assertThat(notification.getTemplateVariables()).contains("\"name\":\"Ann\"");
+    }
+    
+    @Test
+    void testRenderContent_RendersWithoutPersisting() {
+        // Given
+        Notification notification = deferred();
+        
+        // When
+        String body = templateRenderer.renderContent(notification);
+        
+        // Then
+        assertThat(body).isEqualTo("<p>Hi Ann, your code is 123</p>");
+        assertThat(notification.getContent()).isNull();
+    }
+    
+    @Test
+    void testRenderContent_AuditSampleWritesBodyBack() {
+        // Given
+        config.setAuditSampleRate(1.0);
+        Notification notification = deferred();
+        
+        // When
+        String body = templateRenderer.renderContent(notification);
+        
+        // Then
+        assertThat(notification.getContent()).isEqualTo(body);
+        assertThat(notification.isRenderDeferred()).isFalse();
+    }
+    
+    @Test
+    void testRenderBody_NewVersionIsRecompiled() {
+        // Given
+        assertThat(templateRenderer.renderBody(template, Map.of("name", "Ann", "code", "1"))).contains("Hi Ann");
+        
+        // When
+        template.setBody("<p>Hello {{name}}</p>");
+        template.setVersion(3);
+        
+        // Then
+        assertThat(templateRenderer.renderBody(template, Map.of("name", "Ann"))).isEqualTo("<p>Hello Ann</p>");
+    }
+    
+    @Test
+    void testRenderContent_InvalidStoredVariables() {
+        // Given
+        Notification notification = deferred();
+        notification.setTemplateVariables("{not json");
+        
+        // When/Then
+        assertThatThrownBy(() -> templateRenderer.renderContent(notification))
+            .isInstanceOf(TemplateProcessingException.class);
+    }
+    
+    private Notification deferred() {
+        Notification notification = new Notification();
+        notification.setId(1L);
+        notification.setTemplate(template);
+        templateRenderer.deferBody(notification, template, Map.of("name", "Ann", "code", "123"));
+        return notification;
+    }
+}
@@ -0,0 +1,101 @@
+package com.Portfolio.Notifire.util;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveSampler
+ */
+class AdaptiveSamplerTest {
+    
+    private long now = 0;
+    
+    private final AdaptiveSampler sampler = new AdaptiveSampler(100, 0.001, 1000, () -> now);
+    
+    @Test
+    void testSamplesEverythingBelowTarget() {
+        // Given - 50 roots in the first second
+        int sampled = decide(50);
+        now += TimeUnit.SECONDS.toNanos(1);
+        
+        // When
+        sampled += decide(50);
+        
+        // Then
+        assertThat(sampled).isEqualTo(100);
+        assertThat(sampler.getProbability()).isEqualTo(1.0);
+    }
+    
+    @Test
+    void testProbabilityDropsToHoldTheTargetRate() {
+        // Given - 10,000 roots in one second against a target of 100
+        decide(10_000);
+        now += TimeUnit.SECONDS.toNanos(1);
+        decide(1);
+        
+        // When
+        int sampled = decide(10_000);
+        
+        // Then
+        assertThat(sampler.getProbability()).isCloseTo(0.01, within(0.001));
+        assertThat(sampled).isBetween(50, 150);
+    }
+    
+    @Test
+    void testProbabilityRecoversWhenLoadFalls() {
+        // Given
+        decide(10_000);
+        now += TimeUnit.SECONDS.toNanos(1);
+        decide(1);
+        
+        // When
+        now += TimeUnit.SECONDS.toNanos(1);
+        decide(1);
+        
+        // Then
+        assertThat(sampler.getProbability()).isEqualTo(1.0);
+    }
+    
+    @Test
+    void testDecisionIsStablePerTraceId() {
+        // Given
+        decide(10_000);
+        now += TimeUnit.SECONDS.toNanos(1);
+        decide(1);
+        String traceId = randomTraceId();
+        
+        // When
+        SamplingDecision first = sampler.shouldSample(Context.root(), traceId, "op", SpanKind.INTERNAL,
+            Attributes.empty(), List.of()).getDecision();
+        SamplingDecision second = sampler.shouldSample(Context.root(), traceId, "op", SpanKind.INTERNAL,
+            Attributes.empty(), List.of()).getDecision();
+        
+        // Then
+        assertThat(second).isEqualTo(first);
+    }
+    
+    private int decide(int roots) {
+        int sampled = 0;
+        for (int i = 0; i < roots; i++) {
+            if (sampler.shouldSample(Context.root(), randomTraceId(), "op", SpanKind.SERVER,
+                    Attributes.empty(), List.of()).getDecision() == SamplingDecision.RECORD_AND_SAMPLE) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+    
+    private static String randomTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+}
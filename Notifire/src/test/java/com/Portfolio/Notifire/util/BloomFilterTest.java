@@ -0,0 +1,65 @@
+package com.Portfolio.Notifire.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter
+ */
+class BloomFilterTest {
+    
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        
+        for (int i = 0; i < 10000; i++) {
+            filter.put("key-" + i);
+        }
+        
+        for (int i = 0; i < 10000; i++) {
+            assertThat(filter.mightContain("key-" + i)).isTrue();
+        }
+    }
+    
+    @Test
+    void testFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("key-" + i);
+        }
+        
+        long falsePositives = IntStream.range(0, 100000)
+            .filter(i -> filter.mightContain("other-" + i))
+            .count();
+        
+        assertThat(falsePositives / 100000.0).isLessThan(0.02);
+    }
+    
+    @Test
+    void testPutReportsNewElements() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        
+        assertThat(filter.put("a")).isTrue();
+        assertThat(filter.put("a")).isFalse();
+        assertThat(filter.getInsertions()).isEqualTo(1);
+        assertThat(filter.isSaturated()).isFalse();
+    }
+    
+    @Test
+    void testConcurrentPuts() {
+        BloomFilter filter = new BloomFilter(100000, 0.01);
+        
+        IntStream.range(0, 100000).parallel().forEach(i -> filter.put("key-" + i));
+        
+        assertThat(IntStream.range(0, 100000).allMatch(i -> filter.mightContain("key-" + i))).isTrue();
+    }
+    
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
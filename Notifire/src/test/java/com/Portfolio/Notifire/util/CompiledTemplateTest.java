@@ -0,0 +1,55 @@
+package com.Portfolio.Notifire.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CompiledTemplate
+ */
+class CompiledTemplateTest {
+    
+    @Test
+    void testRender_SubstitutesEveryOccurrence() {
+        // Given
+        CompiledTemplate template = CompiledTemplate.compile("Hi {{name}}, {{ name }} has {{count}} messages");
+        
+        // When
+        String rendered = template.render(Map.of("name", "Ann", "count", 3));
+        
+        // Then
+        assertThat(rendered).isEqualTo("Hi Ann, Ann has 3 messages");
+        assertThat(template.getVariableCount()).isEqualTo(3);
+    }
+    
+    @Test
+    void testRender_MissingVariableLeftAsWritten() {
+        // Given
+        CompiledTemplate template = CompiledTemplate.compile("Hello {{ name }}, code {{code}}");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("code", "X1");
+        
+        // When/Then
+        assertThat(template.render(variables)).isEqualTo("Hello {{ name }}, code X1");
+        assertThat(template.render(null)).isEqualTo("Hello {{ name }}, code {{code}}");
+    }
+    
+    @Test
+    void testRender_ValuesAreNotReinterpreted() {
+        // Given
+        CompiledTemplate template = CompiledTemplate.compile("{{a}}{{b}}");
+        
+        // When/Then
+        assertThat(template.render(Map.of("a", "{{b}}", "b", "B"))).isEqualTo("{{b}}B");
+    }
+    
+    @Test
+    void testRender_NoPlaceholders() {
+        CompiledTemplate template = CompiledTemplate.compile("Plain text");
+        assertThat(template.render(Map.of("x", 1))).isEqualTo("Plain text");
+        assertThat(template.getVariableCount()).isZero();
+    }
+}
@@ -0,0 +1,185 @@
+package com.Portfolio.Notifire.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for KeyedExecutor
+ */
+class KeyedExecutorTest {
+    
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+    
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+    
+    @Test
+    void testSameKeyRunsInOrderAndNeverConcurrently() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(pool, 16);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(400);
+        
+        for (int i = 0; i < 100; i++) {
+            for (String key : List.of("a", "b", "c", "d")) {
+                int sequence = i;
+                executor.execute(key, () -> {
+                    if (running.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    seen.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                    running.get(key).decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+        
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlaps.get()).isZero();
+        for (List<Integer> sequence : seen.values()) {
+            assertThat(sequence).isSorted().hasSize(100);
+        }
+    }
+    
+    @Test
+    void testDifferentKeysRunInParallel() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(pool, 64);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch finished = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        
+        // Each task waits for the other, so this only completes if they overlap; the keys land on different stripes
+        for (String key : List.of("alice@example.com", "bob@example.com")) {
+            executor.execute(key, () -> {
+                bothStarted.countDown();
+                try {
+                    if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                        overlapped.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            });
+        }
+        
+        assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(bothStarted.getCount()).isZero();
+        assertThat(overlapped).isTrue();
+    }
+    
+    @Test
+    void testFailingTaskDoesNotStallKey() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(pool, 4);
+        CountDownLatch ran = new CountDownLatch(1);
+        
+        executor.execute("k", () -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.execute("k", ran::countDown);
+        
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+    
+    @Test
+    void testRejectedTaskIsNotRunAndLaneRecovers() {
+        List<Runnable> accepted = new ArrayList<>();
+        boolean[] full = {true};
+        KeyedExecutor executor = new KeyedExecutor(task -> {
+            if (full[0]) {
+                throw new RejectedExecutionException("full");
+            }
+            accepted.add(task);
+        }, 4);
+        List<String> ran = new ArrayList<>();
+        
+        assertThatThrownBy(() -> executor.execute("k", () -> ran.add("rejected")))
+            .isInstanceOf(RejectedExecutionException.class);
+        full[0] = false;
+        executor.execute("k", () -> ran.add("accepted"));
+        accepted.forEach(Runnable::run);
+        
+        assertThat(ran).containsExactly("accepted");
+    }
+    
+    @Test
+    void testSubmitterDuringRejectionIsNotStrandedOrRunOnCaller() throws Exception {
+        List<Runnable> accepted = new ArrayList<>();
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<KeyedExecutor> holder = new AtomicReference<>();
+        Thread[] racer = new Thread[1];
+        KeyedExecutor executor = new KeyedExecutor(task -> {
+            if (racer[0] == null) {
+                // A second submitter queues behind the lane while the pool is turning it away
+                racer[0] = new Thread(() -> holder.get().execute("k",
+                    () -> ran.add(Thread.currentThread().getName())), "racer");
+                racer[0].start();
+                try {
+                    racer[0].join(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new RejectedExecutionException("full");
+            }
+            accepted.add(task);
+        }, 4);
+        holder.set(executor);
+        
+        assertThatThrownBy(() -> executor.execute("k", () -> ran.add("rejected")))
+            .isInstanceOf(RejectedExecutionException.class);
+        racer[0].join(5000);
+        
+        // The lane is offered to the pool again for the second task, which runs there rather than on a submitter
+        assertThat(ran).isEmpty();
+        assertThat(accepted).hasSize(1);
+        Thread pool = new Thread(accepted.get(0), "pool");
+        pool.start();
+        pool.join(5000);
+        assertThat(ran).containsExactly("pool");
+    }
+    
+    @Test
+    void testBusyLaneGivesPoolThreadBackAfterEachBatch() {
+        List<Runnable> accepted = new ArrayList<>();
+        KeyedExecutor executor = new KeyedExecutor(accepted::add, 4);
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < KeyedExecutor.BATCH + 5; i++) {
+            int sequence = i;
+            executor.execute("k", () -> ran.add(sequence));
+        }
+        
+        // The first run stops after a batch and queues the lane behind other pool work
+        accepted.get(0).run();
+        assertThat(ran).hasSize(KeyedExecutor.BATCH);
+        assertThat(accepted).hasSize(2);
+        
+        accepted.get(1).run();
+        assertThat(ran).hasSize(KeyedExecutor.BATCH + 5).isSorted();
+        assertThat(accepted).hasSize(2);
+    }
+    
+    @Test
+    void testStripesRoundedToPowerOfTwo() {
+        assertThat(new KeyedExecutor(pool, 100).getStripes()).isEqualTo(128);
+        assertThat(new KeyedExecutor(pool, 1).getStripes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.Portfolio.Notifire.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TimingWheel
+ */
+class TimingWheelTest {
+    
+    @Test
+    void testFiresWithinOneTickAndNeverEarly() {
+        // Given - 10ms ticks, 10 slots, 3 levels: spans of 100ms, 1s and 10s
+        TimingWheel<String> wheel = new TimingWheel<>(10, 10, 3, 0);
+        wheel.add("a", 25);
+        wheel.add("b", 450);
+        wheel.add("c", 7_345);
+        
+        // When/Then
+        assertThat(wheel.advance(20)).isEmpty();
+        assertThat(wheel.advance(30)).containsExactly("a");
+        assertThat(wheel.advance(449)).isEmpty();
+        assertThat(wheel.advance(460)).containsExactly("b");
+        assertThat(wheel.advance(7_340)).isEmpty();
+        assertThat(wheel.advance(7_350)).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+    }
+    
+    @Test
+    void testCascadesFromEveryLevel() {
+        // Given
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 10, 3, 0);
+        for (int due = 5; due < 9_000; due += 97) {
+            wheel.add(due, due);
+        }
+        int added = wheel.size();
+        
+        // When - step one tick at a time, checking each timer fires in the tick after its due time
+        int fired = 0;
+        for (long now = 10; now <= 9_010; now += 10) {
+            for (int due : wheel.advance(now)) {
+                assertThat(due).isLessThan((int) now).isGreaterThanOrEqualTo((int) now - 10);
+                fired++;
+            }
+        }
+        
+        // Then
+        assertThat(fired).isEqualTo(added);
+    }
+    
+    @Test
+    void testOverdueFiresOnNextTick() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 10, 2, 1_000);
+        
+        // When
+        wheel.add("late", 500);
+        
+        // Then
+        assertThat(wheel.advance(1_010)).containsExactly("late");
+    }
+    
+    @Test
+    void testRejectsBeyondHorizon() {
+        // Given - 2 levels of 10 slots span 1s
+        TimingWheel<String> wheel = new TimingWheel<>(10, 10, 2, 0);
+        
+        // When/Then
+        assertThat(wheel.add("near", 990)).isTrue();
+        assertThat(wheel.add("far", 1_000)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void testLargeJumpExpiresEverythingDue() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 10, 3, 0);
+        wheel.add("a", 50);
+        wheel.add("b", 3_000);
+        wheel.add("c", 9_000);
+        
+        // When
+        assertThat(wheel.advance(5_000)).containsExactly("a", "b");
+        
+        // Then
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.Portfolio.Notifire.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket
+ */
+class TokenBucketTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Test
+    void testBurstThenWait() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long now = 0;
+        
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(now)).isZero();
+        }
+        
+        // Next permit is one interval (100ms) away
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND / 10);
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isZero();
+    }
+    
+    @Test
+    void testRefillAfterIdle() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+        
+        // Idle time refills at most the burst
+        long later = 10 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+    
+    @Test
+    void testRefund() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isPositive();
+        
+        bucket.refund();
+        
+        assertThat(bucket.tryAcquire(0)).isZero();
+    }
+    
+    @Test
+    void testConcurrentAcquireGrantsExactlyBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(0.001, 100);
+        long now = System.nanoTime();
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (bucket.tryAcquire(now) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        
+        assertThat(granted.get()).isEqualTo(100);
+    }
+    
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}